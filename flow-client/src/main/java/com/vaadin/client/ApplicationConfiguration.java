@@ -37,6 +37,7 @@ public class ApplicationConfiguration {
 
     private boolean productionMode;
     private boolean requestTiming;
+    private boolean pushKeepsUIAlive;
     private boolean webComponentMode;
     private boolean clientRouting;
 
@@ -190,6 +191,29 @@ public class ApplicationConfiguration {
         this.heartbeatInterval = heartbeatInterval;
     }
 
+    /**
+     * Checks whether an open bidirectional push connection keeps the UI alive
+     * on the server, so that no heartbeats need to be sent while it is open.
+     *
+     * @return {@code true} if push keeps the UI alive, {@code false} if
+     *         heartbeats are always sent
+     */
+    public boolean isPushKeepsUIAlive() {
+        return pushKeepsUIAlive;
+    }
+
+    /**
+     * Sets whether an open bidirectional push connection keeps the UI alive on
+     * the server, so that no heartbeats need to be sent while it is open.
+     *
+     * @param pushKeepsUIAlive
+     *            {@code true} if push keeps the UI alive, {@code false} if
+     *            heartbeats are always sent
+     */
+    public void setPushKeepsUIAlive(boolean pushKeepsUIAlive) {
+        this.pushKeepsUIAlive = pushKeepsUIAlive;
+    }
+
     /**
      * Gets the maximum message suspension delay.
      *
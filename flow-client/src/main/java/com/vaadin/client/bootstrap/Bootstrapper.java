@@ -149,6 +149,8 @@ public class Bootstrapper implements EntryPoint {
 
         conf.setHeartbeatInterval(
                 jsoConfiguration.getConfigInteger("heartbeatInterval"));
+        conf.setPushKeepsUIAlive(
+                jsoConfiguration.getConfigBoolean("pushKeepsUIAlive"));
 
         conf.setMaxMessageSuspendTimeout(
                 jsoConfiguration.getConfigInteger("maxMessageSuspendTimeout"));
@@ -34,7 +34,14 @@ public class Heartbeat {
     private Timer timer = new Timer() {
         @Override
         public void run() {
-            send();
+            if (registry.getApplicationConfiguration().isPushKeepsUIAlive()
+                    && registry.getMessageSender()
+                            .isBidirectionalPushActive()) {
+                // The open push connection keeps the UI alive
+                schedule();
+            } else {
+                send();
+            }
         }
     };
 
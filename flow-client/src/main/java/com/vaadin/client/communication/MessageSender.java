@@ -206,6 +206,17 @@ public class MessageSender {
         }
     }
 
+    /**
+     * Checks whether there is an active bidirectional push connection to the
+     * server. If push is configured to keep the UI alive, no heartbeats need
+     * to be sent while the connection is open.
+     *
+     * @return {@code true} if a bidirectional push connection is active
+     */
+    public boolean isBidirectionalPushActive() {
+        return push != null && push.isActive() && push.isBidirectional();
+    }
+
     /**
      * Returns a human readable string representation of the method used to
      * communicate with the server.
@@ -49,6 +49,8 @@ import com.vaadin.flow.internal.NullOwner;
 import com.vaadin.flow.internal.Range;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.StateTree;
+import com.vaadin.flow.server.VaadinMetrics;
+import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.shared.Registration;
 import com.vaadin.flow.shared.communication.PushMode;
 
@@ -1413,6 +1415,7 @@ public class DataCommunicator<T> implements Serializable {
         }
 
         // XXX Explicitly refresh anything that is updated
+        long start = System.nanoTime();
         List<String> activeKeys = new ArrayList<>(range.length());
         fetchFromProvider(range.getStart(), range.length()).forEach(bean -> {
             boolean mapperHasKey = keyMapper.has(bean);
@@ -1425,6 +1428,8 @@ public class DataCommunicator<T> implements Serializable {
             }
             activeKeys.add(key);
         });
+        VaadinMetrics.get(VaadinService.getCurrent())
+                .dataFetched(activeKeys.size(), System.nanoTime() - start);
         boolean needsSizeRecheck = activeKeys.size() < range.length();
         return new Activation(activeKeys, needsSizeRecheck);
     }
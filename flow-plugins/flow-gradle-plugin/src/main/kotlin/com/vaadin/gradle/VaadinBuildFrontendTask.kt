@@ -77,5 +77,6 @@ public open class VaadinBuildFrontendTask : DefaultTask() {
         }
 
         BuildFrontendUtil.updateBuildFile(adapter)
+        BuildFrontendUtil.generateClassIndex(adapter)
     }
 }
@@ -113,6 +113,7 @@ public class BuildFrontendMojo extends FlowModeAbstractMojo
         }
 
         BuildFrontendUtil.updateBuildFile(this);
+        BuildFrontendUtil.generateClassIndex(this);
 
         long ms = (System.nanoTime() - start) / 1000000;
         getLog().info("Build frontend completed in " + ms + " ms.");
@@ -18,7 +18,9 @@ package com.vaadin.flow.plugin.maven;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.charset.StandardCharsets;
@@ -53,11 +55,13 @@ import com.vaadin.experimental.FeatureFlags;
 import com.vaadin.flow.di.Lookup;
 import com.vaadin.flow.di.ResourceProvider;
 import com.vaadin.flow.plugin.TestUtils;
+import com.vaadin.flow.router.Route;
 import com.vaadin.flow.server.Constants;
 import com.vaadin.flow.server.frontend.EndpointGeneratorTaskFactory;
 import com.vaadin.flow.server.frontend.FrontendTools;
 import com.vaadin.flow.server.frontend.installer.NodeInstaller;
 import com.vaadin.flow.server.frontend.scanner.ClassFinder;
+import com.vaadin.flow.server.startup.ClassIndex;
 
 import elemental.json.Json;
 import elemental.json.JsonObject;
@@ -540,6 +544,21 @@ public class BuildFrontendMojoTest {
         Assert.assertFalse(tokenFile.exists());
     }
 
+    @Test
+    public void classIndexGenerated() throws Exception {
+        File classIndex = new File(resourceOutputDirectory,
+                Constants.VAADIN_CONFIGURATION + ClassIndex.CLASS_INDEX_FILE);
+        Assert.assertFalse(classIndex.exists());
+
+        mojo.execute();
+
+        Assert.assertTrue(classIndex.exists());
+        try (InputStream stream = new FileInputStream(classIndex)) {
+            Assert.assertTrue(
+                    ClassIndex.read(stream).contains(Route.class));
+        }
+    }
+
     @Test
     public void mavenGoal_generateOpenApiJson_when_itIsInClientSideMode()
             throws Exception {
@@ -38,6 +38,7 @@ import com.vaadin.flow.di.Lookup;
 import com.vaadin.flow.server.Constants;
 import com.vaadin.flow.server.ExecutionFailedException;
 import com.vaadin.flow.server.InitParameters;
+import com.vaadin.flow.server.frontend.CacheManifest;
 import com.vaadin.flow.server.frontend.CvdlProducts;
 import com.vaadin.flow.server.frontend.FrontendTools;
 import com.vaadin.flow.server.frontend.FrontendToolsSettings;
@@ -45,6 +46,7 @@ import com.vaadin.flow.server.frontend.FrontendUtils;
 import com.vaadin.flow.server.frontend.NodeTasks;
 import com.vaadin.flow.server.frontend.scanner.ClassFinder;
 import com.vaadin.flow.server.scanner.ReflectionsClassFinder;
+import com.vaadin.flow.server.startup.ClassIndex;
 import com.vaadin.flow.utils.FlowFileUtils;
 import com.vaadin.pro.licensechecker.BuildType;
 import com.vaadin.pro.licensechecker.LicenseChecker;
@@ -253,6 +255,11 @@ public class BuildFrontendUtil {
         buildInfo.put(InitParameters.BUILD_FOLDER, adapter.buildFolder());
 
         try {
+            if (!adapter.productionMode()) {
+                // An index left by an earlier production build would hide
+                // classes added since then
+                FileUtils.deleteQuietly(getClassIndexFile(adapter));
+            }
             FileUtils.forceMkdir(token.getParentFile());
             FileUtils.write(token, JsonUtil.stringify(buildInfo, 2) + "\n",
                     StandardCharsets.UTF_8.name());
@@ -465,6 +472,55 @@ public class BuildFrontendUtil {
 
         // Check License
         validateLicenses(adapter);
+
+        generateCacheManifest(adapter);
+    }
+
+    /**
+     * Writes the content hashes of the built frontend files to the cache
+     * manifest read by the static file server in production mode.
+     *
+     * @param adapter
+     *            - the PluginAdapterBase.
+     */
+    public static void generateCacheManifest(PluginAdapterBase adapter) {
+        File manifestFile = new File(adapter.servletResourceOutputDirectory(),
+                Constants.VAADIN_CONFIGURATION
+                        + CacheManifest.CACHE_MANIFEST_FILE);
+        try {
+            CacheManifest.generate(adapter.webpackOutputDirectory())
+                    .write(manifestFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "Unable to write cache manifest " + manifestFile, e);
+        }
+    }
+
+    /**
+     * Writes the index of the classes handled by the Flow startup
+     * initializers, read at runtime instead of scanning the class path.
+     *
+     * @param adapter
+     *            - the PluginAdapterBase.
+     */
+    public static void generateClassIndex(PluginAdapterBase adapter) {
+        File indexFile = getClassIndexFile(adapter);
+        long start = System.nanoTime();
+        try {
+            ClassIndex.generate(adapter.getClassFinder()).write(indexFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "Unable to write class index " + indexFile, e);
+        }
+        if (adapter.isDebugEnabled()) {
+            adapter.logDebug("Class index generated in "
+                    + (System.nanoTime() - start) / 1000000 + " ms");
+        }
+    }
+
+    private static File getClassIndexFile(PluginAdapterBase adapter) {
+        return new File(adapter.servletResourceOutputDirectory(),
+                Constants.VAADIN_CONFIGURATION + ClassIndex.CLASS_INDEX_FILE);
     }
 
     private static void validateLicenses(PluginAdapterBase adapter) {
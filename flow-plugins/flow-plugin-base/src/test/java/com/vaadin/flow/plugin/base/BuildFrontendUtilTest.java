@@ -1,6 +1,7 @@
 package com.vaadin.flow.plugin.base;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintWriter;
@@ -17,6 +18,7 @@ import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 import org.mockito.Mockito;
 
+import com.vaadin.flow.server.frontend.CacheManifest;
 import com.vaadin.flow.server.frontend.FrontendTools;
 import com.vaadin.flow.server.frontend.FrontendUtils;
 import com.vaadin.flow.server.frontend.scanner.ClassFinder;
@@ -67,6 +69,8 @@ public class BuildFrontendUtilTest {
         File resourceOutput = new File(baseDir, "resOut");
         Mockito.when(adapter.servletResourceOutputDirectory())
                 .thenReturn(resourceOutput);
+        File webappOutput = new File(baseDir, "webapp");
+        Mockito.when(adapter.webpackOutputDirectory()).thenReturn(webappOutput);
         Map<String, String> environment = new HashMap<>();
         environment.put("NODE_OPTIONS", "expected");
         Mockito.when(tools.getWebpackNodeEnvironment()).thenReturn(environment);
@@ -82,4 +86,39 @@ public class BuildFrontendUtilTest {
 
         // terminates successfully
     }
+
+    @Test
+    public void generateCacheManifest_buildFilesListed() throws IOException {
+        TemporaryFolder tmpDir = new TemporaryFolder();
+        tmpDir.create();
+        File baseDir = tmpDir.newFolder();
+
+        File webappOutput = new File(baseDir, "webapp");
+        File bundle = new File(webappOutput, "VAADIN/build/indexhtml.1234.js");
+        bundle.getParentFile().mkdirs();
+        try (FileOutputStream out = new FileOutputStream(bundle)) {
+            IOUtils.write("bundle", out, StandardCharsets.UTF_8);
+        }
+        File resourceOutput = new File(baseDir, "resOut");
+
+        PluginAdapterBase adapter = Mockito.mock(PluginAdapterBase.class);
+        Mockito.when(adapter.servletResourceOutputDirectory())
+                .thenReturn(resourceOutput);
+        Mockito.when(adapter.webpackOutputDirectory()).thenReturn(webappOutput);
+
+        BuildFrontendUtil.generateCacheManifest(adapter);
+
+        File manifestFile = new File(new File(resourceOutput, "config"),
+                CacheManifest.CACHE_MANIFEST_FILE);
+        Assert.assertTrue(manifestFile.exists());
+        try (FileInputStream in = new FileInputStream(manifestFile)) {
+            CacheManifest manifest = CacheManifest.read(in);
+            Assert.assertTrue(
+                    manifest.isImmutable("VAADIN/build/indexhtml.1234.js"));
+            Assert.assertEquals(
+                    CacheManifest.computeETag(
+                            "bundle".getBytes(StandardCharsets.UTF_8)),
+                    manifest.getETag("VAADIN/build/indexhtml.1234.js"));
+        }
+    }
 }
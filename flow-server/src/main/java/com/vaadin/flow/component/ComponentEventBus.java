@@ -16,8 +16,6 @@
 package com.vaadin.flow.component;
 
 import java.io.Serializable;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -35,6 +33,7 @@ import com.vaadin.flow.dom.DomListenerRegistration;
 import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.internal.AnnotationReader;
 import com.vaadin.flow.internal.JsonCodec;
+import com.vaadin.flow.server.Command;
 import com.vaadin.flow.shared.Registration;
 
 import elemental.json.Json;
@@ -64,6 +63,7 @@ public class ComponentEventBus implements Serializable {
             implements Serializable {
         private ComponentEventListener<T> listener;
         private DomListenerRegistration domRegistration;
+        private Command unregisterCommand;
 
         public ListenerWrapper(ComponentEventListener<T> listener) {
             this.listener = listener;
@@ -71,7 +71,13 @@ public class ComponentEventBus implements Serializable {
 
     }
 
-    // Package private to enable testing only
+    /*
+     * The listener lists are never modified but replaced when listeners are
+     * added or removed, so that events can be fired to them without copying
+     * even though a listener may add or remove listeners.
+     *
+     * Package private to enable testing only
+     */
     HashMap<Class<? extends ComponentEvent<?>>, ArrayList<ListenerWrapper<?>>> componentEventData = new HashMap<>(
             2);
 
@@ -155,10 +161,20 @@ public class ComponentEventBus implements Serializable {
             domListenerConsumer.accept(wrapper.domRegistration);
         }
 
-        componentEventData.computeIfAbsent(eventType, t -> new ArrayList<>(1))
-                .add(wrapper);
+        ArrayList<ListenerWrapper<?>> listeners = componentEventData
+                .get(eventType);
+        ArrayList<ListenerWrapper<?>> updated;
+        if (listeners == null) {
+            updated = new ArrayList<>(1);
+        } else {
+            updated = new ArrayList<>(listeners.size() + 1);
+            updated.addAll(listeners);
+        }
+        updated.add(wrapper);
+        componentEventData.put(eventType, updated);
 
-        return Registration.once(() -> removeListener(eventType, wrapper));
+        wrapper.unregisterCommand = () -> removeListener(eventType, wrapper);
+        return Registration.once(wrapper.unregisterCommand);
     }
 
     /**
@@ -211,25 +227,20 @@ public class ComponentEventBus implements Serializable {
      */
     @SuppressWarnings({ "unchecked", "rawtypes" })
     public void fireEvent(ComponentEvent event) {
-        Class<? extends ComponentEvent> eventType = event.getClass();
-        if (!hasListener(eventType)) {
+        ArrayList<ListenerWrapper<?>> listeners = componentEventData
+                .get(event.getClass());
+        if (listeners == null) {
             return;
         }
 
-        // Copy the list to avoid ConcurrentModificationException
-        for (ListenerWrapper wrapper : new ArrayList<>(
-                componentEventData.get(event.getClass()))) {
+        for (ListenerWrapper wrapper : listeners) {
             fireEventForListener(event, wrapper);
         }
     }
 
-    @SuppressWarnings("unchecked")
     private <T extends ComponentEvent<?>> void fireEventForListener(T event,
             ListenerWrapper<T> wrapper) {
-        Class<T> eventType = (Class<T>) event.getClass();
-        event.setUnregisterListenerCommand(() -> {
-            removeListener(eventType, wrapper);
-        });
+        event.setUnregisterListenerCommand(wrapper.unregisterCommand);
         wrapper.listener.onComponentEvent(event);
         event.setUnregisterListenerCommand(null);
     }
@@ -326,38 +337,39 @@ public class ComponentEventBus implements Serializable {
     }
 
     /**
-     * Creates a list of data objects which can be passed to the constructor
-     * returned by {@link ComponentEventBusUtil#getEventConstructor(Class)} as
-     * parameters 3+.
+     * Creates the arguments for the constructor returned by
+     * {@link ComponentEventBusUtil#getEventConstructor(Class)}.
      *
      * @param domEvent
      *            the DOM event containing the data
-     * @param eventType
-     *            the component event type
-     * @return a list of event data objects in the same order as defined in the
-     *         component event constructor
+     * @param info
+     *            the component event type information
+     * @param source
+     *            the component which is the source of the event
+     * @return the constructor arguments, with the event data objects in the
+     *         same order as defined in the component event constructor
      */
-    private List<Object> createEventDataObjects(DomEvent domEvent,
-            Class<? extends ComponentEvent<?>> eventType) {
-        List<Object> eventDataObjects = new ArrayList<>();
-
-        LinkedHashMap<String, Class<?>> expressions = ComponentEventBusUtil
-                .getEventDataExpressions(eventType);
-        expressions.forEach((expression, type) -> {
-            if (Component.class.isAssignableFrom(type)
-                    || type == Element.class) {
-                eventDataObjects.add(parseStateNodeIdToComponentReference(
-                        domEvent, type, expression));
+    private Object[] createEventParameters(DomEvent domEvent,
+            ComponentEventBusUtil.EventTypeInfo info, Component source) {
+        String[] expressions = info.eventDataExpressions;
+        Object[] params = new Object[expressions.length + 2];
+        params[0] = source;
+        params[1] = Boolean.TRUE; // From client
+        for (int i = 0; i < expressions.length; i++) {
+            Class<?> type = info.eventDataTypes[i];
+            if (info.elementReferences[i]) {
+                params[i + 2] = parseStateNodeIdToComponentReference(domEvent,
+                        type, expressions[i]);
             } else {
-                JsonValue jsonValue = domEvent.getEventData().get(expression);
+                JsonValue jsonValue = domEvent.getEventData()
+                        .get(expressions[i]);
                 if (jsonValue == null) {
                     jsonValue = Json.createNull();
                 }
-                Object value = JsonCodec.decodeAs(jsonValue, type);
-                eventDataObjects.add(value);
+                params[i + 2] = JsonCodec.decodeAs(jsonValue, type);
             }
-        });
-        return eventDataObjects;
+        }
+        return params;
     }
 
     private Object parseStateNodeIdToComponentReference(DomEvent event,
@@ -443,7 +455,8 @@ public class ComponentEventBus implements Serializable {
                     "No listener of the given type is registered");
         }
 
-        if (!eventData.remove(wrapper)) {
+        ArrayList<ListenerWrapper<?>> updated = new ArrayList<>(eventData);
+        if (!updated.remove(wrapper)) {
             throw new IllegalArgumentException(
                     "The given listener is not registered");
         }
@@ -452,8 +465,10 @@ public class ComponentEventBus implements Serializable {
             wrapper.domRegistration.remove();
         }
 
-        if (eventData.isEmpty()) {
+        if (updated.isEmpty()) {
             componentEventData.remove(eventType);
+        } else {
+            componentEventData.put(eventType, updated);
         }
     }
 
@@ -486,32 +501,27 @@ public class ComponentEventBus implements Serializable {
      *            The component which is the source of the event
      * @return an event object of type <code>eventType</code>
      */
+    @SuppressWarnings("unchecked")
     private <T extends ComponentEvent<?>> T createEventForDomEvent(
             Class<T> eventType, DomEvent domEvent, Component source) {
-        try {
-            Constructor<T> c = ComponentEventBusUtil
-                    .getEventConstructor(eventType);
-            // Make sure that the source component type is ok
-            if (!c.getParameterTypes()[0].isAssignableFrom(source.getClass())) {
-                Class<?> definedSourceType = c.getParameterTypes()[0];
-                throw new IllegalArgumentException(String.format(
-                        "The event type %s define the source type to be %s, which is not compatible with the used source of type %s",
-                        eventType.getName(), definedSourceType.getName(),
-                        source.getClass().getName()));
-            }
+        ComponentEventBusUtil.EventTypeInfo info = ComponentEventBusUtil
+                .getEventTypeInfo(eventType);
+        // Make sure that the source component type is ok
+        if (!info.sourceType.isAssignableFrom(source.getClass())) {
+            throw new IllegalArgumentException(String.format(
+                    "The event type %s define the source type to be %s, which is not compatible with the used source of type %s",
+                    eventType.getName(), info.sourceType.getName(),
+                    source.getClass().getName()));
+        }
 
-            List<Object> eventData = createEventDataObjects(domEvent,
-                    eventType);
-            Object[] params = new Object[eventData.size() + 2];
-            params[0] = source;
-            params[1] = Boolean.TRUE; // From client
-            for (int i = 0; i < eventData.size(); i++) {
-                params[i + 2] = eventData.get(i);
+        Object[] params = createEventParameters(domEvent, info, source);
+        try {
+            if (info.eventFactory != null) {
+                return (T) (Object) info.eventFactory.invokeExact(params);
             }
-            return c.newInstance(params);
-        } catch (InstantiationException | IllegalAccessException
-                | IllegalArgumentException | InvocationTargetException
-                | SecurityException e) {
+            return ComponentEventBusUtil.getEventConstructor(eventType)
+                    .newInstance(params);
+        } catch (Throwable e) { // NOSONAR
             throw new IllegalArgumentException(
                     "Unable to create an event object of type "
                             + eventType.getName(),
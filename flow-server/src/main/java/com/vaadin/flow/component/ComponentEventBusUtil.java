@@ -15,6 +15,9 @@
  */
 package com.vaadin.flow.component;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Parameter;
 import java.util.ArrayList;
@@ -22,6 +25,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 
 import com.vaadin.flow.dom.DomEvent;
+import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.internal.ReflectTools;
 import com.vaadin.flow.internal.ReflectionCache;
 
@@ -44,13 +48,39 @@ public class ComponentEventBusUtil {
     static ReflectionCache<ComponentEvent<?>, EventTypeInfo> cache = new ReflectionCache<>(
             EventTypeInfo::new);
 
-    private static class EventTypeInfo {
+    /**
+     * Everything needed for creating events of a type from DOM events,
+     * resolved once per event type.
+     */
+    static class EventTypeInfo {
         private final LinkedHashMap<String, Class<?>> dataExpressions;
         private final Constructor<? extends ComponentEvent<?>> eventConstructor;
 
+        final Class<?> sourceType;
+        final String[] eventDataExpressions;
+        final Class<?>[] eventDataTypes;
+        final boolean[] elementReferences;
+        // (Object[]) -> Object, taking all constructor arguments, or null if
+        // the constructor is not accessible
+        final MethodHandle eventFactory;
+
         public EventTypeInfo(Class<? extends ComponentEvent<?>> type) {
             eventConstructor = findEventConstructor(type);
             dataExpressions = findEventDataExpressions(eventConstructor);
+
+            sourceType = eventConstructor.getParameterTypes()[0];
+            int count = dataExpressions.size();
+            eventDataExpressions = dataExpressions.keySet()
+                    .toArray(new String[count]);
+            eventDataTypes = dataExpressions.values()
+                    .toArray(new Class<?>[count]);
+            elementReferences = new boolean[count];
+            for (int i = 0; i < count; i++) {
+                elementReferences[i] = Component.class
+                        .isAssignableFrom(eventDataTypes[i])
+                        || eventDataTypes[i] == Element.class;
+            }
+            eventFactory = createEventFactory(eventConstructor);
         }
     }
 
@@ -76,6 +106,35 @@ public class ComponentEventBusUtil {
         return cache.get(eventType).dataExpressions;
     }
 
+    /**
+     * Gets the cached information for creating events of the given type from
+     * DOM events.
+     *
+     * @param eventType
+     *            the component event type
+     * @return the event type information
+     * @throws IllegalArgumentException
+     *             if no suitable constructor was found
+     */
+    static EventTypeInfo getEventTypeInfo(
+            Class<? extends ComponentEvent<?>> eventType) {
+        return cache.get(eventType);
+    }
+
+    private static MethodHandle createEventFactory(
+            Constructor<? extends ComponentEvent<?>> constructor) {
+        try {
+            return MethodHandles.lookup().unreflectConstructor(constructor)
+                    .asSpreader(Object[].class,
+                            constructor.getParameterCount())
+                    .asType(MethodType.methodType(Object.class,
+                            Object[].class));
+        } catch (IllegalAccessException e) {
+            // Reported when an event is created through the constructor
+            return null;
+        }
+    }
+
     /**
      * Scans the event type and forms a map of event data expression (for
      * {@link com.vaadin.flow.dom.DomListenerRegistration#addEventData(String)}
@@ -313,18 +313,25 @@ public class UI extends Component
 
         // FIXME Send info to client
 
+        VaadinSession session = getSession();
         PushConnection pushConnection = getInternals().getPushConnection();
         if (pushConnection != null) {
             // Push the Rpc to the client. The connection will be closed when
             // the UI is detached and cleaned up.
 
             // Can't use UI.push() directly since it checks for a valid session
-            if (getSession() != null) {
-                getSession().getService().runPendingAccessTasks(getSession());
+            if (session != null && session.isUILocking()) {
+                session.runPendingAccessTasks(this);
+            } else if (session != null) {
+                session.getService().runPendingAccessTasks(session);
             }
             pushConnection.push();
         }
 
+        if (session != null && session.getService() != null) {
+            // Detach the UI when the session is unlocked
+            session.getService().uiClosed(session);
+        }
     }
 
     /**
@@ -435,7 +442,12 @@ public class UI extends Component
 
         VaadinService.verifyNoOtherSessionLocked(session);
 
-        session.lock();
+        boolean uiLocking = session.isUILocking();
+        if (uiLocking) {
+            session.lockUI(this);
+        } else {
+            session.lock();
+        }
         try {
             if (getSession() == null) {
                 // UI was detached after fetching the session but before we
@@ -446,7 +458,11 @@ public class UI extends Component
             old = CurrentInstance.setCurrent(this);
             command.execute();
         } finally {
-            session.unlock();
+            if (uiLocking) {
+                session.unlockUI(this);
+            } else {
+                session.unlock();
+            }
             if (old != null) {
                 CurrentInstance.restoreInstances(old);
             }
@@ -516,7 +532,7 @@ public class UI extends Component
             return null;
         }
 
-        return session.access(new ErrorHandlingCommand() {
+        ErrorHandlingCommand access = new ErrorHandlingCommand() {
             @Override
             public void execute() {
                 accessSynchronously(command, detachHandler);
@@ -551,7 +567,11 @@ public class UI extends Component
                     getLogger().error(e.getMessage(), e);
                 }
             }
-        });
+        };
+        if (session.isUILocking()) {
+            return session.accessUI(this, access);
+        }
+        return session.access(access);
     }
 
     /**
@@ -678,7 +698,7 @@ public class UI extends Component
         if (session == null) {
             throw new UIDetachedException("Cannot push a detached UI");
         }
-        session.checkHasLock();
+        session.checkHasLock(this);
 
         if (!getPushConfiguration().getPushMode().isEnabled()) {
             throw new IllegalStateException("Push not enabled");
@@ -692,7 +712,12 @@ public class UI extends Component
          * when the push would otherwise be ignored because there are no changes
          * to push.
          */
-        session.getService().runPendingAccessTasks(session);
+        if (session.isUILocking()) {
+            // Only the UI may be locked, the session tasks wait for the session
+            session.runPendingAccessTasks(this);
+        } else {
+            session.getService().runPendingAccessTasks(session);
+        }
 
         if (!getInternals().isDirty()) {
             // Do not push if there is nothing to push
@@ -162,7 +162,18 @@ public class UIInternals implements Serializable {
      * Updated to the current time whenever the application receives a heartbeat
      * or UIDL request from the client for the related UI.
      */
-    private long lastHeartbeatTimestamp = System.currentTimeMillis();
+    private volatile long lastHeartbeatTimestamp = System.currentTimeMillis();
+
+    /*
+     * Heartbeats are recorded without locking the session unless there are
+     * listeners to notify.
+     */
+    private volatile boolean hasHeartbeatListeners;
+
+    /**
+     * Timestamp for keeping track of the last UIDL request of the related UI.
+     */
+    private long lastRequestTimestamp = System.currentTimeMillis();
 
     private List<PendingJavaScriptInvocation> pendingJsInvocations = new ArrayList<>();
 
@@ -349,9 +360,47 @@ public class UIInternals implements Serializable {
      */
     public void setLastHeartbeatTimestamp(long lastHeartbeat) {
         lastHeartbeatTimestamp = lastHeartbeat;
-        HeartbeatEvent heartbeatEvent = new HeartbeatEvent(ui, lastHeartbeat);
-        getListeners(HeartbeatListener.class)
-                .forEach(listener -> listener.heartbeat(heartbeatEvent));
+        if (hasHeartbeatListeners) {
+            HeartbeatEvent heartbeatEvent = new HeartbeatEvent(ui,
+                    lastHeartbeat);
+            getListeners(HeartbeatListener.class)
+                    .forEach(listener -> listener.heartbeat(heartbeatEvent));
+        }
+    }
+
+    /**
+     * Checks whether there are heartbeat listeners for the related UI. If not,
+     * heartbeats can be recorded with
+     * {@link #setLastHeartbeatTimestamp(long)} without locking the session.
+     *
+     * @return {@code true} if there are heartbeat listeners
+     */
+    public boolean hasHeartbeatListeners() {
+        return hasHeartbeatListeners;
+    }
+
+    /**
+     * Returns the timestamp of the last received UIDL request for the related
+     * UI. Unlike the heartbeat timestamp, it is not updated by heartbeat
+     * requests and thus tells when the user last interacted with the UI.
+     *
+     * @return The time the last UIDL request occurred, in milliseconds since
+     *         the epoch.
+     */
+    public long getLastRequestTimestamp() {
+        return lastRequestTimestamp;
+    }
+
+    /**
+     * Sets the last UIDL request timestamp for the related UI. Called by the
+     * framework whenever the application receives a UIDL request for the UI.
+     *
+     * @param lastRequest
+     *            The time the last UIDL request occurred, in milliseconds since
+     *            the epoch.
+     */
+    public void setLastRequestTimestamp(long lastRequest) {
+        lastRequestTimestamp = lastRequest;
     }
 
     @SuppressWarnings("unchecked")
@@ -502,11 +551,18 @@ public class UIInternals implements Serializable {
     }
 
     public Registration addHeartbeatListener(HeartbeatListener listener) {
-        return addListener(HeartbeatListener.class, listener);
+        Registration registration = addListener(HeartbeatListener.class,
+                listener);
+        hasHeartbeatListeners = true;
+        return () -> {
+            registration.remove();
+            hasHeartbeatListeners = !getListeners(HeartbeatListener.class)
+                    .isEmpty();
+        };
     }
 
     private <E> Registration addListener(Class<E> handler, E listener) {
-        session.checkHasLock();
+        session.checkHasLock(ui);
         List<E> list = (List<E>) listeners.computeIfAbsent(handler,
                 key -> new ArrayList<>());
         list.add(listener);
@@ -559,7 +615,7 @@ public class UIInternals implements Serializable {
      */
     public void addJavaScriptInvocation(
             PendingJavaScriptInvocation invocation) {
-        session.checkHasLock();
+        session.checkHasLock(ui);
         pendingJsInvocations.add(invocation);
     }
 
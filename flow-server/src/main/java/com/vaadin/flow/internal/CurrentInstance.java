@@ -18,11 +18,13 @@ package com.vaadin.flow.internal;
 
 import java.io.Serializable;
 import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,6 +50,12 @@ import com.vaadin.flow.server.VaadinSession;
  * {@link VaadinRequest}, {@link VaadinResponse}, {@link UI},
  * {@link VaadinService}, {@link VaadinSession}.
  * </p>
+ * <p>
+ * These instances are kept in fixed fields of a per-thread holder and a
+ * wrapper is reused when the same instance is set again, so that setting and
+ * restoring them for every request and access task does not allocate maps.
+ * Other types are kept in a map which is only created when needed.
+ * </p>
  *
  * <p>
  * For internal use only. May be renamed or removed in a future release.
@@ -60,9 +68,13 @@ public class CurrentInstance implements Serializable {
     private static final CurrentInstance CURRENT_INSTANCE_NULL = new CurrentInstance(
             NULL_OBJECT);
 
+    private static final Class<?>[] SLOT_TYPES = { UI.class,
+            VaadinSession.class, VaadinService.class, VaadinRequest.class,
+            VaadinResponse.class };
+
     private final WeakReference<Object> instance;
 
-    private static final ThreadLocal<Map<Class<?>, CurrentInstance>> instances = new ThreadLocal<>();
+    private static final ThreadLocal<Instances> instances = new ThreadLocal<>();
 
     private CurrentInstance(Object instance) {
         this.instance = new WeakReference<>(instance);
@@ -79,7 +91,7 @@ public class CurrentInstance implements Serializable {
      *         if there is no current instance.
      */
     public static <T> T get(Class<T> type) {
-        Map<Class<?>, CurrentInstance> map = instances.get();
+        Instances map = instances.get();
         if (map == null) {
             return null;
         }
@@ -100,7 +112,7 @@ public class CurrentInstance implements Serializable {
                  * significantly increase the complexity of the code for
                  * maintaining a separate ReferenceQueue for each Thread.
                  */
-                removeStaleInstances(map);
+                map.removeStale();
 
                 if (map.isEmpty()) {
                     instances.remove();
@@ -116,19 +128,26 @@ public class CurrentInstance implements Serializable {
 
     private static void removeStaleInstances(
             Map<Class<?>, CurrentInstance> map) {
+        if (map instanceof Instances) {
+            ((Instances) map).removeStale();
+            return;
+        }
         for (Iterator<Entry<Class<?>, CurrentInstance>> iterator = map
                 .entrySet().iterator(); iterator.hasNext();) {
             Entry<Class<?>, CurrentInstance> entry = iterator.next();
             Object instance = entry.getValue().instance.get();
             if (instance == null) {
                 iterator.remove();
-                getLogger().debug(
-                        "CurrentInstance for {} has been garbage collected.",
-                        entry.getKey());
+                logCollected(entry.getKey());
             }
         }
     }
 
+    private static void logCollected(Class<?> type) {
+        getLogger().debug("CurrentInstance for {} has been garbage collected.",
+                type);
+    }
+
     /**
      * Sets the current instance of the given type.
      *
@@ -159,7 +178,7 @@ public class CurrentInstance implements Serializable {
      * @return previous CurrentInstance wrapper
      */
     private static <T> CurrentInstance doSet(Class<T> type, T instance) {
-        Map<Class<?>, CurrentInstance> map = instances.get();
+        Instances map = instances.get();
         CurrentInstance previousInstance = null;
         if (instance == null) {
             // remove the instance
@@ -167,17 +186,20 @@ public class CurrentInstance implements Serializable {
                 previousInstance = map.remove(type);
                 if (map.isEmpty()) {
                     instances.remove();
-                    map = null;
                 }
             }
         } else {
             assert type.isInstance(instance) : "Invalid instance type";
             if (map == null) {
-                map = new HashMap<>();
+                map = new Instances();
                 instances.set(map);
             }
 
-            previousInstance = map.put(type, new CurrentInstance(instance));
+            previousInstance = map.get(type);
+            if (previousInstance == null
+                    || previousInstance.instance.get() != instance) {
+                map.put(type, new CurrentInstance(instance));
+            }
         }
         if (previousInstance == null) {
             previousInstance = CURRENT_INSTANCE_NULL;
@@ -200,35 +222,26 @@ public class CurrentInstance implements Serializable {
      * @param old
      *            A Class -&lt; CurrentInstance map to set as current instances
      */
-    @SuppressWarnings({ "unchecked", "rawtypes" })
     public static void restoreInstances(Map<Class<?>, CurrentInstance> old) {
         boolean removeStale = false;
-        for (Entry<Class<?>, CurrentInstance> entry : old.entrySet()) {
-            Class c = entry.getKey();
-            CurrentInstance ci = entry.getValue();
-            Object v = ci.instance.get();
-            if (v == null) {
-                removeStale = true;
-            } else if (v == NULL_OBJECT) {
-                /*
-                 * NULL_OBJECT is used to identify objects that are null when
-                 * #setCurrent(UI) or #setCurrent(VaadinSession) are called on a
-                 * CurrentInstance. Without this a reference to an already
-                 * collected instance may be left in the CurrentInstance when it
-                 * really should be restored to null.
-                 *
-                 * One example case that this fixes:
-                 * VaadinService.runPendingAccessTasks() clears all current
-                 * instances and then sets everything but the UI. This makes
-                 * UI.accessSynchronously() save these values before calling
-                 * setCurrent(UI), which stores UI=null in the map it returns.
-                 * This map will be restored after UI.accessSync(), which,
-                 * unless it respects null values, will just leave the wrong UI
-                 * instance registered.
-                 */
-                v = null;
+        if (old instanceof Instances) {
+            Instances snapshot = (Instances) old;
+            for (int i = 0; i < SLOT_TYPES.length; i++) {
+                CurrentInstance ci = snapshot.slots[i];
+                if (ci != null) {
+                    removeStale |= !restore(SLOT_TYPES[i], ci);
+                }
+            }
+            if (snapshot.others != null) {
+                for (Entry<Class<?>, CurrentInstance> entry : snapshot.others
+                        .entrySet()) {
+                    removeStale |= !restore(entry.getKey(), entry.getValue());
+                }
+            }
+        } else {
+            for (Entry<Class<?>, CurrentInstance> entry : old.entrySet()) {
+                removeStale |= !restore(entry.getKey(), entry.getValue());
             }
-            set(c, v);
         }
 
         if (removeStale) {
@@ -236,6 +249,39 @@ public class CurrentInstance implements Serializable {
         }
     }
 
+    /**
+     * Restores one instance.
+     *
+     * @return {@code false} if the instance has been garbage collected
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static boolean restore(Class c, CurrentInstance ci) {
+        Object v = ci.instance.get();
+        if (v == null) {
+            return false;
+        } else if (v == NULL_OBJECT) {
+            /*
+             * NULL_OBJECT is used to identify objects that are null when
+             * #setCurrent(UI) or #setCurrent(VaadinSession) are called on a
+             * CurrentInstance. Without this a reference to an already
+             * collected instance may be left in the CurrentInstance when it
+             * really should be restored to null.
+             *
+             * One example case that this fixes:
+             * VaadinService.runPendingAccessTasks() clears all current
+             * instances and then sets everything but the UI. This makes
+             * UI.accessSynchronously() save these values before calling
+             * setCurrent(UI), which stores UI=null in the map it returns. This
+             * map will be restored after UI.accessSync(), which, unless it
+             * respects null values, will just leave the wrong UI instance
+             * registered.
+             */
+            v = null;
+        }
+        set(c, v);
+        return true;
+    }
+
     /**
      * Gets the currently set instances so that they can later be restored using
      * {@link #restoreInstances(Map)}.
@@ -243,23 +289,13 @@ public class CurrentInstance implements Serializable {
      * @return a map containing the current instances
      */
     public static Map<Class<?>, CurrentInstance> getInstances() {
-        Map<Class<?>, CurrentInstance> map = instances.get();
+        Instances map = instances.get();
         if (map == null) {
             return Collections.emptyMap();
         } else {
-            Map<Class<?>, CurrentInstance> copy = new HashMap<>();
-            boolean removeStale = false;
-            for (Entry<Class<?>, CurrentInstance> entry : map.entrySet()) {
-                Class<?> c = entry.getKey();
-                CurrentInstance ci = entry.getValue();
-                if (ci.instance.get() == null) {
-                    removeStale = true;
-                } else {
-                    copy.put(c, ci);
-                }
-            }
-            if (removeStale) {
-                removeStaleInstances(map);
+            Instances copy = map.copyLive();
+            if (copy.size() != map.size()) {
+                map.removeStale();
                 if (map.isEmpty()) {
                     instances.remove();
                 }
@@ -298,7 +334,7 @@ public class CurrentInstance implements Serializable {
      */
     public static Map<Class<?>, CurrentInstance> setCurrent(
             VaadinSession session) {
-        Map<Class<?>, CurrentInstance> old = new HashMap<>();
+        Map<Class<?>, CurrentInstance> old = new Instances();
         old.put(VaadinSession.class, doSet(VaadinSession.class, session));
         VaadinService service = null;
         if (session != null) {
@@ -311,4 +347,128 @@ public class CurrentInstance implements Serializable {
     private static Logger getLogger() {
         return LoggerFactory.getLogger(CurrentInstance.class.getName());
     }
+
+    private static int getSlot(Object type) {
+        for (int i = 0; i < SLOT_TYPES.length; i++) {
+            if (SLOT_TYPES[i] == type) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Current instances of a thread, also used for the snapshots returned to
+     * be restored later. The instances set by the framework for every request
+     * have fixed slots and other types are kept in a map created on demand.
+     * The entry set is a read-only copy.
+     */
+    private static final class Instances
+            extends AbstractMap<Class<?>, CurrentInstance> {
+
+        private final CurrentInstance[] slots = new CurrentInstance[SLOT_TYPES.length];
+
+        private Map<Class<?>, CurrentInstance> others;
+
+        @Override
+        public CurrentInstance get(Object type) {
+            int slot = getSlot(type);
+            if (slot >= 0) {
+                return slots[slot];
+            }
+            return others == null ? null : others.get(type);
+        }
+
+        @Override
+        public boolean containsKey(Object type) {
+            return get(type) != null;
+        }
+
+        @Override
+        public CurrentInstance put(Class<?> type, CurrentInstance value) {
+            if (value == null) {
+                throw new IllegalArgumentException(
+                        "Current instance wrapper may not be null");
+            }
+            int slot = getSlot(type);
+            if (slot >= 0) {
+                CurrentInstance previous = slots[slot];
+                slots[slot] = value;
+                return previous;
+            }
+            if (others == null) {
+                others = new HashMap<>();
+            }
+            return others.put(type, value);
+        }
+
+        @Override
+        public CurrentInstance remove(Object type) {
+            int slot = getSlot(type);
+            if (slot >= 0) {
+                CurrentInstance previous = slots[slot];
+                slots[slot] = null;
+                return previous;
+            }
+            return others == null ? null : others.remove(type);
+        }
+
+        @Override
+        public int size() {
+            int size = others == null ? 0 : others.size();
+            for (CurrentInstance slot : slots) {
+                if (slot != null) {
+                    size++;
+                }
+            }
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+
+        @Override
+        public Set<Entry<Class<?>, CurrentInstance>> entrySet() {
+            Map<Class<?>, CurrentInstance> copy = others == null
+                    ? new HashMap<>()
+                    : new HashMap<>(others);
+            for (int i = 0; i < SLOT_TYPES.length; i++) {
+                if (slots[i] != null) {
+                    copy.put(SLOT_TYPES[i], slots[i]);
+                }
+            }
+            return Collections.unmodifiableMap(copy).entrySet();
+        }
+
+        private Instances copyLive() {
+            Instances copy = new Instances();
+            for (int i = 0; i < SLOT_TYPES.length; i++) {
+                if (slots[i] != null && slots[i].instance.get() != null) {
+                    copy.slots[i] = slots[i];
+                }
+            }
+            if (others != null) {
+                others.forEach((type, ci) -> {
+                    if (ci.instance.get() != null) {
+                        copy.put(type, ci);
+                    }
+                });
+            }
+            return copy;
+        }
+
+        private void removeStale() {
+            for (int i = 0; i < SLOT_TYPES.length; i++) {
+                if (slots[i] != null && slots[i].instance.get() == null) {
+                    slots[i] = null;
+                    logCollected(SLOT_TYPES[i]);
+                }
+            }
+            if (others != null) {
+                removeStaleInstances(others);
+            }
+        }
+    }
 }
@@ -156,7 +156,11 @@ public class StateTree implements NodeOwner {
 
     private Set<StateNode> dirtyNodes = new LinkedHashSet<>();
 
-    private final Map<Integer, StateNode> idToNode = new HashMap<>();
+    /*
+     * Not serialized since it can be rebuilt from the attached nodes of the
+     * tree, see getIdToNode().
+     */
+    private transient Map<Integer, StateNode> idToNode = new HashMap<>();
 
     private int nextId = 1;
 
@@ -206,7 +210,8 @@ public class StateTree implements NodeOwner {
         int id = node.getId();
 
         int nodeId;
-        if (id > 0 && !idToNode.containsKey(id)) {
+        Map<Integer, StateNode> nodesById = getIdToNode();
+        if (id > 0 && !nodesById.containsKey(id)) {
             // Node already had an id, continue using it
 
             // Don't accept an id that we haven't yet handed out
@@ -217,7 +222,7 @@ public class StateTree implements NodeOwner {
             nodeId = nextId++;
         }
 
-        idToNode.put(nodeId, node);
+        nodesById.put(nodeId, node);
 
         if (node.hasBeforeClientResponseEntries()) {
             pendingExecutionNodes.add(node);
@@ -232,13 +237,14 @@ public class StateTree implements NodeOwner {
 
         Integer id = node.getId();
 
-        StateNode removedNode = idToNode.remove(id);
+        Map<Integer, StateNode> nodesById = getIdToNode();
+        StateNode removedNode = nodesById.remove(id);
 
         if (removedNode != node) {
             // Remove by id didn't remove the expected node
             if (removedNode != null) {
                 // Put the old node back
-                idToNode.put(removedNode.getId(), removedNode);
+                nodesById.put(removedNode.getId(), removedNode);
             }
             throw new IllegalStateException(
                     "Unregistered node was not found based on its id. The tree is most likely corrupted.");
@@ -250,7 +256,7 @@ public class StateTree implements NodeOwner {
     @Override
     public boolean hasNode(StateNode node) {
         assert node.getOwner() == this;
-        return idToNode.containsKey(node.getId());
+        return getIdToNode().containsKey(node.getId());
     }
 
     /**
@@ -263,7 +269,19 @@ public class StateTree implements NodeOwner {
      *         registered with this tree
      */
     public StateNode getNodeById(int id) {
-        return idToNode.get(id);
+        return getIdToNode().get(id);
+    }
+
+    private Map<Integer, StateNode> getIdToNode() {
+        if (idToNode == null) {
+            // Deserialized, all nodes in an attached tree are registered
+            idToNode = new HashMap<>();
+            if (rootNode.isAttached()) {
+                rootNode.visitNodeTree(
+                        node -> idToNode.put(node.getId(), node));
+            }
+        }
+        return idToNode;
     }
 
     /**
@@ -429,7 +447,7 @@ public class StateTree implements NodeOwner {
     private void checkHasLock() {
         VaadinSession session = uiInternals.getSession();
         if (session != null) {
-            session.checkHasLock();
+            session.checkHasLock(uiInternals.getUI());
         }
     }
 
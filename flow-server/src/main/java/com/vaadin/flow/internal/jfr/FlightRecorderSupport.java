@@ -0,0 +1,63 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal.jfr;
+
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checks whether the flight recorder events of this package can be used.
+ * <p>
+ * The {@code jdk.jfr} module is optional, e.g. it is not present in a custom
+ * runtime image without it or in an OSGi container that does not export it.
+ * The event classes of this package cannot be loaded in that case, so they
+ * must only be instantiated after checking {@link #isAvailable()}.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ */
+public final class FlightRecorderSupport {
+
+    private static final boolean AVAILABLE = checkAvailable();
+
+    private FlightRecorderSupport() {
+        // Only static methods
+    }
+
+    /**
+     * Checks whether the flight recorder API is available.
+     *
+     * @return {@code true} if flight recorder events can be created,
+     *         {@code false} if the events must be skipped
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    private static boolean checkAvailable() {
+        try {
+            // Loads jdk.jfr.Event as the super class
+            new SessionLockEvent();
+            return true;
+        } catch (LinkageError e) {
+            LoggerFactory.getLogger(FlightRecorderSupport.class).debug(
+                    "The jdk.jfr module is not available, "
+                            + "flight recorder events are disabled",
+                    e);
+            return false;
+        }
+    }
+}
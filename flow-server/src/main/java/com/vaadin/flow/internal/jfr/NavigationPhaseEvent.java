@@ -0,0 +1,92 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a phase of navigating to a route target.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ */
+@Name("com.vaadin.flow.NavigationPhase")
+@Label("Navigation Phase")
+@Description("A phase of navigating to a route")
+@Category({ "Vaadin", "Flow" })
+@StackTrace(false)
+public class NavigationPhaseEvent extends Event {
+
+    /** Phase for notifying the before leave observers. */
+    public static final String BEFORE_LEAVE = "Before leave";
+
+    /**
+     * Phase for creating the route target chain and notifying the before enter
+     * observers.
+     */
+    public static final String BEFORE_ENTER = "Before enter";
+
+    /** Phase for showing the route target in the UI. */
+    public static final String SHOW = "Show route target";
+
+    /** Phase for notifying the after navigation observers. */
+    public static final String AFTER_NAVIGATION = "After navigation";
+
+    @Label("Phase")
+    private String phase;
+
+    @Label("Location")
+    private String location;
+
+    @Label("Navigation Target")
+    private Class<?> navigationTarget;
+
+    /**
+     * Creates a new event.
+     *
+     * @param phase
+     *            the phase, one of the constants of this class
+     */
+    public NavigationPhaseEvent(String phase) {
+        this.phase = phase;
+    }
+
+    /**
+     * Sets the location navigated to.
+     *
+     * @param location
+     *            the path of the location
+     */
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    /**
+     * Sets the route target navigated to.
+     *
+     * @param navigationTarget
+     *            the route target class
+     */
+    public void setNavigationTarget(Class<?> navigationTarget) {
+        this.navigationTarget = navigationTarget;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for pushing changes to a client. The duration of the
+ * event includes creating and sending the message.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ */
+@Name("com.vaadin.flow.Push")
+@Label("Push")
+@Description("Pushing changes of a UI to the client")
+@Category({ "Vaadin", "Flow" })
+@StackTrace(false)
+public class PushEvent extends Event {
+
+    @Label("UI Id")
+    private int uiId;
+
+    @Label("Asynchronous")
+    private boolean async;
+
+    @Label("Message Length")
+    private int messageLength;
+
+    /**
+     * Creates a new event.
+     *
+     * @param uiId
+     *            the id of the pushed UI
+     * @param async
+     *            {@code true} if the push originates from the server,
+     *            {@code false} if it is a response to a client message
+     */
+    public PushEvent(int uiId, boolean async) {
+        this.uiId = uiId;
+        this.async = async;
+    }
+
+    /**
+     * Sets the length of the pushed message.
+     *
+     * @param messageLength
+     *            the length of the message, in characters
+     */
+    public void setMessageLength(int messageLength) {
+        this.messageLength = messageLength;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for holding a session lock. The duration of the event
+ * is the time from acquiring the lock until releasing the last hold of it.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ */
+@Name("com.vaadin.flow.SessionLockHold")
+@Label("Session Lock Hold")
+@Description("Holding the lock of a Vaadin session")
+@Category({ "Vaadin", "Flow" })
+@StackTrace(false)
+public class SessionLockHoldEvent extends Event {
+
+    /**
+     * Checks whether the event is enabled in a running recording. Used to
+     * avoid allocating an event on every lock when nothing is recorded.
+     *
+     * @return {@code true} if the event is recorded, {@code false} otherwise
+     */
+    public static boolean isRecorded() {
+        return Type.TYPE.isEnabled();
+    }
+
+    // Initialized on first use, after the event class itself
+    private static final class Type {
+        private static final EventType TYPE = EventType
+                .getEventType(SessionLockHoldEvent.class);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for writing a stream resource to the response.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ */
+@Name("com.vaadin.flow.StreamResourceWrite")
+@Label("Stream Resource Write")
+@Description("Writing a stream resource to the client")
+@Category({ "Vaadin", "Flow" })
+@StackTrace(false)
+public class StreamResourceWriteEvent extends Event {
+
+    @Label("Resource Name")
+    private String resourceName;
+
+    /**
+     * Creates a new event.
+     *
+     * @param resourceName
+     *            the name of the written resource
+     */
+    public StreamResourceWriteEvent(String resourceName) {
+        this.resourceName = resourceName;
+    }
+}
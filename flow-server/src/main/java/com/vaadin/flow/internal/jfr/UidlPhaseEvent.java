@@ -0,0 +1,70 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a phase of handling a UIDL request or creating a
+ * UIDL message for a UI.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ */
+@Name("com.vaadin.flow.UidlPhase")
+@Label("UIDL Phase")
+@Description("A phase of a UIDL round trip")
+@Category({ "Vaadin", "Flow" })
+@StackTrace(false)
+public class UidlPhaseEvent extends Event {
+
+    /** Phase for handling the RPC invocations of a client message. */
+    public static final String RPC_HANDLING = "RPC handling";
+
+    /** Phase for running the executions before client response. */
+    public static final String BEFORE_CLIENT_RESPONSE = "Before client response";
+
+    /** Phase for collecting the state tree changes. */
+    public static final String COLLECT_CHANGES = "Collect changes";
+
+    /** Phase for serializing the message to JSON. */
+    public static final String SERIALIZATION = "Serialization";
+
+    @Label("Phase")
+    private String phase;
+
+    @Label("UI Id")
+    private int uiId;
+
+    /**
+     * Creates a new event.
+     *
+     * @param phase
+     *            the phase, one of the constants of this class
+     * @param uiId
+     *            the id of the UI
+     */
+    public UidlPhaseEvent(String phase, int uiId) {
+        this.phase = phase;
+        this.uiId = uiId;
+    }
+}
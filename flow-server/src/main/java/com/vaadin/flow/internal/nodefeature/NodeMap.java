@@ -16,6 +16,9 @@
 
 package com.vaadin.flow.internal.nodefeature;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -146,7 +149,11 @@ public abstract class NodeMap extends NodeFeature {
         }
     }
 
-    private Values values;
+    /*
+     * Written as a count followed by the keys and values by writeObject, to
+     * avoid serializing a HashMap instance for every map in the state tree.
+     */
+    private transient Values values;
 
     private boolean isPopulated;
 
@@ -523,4 +530,33 @@ public abstract class NodeMap extends NodeFeature {
         return values instanceof SingleValue;
     }
 
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.defaultWriteObject();
+        if (values == null) {
+            stream.writeInt(0);
+            return;
+        }
+        stream.writeInt(values.size());
+        for (String key : values.keySet()) {
+            stream.writeObject(key);
+            stream.writeObject(values.get(key));
+        }
+    }
+
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        int size = stream.readInt();
+        if (size == 1) {
+            values = new SingleValue((String) stream.readObject(),
+                    (Serializable) stream.readObject());
+        } else if (size > 1) {
+            HashMapValues hashMapValues = new HashMapValues(null);
+            for (int i = 0; i < size; i++) {
+                hashMapValues.set((String) stream.readObject(),
+                        (Serializable) stream.readObject());
+            }
+            values = hashMapValues;
+        }
+    }
 }
@@ -34,6 +34,8 @@ import com.vaadin.flow.di.Instantiator;
 import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.Pair;
+import com.vaadin.flow.internal.jfr.FlightRecorderSupport;
+import com.vaadin.flow.internal.jfr.NavigationPhaseEvent;
 import com.vaadin.flow.router.AfterNavigationEvent;
 import com.vaadin.flow.router.BeforeEnterEvent;
 import com.vaadin.flow.router.BeforeEnterObserver;
@@ -152,8 +154,11 @@ public abstract class AbstractNavigationStateRenderer
         BeforeLeaveEvent beforeNavigationDeactivating = new BeforeLeaveEvent(
                 event, routeTargetType, parameters, routeLayoutTypes);
 
+        NavigationPhaseEvent phaseEvent = startPhase(
+                NavigationPhaseEvent.BEFORE_LEAVE);
         Optional<Integer> result = executeBeforeLeaveNavigation(event,
                 beforeNavigationDeactivating);
+        endPhase(phaseEvent, event);
 
         if (result.isPresent()) {
             return result.get();
@@ -199,8 +204,10 @@ public abstract class AbstractNavigationStateRenderer
         BeforeEnterEvent beforeNavigationActivating = new BeforeEnterEvent(
                 event, routeTargetType, parameters, routeLayoutTypes);
 
+        phaseEvent = startPhase(NavigationPhaseEvent.BEFORE_ENTER);
         result = createChainIfEmptyAndExecuteBeforeEnterNavigation(
                 beforeNavigationActivating, event, chain);
+        endPhase(phaseEvent, event);
         if (result.isPresent()) {
             return result.get();
         }
@@ -219,8 +226,10 @@ public abstract class AbstractNavigationStateRenderer
                 .subList(1, chain.size());
 
         // Change the UI according to the navigation Component chain.
+        phaseEvent = startPhase(NavigationPhaseEvent.SHOW);
         ui.getInternals().showRouteTarget(event.getLocation(),
                 componentInstance, routerLayouts);
+        endPhase(phaseEvent, event);
 
         int statusCode = locationChangeEvent.getStatusCode();
         validateStatusCode(statusCode, routeTargetType);
@@ -231,15 +240,37 @@ public abstract class AbstractNavigationStateRenderer
         afterNavigationHandlers
                 .addAll(EventUtil.collectAfterNavigationObservers(ui));
 
+        phaseEvent = startPhase(NavigationPhaseEvent.AFTER_NAVIGATION);
         fireAfterNavigationListeners(
                 new AfterNavigationEvent(locationChangeEvent),
                 afterNavigationHandlers);
+        endPhase(phaseEvent, event);
 
         updatePageTitle(event, componentInstance);
 
         return statusCode;
     }
 
+    private static NavigationPhaseEvent startPhase(String phase) {
+        if (!FlightRecorderSupport.isAvailable()) {
+            return null;
+        }
+        NavigationPhaseEvent phaseEvent = new NavigationPhaseEvent(phase);
+        phaseEvent.begin();
+        return phaseEvent;
+    }
+
+    private void endPhase(NavigationPhaseEvent phaseEvent,
+            NavigationEvent event) {
+        // Avoid creating the location string when not recording
+        if (phaseEvent != null && phaseEvent.shouldCommit()) {
+            phaseEvent.setLocation(event.getLocation().getPath());
+            phaseEvent
+                    .setNavigationTarget(navigationState.getNavigationTarget());
+            phaseEvent.commit();
+        }
+    }
+
     private void pushHistoryStateIfNeeded(NavigationEvent event, UI ui) {
         if (event instanceof ErrorNavigationEvent) {
             ErrorNavigationEvent errorEvent = (ErrorNavigationEvent) event;
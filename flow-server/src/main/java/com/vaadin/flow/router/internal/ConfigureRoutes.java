@@ -101,6 +101,22 @@ public class ConfigureRoutes extends ConfiguredRoutes implements Serializable {
         return routeModel;
     }
 
+    /**
+     * Override so that lookups always go to the current state of the edited
+     * routes instead of the navigation target cache.
+     *
+     * @param url
+     *            the navigation url used to search a route target.
+     * @return a {@link NavigationRouteTarget} instance containing the
+     *         {@link RouteTarget} and parameters extracted from the
+     *         <code>url</code> argument according with the route
+     *         configuration.
+     */
+    @Override
+    public NavigationRouteTarget getNavigationRouteTarget(String url) {
+        return getRouteModel().getNavigationRouteTarget(url);
+    }
+
     /**
      * Override so that the getters use the correct target routes map for data.
      *
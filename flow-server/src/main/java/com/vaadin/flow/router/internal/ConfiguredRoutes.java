@@ -19,6 +19,7 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -54,6 +55,13 @@ public class ConfiguredRoutes implements Serializable {
 
     private final Map<Class<? extends Exception>, Class<? extends Component>> exceptionTargetMap;
 
+    /*
+     * Navigation targets resolved for urls without route parameters. The
+     * configuration is immutable so entries never become stale, a new
+     * configuration (with an empty cache) replaces this one on every update.
+     */
+    private transient volatile Map<String, NavigationRouteTarget> navigationTargetCache;
+
     /**
      * Create an immutable RouteConfiguration.
      */
@@ -190,7 +198,46 @@ public class ConfiguredRoutes implements Serializable {
      *         configuration.
      */
     public NavigationRouteTarget getNavigationRouteTarget(String url) {
-        return getRouteModel().getNavigationRouteTarget(url);
+        if (getRoutesMap().isEmpty()) {
+            // Typically the case for session registries, which then fall back
+            // to the application registry.
+            return new NavigationRouteTarget(url, null,
+                    Collections.emptyMap());
+        }
+        if (url == null) {
+            return getRouteModel().getNavigationRouteTarget(url);
+        }
+        Map<String, NavigationRouteTarget> cache = getNavigationTargetCache();
+        NavigationRouteTarget result;
+        synchronized (cache) {
+            result = cache.get(url);
+        }
+        if (result == null) {
+            result = getRouteModel().getNavigationRouteTarget(url);
+            // Only cache parameterless routes, urls with parameter values
+            // would quickly evict them.
+            if (result.hasTarget() && result.getRouteParameters()
+                    .getParameterNames().isEmpty()) {
+                synchronized (cache) {
+                    cache.put(url, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    private Map<String, NavigationRouteTarget> getNavigationTargetCache() {
+        Map<String, NavigationRouteTarget> cache = navigationTargetCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = navigationTargetCache;
+                if (cache == null) {
+                    cache = new NavigationTargetCache();
+                    navigationTargetCache = cache;
+                }
+            }
+        }
+        return cache;
     }
 
     /**
@@ -466,4 +513,23 @@ public class ConfiguredRoutes implements Serializable {
         return null;
     }
 
+    /**
+     * Least recently used cache of resolved navigation targets.
+     */
+    private static class NavigationTargetCache
+            extends LinkedHashMap<String, NavigationRouteTarget> {
+
+        private static final int MAX_SIZE = 500;
+
+        private NavigationTargetCache() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(
+                Map.Entry<String, NavigationRouteTarget> eldest) {
+            return size() > MAX_SIZE;
+        }
+    }
+
 }
@@ -0,0 +1,303 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.vaadin.flow.function.DeploymentConfiguration;
+
+/**
+ * Decides whether a service has capacity for new users.
+ * <p>
+ * The service is considered overloaded when any of the configured limits is
+ * exceeded: the number of requests handled concurrently, the recent average
+ * time spent waiting for session locks, or the share of the heap that remains
+ * in use after garbage collection. The limits are configured with the
+ * {@code admission*} parameters of {@link InitParameters} and are all
+ * disabled by default.
+ * <p>
+ * A request that is subject to admission control is only counted as in
+ * flight once it has been admitted, so requests waiting for admission do not
+ * keep the service overloaded. Waiting requests are woken up as soon as
+ * another request ends, but they still occupy a request thread of the
+ * container while waiting, which is why the delay should be kept short.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ */
+class AdmissionController implements Serializable {
+
+    private static final long HEAP_SAMPLE_INTERVAL = TimeUnit.SECONDS
+            .toNanos(1);
+    private static final long LOCK_WAIT_SAMPLE_AGE = TimeUnit.SECONDS
+            .toNanos(10);
+    private static final long RECHECK_INTERVAL = TimeUnit.MILLISECONDS
+            .toNanos(100);
+    private static final double LOCK_WAIT_WEIGHT = 0.2;
+
+    private final int maxConcurrentRequests;
+    private final long maxLockWaitNanos;
+    private final int maxHeapUsage;
+    private final long maxDelay;
+    private final int retryAfter;
+
+    private final AtomicInteger concurrentRequests = new AtomicInteger();
+
+    /*
+     * Signalled when a request ends, for the requests waiting for admission.
+     * Only taken when there are waiters, so that requests do not contend on
+     * it otherwise.
+     */
+    private final ReentrantLock waitLock = new ReentrantLock();
+    private final Condition slotFreed = waitLock.newCondition();
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    // Updated without synchronization, losing a sample now and then is fine
+    private volatile double lockWaitAverage;
+    private volatile long lockWaitSampledAt;
+
+    private volatile int heapUsage;
+    private volatile long heapSampledAt;
+
+    /**
+     * Creates a new admission controller.
+     *
+     * @param maxConcurrentRequests
+     *            the maximum number of concurrent requests, or {@code 0} for
+     *            no limit
+     * @param maxLockWait
+     *            the maximum average session lock wait in milliseconds, or
+     *            {@code 0} for no limit
+     * @param maxHeapUsage
+     *            the maximum heap usage after garbage collection in percent,
+     *            or {@code 0} for no limit
+     * @param maxDelay
+     *            the number of milliseconds to wait for the load to drop
+     *            before rejecting a request
+     * @param retryAfter
+     *            the number of seconds after which a rejected client may
+     *            retry
+     */
+    AdmissionController(int maxConcurrentRequests, int maxLockWait,
+            int maxHeapUsage, int maxDelay, int retryAfter) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.maxLockWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxLockWait);
+        this.maxHeapUsage = maxHeapUsage;
+        this.maxDelay = maxDelay;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Creates an admission controller with the limits of the given
+     * configuration.
+     *
+     * @param configuration
+     *            the deployment configuration, not {@code null}
+     * @return the admission controller, or {@code null} if no limits are
+     *         configured
+     */
+    static AdmissionController create(DeploymentConfiguration configuration) {
+        int maxConcurrentRequests = getInt(configuration,
+                InitParameters.SERVLET_PARAMETER_ADMISSION_MAX_CONCURRENT_REQUESTS,
+                0);
+        int maxLockWait = getInt(configuration,
+                InitParameters.SERVLET_PARAMETER_ADMISSION_MAX_LOCK_WAIT, 0);
+        int maxHeapUsage = getInt(configuration,
+                InitParameters.SERVLET_PARAMETER_ADMISSION_MAX_HEAP_USAGE, 0);
+        if (maxConcurrentRequests <= 0 && maxLockWait <= 0
+                && maxHeapUsage <= 0) {
+            return null;
+        }
+        return new AdmissionController(maxConcurrentRequests, maxLockWait,
+                maxHeapUsage,
+                getInt(configuration,
+                        InitParameters.SERVLET_PARAMETER_ADMISSION_MAX_DELAY,
+                        0),
+                getInt(configuration,
+                        InitParameters.SERVLET_PARAMETER_ADMISSION_RETRY_AFTER,
+                        30));
+    }
+
+    private static int getInt(DeploymentConfiguration configuration,
+            String name, int defaultValue) {
+        return configuration.getApplicationOrSystemProperty(name,
+                defaultValue, Integer::parseInt);
+    }
+
+    /**
+     * Records that the service started handling a request that is not subject
+     * to admission control.
+     */
+    void requestStarted() {
+        concurrentRequests.incrementAndGet();
+    }
+
+    /**
+     * Records that the service finished handling a request that was started
+     * with {@link #requestStarted()} or admitted with {@link #admit()}.
+     */
+    void requestEnded() {
+        concurrentRequests.decrementAndGet();
+        // The other limits do not change when a request ends
+        if (maxConcurrentRequests > 0 && waiters.get() > 0) {
+            waitLock.lock();
+            try {
+                slotFreed.signal();
+            } finally {
+                waitLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Records the time a thread waited for a session lock.
+     *
+     * @param waitNanos
+     *            the wait time in nanoseconds
+     */
+    void lockWaited(long waitNanos) {
+        if (maxLockWaitNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        double previous = now - lockWaitSampledAt > LOCK_WAIT_SAMPLE_AGE ? 0
+                : lockWaitAverage;
+        lockWaitAverage = previous
+                + LOCK_WAIT_WEIGHT * (waitNanos - previous);
+        lockWaitSampledAt = now;
+    }
+
+    private boolean isOverloadedExceptRequests() {
+        if (maxLockWaitNanos > 0 && lockWaitAverage > maxLockWaitNanos
+                && System.nanoTime()
+                        - lockWaitSampledAt <= LOCK_WAIT_SAMPLE_AGE) {
+            return true;
+        }
+        return maxHeapUsage > 0 && getHeapUsage() > maxHeapUsage;
+    }
+
+    /**
+     * Checks whether a request may start a new session or load a new UI,
+     * waiting up to the configured delay for the load to drop. An admitted
+     * request is counted as in flight until {@link #requestEnded()} is
+     * called.
+     *
+     * @return {@code true} if the request is admitted, {@code false} if it
+     *         should be rejected
+     */
+    boolean admit() {
+        if (tryAdmit()) {
+            return true;
+        }
+        if (maxDelay <= 0) {
+            return false;
+        }
+        long deadline = System.nanoTime()
+                + TimeUnit.MILLISECONDS.toNanos(maxDelay);
+        waiters.incrementAndGet();
+        waitLock.lock();
+        try {
+            // Checked again once counted as a waiter, not to miss a signal
+            while (!tryAdmit()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                // The other limits change without a request ending
+                slotFreed.awaitNanos(Math.min(remaining, RECHECK_INTERVAL));
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            waitLock.unlock();
+            waiters.decrementAndGet();
+        }
+    }
+
+    private boolean tryAdmit() {
+        if (isOverloadedExceptRequests()) {
+            return false;
+        }
+        if (maxConcurrentRequests <= 0) {
+            concurrentRequests.incrementAndGet();
+            return true;
+        }
+        int current;
+        do {
+            current = concurrentRequests.get();
+            if (current >= maxConcurrentRequests) {
+                return false;
+            }
+        } while (!concurrentRequests.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Gets the number of seconds after which a rejected client may retry.
+     *
+     * @return the retry delay in seconds
+     */
+    int getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Gets the number of requests currently being handled.
+     *
+     * @return the number of concurrent requests
+     */
+    int getConcurrentRequests() {
+        return concurrentRequests.get();
+    }
+
+    private int getHeapUsage() {
+        long now = System.nanoTime();
+        if (heapSampledAt == 0 || now - heapSampledAt > HEAP_SAMPLE_INTERVAL) {
+            heapUsage = sampleHeapUsage();
+            heapSampledAt = now;
+        }
+        return heapUsage;
+    }
+
+    private static int sampleHeapUsage() {
+        int highest = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory
+                .getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.HEAP) {
+                continue;
+            }
+            // Usage after the last collection ignores garbage not yet
+            // collected
+            MemoryUsage usage = pool.getCollectionUsage();
+            if (usage != null && usage.getMax() > 0) {
+                highest = Math.max(highest,
+                        (int) (usage.getUsed() * 100 / usage.getMax()));
+            }
+        }
+        return highest;
+    }
+}
@@ -16,7 +16,9 @@
 package com.vaadin.flow.server;
 
 import java.io.Serializable;
-import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * The {@link Attributes} class represents a set of attributes.
@@ -27,7 +29,9 @@ import java.util.HashMap;
  */
 public class Attributes implements Serializable {
 
-    private final HashMap<String, Object> attributes = new HashMap<>();
+    // Concurrent as UI threads may share the session with per-UI locking and
+    // session attributes may be read without the session lock
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
 
     /**
      * Stores a value in this set.
@@ -133,6 +137,29 @@ public class Attributes implements Serializable {
         }
     }
 
+    /**
+     * Gets a stored attribute value, storing the value created by the given
+     * supplier if there is none. The check and the store are done atomically.
+     *
+     * @param <T>
+     *            the attribute type
+     * @param type
+     *            the type of the value to get, can not be <code>null</code>.
+     * @param supplier
+     *            the supplier creating the value if none is stored, not
+     *            <code>null</code>. It may not access this set.
+     * @return the stored value, or <code>null</code> if no value was stored
+     *         and the supplier returned <code>null</code>
+     */
+    public <T> T computeIfAbsent(Class<T> type,
+            Supplier<? extends T> supplier) {
+        if (type == null) {
+            throw new IllegalArgumentException("type can not be null");
+        }
+        return type.cast(attributes.computeIfAbsent(type.getName(),
+                name -> supplier.get()));
+    }
+
     /**
      * Returns <code>true</code> if there are no attributes.
      *
@@ -1454,6 +1454,12 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
             appConfig.put("heartbeatInterval",
                     deploymentConfiguration.getHeartbeatInterval());
 
+            if (deploymentConfiguration.getBooleanProperty(
+                    InitParameters.SERVLET_PARAMETER_PUSH_KEEPS_UI_ALIVE,
+                    false)) {
+                appConfig.put("pushKeepsUIAlive", true);
+            }
+
             appConfig.put("maxMessageSuspendTimeout",
                     deploymentConfiguration.getMaxMessageSuspendTimeout());
 
@@ -57,6 +57,10 @@ public class HandlerHelper implements Serializable {
     private static final Pattern PARENT_DIRECTORY_REGEX = Pattern
             .compile("(/|\\\\)\\.\\.(/|\\\\)?", Pattern.CASE_INSENSITIVE);
 
+    private static final Pattern UPLOAD_URL_PATTERN = Pattern
+            .compile(StreamRequestHandler.DYN_RES_PREFIX
+                    + "(\\d+)/([0-9a-z-]*)/upload");
+
     /**
      * Framework internal enum for tracking the type of a request.
      */
@@ -187,9 +191,8 @@ public class HandlerHelper implements Serializable {
             String requestedPathWithoutServletMapping) {
         // First key is uiId
         // Second key is security key
-        return requestedPathWithoutServletMapping
-                .matches(StreamRequestHandler.DYN_RES_PREFIX
-                        + "(\\d+)/([0-9a-z-]*)/upload");
+        return UPLOAD_URL_PATTERN.matcher(requestedPathWithoutServletMapping)
+                .matches();
     }
 
     static boolean isInternalRequestInsideServlet(
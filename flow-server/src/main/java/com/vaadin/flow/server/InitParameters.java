@@ -221,4 +221,128 @@ public class InitParameters implements Serializable {
      * @since
      */
     public static final String ADDITIONAL_POSTINSTALL_PACKAGES = "npm.postinstallPackages";
+
+    /**
+     * Configuration name for the maximum number of high frequency DOM events
+     * (such as {@code mousemove} or {@code scroll}) per second that the
+     * server handles for a single UI. Events exceeding the rate are dropped.
+     * The default value {@code 0} disables the limit.
+     */
+    public static final String SERVLET_PARAMETER_MAX_EVENTS_PER_SECOND = "maxEventsPerSecond";
+
+    /**
+     * Configuration name for coalescing high frequency DOM events (such as
+     * {@code mousemove} or {@code scroll}). If a message from the client
+     * contains several such events of the same type for the same element, only
+     * the latest one is fired. The default value is {@code false}.
+     */
+    public static final String SERVLET_PARAMETER_COALESCE_EVENTS = "coalesceHighFrequencyEvents";
+
+    /**
+     * Configuration name for the number of seconds a UI may go without UIDL
+     * requests before it is passivated: serialized to a file in
+     * {@link #SERVLET_PARAMETER_UI_PASSIVATION_DIRECTORY} and removed from the
+     * session until the next request for it. Heartbeats do not activate a
+     * passivated UI. UIs using push or heartbeat listeners are never
+     * passivated. An activated UI is a new instance, so the feature should
+     * only be enabled if nothing outside the UI, such as UI scoped beans or
+     * session attributes, keeps references to the UI or its components. The
+     * default value {@code -1} disables passivation.
+     */
+    public static final String SERVLET_PARAMETER_UI_PASSIVATION_TIMEOUT = "uiPassivationTimeout";
+
+    /**
+     * Configuration name for the directory passivated UIs are stored in. The
+     * default is the {@code java.io.tmpdir} directory. The files are only
+     * readable by the owner, and files left behind by an earlier run of the
+     * application are deleted when the service is initialized.
+     *
+     * @see #SERVLET_PARAMETER_UI_PASSIVATION_TIMEOUT
+     */
+    public static final String SERVLET_PARAMETER_UI_PASSIVATION_DIRECTORY = "uiPassivationDirectory";
+
+    /**
+     * Configuration name for locking each UI of a session separately, so that
+     * UIDL requests and {@link com.vaadin.flow.component.UI#access UI.access}
+     * tasks of different browser tabs are processed in parallel. Locking the
+     * session still gives exclusive access to all of its UIs. Code running
+     * for one UI may access the session concurrently with other UIs, so
+     * objects stored in the session must be thread safe, and other UIs must
+     * only be accessed with {@code UI.access}. The default value is
+     * {@code false}.
+     */
+    public static final String SERVLET_PARAMETER_UI_LOCKING = "uiLocking";
+
+    /**
+     * Configuration name for considering UIs with an open bidirectional push
+     * connection active without heartbeats, so that the client does not send
+     * heartbeats while the connection is open. Push messages do not extend the
+     * HTTP session, so this should only be enabled if the session is kept
+     * alive by other means, as the session otherwise expires after its maximum
+     * inactive interval even though the UI is in use. The default value is
+     * {@code false}.
+     */
+    public static final String SERVLET_PARAMETER_PUSH_KEEPS_UI_ALIVE = "pushKeepsUIAlive";
+
+    /**
+     * Configuration name for the number of seconds between the rounds of a
+     * background task that closes inactive UIs, removes closed UIs and
+     * passivates idle UIs of all sessions. Requests then only lock the session
+     * once, as the cleanup is no longer done at the end of each request.
+     * Closed UIs are still removed when the session is next unlocked. The
+     * default value {@code -1} cleans up the session at the end of each
+     * request.
+     */
+    public static final String SERVLET_PARAMETER_SESSION_HOUSEKEEPING_INTERVAL = "sessionHousekeepingInterval";
+
+    /**
+     * Configuration name for the maximum number of requests a service handles
+     * concurrently before it is considered overloaded. While the service is
+     * overloaded, requests that would create a new session or load a page are
+     * rejected, so that a load balancer can direct new users to other nodes,
+     * while requests of already loaded UIs are still served. The default
+     * value {@code 0} disables the limit.
+     *
+     * @see #SERVLET_PARAMETER_ADMISSION_RETRY_AFTER
+     */
+    public static final String SERVLET_PARAMETER_ADMISSION_MAX_CONCURRENT_REQUESTS = "admissionMaxConcurrentRequests";
+
+    /**
+     * Configuration name for the average time in milliseconds that requests
+     * may wait for session locks before the service is considered overloaded.
+     * The default value {@code 0} disables the limit.
+     *
+     * @see #SERVLET_PARAMETER_ADMISSION_MAX_CONCURRENT_REQUESTS
+     */
+    public static final String SERVLET_PARAMETER_ADMISSION_MAX_LOCK_WAIT = "admissionMaxLockWait";
+
+    /**
+     * Configuration name for the percentage of the maximum heap that may
+     * remain in use after garbage collection before the service is considered
+     * overloaded. The default value {@code 0} disables the limit.
+     *
+     * @see #SERVLET_PARAMETER_ADMISSION_MAX_CONCURRENT_REQUESTS
+     */
+    public static final String SERVLET_PARAMETER_ADMISSION_MAX_HEAP_USAGE = "admissionMaxHeapUsage";
+
+    /**
+     * Configuration name for the number of milliseconds a request that would
+     * be rejected because the service is overloaded waits for the load to
+     * drop before it is rejected. The default value {@code 0} rejects the
+     * request immediately. A waiting request is not counted as in flight, but
+     * it occupies a request thread of the container, so the delay should be
+     * kept short.
+     *
+     * @see #SERVLET_PARAMETER_ADMISSION_MAX_CONCURRENT_REQUESTS
+     */
+    public static final String SERVLET_PARAMETER_ADMISSION_MAX_DELAY = "admissionMaxDelay";
+
+    /**
+     * Configuration name for the number of seconds sent in the
+     * {@code Retry-After} header of requests rejected because the service is
+     * overloaded. The default value is {@code 30}.
+     *
+     * @see #SERVLET_PARAMETER_ADMISSION_MAX_CONCURRENT_REQUESTS
+     */
+    public static final String SERVLET_PARAMETER_ADMISSION_RETRY_AFTER = "admissionRetryAfter";
 }
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.CurrentInstance;
+
+/**
+ * A UI that has been idle for longer than
+ * {@link InitParameters#SERVLET_PARAMETER_UI_PASSIVATION_TIMEOUT} and has been
+ * serialized to a file so that it doesn't take any heap space until it is
+ * needed again.
+ * <p>
+ * The session and service the UI refers to are not written to the file but
+ * replaced with the live instances when the UI is activated.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ */
+public class PassivatedUI implements Serializable {
+
+    private static final String FILE_PREFIX = "vaadin-ui-";
+
+    private final int uiId;
+
+    private volatile long lastHeartbeatTimestamp;
+
+    private transient File file;
+
+    /*
+     * Contents of the file when the session has been deserialized on another
+     * node, or null when the file is used.
+     */
+    private transient byte[] data;
+
+    private PassivatedUI(int uiId, long lastHeartbeatTimestamp, File file) {
+        this.uiId = uiId;
+        this.lastHeartbeatTimestamp = lastHeartbeatTimestamp;
+        this.file = file;
+    }
+
+    /**
+     * Serializes the given UI to a new file in the given directory.
+     *
+     * @param ui
+     *            the UI to passivate, not {@code null}
+     * @param directory
+     *            the directory to store the UI in, not {@code null}
+     * @return the passivated UI, not {@code null}
+     * @throws IOException
+     *             if the UI could not be written
+     */
+    static PassivatedUI passivate(UI ui, File directory) throws IOException {
+        File file = createFile(directory.toPath()).toFile();
+        try (ObjectOutputStream out = new UIOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file.toPath())),
+                ui.getSession())) {
+            out.writeObject(ui);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file.toPath());
+            throw e;
+        }
+        return new PassivatedUI(ui.getUIId(),
+                ui.getInternals().getLastHeartbeatTimestamp(), file);
+    }
+
+    /**
+     * Deletes the files of passivated UIs that have been left in the given
+     * directory by an earlier run of the application, i.e. files that were
+     * last modified before the JVM was started.
+     *
+     * @param directory
+     *            the directory the UIs are stored in, not {@code null}
+     */
+    static void deleteStaleFiles(File directory) {
+        if (!directory.isDirectory()) {
+            return;
+        }
+        long startTime = ManagementFactory.getRuntimeMXBean().getStartTime();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(
+                directory.toPath(), FILE_PREFIX + "*.ser")) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toMillis() < startTime) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            getLogger().warn(
+                    "Unable to delete stale passivated UI files from {}",
+                    directory, e);
+        }
+    }
+
+    /**
+     * Creates a new file which only the owner can read and write, as the
+     * directory may be shared with other users of the machine.
+     */
+    private static Path createFile(Path directory) throws IOException {
+        if (Files.getFileAttributeView(directory,
+                PosixFileAttributeView.class) != null) {
+            return Files.createTempFile(directory, FILE_PREFIX, ".ser",
+                    PosixFilePermissions.asFileAttribute(
+                            PosixFilePermissions.fromString("rw-------")));
+        }
+        Path path = Files.createTempFile(directory, FILE_PREFIX, ".ser");
+        // Best effort, e.g. Windows can only restrict access with ACLs
+        File file = path.toFile();
+        file.setReadable(false, false);
+        file.setReadable(true, true);
+        file.setWritable(false, false);
+        file.setWritable(true, true);
+        return path;
+    }
+
+    /**
+     * Deserializes the UI and deletes the file it was stored in.
+     *
+     * @param session
+     *            the session the UI belongs to, not {@code null}
+     * @return the activated UI, not {@code null}
+     * @throws IOException
+     *             if the UI could not be read
+     */
+    UI activate(VaadinSession session) throws IOException {
+        Map<Class<?>, CurrentInstance> old = CurrentInstance
+                .setCurrent(session);
+        try (ObjectInputStream in = new UIInputStream(openStream(), session)) {
+            UI ui = (UI) in.readObject();
+            if (lastHeartbeatTimestamp > ui.getInternals()
+                    .getLastHeartbeatTimestamp()) {
+                ui.getInternals()
+                        .setLastHeartbeatTimestamp(lastHeartbeatTimestamp);
+            }
+            return ui;
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Unable to read passivated UI " + uiId, e);
+        } finally {
+            CurrentInstance.restoreInstances(old);
+            discard();
+        }
+    }
+
+    /**
+     * Removes the stored UI without activating it.
+     */
+    void discard() {
+        data = null;
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file.toPath());
+            } catch (IOException e) {
+                getLogger().warn("Unable to delete passivated UI file {}",
+                        file, e);
+            }
+            file = null;
+        }
+    }
+
+    /**
+     * Gets the id of the passivated UI.
+     *
+     * @return the UI id
+     */
+    public int getUIId() {
+        return uiId;
+    }
+
+    /**
+     * Gets the timestamp of the last heartbeat received for the UI, including
+     * the heartbeats received while the UI was passivated.
+     *
+     * @return the time of the last heartbeat, in milliseconds since the epoch
+     */
+    public long getLastHeartbeatTimestamp() {
+        return lastHeartbeatTimestamp;
+    }
+
+    /**
+     * Records a heartbeat received for the UI without activating it.
+     *
+     * @param lastHeartbeat
+     *            the time of the heartbeat, in milliseconds since the epoch
+     */
+    public void setLastHeartbeatTimestamp(long lastHeartbeat) {
+        lastHeartbeatTimestamp = lastHeartbeat;
+    }
+
+    private InputStream openStream() throws IOException {
+        if (data != null) {
+            return new ByteArrayInputStream(data);
+        }
+        if (file == null) {
+            throw new IOException("Passivated UI " + uiId + " was discarded");
+        }
+        return new BufferedInputStream(Files.newInputStream(file.toPath()));
+    }
+
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.defaultWriteObject();
+        // The file is local to this node, so its contents go with the session
+        if (data != null) {
+            stream.writeObject(data);
+        } else if (file != null) {
+            stream.writeObject(Files.readAllBytes(file.toPath()));
+        } else {
+            stream.writeObject(null);
+        }
+    }
+
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        data = (byte[]) stream.readObject();
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(PassivatedUI.class);
+    }
+
+    private enum Placeholder {
+        SESSION, SERVICE;
+    }
+
+    private static class UIOutputStream extends ObjectOutputStream {
+
+        private final VaadinSession session;
+
+        private UIOutputStream(OutputStream out, VaadinSession session)
+                throws IOException {
+            super(out);
+            this.session = session;
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(Object obj) {
+            if (obj == session) {
+                return Placeholder.SESSION;
+            } else if (obj == session.getService()) {
+                return Placeholder.SERVICE;
+            }
+            return obj;
+        }
+    }
+
+    private static class UIInputStream extends ObjectInputStream {
+
+        private final VaadinSession session;
+
+        private UIInputStream(InputStream in, VaadinSession session)
+                throws IOException {
+            super(in);
+            this.session = session;
+            enableResolveObject(true);
+        }
+
+        @Override
+        protected Object resolveObject(Object obj) {
+            if (obj == Placeholder.SESSION) {
+                return session;
+            } else if (obj == Placeholder.SERVICE) {
+                return session.getService();
+            }
+            return obj;
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc)
+                throws IOException, ClassNotFoundException {
+            ClassLoader classLoader = Thread.currentThread()
+                    .getContextClassLoader();
+            if (classLoader != null) {
+                try {
+                    return Class.forName(desc.getName(), false, classLoader);
+                } catch (ClassNotFoundException e) {
+                    // Fall back to the default resolution
+                }
+            }
+            return super.resolveClass(desc);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.vaadin.flow.server.HandlerHelper.RequestType;
+import com.vaadin.flow.shared.ApplicationConstants;
+
+/**
+ * Routes requests to the request handlers of a {@link VaadinService}.
+ * <p>
+ * The type and the target of a request are determined once, and the request is
+ * passed only to the handlers that may handle that kind of request, in the
+ * same order as in the full handler chain. Handlers that do not implement
+ * {@link TypedRequestHandler} are asked for all requests. The number of
+ * requests handled by each handler and the time spent in them are collected in
+ * {@link RequestHandlerStatistics} and reported to the {@link VaadinMetrics}
+ * of the service.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ */
+class RequestHandlerDispatcher implements Serializable {
+
+    private static final RequestType[] REQUEST_TYPES = RequestType.values();
+
+    private final Iterable<RequestHandler> handlers;
+
+    private final Map<RequestType, RequestHandler[]> rootRoutes = new EnumMap<>(
+            RequestType.class);
+    private final Map<RequestType, RequestHandler[]> pathRoutes = new EnumMap<>(
+            RequestType.class);
+    private final RequestHandler[] untypedRootRoute;
+    private final RequestHandler[] untypedPathRoute;
+
+    private final Map<RequestHandler, RequestHandlerStatistics> statistics;
+
+    private final VaadinMetrics metrics;
+
+    /**
+     * Creates a dispatcher for the given handler chain.
+     *
+     * @param handlers
+     *            the request handlers in the order they should be called, not
+     *            {@code null}
+     * @param metrics
+     *            the metrics to report handled requests to, not {@code null}
+     */
+    RequestHandlerDispatcher(Iterable<RequestHandler> handlers,
+            VaadinMetrics metrics) {
+        this.handlers = handlers;
+        this.metrics = metrics;
+        for (RequestType type : REQUEST_TYPES) {
+            rootRoutes.put(type, createRoute(type, true));
+            pathRoutes.put(type, createRoute(type, false));
+        }
+        untypedRootRoute = createRoute(null, true);
+        untypedPathRoute = createRoute(null, false);
+
+        Map<RequestHandler, RequestHandlerStatistics> map = new IdentityHashMap<>();
+        handlers.forEach(
+                handler -> map.put(handler, new RequestHandlerStatistics()));
+        statistics = Collections.unmodifiableMap(map);
+    }
+
+    private RequestHandler[] createRoute(RequestType type,
+            boolean servletRoot) {
+        List<RequestHandler> route = new ArrayList<>();
+        for (RequestHandler handler : handlers) {
+            if (!(handler instanceof TypedRequestHandler)
+                    || ((TypedRequestHandler) handler)
+                            .canHandleRequestType(type, servletRoot)) {
+                route.add(handler);
+            }
+        }
+        return route.toArray(new RequestHandler[0]);
+    }
+
+    /**
+     * Gets the handler chain this dispatcher routes requests to.
+     *
+     * @return the request handlers, not {@code null}
+     */
+    Iterable<RequestHandler> getHandlers() {
+        return handlers;
+    }
+
+    /**
+     * Passes the request to the handlers that may handle it until one of them
+     * handles the request.
+     *
+     * @param session
+     *            the session for the request
+     * @param request
+     *            the request to handle
+     * @param response
+     *            the response to write to
+     * @return {@code true} if a handler handled the request, {@code false}
+     *         otherwise
+     * @throws IOException
+     *             if a handler throws an IO exception
+     */
+    boolean handleRequest(VaadinSession session, VaadinRequest request,
+            VaadinResponse response) throws IOException {
+        for (RequestHandler handler : getRoute(request)) {
+            long start = System.nanoTime();
+            // A handler failing with an exception has handled the request
+            boolean handled = true;
+            try {
+                handled = handler.handleRequest(session, request, response);
+            } finally {
+                if (handled) {
+                    long nanos = System.nanoTime() - start;
+                    statistics.get(handler).requestHandled(nanos);
+                    metrics.requestHandled(handler, nanos);
+                }
+            }
+            if (handled) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the statistics of the handlers.
+     *
+     * @return an unmodifiable map from each handler to its statistics, not
+     *         {@code null}
+     */
+    Map<RequestHandler, RequestHandlerStatistics> getStatistics() {
+        return statistics;
+    }
+
+    private RequestHandler[] getRoute(VaadinRequest request) {
+        RequestType type = getRequestType(request);
+        boolean servletRoot = isServletRoot(request);
+        if (type == null) {
+            return servletRoot ? untypedRootRoute : untypedPathRoute;
+        }
+        return (servletRoot ? rootRoutes : pathRoutes).get(type);
+    }
+
+    private static RequestType getRequestType(VaadinRequest request) {
+        String parameter = request
+                .getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER);
+        if (parameter != null) {
+            for (RequestType type : REQUEST_TYPES) {
+                if (type.getIdentifier().equals(parameter)) {
+                    return type;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isServletRoot(VaadinRequest request) {
+        String pathInfo = request.getPathInfo();
+        return pathInfo == null || pathInfo.isEmpty() || "/".equals(pathInfo);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Number of requests handled by a {@link RequestHandler} of a
+ * {@link VaadinService} and the time spent handling them.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ */
+public class RequestHandlerStatistics implements Serializable {
+
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder totalTime = new LongAdder();
+    private final AtomicLong maxTime = new AtomicLong();
+
+    /**
+     * Records a request handled by the handler.
+     *
+     * @param nanos
+     *            the time spent handling the request, in nanoseconds
+     */
+    void requestHandled(long nanos) {
+        requestCount.increment();
+        totalTime.add(nanos);
+        maxTime.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Gets the number of requests handled by the handler.
+     *
+     * @return the number of handled requests
+     */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * Gets the total time spent handling requests.
+     *
+     * @return the total handling time, in nanoseconds
+     */
+    public long getTotalTimeNanos() {
+        return totalTime.sum();
+    }
+
+    /**
+     * Gets the longest time spent handling a single request.
+     *
+     * @return the maximum handling time, in nanoseconds
+     */
+    public long getMaxTimeNanos() {
+        return maxTime.get();
+    }
+}
@@ -21,6 +21,7 @@ import javax.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Serializable;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -34,6 +35,7 @@ import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
@@ -43,6 +45,7 @@ import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.DevModeHandler;
 import com.vaadin.flow.internal.DevModeHandlerManager;
 import com.vaadin.flow.internal.ResponseWriter;
+import com.vaadin.flow.server.frontend.CacheManifest;
 
 import static com.vaadin.flow.server.Constants.VAADIN_MAPPING;
 import static com.vaadin.flow.server.Constants.VAADIN_WEBAPP_RESOURCES;
@@ -70,6 +73,15 @@ public class StaticFileServer implements StaticFileHandler {
     private final VaadinService vaadinService;
     private DeploymentConfiguration deploymentConfiguration;
     private DevModeHandler devModeHandler;
+    private volatile CacheManifest cacheManifest;
+    /*
+     * ETags computed at runtime for resources not listed in the manifest. One
+     * entry per resource URL, replaced when the resource changes.
+     */
+    private final Map<String, ComputedETag> computedETags = new ConcurrentHashMap<>();
+
+    // One year, the maximum recommended by RFC 2616
+    private static final int IMMUTABLE_CACHE_TIME = 60 * 60 * 24 * 365;
 
     // Matcher to match string starting with '/themes/[theme-name]/'
     public static final Pattern APP_THEME_PATTERN = Pattern
@@ -291,9 +303,15 @@ public class StaticFileServer implements StaticFileHandler {
         // Intentionally writing cache headers also for 304 responses
         writeCacheHeaders(filenameWithPath, response);
 
+        String etag = writeETag(filenameWithPath, resourceUrl, response);
         long timestamp = writeModificationTimestamp(resourceUrl, request,
                 response);
-        if (browserHasNewestVersion(request, timestamp)) {
+        // If-None-Match takes precedence over If-Modified-Since (RFC 7232)
+        boolean browserHasNewestVersion = etag != null
+                && request.getHeader("If-None-Match") != null
+                        ? browserHasNewestVersion(request, etag)
+                        : browserHasNewestVersion(request, timestamp);
+        if (browserHasNewestVersion) {
             // Browser is up to date, nothing further to do than set the
             // response code
             response.setStatus(HttpStatusCode.NOT_MODIFIED.getCode());
@@ -407,6 +425,82 @@ public class StaticFileServer implements StaticFileHandler {
         return -1L;
     }
 
+    /**
+     * Writes the ETag for the file into the response.
+     * <p>
+     * In production mode the ETag is taken from the cache manifest generated
+     * by the frontend build or, for resources not in the manifest, computed
+     * from the resource content and remembered until the modification time or
+     * size of the resource changes. No ETag is written in
+     * development mode as resources may change at any time.
+     *
+     * @param filenameWithPath
+     *            the name and path of the file being sent
+     * @param resourceUrl
+     *            the internal URL of the file
+     * @param response
+     *            the response object
+     * @return the written ETag or {@code null} if no ETag was written
+     */
+    protected String writeETag(String filenameWithPath, URL resourceUrl,
+            HttpServletResponse response) {
+        if (!deploymentConfiguration.isProductionMode()) {
+            return null;
+        }
+        String etag = getCacheManifest().getETag(filenameWithPath);
+        if (etag == null) {
+            etag = computeETag(resourceUrl);
+        }
+        if (etag != null) {
+            response.setHeader("ETag", etag);
+        }
+        return etag;
+    }
+
+    private String computeETag(URL resourceUrl) {
+        String key = resourceUrl.toString();
+        try {
+            URLConnection connection = resourceUrl.openConnection();
+            long lastModified = connection.getLastModified();
+            long length = connection.getContentLengthLong();
+            // Always closed, see writeModificationTimestamp
+            try (InputStream stream = connection.getInputStream()) {
+                ComputedETag computed = computedETags.get(key);
+                if (computed != null
+                        && computed.isValidFor(lastModified, length)) {
+                    return computed.etag;
+                }
+                if (stream == null) {
+                    return null;
+                }
+                String etag = CacheManifest.computeETag(stream);
+                computedETags.put(key,
+                        new ComputedETag(lastModified, length, etag));
+                return etag;
+            }
+        } catch (IOException e) {
+            getLogger().trace("Failed to compute ETag. Continuing without it.",
+                    e);
+            return null;
+        }
+    }
+
+    private static class ComputedETag implements Serializable {
+        private final long lastModified;
+        private final long length;
+        private final String etag;
+
+        private ComputedETag(long lastModified, long length, String etag) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.etag = etag;
+        }
+
+        private boolean isValidFor(long lastModified, long length) {
+            return this.lastModified == lastModified && this.length == length;
+        }
+    }
+
     /**
      * Writes cache headers for the file into the response.
      *
@@ -421,6 +515,10 @@ public class StaticFileServer implements StaticFileHandler {
         String cacheControl;
         if (!deploymentConfiguration.isProductionMode()) {
             cacheControl = "no-cache";
+        } else if (getCacheManifest().isImmutable(filenameWithPath)) {
+            // The name contains a content hash so the file never changes
+            cacheControl = "public, max-age=" + IMMUTABLE_CACHE_TIME
+                    + ", immutable";
         } else if (resourceCacheTime > 0) {
             cacheControl = "max-age=" + resourceCacheTime;
         } else {
@@ -504,7 +602,7 @@ public class StaticFileServer implements StaticFileHandler {
             return 0;
         }
         if (filenameWithPath.contains(".cache.")) {
-            return 60 * 60 * 24 * 365;
+            return IMMUTABLE_CACHE_TIME;
         }
         /*
          * For all other files, the browser is allowed to cache for 1 hour
@@ -556,6 +654,61 @@ public class StaticFileServer implements StaticFileHandler {
         return false;
     }
 
+    /**
+     * Checks if the browser has an up to date cached version of requested
+     * resource using the "If-None-Match" header.
+     *
+     * @param request
+     *            The HttpServletRequest from the browser.
+     * @param resourceETag
+     *            The ETag of the resource, not {@code null}
+     * @return true if the If-None-Match header tells the cached version in the
+     *         browser is up to date, false otherwise
+     */
+    protected boolean browserHasNewestVersion(HttpServletRequest request,
+            String resourceETag) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            // Weak comparison is used for If-None-Match
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if ("*".equals(candidate) || resourceETag.equals(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private CacheManifest getCacheManifest() {
+        if (cacheManifest == null) {
+            cacheManifest = loadCacheManifest();
+        }
+        return cacheManifest;
+    }
+
+    private CacheManifest loadCacheManifest() {
+        ClassLoader classLoader = vaadinService.getClassLoader();
+        if (classLoader == null) {
+            return CacheManifest.empty();
+        }
+        try (InputStream stream = classLoader
+                .getResourceAsStream(CacheManifest.CACHE_MANIFEST_RESOURCE)) {
+            if (stream == null) {
+                return CacheManifest.empty();
+            }
+            return CacheManifest.read(stream);
+        } catch (IOException | RuntimeException e) {
+            getLogger().warn("Unable to read {}, ETags will be computed lazily",
+                    CacheManifest.CACHE_MANIFEST_RESOURCE, e);
+            return CacheManifest.empty();
+        }
+    }
+
     private static Logger getLogger() {
         return LoggerFactory.getLogger(StaticFileServer.class.getName());
     }
@@ -18,9 +18,9 @@ package com.vaadin.flow.server;
 import java.io.Serializable;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.vaadin.flow.server.communication.StreamRequestHandler;
 
@@ -32,7 +32,9 @@ import com.vaadin.flow.server.communication.StreamRequestHandler;
  */
 public class StreamResourceRegistry implements Serializable {
 
-    private final Map<URI, AbstractStreamResource> res = new HashMap<>();
+    // Concurrent as threads of different UIs may register resources with
+    // per-UI locking
+    private final Map<URI, AbstractStreamResource> res = new ConcurrentHashMap<>();
 
     private final VaadinSession session;
 
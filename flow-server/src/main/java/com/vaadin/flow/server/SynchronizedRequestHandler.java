@@ -16,18 +16,63 @@
 package com.vaadin.flow.server;
 
 import java.io.IOException;
+import java.io.Reader;
+import java.io.Serializable;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.ReflectionCache;
 
 /**
  * RequestHandler which takes care of locking and unlocking of the VaadinSession
  * automatically. The session is locked before
  * {@link #synchronizedHandleRequest(VaadinSession, VaadinRequest, VaadinResponse)}
  * is called and unlocked after it has completed.
+ * <p>
+ * A handler returning {@code true} from
+ * {@link #isReadAndWriteOutsideSessionLock()} gets the request body read
+ * before the session is locked and writes its response after the session has
+ * been unlocked, so that a slow client doesn't keep the session locked. A
+ * subclass of such a handler that overrides
+ * {@link #synchronizedHandleRequest(VaadinSession, VaadinRequest, VaadinResponse)}
+ * but not
+ * {@link #synchronizedHandleRequest(VaadinSession, VaadinRequest, VaadinResponse, String)}
+ * is still handled by its override, with everything done while the session is
+ * locked.
  *
  * @author Vaadin Ltd
  * @since 1.0
  */
 public abstract class SynchronizedRequestHandler implements RequestHandler {
 
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    /*
+     * Whether a handler class overrides the method without the request body
+     * in a subclass of the class implementing the method with the body, so
+     * the implementation with the body doesn't know about the override.
+     */
+    private static final ReflectionCache<SynchronizedRequestHandler, Boolean> LOCKED_HANDLING_OVERRIDDEN = new ReflectionCache<>(
+            SynchronizedRequestHandler::isLockedHandlingOverridden);
+
+    /**
+     * Writes the response of a request after the session has been unlocked.
+     */
+    @FunctionalInterface
+    public interface ResponseWriter extends Serializable {
+        /**
+         * Writes the response.
+         *
+         * @throws IOException
+         *             If an IO error occurred
+         */
+        void writeResponse() throws IOException;
+    }
+
     @Override
     public boolean handleRequest(VaadinSession session, VaadinRequest request,
             VaadinResponse response) throws IOException {
@@ -35,12 +80,36 @@ public abstract class SynchronizedRequestHandler implements RequestHandler {
             return false;
         }
 
-        session.lock();
+        if (!isReadAndWriteOutsideSessionLock()
+                || LOCKED_HANDLING_OVERRIDDEN.get(getClass())) {
+            long start = System.nanoTime();
+            UI lockedUI = lock(session, request);
+            long locked = System.nanoTime();
+            try {
+                return synchronizedHandleRequest(session, request, response);
+            } finally {
+                unlock(session, lockedUI);
+                logLockHoldTime(start, locked);
+            }
+        }
+
+        String requestBody = getRequestBody(request.getReader());
+        Optional<ResponseWriter> responseWriter;
+        long start = System.nanoTime();
+        UI lockedUI = lock(session, request);
+        long locked = System.nanoTime();
         try {
-            return synchronizedHandleRequest(session, request, response);
+            responseWriter = synchronizedHandleRequest(session, request,
+                    response, requestBody);
         } finally {
-            session.unlock();
+            unlock(session, lockedUI);
+            logLockHoldTime(start, locked);
         }
+        if (responseWriter.isPresent()) {
+            responseWriter.get().writeResponse();
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -85,4 +154,153 @@ public abstract class SynchronizedRequestHandler implements RequestHandler {
         return true;
     }
 
+    /**
+     * Checks whether the request body should be read and the response written
+     * without holding the session lock. If this returns {@code true},
+     * {@link #synchronizedHandleRequest(VaadinSession, VaadinRequest, VaadinResponse, String)}
+     * is called instead of
+     * {@link #synchronizedHandleRequest(VaadinSession, VaadinRequest, VaadinResponse)}.
+     * <p>
+     * The default implementation returns {@code false}.
+     *
+     * @return {@code true} to read the request body and write the response
+     *         outside the session lock, {@code false} to do everything while
+     *         the session is locked
+     */
+    public boolean isReadAndWriteOutsideSessionLock() {
+        return false;
+    }
+
+    /**
+     * Checks whether this handler only needs the UI the request is for to be
+     * locked, instead of the whole session, when
+     * {@link VaadinSession#isUILocking() per-UI locking} is enabled. The
+     * session is still locked if the request is not for any UI of the
+     * session.
+     * <p>
+     * The default implementation returns {@code false}.
+     *
+     * @return {@code true} to lock only the UI of the request, {@code false}
+     *         to lock the session
+     */
+    public boolean isUILockSufficient() {
+        return false;
+    }
+
+    private UI lock(VaadinSession session, VaadinRequest request) {
+        if (session.isUILocking() && isUILockSufficient()) {
+            UI ui = session.findAndLockUI(request);
+            if (ui != null) {
+                return ui;
+            }
+        }
+        session.lock();
+        return null;
+    }
+
+    private static void unlock(VaadinSession session, UI lockedUI) {
+        if (lockedUI != null) {
+            session.unlockUI(lockedUI);
+        } else {
+            session.unlock();
+        }
+    }
+
+    /**
+     * Handles a request with the session locked, the request body already
+     * read and the response to be written after the session has been
+     * unlocked. Only called if {@link #isReadAndWriteOutsideSessionLock()}
+     * returns {@code true}.
+     * <p>
+     * The default implementation handles the request with
+     * {@link #synchronizedHandleRequest(VaadinSession, VaadinRequest, VaadinResponse)},
+     * which writes the response while the session is locked.
+     * <p>
+     * The response writer must not access the session or its UIs, as it is
+     * run without the session lock.
+     *
+     * @param session
+     *            The session for the request
+     * @param request
+     *            The request to handle
+     * @param response
+     *            The response object to which a response can be written.
+     * @param requestBody
+     *            the body of the request, or {@code null} if it has no body
+     * @return a writer for the response if the request was handled and no
+     *         further request handlers should be called, otherwise an empty
+     *         optional
+     * @throws IOException
+     *             If an IO error occurred
+     */
+    public Optional<ResponseWriter> synchronizedHandleRequest(
+            VaadinSession session, VaadinRequest request,
+            VaadinResponse response, String requestBody)
+            throws IOException {
+        if (synchronizedHandleRequest(session, request, response)) {
+            return Optional.of(() -> {
+                // The response has already been written
+            });
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Reads the whole request body from the given reader.
+     *
+     * @param reader
+     *            the reader of the request, may be {@code null}
+     * @return the request body, or {@code null} if the reader is {@code null}
+     * @throws IOException
+     *             If reading the body fails
+     */
+    public static String getRequestBody(Reader reader) throws IOException {
+        if (reader == null) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(READ_BUFFER_SIZE);
+        char[] buffer = new char[READ_BUFFER_SIZE];
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            sb.append(buffer, 0, read);
+        }
+        return sb.toString();
+    }
+
+    private void logLockHoldTime(long start, long locked) {
+        Logger logger = getLogger();
+        if (logger.isDebugEnabled()) {
+            long end = System.nanoTime();
+            logger.debug(
+                    "{} waited {} ms for the session lock and held it for {} ms",
+                    getClass().getSimpleName(),
+                    TimeUnit.NANOSECONDS.toMillis(locked - start),
+                    TimeUnit.NANOSECONDS.toMillis(end - locked));
+        }
+    }
+
+    private static boolean isLockedHandlingOverridden(
+            Class<? extends SynchronizedRequestHandler> type) {
+        try {
+            Class<?> withoutBody = type
+                    .getMethod("synchronizedHandleRequest",
+                            VaadinSession.class, VaadinRequest.class,
+                            VaadinResponse.class)
+                    .getDeclaringClass();
+            Class<?> withBody = type
+                    .getMethod("synchronizedHandleRequest",
+                            VaadinSession.class, VaadinRequest.class,
+                            VaadinResponse.class, String.class)
+                    .getDeclaringClass();
+            return withoutBody != withBody
+                    && withBody.isAssignableFrom(withoutBody);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(SynchronizedRequestHandler.class);
+    }
+
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import com.vaadin.flow.server.HandlerHelper.RequestType;
+
+/**
+ * A request handler that only handles some kinds of requests, allowing
+ * {@link VaadinService} to skip it for other requests without calling
+ * {@link #handleRequest(VaadinSession, VaadinRequest, VaadinResponse)}.
+ * <p>
+ * A subclass of a typed handler that handles other kinds of requests than its
+ * super class must override
+ * {@link #canHandleRequestType(RequestType, boolean)} accordingly.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ */
+public interface TypedRequestHandler extends RequestHandler {
+
+    /**
+     * Checks whether this handler may handle requests of the given type. A
+     * return value of {@code true} does not mean that the handler handles all
+     * such requests, only that it must be asked.
+     *
+     * @param requestType
+     *            the type of the request, or {@code null} if the request has
+     *            no known request type parameter
+     * @param servletRoot
+     *            {@code true} if the request targets the root of the servlet,
+     *            {@code false} if it targets some path inside the servlet
+     * @return {@code true} if the handler may handle the request,
+     *         {@code false} if the handler never handles such requests
+     */
+    boolean canHandleRequestType(RequestType requestType, boolean servletRoot);
+}
@@ -18,6 +18,7 @@ package com.vaadin.flow.server;
 import java.io.IOException;
 import java.io.Writer;
 
+import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.shared.ApplicationConstants;
 
 /**
@@ -26,7 +27,8 @@ import com.vaadin.flow.shared.ApplicationConstants;
  *
  * @since 1.0
  */
-public class UnsupportedBrowserHandler extends SynchronizedRequestHandler {
+public class UnsupportedBrowserHandler extends SynchronizedRequestHandler
+        implements TypedRequestHandler {
 
     /** Cookie used to ignore browser checks. */
     public static final String FORCE_LOAD_COOKIE = "vaadinforceload=1";
@@ -73,6 +75,21 @@ public class UnsupportedBrowserHandler extends SynchronizedRequestHandler {
             + "</head>";
     // @formatter:on
 
+    @Override
+    protected boolean canHandleRequest(VaadinRequest request) {
+        // The page is only shown instead of the application, so there is no
+        // need to lock the session for messages from an already loaded UI
+        return !HandlerHelper.isRequestType(request, RequestType.UIDL)
+                && !HandlerHelper.isRequestType(request, RequestType.HEARTBEAT);
+    }
+
+    @Override
+    public boolean canHandleRequestType(RequestType requestType,
+            boolean servletRoot) {
+        return requestType != RequestType.UIDL
+                && requestType != RequestType.HEARTBEAT;
+    }
+
     @Override
     public boolean synchronizedHandleRequest(VaadinSession session,
             VaadinRequest request, VaadinResponse response) throws IOException {
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+
+import com.vaadin.flow.di.Lookup;
+
+/**
+ * Receives measurements from the hot paths of a {@link VaadinService}, such as
+ * request handling, session locking and UIDL messages, to be forwarded to a
+ * metrics library.
+ * <p>
+ * An implementation is looked up from the {@link Lookup} of the application
+ * when the service is initialized, so outside of Spring it should be
+ * registered with {@link java.util.ServiceLoader}. All methods are called on the thread doing
+ * the measured work and must return quickly. If no implementation is found,
+ * {@link #NO_OP} is used.
+ *
+ * @author Vaadin Ltd
+ */
+public interface VaadinMetrics extends Serializable {
+
+    /**
+     * Metrics that ignore all measurements.
+     */
+    VaadinMetrics NO_OP = new VaadinMetrics() {
+    };
+
+    /**
+     * Gets the metrics of the given service.
+     *
+     * @param service
+     *            the service, or {@code null}
+     * @return the metrics of the service, or {@link #NO_OP} if there is no
+     *         service, not {@code null}
+     */
+    static VaadinMetrics get(VaadinService service) {
+        VaadinMetrics metrics = service == null ? null : service.getMetrics();
+        return metrics == null ? NO_OP : metrics;
+    }
+
+    /**
+     * Called when a request handler has handled a request.
+     *
+     * @param handler
+     *            the request handler, not {@code null}
+     * @param nanos
+     *            the time spent in the handler, in nanoseconds
+     */
+    default void requestHandled(RequestHandler handler, long nanos) {
+    }
+
+    /**
+     * Called when a thread has locked a session which it did not hold yet.
+     *
+     * @param waitNanos
+     *            the time spent waiting for the lock, in nanoseconds
+     */
+    default void sessionLocked(long waitNanos) {
+    }
+
+    /**
+     * Called when a thread has released the last hold of a session lock.
+     *
+     * @param holdNanos
+     *            the time the lock was held, in nanoseconds
+     */
+    default void sessionUnlocked(long holdNanos) {
+    }
+
+    /**
+     * Called when the pending access tasks of a session are run.
+     *
+     * @param queueSize
+     *            the number of tasks in the queue before running them
+     */
+    default void accessTasksRun(int queueSize) {
+    }
+
+    /**
+     * Called when a UIDL response with the changes of a UI has been created.
+     *
+     * @param changeCount
+     *            the number of state tree changes in the response
+     * @param nanos
+     *            the time spent creating the response, in nanoseconds
+     */
+    default void uidlCreated(int changeCount, long nanos) {
+    }
+
+    /**
+     * Called when a UIDL message is sent to the client, either as a response
+     * to a request or as a push message.
+     *
+     * @param length
+     *            the length of the message, in characters
+     * @param push
+     *            {@code true} if the message was pushed, {@code false} if it
+     *            was the response to a request
+     */
+    default void uidlSent(int length, boolean push) {
+    }
+
+    /**
+     * Called when changes have been pushed to a client.
+     *
+     * @param nanos
+     *            the time spent creating and sending the push message, in
+     *            nanoseconds
+     */
+    default void pushed(long nanos) {
+    }
+
+    /**
+     * Called for each RPC invocation received from the client, including the
+     * events that are coalesced or dropped instead of being fired.
+     *
+     * @param type
+     *            the type of the invocation, not {@code null}
+     */
+    default void rpcInvoked(String type) {
+    }
+
+    /**
+     * Called when items have been fetched from a data provider.
+     *
+     * @param itemCount
+     *            the number of fetched items
+     * @param nanos
+     *            the time spent fetching the items, in nanoseconds
+     */
+    default void dataFetched(int itemCount, long nanos) {
+    }
+}
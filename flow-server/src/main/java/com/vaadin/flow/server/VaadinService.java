@@ -17,6 +17,7 @@
 package com.vaadin.flow.server;
 
 import java.io.BufferedWriter;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -36,12 +37,15 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -51,6 +55,7 @@ import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.vaadin.flow.component.HeartbeatListener;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.di.DefaultInstantiator;
 import com.vaadin.flow.di.Instantiator;
@@ -60,6 +65,7 @@ import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.i18n.I18NProvider;
 import com.vaadin.flow.internal.CurrentInstance;
 import com.vaadin.flow.internal.LocaleUtil;
+import com.vaadin.flow.internal.UrlUtil;
 import com.vaadin.flow.internal.UsageStatistics;
 import com.vaadin.flow.router.RouteData;
 import com.vaadin.flow.router.Router;
@@ -69,6 +75,7 @@ import com.vaadin.flow.server.communication.HeartbeatHandler;
 import com.vaadin.flow.server.communication.IndexHtmlRequestListener;
 import com.vaadin.flow.server.communication.IndexHtmlResponse;
 import com.vaadin.flow.server.communication.JavaScriptBootstrapHandler;
+import com.vaadin.flow.server.communication.PushConnection;
 import com.vaadin.flow.server.communication.PwaHandler;
 import com.vaadin.flow.server.communication.SessionRequestHandler;
 import com.vaadin.flow.server.communication.StreamRequestHandler;
@@ -161,6 +168,12 @@ public abstract class VaadinService implements Serializable {
 
     private Iterable<RequestHandler> requestHandlers;
 
+    private RequestHandlerDispatcher requestHandlerDispatcher;
+
+    private VaadinMetrics metrics = VaadinMetrics.NO_OP;
+
+    private AdmissionController admissionController;
+
     private Iterable<BootstrapListener> bootstrapListeners;
 
     private transient Iterable<IndexHtmlRequestListener> indexHtmlRequestListeners;
@@ -190,6 +203,13 @@ public abstract class VaadinService implements Serializable {
 
     private VaadinContext vaadinContext;
 
+    /*
+     * Sessions visited by the session housekeeping, or null if UIs are cleaned
+     * up at the end of each request.
+     */
+    private transient Set<VaadinSession> housekeepingSessions;
+    private transient ScheduledExecutorService housekeepingExecutor;
+
     /**
      * Creates a new vaadin service based on a deployment configuration.
      *
@@ -223,6 +243,7 @@ public abstract class VaadinService implements Serializable {
     public void init() throws ServiceException {
         doSetClassLoader();
         instantiator = createInstantiator();
+        metrics = lookupMetrics();
 
         // init the router now so that registry will be available for
         // modifications
@@ -243,6 +264,8 @@ public abstract class VaadinService implements Serializable {
             Collections.reverse(handlers);
 
             requestHandlers = Collections.unmodifiableCollection(handlers);
+            requestHandlerDispatcher = new RequestHandlerDispatcher(
+                    requestHandlers, metrics);
 
             dependencyFilters = Collections.unmodifiableCollection(instantiator
                     .getDependencyFilters(event.getAddedDependencyFilters())
@@ -271,9 +294,33 @@ public abstract class VaadinService implements Serializable {
             UsageStatistics.markAsUsed("flow/pnpm", null);
         }
 
+        if (getUIPassivationTimeout() >= 0) {
+            PassivatedUI.deleteStaleFiles(getUIPassivationDirectory());
+        }
+        startSessionHousekeeping();
+        admissionController = AdmissionController.create(configuration);
+
         initialized = true;
     }
 
+    private VaadinMetrics lookupMetrics() {
+        Lookup lookup = getContext().getAttribute(Lookup.class);
+        // lookup may be null in tests
+        VaadinMetrics found = lookup == null ? null
+                : lookup.lookup(VaadinMetrics.class);
+        return found == null ? VaadinMetrics.NO_OP : found;
+    }
+
+    /**
+     * Gets the metrics that measurements of this service are reported to.
+     *
+     * @return the metrics looked up when the service was initialized, or
+     *         {@link VaadinMetrics#NO_OP} if there are none, not {@code null}
+     */
+    public VaadinMetrics getMetrics() {
+        return metrics;
+    }
+
     private void addRouterUsageStatistics() {
         if (UsageStatistics.getEntries().anyMatch(
                 e -> Constants.STATISTIC_ROUTING_CLIENT.equals(e.getName()))) {
@@ -626,13 +673,23 @@ public abstract class VaadinService implements Serializable {
      */
     public void fireSessionDestroy(VaadinSession vaadinSession) {
         final VaadinSession session = vaadinSession;
+        if (housekeepingSessions != null) {
+            housekeepingSessions.remove(session);
+        }
         session.access(() -> {
             if (session.getState() == VaadinSessionState.CLOSED) {
+                session.discardPassivatedUIs();
                 return;
             }
             if (session.getState() == VaadinSessionState.OPEN) {
                 closeSession(session);
             }
+            // Activate passivated UIs so that they are detached as well
+            new ArrayList<>(session.getPassivatedUIs())
+                    .forEach(passivatedUI -> session
+                            .getUIById(passivatedUI.getUIId()));
+            // Delete the files of those that could not be activated
+            session.discardPassivatedUIs();
             List<UI> uis = new ArrayList<>(session.getUIs());
             for (final UI ui : uis) {
                 ui.accessSynchronously(() -> {
@@ -1296,6 +1353,7 @@ public abstract class VaadinService implements Serializable {
         if (isSessionActive(session)) {
             closeInactiveUIs(session);
             removeClosedUIs(session);
+            passivateIdleUIs(session);
         } else {
             if (session.getState() == VaadinSessionState.OPEN) {
                 closeSession(session);
@@ -1345,6 +1403,17 @@ public abstract class VaadinService implements Serializable {
      */
     private void closeInactiveUIs(VaadinSession session) {
         final String sessionId = session.getSession().getId();
+        int timeout = 1000 * getHeartbeatTimeout();
+        if (timeout >= 0) {
+            long now = System.currentTimeMillis();
+            for (PassivatedUI passivatedUI : new ArrayList<>(
+                    session.getPassivatedUIs())) {
+                if (now - passivatedUI.getLastHeartbeatTimestamp() >= timeout) {
+                    // Activate so that the UI is closed and detached normally
+                    session.getUIById(passivatedUI.getUIId());
+                }
+            }
+        }
         for (final UI ui : session.getUIs()) {
             if (!isUIActive(ui) && !ui.isClosing()) {
                 ui.accessSynchronously(() -> {
@@ -1356,6 +1425,201 @@ public abstract class VaadinService implements Serializable {
         }
     }
 
+    /**
+     * Passivates those UIs in the given session that have not received a UIDL
+     * request within {@link #getUIPassivationTimeout()} and can be restored
+     * from their serialized form.
+     */
+    private void passivateIdleUIs(VaadinSession session) {
+        int timeout = 1000 * getUIPassivationTimeout();
+        if (timeout < 0) {
+            return;
+        }
+        Lock lockInstance = session.getLockInstance();
+        if (lockInstance instanceof ReentrantLock
+                && ((ReentrantLock) lockInstance).hasQueuedThreads()) {
+            // Someone is about to access the session, maybe one of the UIs
+            return;
+        }
+        File directory = getUIPassivationDirectory();
+        long now = System.currentTimeMillis();
+        for (UI ui : new ArrayList<>(session.getUIs())) {
+            if (now - ui.getInternals().getLastRequestTimestamp() >= timeout
+                    && canPassivate(ui)) {
+                try {
+                    session.passivateUI(ui, directory);
+                    getLogger().debug("Passivated idle UI #{} to {}",
+                            ui.getUIId(), directory);
+                } catch (IOException | RuntimeException e) {
+                    getLogger().warn("Unable to passivate UI #{}",
+                            ui.getUIId(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the given UI can be passivated. UIs that are closing,
+     * handling the current request, or that are updated by the server without
+     * a request from the client (push) or have heartbeat listeners are kept in
+     * memory.
+     */
+    private static boolean canPassivate(UI ui) {
+        return !ui.isClosing() && UI.getCurrent() != ui
+                && !ui.getPushConfiguration().getPushMode().isEnabled()
+                && ui.getInternals().getPushConnection() == null
+                && ui.getInternals().getListeners(HeartbeatListener.class)
+                        .isEmpty();
+    }
+
+    /**
+     * Returns the number of seconds that must pass without a UIDL request
+     * being received from a UI before the UI is passivated, or a negative
+     * number if UIs are never passivated.
+     *
+     * @return the passivation timeout in seconds or a negative number
+     * @see InitParameters#SERVLET_PARAMETER_UI_PASSIVATION_TIMEOUT
+     */
+    private int getUIPassivationTimeout() {
+        return getDeploymentConfiguration().getApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_UI_PASSIVATION_TIMEOUT, -1,
+                Integer::parseInt);
+    }
+
+    private File getUIPassivationDirectory() {
+        return new File(getDeploymentConfiguration().getStringProperty(
+                InitParameters.SERVLET_PARAMETER_UI_PASSIVATION_DIRECTORY,
+                System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Returns the number of seconds between the rounds of the session
+     * housekeeping, or a non-positive number if UIs are cleaned up at the end
+     * of each request instead.
+     *
+     * @return the housekeeping interval in seconds or a non-positive number
+     * @see InitParameters#SERVLET_PARAMETER_SESSION_HOUSEKEEPING_INTERVAL
+     */
+    private int getSessionHousekeepingInterval() {
+        return getDeploymentConfiguration().getApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_SESSION_HOUSEKEEPING_INTERVAL,
+                -1, Integer::parseInt);
+    }
+
+    private void startSessionHousekeeping() {
+        int interval = getSessionHousekeepingInterval();
+        if (interval <= 0 || housekeepingExecutor != null) {
+            return;
+        }
+        housekeepingSessions = ConcurrentHashMap.newKeySet();
+        housekeepingExecutor = Executors
+                .newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable,
+                            "vaadin-session-housekeeping");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+        housekeepingExecutor.scheduleWithFixedDelay(
+                this::runSessionHousekeeping, interval, interval,
+                TimeUnit.SECONDS);
+    }
+
+    private void addToSessionHousekeeping(VaadinSession session) {
+        // Checked first as the session is usually already there
+        if (housekeepingSessions != null
+                && !housekeepingSessions.contains(session)) {
+            housekeepingSessions.add(session);
+        }
+    }
+
+    // Package private for testing
+    void runSessionHousekeeping() {
+        for (VaadinSession session : housekeepingSessions) {
+            if (!isBoundToHttpSession(session)) {
+                // Don't keep sessions that are gone from memory
+                housekeepingSessions.remove(session);
+                continue;
+            }
+            try {
+                runSessionHousekeeping(session);
+            } catch (Exception e) {
+                getLogger().warn("Error in session housekeeping", e);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the given session is still stored in its HTTP session.
+     * It is not if the HTTP session has been invalidated, or if the session
+     * was replaced or removed without being destroyed, e.g. when the HTTP
+     * session was serialized by the container.
+     */
+    private boolean isBoundToHttpSession(VaadinSession session) {
+        WrappedSession wrappedSession = session.getSession();
+        if (wrappedSession == null) {
+            return false;
+        }
+        try {
+            return wrappedSession
+                    .getAttribute(getSessionAttributeName()) != null;
+        } catch (IllegalStateException e) {
+            // The HTTP session has been invalidated
+            return false;
+        }
+    }
+
+    /**
+     * Does what {@link #cleanupSession(VaadinSession)} does at the end of a
+     * request, except that an inactive session is only closed. It is removed
+     * from the HTTP session by the next request, or when the HTTP session
+     * expires.
+     */
+    private void runSessionHousekeeping(VaadinSession session) {
+        // A busy session is visited again on the next round
+        if (!session.tryLock()) {
+            return;
+        }
+        Map<Class<?>, CurrentInstance> old = CurrentInstance
+                .setCurrent(session);
+        try {
+            if (isSessionActive(session)) {
+                closeInactiveUIs(session);
+                removeClosedUIs(session);
+                passivateIdleUIs(session);
+                if (session.getUIs().isEmpty()
+                        && session.getPassivatedUIs().isEmpty()) {
+                    // Added back by the next request
+                    housekeepingSessions.remove(session);
+                }
+            } else {
+                if (session.getState() == VaadinSessionState.OPEN) {
+                    closeSession(session);
+                }
+                housekeepingSessions.remove(session);
+            }
+        } finally {
+            session.unlock();
+            CurrentInstance.restoreInstances(old);
+        }
+    }
+
+    /**
+     * Removes the UIs of the given session that have been closed, once the
+     * session is unlocked. Called when a UI is closed, so that it is detached
+     * at the end of the request like without the session housekeeping.
+     * <p>
+     * For internal use only. May be renamed or removed in a future release.
+     *
+     * @param session
+     *            the session of the closed UI, not {@code null}
+     */
+    public void uiClosed(VaadinSession session) {
+        if (housekeepingSessions != null) {
+            session.access(() -> removeClosedUIs(session));
+        }
+    }
+
     /**
      * Returns the number of seconds that must pass without a valid heartbeat or
      * UIDL request being received from a UI before that UI is removed from its
@@ -1413,6 +1677,16 @@ public abstract class VaadinService implements Serializable {
             return false;
         }
 
+        // If enabled, an open push connection tells that the client is still
+        // there, even if it sends no heartbeats
+        PushConnection pushConnection = ui.getInternals().getPushConnection();
+        if (pushConnection != null && pushConnection.isConnected()
+                && getDeploymentConfiguration().getBooleanProperty(
+                        InitParameters.SERVLET_PARAMETER_PUSH_KEEPS_UI_ALIVE,
+                        false)) {
+            return true;
+        }
+
         // Check for long running tasks
         Lock lockInstance = ui.getSession().getLockInstance();
         if (lockInstance instanceof ReentrantLock
@@ -1493,17 +1767,44 @@ public abstract class VaadinService implements Serializable {
             VaadinSession session) {
         if (session != null) {
             assert VaadinSession.getCurrent() == session;
+            final long duration = (System.nanoTime() - (Long) request
+                    .getAttribute(REQUEST_START_TIME_ATTRIBUTE)) / 1000000;
+            if (housekeepingSessions != null && session.isOpen()
+                    && session.getSession() != null) {
+                // The UIs are cleaned up by the session housekeeping, so there
+                // is no need to lock the session again
+                session.recordRequestDuration(duration);
+            } else {
+                /*
+                 * Waiting for the session lock would also stop the other UIs
+                 * of the session, and heartbeats are recorded without the
+                 * lock, so in those cases the cleanup is left to a later
+                 * request if the session is busy.
+                 */
+                cleanupSession(session, duration, session.isUILocking()
+                        || HandlerHelper.isRequestType(request,
+                                RequestType.HEARTBEAT));
+            }
+        }
+        CurrentInstance.clearAll();
+    }
+
+    private void cleanupSession(VaadinSession session, long requestDuration,
+            boolean onlyIfNotBusy) {
+        boolean locked = true;
+        if (onlyIfNotBusy) {
+            locked = session.tryLock();
+        } else {
             session.lock();
+        }
+        if (locked) {
             try {
                 cleanupSession(session);
-                final long duration = (System.nanoTime() - (Long) request
-                        .getAttribute(REQUEST_START_TIME_ATTRIBUTE)) / 1000000;
-                session.setLastRequestDuration(duration);
+                session.setLastRequestDuration(requestDuration);
             } finally {
                 session.unlock();
             }
         }
-        CurrentInstance.clearAll();
     }
 
     /**
@@ -1552,18 +1853,30 @@ public abstract class VaadinService implements Serializable {
             throws ServiceException {
         requestStart(request, response);
 
+        AdmissionController admission = admissionController;
+        boolean counted = false;
         VaadinSession vaadinSession = null;
         try {
+            if (admission != null) {
+                // Only admitted requests count as in flight
+                if (!isAdmissionControlled(request)) {
+                    admission.requestStarted();
+                } else if (!admission.admit()) {
+                    writeAdmissionRejectedResponse(request, response,
+                            admission.getRetryAfter());
+                    return;
+                }
+                counted = true;
+            }
+
             // Find out the service session this request is related to
             vaadinSession = findVaadinSession(request);
             if (vaadinSession == null) {
                 return;
             }
 
-            for (RequestHandler handler : getRequestHandlers()) {
-                if (handler.handleRequest(vaadinSession, request, response)) {
-                    return;
-                }
+            if (handleRequestWithHandlers(vaadinSession, request, response)) {
+                return;
             }
 
             // Request not handled by any RequestHandler
@@ -1575,10 +1888,108 @@ public abstract class VaadinService implements Serializable {
         } catch (final Exception e) {
             handleExceptionDuringRequest(request, response, vaadinSession, e);
         } finally {
+            if (counted) {
+                admission.requestEnded();
+            }
             requestEnd(request, response, vaadinSession);
         }
     }
 
+    /**
+     * Checks whether the given request is subject to admission control, i.e.
+     * whether it may be rejected when this service is overloaded. Requests
+     * that may create a new session or load a new UI are controlled, whereas
+     * requests of already loaded UIs, including their stream resources, are
+     * always served. An init request ({@code v-r=init}) of a client-side
+     * application that belongs to an existing HTTP session is not controlled
+     * either, as the page that loaded the application was already admitted.
+     *
+     * @param request
+     *            the request to check
+     * @return {@code true} if the request may be rejected when the service is
+     *         overloaded
+     */
+    protected boolean isAdmissionControlled(VaadinRequest request) {
+        if (!requestCanCreateSession(request)) {
+            return false;
+        }
+        if (HandlerHelper.isRequestType(request, RequestType.INIT)
+                && request.getWrappedSession(false) != null) {
+            return false;
+        }
+        String pathInfo = UrlUtil.getStaticVaadinPathInfo(request);
+        return pathInfo == null || !pathInfo.startsWith("/VAADIN/");
+    }
+
+    /**
+     * Writes the response to a request that was rejected because this service
+     * is overloaded. The default implementation sends
+     * {@link HttpStatusCode#SERVICE_UNAVAILABLE} with a {@code Retry-After}
+     * header, which lets a load balancer direct the client to another node.
+     *
+     * @param request
+     *            the rejected request
+     * @param response
+     *            the response to write to
+     * @param retryAfter
+     *            the number of seconds after which the client may retry
+     * @throws IOException
+     *             if the response could not be written
+     * @see InitParameters#SERVLET_PARAMETER_ADMISSION_MAX_CONCURRENT_REQUESTS
+     */
+    protected void writeAdmissionRejectedResponse(VaadinRequest request,
+            VaadinResponse response, int retryAfter) throws IOException {
+        response.setHeader("Retry-After", String.valueOf(retryAfter));
+        response.sendError(HttpStatusCode.SERVICE_UNAVAILABLE.getCode(),
+                "The server is overloaded, please try again later.");
+    }
+
+    /**
+     * Records the time a thread waited for a session lock of this service.
+     *
+     * @param waitNanos
+     *            the wait time in nanoseconds
+     */
+    void sessionLockWaited(long waitNanos) {
+        AdmissionController admission = admissionController;
+        if (admission != null) {
+            admission.lockWaited(waitNanos);
+        }
+    }
+
+    private boolean handleRequestWithHandlers(VaadinSession session,
+            VaadinRequest request, VaadinResponse response) throws IOException {
+        Iterable<RequestHandler> handlers = getRequestHandlers();
+        if (requestHandlerDispatcher != null
+                && requestHandlerDispatcher.getHandlers() == handlers) {
+            return requestHandlerDispatcher.handleRequest(session, request,
+                    response);
+        }
+        // The handlers have been replaced by a subclass
+        for (RequestHandler handler : handlers) {
+            if (handler.handleRequest(session, request, response)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of requests handled by each request handler of this
+     * service and the time spent handling them.
+     * <p>
+     * For internal use only. May be renamed or removed in a future release.
+     *
+     * @return an unmodifiable map from the request handlers to their
+     *         statistics, empty if the service has not been initialized
+     */
+    public Map<RequestHandler, RequestHandlerStatistics> getRequestHandlerStatistics() {
+        if (requestHandlerDispatcher == null) {
+            return Collections.emptyMap();
+        }
+        return requestHandlerDispatcher.getStatistics();
+    }
+
     private void handleExceptionDuringRequest(VaadinRequest request,
             VaadinResponse response, VaadinSession vaadinSession, Exception t)
             throws ServiceException {
@@ -2018,14 +2429,9 @@ public abstract class VaadinService implements Serializable {
          * thread and we acquire it, we just release it again to purge the queue
          * right away.
          */
-        try {
-            // tryLock() would be shorter, but it does not guarantee fairness
-            if (session.getLockInstance().tryLock(0, TimeUnit.SECONDS)) {
-                // unlock triggers runPendingAccessTasks
-                session.unlock();
-            }
-        } catch (InterruptedException e) {
-            // Just ignore
+        if (session.tryLock()) {
+            // unlock triggers runPendingAccessTasks
+            session.unlock();
         }
     }
 
@@ -2041,11 +2447,28 @@ public abstract class VaadinService implements Serializable {
      */
     public void runPendingAccessTasks(VaadinSession session) {
         session.checkHasLock();
+        runAccessTasks(session, session.getPendingAccessQueue());
+    }
 
-        if (session.getPendingAccessQueue().isEmpty()) {
+    /**
+     * Runs the access tasks in the given queue.
+     *
+     * @param session
+     *            the locked session the tasks belong to
+     * @param queue
+     *            the queue to purge
+     */
+    static void runAccessTasks(VaadinSession session,
+            Queue<FutureAccess> queue) {
+        if (queue.isEmpty()) {
             return;
         }
 
+        VaadinMetrics metrics = VaadinMetrics.get(session.getService());
+        if (metrics != VaadinMetrics.NO_OP) {
+            metrics.accessTasksRun(queue.size());
+        }
+
         FutureAccess pendingAccess;
 
         // Dump all current instances, not only the ones dumped by setCurrent
@@ -2053,8 +2476,7 @@ public abstract class VaadinService implements Serializable {
                 .getInstances();
         CurrentInstance.setCurrent(session);
         try {
-            while ((pendingAccess = session.getPendingAccessQueue()
-                    .poll()) != null) {
+            while ((pendingAccess = queue.poll()) != null) {
                 if (!pendingAccess.isCancelled()) {
                     pendingAccess.run();
 
@@ -2107,6 +2529,9 @@ public abstract class VaadinService implements Serializable {
         ServiceDestroyEvent event = new ServiceDestroyEvent(this);
         serviceDestroyListeners
                 .forEach(listener -> listener.serviceDestroy(event));
+        if (housekeepingExecutor != null) {
+            housekeepingExecutor.shutdownNow();
+        }
     }
 
     /**
@@ -2143,6 +2568,7 @@ public abstract class VaadinService implements Serializable {
         assert VaadinSession.hasLock(this, wrappedSession);
         writeToHttpSession(wrappedSession, session);
         session.refreshTransients(wrappedSession, this);
+        addToSessionHousekeeping(session);
     }
 
     /**
@@ -2177,6 +2603,7 @@ public abstract class VaadinService implements Serializable {
             return null;
         }
         vaadinSession.refreshTransients(wrappedSession, this);
+        addToSessionHousekeeping(vaadinSession);
         return vaadinSession;
     }
 
@@ -20,14 +20,17 @@ import javax.servlet.http.HttpSession;
 import javax.servlet.http.HttpSessionBindingEvent;
 import javax.servlet.http.HttpSessionBindingListener;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.io.OptionalDataException;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Locale;
 import java.util.Map;
@@ -35,10 +38,15 @@ import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,6 +56,9 @@ import com.vaadin.flow.component.page.Page;
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.i18n.I18NProvider;
 import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.internal.jfr.FlightRecorderSupport;
+import com.vaadin.flow.internal.jfr.SessionLockEvent;
+import com.vaadin.flow.internal.jfr.SessionLockHoldEvent;
 import com.vaadin.flow.server.startup.ApplicationConfiguration;
 import com.vaadin.flow.shared.communication.PushMode;
 
@@ -72,6 +83,12 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
 
     private static final String SESSION_NOT_LOCKED_MESSAGE = "Cannot access state in VaadinSession or UI without locking the session.";
 
+    private static final String UI_NOT_LOCKED_MESSAGE = "Cannot access state in UI without locking the UI or the session.";
+
+    // A plain long field keeps the serialized form of the session
+    private static final AtomicLongFieldUpdater<VaadinSession> CUMULATIVE_REQUEST_DURATION = AtomicLongFieldUpdater
+            .newUpdater(VaadinSession.class, "cumulativeRequestDuration");
+
     /**
      * @deprecated Use {@link InitParameters#UI_PARAMETER} instead.
      */
@@ -96,20 +113,45 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * unhandled.
      */
     private ErrorHandler errorHandler = new DefaultErrorHandler();
+    // Synchronized on itself, as threads of different UIs may modify it with
+    // per-UI locking
     private LinkedList<RequestHandler> requestHandlers = new LinkedList<>();
 
     private int nextUIId = 0;
-    private transient Map<Integer, UI> uIs = new HashMap<>();
+    private transient Map<Integer, UI> uIs = new ConcurrentHashMap<>();
+    private transient Map<Integer, PassivatedUI> passivatedUIs = new ConcurrentHashMap<>();
+
+    private boolean uiLocking;
+
+    /*
+     * With per-UI locking, the session lock also takes the write lock and UI
+     * locks take the read lock, so that the session lock still gives exclusive
+     * access to all UIs.
+     */
+    private transient ReentrantReadWriteLock uiAccessLock = new ReentrantReadWriteLock();
+    private transient Map<Integer, UILock> uiLocks = new ConcurrentHashMap<>();
+
+    /*
+     * Guarded by the session lock, for measuring how long it is held. Zero
+     * unless the lock was acquired through lock() or tryLock().
+     */
+    private transient long lockedAt;
+    /*
+     * A SessionLockHoldEvent, declared as Object so that reflection on the
+     * fields, e.g. for serialization, does not load jdk.jfr
+     */
+    private transient Object lockHoldEvent;
 
     protected WebBrowser browser = new WebBrowser();
 
-    private long cumulativeRequestDuration = 0;
+    // Updated without the lock when UIs are cleaned up in the background
+    private volatile long cumulativeRequestDuration = 0;
 
-    private long lastRequestDuration = -1;
+    private volatile long lastRequestDuration = -1;
 
     private long lastRequestTimestamp = System.currentTimeMillis();
 
-    private VaadinSessionState state = VaadinSessionState.OPEN;
+    private volatile VaadinSessionState state = VaadinSessionState.OPEN;
 
     private transient WrappedSession session;
 
@@ -260,8 +302,19 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      */
     public void setLastRequestDuration(long time) {
         checkHasLock();
+        recordRequestDuration(time);
+    }
+
+    /**
+     * Same as {@link #setLastRequestDuration(long)}, but does not require the
+     * session to be locked.
+     *
+     * @param time
+     *            The time spent in the last request, in milliseconds.
+     */
+    void recordRequestDuration(long time) {
         lastRequestDuration = time;
-        cumulativeRequestDuration += time;
+        CUMULATIVE_REQUEST_DURATION.addAndGet(this, time);
     }
 
     /**
@@ -354,6 +407,20 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         assert this.configuration == null
                 : "Configuration can only be set once";
         this.configuration = configuration;
+        uiLocking = configuration.getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_UI_LOCKING, false);
+    }
+
+    /**
+     * Checks whether the UIs of this session are locked separately, so that
+     * requests and access tasks for different UIs are processed in parallel.
+     *
+     * @return {@code true} if each UI has its own lock, {@code false} if the
+     *         session lock is used for all UIs
+     * @see InitParameters#SERVLET_PARAMETER_UI_LOCKING
+     */
+    public boolean isUILocking() {
+        return uiLocking;
     }
 
     /**
@@ -453,7 +520,9 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      */
     public void addRequestHandler(RequestHandler handler) {
         checkHasLock();
-        requestHandlers.addFirst(handler);
+        synchronized (requestHandlers) {
+            requestHandlers.addFirst(handler);
+        }
     }
 
     /**
@@ -464,13 +533,18 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      */
     public void removeRequestHandler(RequestHandler handler) {
         checkHasLock();
-        requestHandlers.remove(handler);
+        synchronized (requestHandlers) {
+            requestHandlers.remove(handler);
+        }
     }
 
     /**
      * Gets the request handlers that are registered to the session. The
      * iteration order of the returned collection is the same as the order in
      * which the request handlers will be invoked when a request is handled.
+     * <p>
+     * The returned collection is a snapshot, handlers added or removed later
+     * are not reflected in it.
      *
      * @return a collection of request handlers, with the iteration order
      *         according to the order they would be invoked
@@ -479,7 +553,10 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      */
     public Collection<RequestHandler> getRequestHandlers() {
         checkHasLock();
-        return Collections.unmodifiableCollection(requestHandlers);
+        synchronized (requestHandlers) {
+            return Collections
+                    .unmodifiableCollection(new ArrayList<>(requestHandlers));
+        }
     }
 
     /**
@@ -524,7 +601,8 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
     /**
      * Gets all the UIs of this session. This includes UIs that have been
      * requested but not yet initialized. UIs that receive no heartbeat requests
-     * from the client are eventually removed from the session.
+     * from the client are eventually removed from the session. Passivated UIs
+     * are not included.
      *
      * @return a collection of UIs belonging to this application
      */
@@ -537,6 +615,9 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * Returns a UI with the given id.
      * <p>
      * This is meant for framework internal use.
+     * <p>
+     * A passivated UI with the given id is activated and added back to the
+     * session.
      *
      * @param uiId
      *            The UI id
@@ -544,7 +625,122 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      */
     public UI getUIById(int uiId) {
         checkHasLock();
-        return uIs.get(uiId);
+        UI ui = uIs.get(uiId);
+        if (ui == null && !passivatedUIs.isEmpty()) {
+            // With per-UI locking, threads of other UIs may get here too
+            synchronized (passivatedUIs) {
+                ui = uIs.get(uiId);
+                PassivatedUI passivatedUI = ui == null
+                        ? passivatedUIs.remove(uiId)
+                        : null;
+                if (passivatedUI != null) {
+                    ui = activateUI(passivatedUI);
+                }
+            }
+        }
+        return ui;
+    }
+
+    /**
+     * Records a heartbeat for the UI with the given id without locking the
+     * session. A passivated UI is not activated.
+     * <p>
+     * This is meant for framework internal use.
+     *
+     * @param uiId
+     *            the UI id
+     * @param timestamp
+     *            the time of the heartbeat, in milliseconds since the epoch
+     * @return {@code true} if the heartbeat was recorded, {@code false} if the
+     *         UI was not found or has heartbeat listeners, which must be
+     *         notified with the session locked
+     */
+    public boolean recordHeartbeat(int uiId, long timestamp) {
+        UI ui = uIs.get(uiId);
+        if (ui != null) {
+            if (ui.getInternals().hasHeartbeatListeners()) {
+                return false;
+            }
+            ui.getInternals().setLastHeartbeatTimestamp(timestamp);
+            return true;
+        }
+        PassivatedUI passivatedUI = passivatedUIs.get(uiId);
+        if (passivatedUI != null) {
+            passivatedUI.setLastHeartbeatTimestamp(timestamp);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the passivated UI with the given id without activating it.
+     * <p>
+     * This is meant for framework internal use.
+     *
+     * @param uiId
+     *            The UI id
+     * @return The passivated UI with the given id or null if not found
+     */
+    public PassivatedUI getPassivatedUI(int uiId) {
+        checkHasLock();
+        return passivatedUIs.get(uiId);
+    }
+
+    /**
+     * Gets all passivated UIs of this session.
+     * <p>
+     * This is meant for framework internal use.
+     *
+     * @return the passivated UIs, not {@code null}
+     */
+    public Collection<PassivatedUI> getPassivatedUIs() {
+        checkHasLock();
+        return Collections.unmodifiableCollection(passivatedUIs.values());
+    }
+
+    /**
+     * Serializes the given UI to a file in the given directory and removes it
+     * from the session until it is requested again with
+     * {@link #getUIById(int)}.
+     *
+     * @param ui
+     *            the UI to passivate, not {@code null}
+     * @param directory
+     *            the directory to store the UI in, not {@code null}
+     * @throws IOException
+     *             if the UI could not be written, in which case it is left in
+     *             the session
+     */
+    void passivateUI(UI ui, File directory) throws IOException {
+        checkHasLock();
+        PassivatedUI passivatedUI = PassivatedUI.passivate(ui, directory);
+        uIs.remove(ui.getUIId());
+        passivatedUIs.put(ui.getUIId(), passivatedUI);
+    }
+
+    /**
+     * Removes all passivated UIs from this session and deletes their files
+     * without activating them.
+     */
+    void discardPassivatedUIs() {
+        checkHasLock();
+        synchronized (passivatedUIs) {
+            passivatedUIs.values().forEach(PassivatedUI::discard);
+            passivatedUIs.clear();
+        }
+    }
+
+    private UI activateUI(PassivatedUI passivatedUI) {
+        try {
+            UI ui = passivatedUI.activate(this);
+            uIs.put(ui.getUIId(), ui);
+            getLogger().debug("Activated passivated UI {}", ui.getUIId());
+            return ui;
+        } catch (IOException e) {
+            getLogger().warn("Unable to activate passivated UI {}",
+                    passivatedUI.getUIId(), e);
+            return null;
+        }
     }
 
     /**
@@ -555,7 +751,51 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      */
     public boolean hasLock() {
         ReentrantLock l = ((ReentrantLock) getLockInstance());
-        return l.isHeldByCurrentThread();
+        return l.isHeldByCurrentThread()
+                || (uiLocking && uiAccessLock.getReadHoldCount() > 0);
+    }
+
+    /**
+     * Checks if the current thread has exclusive access to the given UI of
+     * this session, either through the session lock or, with
+     * {@link InitParameters#SERVLET_PARAMETER_UI_LOCKING per-UI locking},
+     * through the lock of that UI. Unlike {@link #hasLock()}, holding the lock
+     * of another UI of the session is not enough.
+     *
+     * @param ui
+     *            the UI to check, not {@code null}
+     * @return true if the thread has exclusive access to the UI, false
+     *         otherwise
+     */
+    public boolean hasLock(UI ui) {
+        if (!uiLocking) {
+            return hasLock();
+        }
+        if (((ReentrantLock) getLockInstance()).isHeldByCurrentThread()) {
+            return true;
+        }
+        UILock uiLock = uiLocks.get(ui.getUIId());
+        return uiLock != null && uiLock.isHeldByCurrentThread();
+    }
+
+    /**
+     * Potentially checks whether the given UI of this session is currently
+     * locked by the current thread, and fails with a standard error message if
+     * not. See {@link #hasLock(UI)} for what counts as holding the lock of the
+     * UI.
+     * <p>
+     * When production mode is enabled, the check is only done if assertions are
+     * also enabled, in the same way as in {@link #checkHasLock()}.
+     *
+     * @param ui
+     *            the UI to check, not {@code null}
+     */
+    public void checkHasLock(UI ui) {
+        if (configuration == null || configuration.isProductionMode()) {
+            assert hasLock(ui) : UI_NOT_LOCKED_MESSAGE;
+        } else if (!hasLock(ui)) {
+            throw new IllegalStateException(UI_NOT_LOCKED_MESSAGE);
+        }
     }
 
     /**
@@ -686,7 +926,70 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @see #hasLock()
      */
     public void lock() {
+        if (uiLocking) {
+            checkNoUILockHeld();
+        }
+        SessionLockEvent lockEvent = null;
+        if (FlightRecorderSupport.isAvailable()
+                && SessionLockEvent.isRecorded()) {
+            lockEvent = new SessionLockEvent();
+            lockEvent.begin();
+        }
+        long start = System.nanoTime();
         getLockInstance().lock();
+        if (((ReentrantLock) getLockInstance()).getHoldCount() == 1) {
+            if (uiLocking) {
+                uiAccessLock.writeLock().lock();
+            }
+            lockedAt = System.nanoTime();
+            VaadinService service = getService();
+            VaadinMetrics.get(service).sessionLocked(lockedAt - start);
+            if (service != null) {
+                service.sessionLockWaited(lockedAt - start);
+            }
+            if (lockEvent != null) {
+                lockEvent.commit();
+            }
+            startLockHoldEvent();
+        }
+    }
+
+    /**
+     * Tries to lock this session without waiting.
+     *
+     * @return {@code true} if the session was locked, {@code false} if it is
+     *         locked by another thread
+     */
+    boolean tryLock() {
+        try {
+            // tryLock() would be shorter, but it does not guarantee fairness
+            if (!getLockInstance().tryLock(0, TimeUnit.SECONDS)) {
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        if (uiLocking
+                && ((ReentrantLock) getLockInstance()).getHoldCount() == 1
+                && !uiAccessLock.writeLock().tryLock()) {
+            getLockInstance().unlock();
+            return false;
+        }
+        if (((ReentrantLock) getLockInstance()).getHoldCount() == 1) {
+            lockedAt = System.nanoTime();
+            startLockHoldEvent();
+        }
+        return true;
+    }
+
+    private void startLockHoldEvent() {
+        if (FlightRecorderSupport.isAvailable()
+                && SessionLockHoldEvent.isRecorded()) {
+            SessionLockHoldEvent event = new SessionLockHoldEvent();
+            event.begin();
+            lockHoldEvent = event;
+        }
     }
 
     /**
@@ -711,6 +1014,9 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
             if (((ReentrantLock) getLockInstance()).getHoldCount() == 1) {
                 ultimateRelease = true;
                 getService().runPendingAccessTasks(this);
+                if (uiLocking) {
+                    runPendingUIAccessTasks();
+                }
 
                 for (UI ui : getUIs()) {
                     if (ui.getPushConfiguration()
@@ -726,6 +1032,20 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
                 }
             }
         } finally {
+            if (ultimateRelease && uiAccessLock.isWriteLockedByCurrentThread()) {
+                uiAccessLock.writeLock().unlock();
+            }
+            if (ultimateRelease) {
+                if (lockedAt != 0) {
+                    VaadinMetrics.get(getService())
+                            .sessionUnlocked(System.nanoTime() - lockedAt);
+                    lockedAt = 0;
+                }
+                if (lockHoldEvent != null) {
+                    ((SessionLockHoldEvent) lockHoldEvent).commit();
+                    lockHoldEvent = null;
+                }
+            }
             getLockInstance().unlock();
         }
 
@@ -740,6 +1060,231 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         if (ultimateRelease && !getPendingAccessQueue().isEmpty()) {
             getService().ensureAccessQueuePurged(this);
         }
+        if (ultimateRelease && uiLocking) {
+            for (UI ui : uIs.values()) {
+                if (!getUILock(ui).pendingAccessQueue.isEmpty()) {
+                    ensureAccessQueuePurged(ui);
+                }
+            }
+        }
+    }
+
+    /**
+     * Locks the given UI of this session. If
+     * {@link InitParameters#SERVLET_PARAMETER_UI_LOCKING per-UI locking} is
+     * not enabled, this is the same as {@link #lock()}.
+     * <p>
+     * With per-UI locking, requests and access tasks for different UIs of the
+     * session are processed in parallel, while {@link #lock()} still waits for
+     * all the UIs to be unlocked. A thread holding the lock of a UI must not
+     * lock the session or any other UI, as that could deadlock with another
+     * thread doing the same in the opposite order. Use
+     * {@link UI#access(Command)} or {@link #access(Command)} instead.
+     * <p>
+     * This method is meant for framework internal use. Applications should use
+     * {@link UI#accessSynchronously(Command)}.
+     *
+     * @param ui
+     *            the UI to lock, not {@code null}
+     * @throws IllegalStateException
+     *             if the current thread holds the lock of another UI of this
+     *             session
+     * @see #unlockUI(UI)
+     */
+    public void lockUI(UI ui) {
+        if (!uiLocking) {
+            lock();
+            return;
+        }
+        UILock uiLock = getUILock(ui);
+        if (uiAccessLock.getReadHoldCount() > 0
+                && !uiLock.isHeldByCurrentThread()
+                && !uiAccessLock.isWriteLockedByCurrentThread()) {
+            throw new IllegalStateException("Cannot lock UI " + ui.getUIId()
+                    + " while holding the lock of another UI of the same session."
+                    + " Use UI.access to access other UIs.");
+        }
+        uiAccessLock.readLock().lock();
+        uiLock.lock();
+    }
+
+    /**
+     * Unlocks the given UI of this session. If
+     * {@link InitParameters#SERVLET_PARAMETER_UI_LOCKING per-UI locking} is
+     * not enabled, this is the same as {@link #unlock()}.
+     * <p>
+     * Access tasks enqueued for the UI are run and pending changes are pushed
+     * if the push mode of the UI is {@link PushMode#AUTOMATIC automatic}.
+     * <p>
+     * This method is meant for framework internal use.
+     *
+     * @param ui
+     *            the UI to unlock, not {@code null}
+     * @see #lockUI(UI)
+     */
+    public void unlockUI(UI ui) {
+        if (!uiLocking) {
+            unlock();
+            return;
+        }
+        UILock uiLock = getUILock(ui);
+        if (!uiLock.isHeldByCurrentThread()) {
+            throw new IllegalMonitorStateException(
+                    "UI " + ui.getUIId() + " is not locked by this thread");
+        }
+        boolean ultimateRelease = uiLock.getHoldCount() == 1;
+        try {
+            if (ultimateRelease) {
+                runPendingAccessTasks(ui);
+                if (ui.getSession() == this && ui.getPushConfiguration()
+                        .getPushMode() == PushMode.AUTOMATIC) {
+                    Map<Class<?>, CurrentInstance> oldCurrent = CurrentInstance
+                            .setCurrent(ui);
+                    try {
+                        ui.push();
+                    } finally {
+                        CurrentInstance.restoreInstances(oldCurrent);
+                    }
+                }
+            }
+        } finally {
+            uiLock.unlock();
+            uiAccessLock.readLock().unlock();
+        }
+
+        // Same as in unlock(), tasks may have been added after the purge
+        if (ultimateRelease) {
+            if (!uiLock.pendingAccessQueue.isEmpty()) {
+                ensureAccessQueuePurged(ui);
+            }
+            if (!getPendingAccessQueue().isEmpty()) {
+                getService().ensureAccessQueuePurged(this);
+            }
+        }
+    }
+
+    /**
+     * Provides exclusive access to the given UI of this session from outside a
+     * request handling thread. If
+     * {@link InitParameters#SERVLET_PARAMETER_UI_LOCKING per-UI locking} is
+     * not enabled, this is the same as {@link #access(Command)}.
+     * <p>
+     * The command is run when the UI is unlocked, or right away if no thread
+     * holds the lock of the UI.
+     * <p>
+     * This method is meant for framework internal use. Applications should use
+     * {@link UI#access(Command)}.
+     *
+     * @param ui
+     *            the UI to access, not {@code null}
+     * @param command
+     *            the command which accesses the UI
+     * @return a future that can be used to check for task completion and to
+     *         cancel the task
+     */
+    public Future<Void> accessUI(UI ui, Command command) {
+        if (!uiLocking) {
+            return access(command);
+        }
+        FutureAccess future = new FutureAccess(this, command);
+        getUILock(ui).pendingAccessQueue.add(future);
+        ensureAccessQueuePurged(ui);
+        return future;
+    }
+
+    /**
+     * Runs the tasks enqueued with {@link #accessUI(UI, Command)} for the
+     * given UI.
+     * <p>
+     * This method is meant for framework internal use.
+     *
+     * @param ui
+     *            the UI to run the tasks for, not {@code null}
+     */
+    public void runPendingAccessTasks(UI ui) {
+        checkHasLock();
+        if (uiLocking) {
+            VaadinService.runAccessTasks(this,
+                    getUILock(ui).pendingAccessQueue);
+        }
+    }
+
+    /**
+     * Finds the UI a request is for and locks it. Waits for the UI only, not
+     * for the other UIs of the session.
+     *
+     * @param request
+     *            the request to find the UI for, not {@code null}
+     * @return the locked UI, or {@code null} if the request is not for any UI
+     *         of this session, in which case nothing is locked
+     */
+    UI findAndLockUI(VaadinRequest request) {
+        assert uiLocking;
+        checkNoUILockHeld();
+        uiAccessLock.readLock().lock();
+        try {
+            UI ui = getService().findUI(request);
+            if (ui != null) {
+                uiAccessLock.readLock().lock();
+                getUILock(ui).lock();
+            }
+            return ui;
+        } finally {
+            uiAccessLock.readLock().unlock();
+        }
+    }
+
+    private void checkNoUILockHeld() {
+        if (uiAccessLock.getReadHoldCount() > 0
+                && !((ReentrantLock) getLockInstance())
+                        .isHeldByCurrentThread()) {
+            throw new IllegalStateException(
+                    "Cannot lock the session while holding the lock of one of"
+                            + " its UIs. Use VaadinSession.access instead.");
+        }
+    }
+
+    private void ensureAccessQueuePurged(UI ui) {
+        /*
+         * Like VaadinService.ensureAccessQueuePurged: if the UI is locked by
+         * another thread, the queue is purged when the lock is released. If
+         * the session is locked by this thread, it is purged when the session
+         * is unlocked.
+         */
+        if (((ReentrantLock) getLockInstance()).isHeldByCurrentThread()
+                || !uiAccessLock.readLock().tryLock()) {
+            return;
+        }
+        boolean locked = false;
+        try {
+            locked = getUILock(ui).tryLock();
+        } finally {
+            if (!locked) {
+                uiAccessLock.readLock().unlock();
+            }
+        }
+        if (locked) {
+            // unlockUI runs the pending tasks
+            unlockUI(ui);
+        }
+    }
+
+    private void runPendingUIAccessTasks() {
+        for (Iterator<Map.Entry<Integer, UILock>> iterator = uiLocks.entrySet()
+                .iterator(); iterator.hasNext();) {
+            Map.Entry<Integer, UILock> entry = iterator.next();
+            VaadinService.runAccessTasks(this,
+                    entry.getValue().pendingAccessQueue);
+            if (!uIs.containsKey(entry.getKey())
+                    && !passivatedUIs.containsKey(entry.getKey())) {
+                // The UI has been removed, the tasks see it as detached
+                iterator.remove();
+            }
+        }
+    }
+
+    private UILock getUILock(UI ui) {
+        return uiLocks.computeIfAbsent(ui.getUIId(), id -> new UILock());
     }
 
     /**
@@ -828,6 +1373,56 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         return attributes.getAttribute(type);
     }
 
+    /**
+     * Gets a stored attribute value without requiring the session lock. If no
+     * value is stored for the type, <code>null</code> is returned.
+     * <p>
+     * This is only meant for values which are thread safe themselves and which
+     * are stored once while holding the session lock, such as bean stores that
+     * should be available to background threads without contending with
+     * request handling. Use {@link #getAttribute(Class)} for anything else.
+     * <p>
+     * For internal use only. May be renamed or removed in a future release.
+     *
+     * @param type
+     *            the type of the value to get, can not be <code>null</code>.
+     * @param <T>
+     *            the type of the value to get
+     * @return the value, or <code>null</code> if no value has been stored or if
+     *         it has been set to null.
+     * @see #getAttribute(Class)
+     */
+    public <T> T getAttributeWithoutLock(Class<T> type) {
+        return attributes.getAttribute(type);
+    }
+
+    /**
+     * Gets a stored attribute value, storing the value created by the given
+     * supplier if there is none. The check and the store are done atomically,
+     * so that threads holding the locks of different UIs with
+     * {@link InitParameters#SERVLET_PARAMETER_UI_LOCKING per-UI locking} get
+     * the same value.
+     * <p>
+     * For internal use only. May be renamed or removed in a future release.
+     *
+     * @param type
+     *            the type of the value to get, can not be <code>null</code>.
+     * @param supplier
+     *            the supplier creating the value if none is stored, not
+     *            <code>null</code>. It may not access the attributes of this
+     *            session.
+     * @param <T>
+     *            the type of the value to get
+     * @return the stored value, or <code>null</code> if no value was stored
+     *         and the supplier returned <code>null</code>
+     * @see #getAttribute(Class)
+     */
+    public <T> T computeAttributeIfAbsent(Class<T> type,
+            Supplier<? extends T> supplier) {
+        checkHasLock();
+        return attributes.computeIfAbsent(type, supplier);
+    }
+
     /**
      * Creates a new unique id for a UI.
      *
@@ -900,6 +1495,16 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         return state;
     }
 
+    /**
+     * Checks whether this session is {@link VaadinSessionState#OPEN open}
+     * without requiring the session to be locked.
+     *
+     * @return {@code true} if the session is open
+     */
+    boolean isOpen() {
+        return state == VaadinSessionState.OPEN;
+    }
+
     /**
      * Sets the lifecycle state of this session. The allowed transitions are
      * OPEN to CLOSING and CLOSING to CLOSED.
@@ -1040,7 +1645,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
 
     /**
      * Override default deserialization logic to account for transient
-     * {@link #pendingAccessQueue}.
+     * {@link #pendingAccessQueue} and UI locks.
      *
      * @param stream
      *            the object to read
@@ -1055,8 +1660,13 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         Map<Class<?>, CurrentInstance> old = CurrentInstance.setCurrent(this);
         try {
             stream.defaultReadObject();
-            uIs = (Map<Integer, UI>) stream.readObject();
+            // Read without the session lock, see recordHeartbeat
+            uIs = new ConcurrentHashMap<>(
+                    (Map<Integer, UI>) stream.readObject());
+            passivatedUIs = new ConcurrentHashMap<>(readPassivatedUIs(stream));
             pendingAccessQueue = new ConcurrentLinkedQueue<>();
+            uiAccessLock = new ReentrantReadWriteLock();
+            uiLocks = new ConcurrentHashMap<>();
         } finally {
             CurrentInstance.restoreInstances(old);
         }
@@ -1081,8 +1691,27 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         stream.defaultWriteObject();
         if (serializeUIs) {
             stream.writeObject(uIs);
+            // Keeps the serialized form unchanged when nothing is passivated
+            if (!passivatedUIs.isEmpty()) {
+                stream.writeObject(passivatedUIs);
+            }
         } else {
-            stream.writeObject(new HashMap<>());
+            stream.writeObject(new ConcurrentHashMap<>());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Integer, PassivatedUI> readPassivatedUIs(
+            ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        try {
+            return (Map<Integer, PassivatedUI>) stream.readObject();
+        } catch (OptionalDataException e) {
+            if (e.eof) {
+                // Nothing was passivated or written by an older version
+                return Collections.emptyMap();
+            }
+            throw e;
         }
     }
 
@@ -1132,4 +1761,11 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         return isInitialized;
     }
 
+    /**
+     * The lock of a UI when per-UI locking is enabled, along with the tasks
+     * waiting for it.
+     */
+    private static class UILock extends ReentrantLock {
+        private final Queue<FutureAccess> pendingAccessQueue = new ConcurrentLinkedQueue<>();
+    }
 }
@@ -15,12 +15,16 @@
  */
 package com.vaadin.flow.server.auth;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.security.Principal;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import javax.annotation.security.DenyAll;
@@ -28,6 +32,7 @@ import javax.annotation.security.PermitAll;
 import javax.annotation.security.RolesAllowed;
 import javax.servlet.http.HttpServletRequest;
 
+import com.vaadin.flow.internal.ReflectionCache;
 import com.vaadin.flow.server.VaadinServletRequest;
 
 /**
@@ -52,9 +57,65 @@ import com.vaadin.flow.server.VaadinServletRequest;
  * any of the roles mentioned in the annotation</li>
  * <li>{@link DenyAll} - denies access.</li>
  * </ul>
+ * <p>
+ * The annotations of each class and method are read once and kept for
+ * subsequent checks.
  */
 public class AccessAnnotationChecker implements Serializable {
 
+    /**
+     * The access annotations of a security target.
+     */
+    private static final class AccessRule implements Serializable {
+        private final boolean denyAll;
+        private final boolean anonymousAllowed;
+        private final boolean permitAll;
+        private final String[] rolesAllowed;
+
+        private AccessRule(AnnotatedElement annotatedClassOrMethod) {
+            denyAll = annotatedClassOrMethod.isAnnotationPresent(DenyAll.class);
+            anonymousAllowed = annotatedClassOrMethod
+                    .isAnnotationPresent(AnonymousAllowed.class);
+            permitAll = annotatedClassOrMethod
+                    .isAnnotationPresent(PermitAll.class);
+            RolesAllowed roles = annotatedClassOrMethod
+                    .getAnnotation(RolesAllowed.class);
+            rolesAllowed = roles == null ? null : roles.value();
+        }
+
+        private boolean hasAccess(Principal principal,
+                Function<String, Boolean> roleChecker) {
+            if (denyAll) {
+                return false;
+            }
+            if (anonymousAllowed) {
+                return true;
+            }
+            if (principal == null) {
+                return false;
+            }
+            if (rolesAllowed == null) {
+                return permitAll;
+            }
+            for (String role : rolesAllowed) {
+                if (roleChecker.apply(role)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private transient ReflectionCache<Object, AccessRule> classRules;
+    private transient ReflectionCache<Object, Map<Method, AccessRule>> methodRules;
+
+    /**
+     * Creates a new instance.
+     */
+    public AccessAnnotationChecker() {
+        initRules();
+    }
+
     /**
      * Checks if the user defined by the current active servlet request (using
      * {@link HttpServletRequest#getUserPrincipal()} and
@@ -154,7 +215,14 @@ public class AccessAnnotationChecker implements Serializable {
      */
     public boolean hasAccess(Method method, Principal principal,
             Function<String, Boolean> roleChecker) {
-        return hasAccess(getSecurityTarget(method), principal, roleChecker);
+        Map<Method, AccessRule> rules = methodRules
+                .get(method.getDeclaringClass());
+        AccessRule rule = rules.get(method);
+        if (rule == null) {
+            rule = new AccessRule(getSecurityTarget(method));
+            rules.put(method, rule);
+        }
+        return rule.hasAccess(principal, roleChecker);
     }
 
     /**
@@ -172,7 +240,7 @@ public class AccessAnnotationChecker implements Serializable {
      */
     public boolean hasAccess(Class<?> cls, Principal principal,
             Function<String, Boolean> roleChecker) {
-        return hasAccess(getSecurityTarget(cls), principal, roleChecker);
+        return classRules.get(cls).hasAccess(principal, roleChecker);
     }
 
     /**
@@ -234,38 +302,6 @@ public class AccessAnnotationChecker implements Serializable {
         return cls;
     }
 
-    private boolean hasAccess(AnnotatedElement annotatedClassOrMethod,
-            Principal principal, Function<String, Boolean> roleChecker) {
-        if (annotatedClassOrMethod.isAnnotationPresent(DenyAll.class)) {
-            return false;
-        }
-        if (annotatedClassOrMethod
-                .isAnnotationPresent(AnonymousAllowed.class)) {
-            return true;
-        }
-        if (principal == null) {
-            return false;
-        }
-        RolesAllowed rolesAllowed = annotatedClassOrMethod
-                .getAnnotation(RolesAllowed.class);
-        if (rolesAllowed == null) {
-            return annotatedClassOrMethod.isAnnotationPresent(PermitAll.class);
-        } else {
-            return roleAllowed(rolesAllowed, roleChecker);
-        }
-    }
-
-    private boolean roleAllowed(RolesAllowed rolesAllowed,
-            Function<String, Boolean> roleChecker) {
-        for (String role : rolesAllowed.value()) {
-            if (roleChecker.apply(role)) {
-                return true;
-            }
-        }
-
-        return false;
-    }
-
     private boolean hasSecurityAnnotation(AnnotatedElement method) {
         return method.isAnnotationPresent(AnonymousAllowed.class)
                 || method.isAnnotationPresent(PermitAll.class)
@@ -273,4 +309,16 @@ public class AccessAnnotationChecker implements Serializable {
                 || method.isAnnotationPresent(RolesAllowed.class);
     }
 
+    private void initRules() {
+        classRules = new ReflectionCache<>(
+                cls -> new AccessRule(getSecurityTarget(cls)));
+        methodRules = new ReflectionCache<>(cls -> new ConcurrentHashMap<>());
+    }
+
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        initRules();
+    }
+
 }
@@ -33,6 +33,10 @@ import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.internal.UsageStatistics;
+import com.vaadin.flow.internal.jfr.FlightRecorderSupport;
+import com.vaadin.flow.internal.jfr.PushEvent;
+import com.vaadin.flow.server.VaadinMetrics;
+import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.shared.communication.PushConstants;
 
 import elemental.json.JsonObject;
@@ -193,9 +197,24 @@ public class AtmospherePushConnection implements PushConnection {
             }
         } else {
             try {
+                PushEvent event = null;
+                if (FlightRecorderSupport.isAvailable()) {
+                    event = new PushEvent(getUI().getUIId(), async);
+                    event.begin();
+                }
+                long start = System.nanoTime();
                 JsonObject response = new UidlWriter().createUidl(getUI(),
                         async);
-                sendMessage("for(;;);[" + response.toJson() + "]");
+                String message = "for(;;);[" + response.toJson() + "]";
+                sendMessage(message);
+                if (event != null) {
+                    event.setMessageLength(message.length());
+                    event.commit();
+                }
+                VaadinMetrics metrics = VaadinMetrics
+                        .get(VaadinService.getCurrent());
+                metrics.uidlSent(message.length(), true);
+                metrics.pushed(System.nanoTime() - start);
             } catch (Exception e) {
                 throw new RuntimeException("Push failed", e);
             }
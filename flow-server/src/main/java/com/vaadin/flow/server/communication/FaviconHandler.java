@@ -17,8 +17,9 @@ package com.vaadin.flow.server.communication;
 
 import java.io.IOException;
 
+import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.server.HttpStatusCode;
-import com.vaadin.flow.server.RequestHandler;
+import com.vaadin.flow.server.TypedRequestHandler;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinServletRequest;
@@ -35,7 +36,13 @@ import com.vaadin.flow.server.VaadinSession;
  * @author Vaadin Ltd
  * @since 1.0
  */
-public class FaviconHandler implements RequestHandler {
+public class FaviconHandler implements TypedRequestHandler {
+
+    @Override
+    public boolean canHandleRequestType(RequestType requestType,
+            boolean servletRoot) {
+        return !servletRoot;
+    }
 
     @Override
     public boolean handleRequest(VaadinSession session, VaadinRequest request,
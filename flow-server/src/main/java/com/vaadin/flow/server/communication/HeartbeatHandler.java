@@ -23,8 +23,10 @@ import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.server.HandlerHelper;
 import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.server.HttpStatusCode;
+import com.vaadin.flow.server.PassivatedUI;
 import com.vaadin.flow.server.SessionExpiredHandler;
 import com.vaadin.flow.server.SynchronizedRequestHandler;
+import com.vaadin.flow.server.TypedRequestHandler;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinSession;
@@ -38,42 +40,76 @@ import com.vaadin.flow.shared.ApplicationConstants;
  * either heartbeat or UIDL requests are eventually removed from the session and
  * garbage collected.
  * <p>
+ * The heartbeat is recorded without locking the session, unless the UI has
+ * heartbeat listeners or is not found.
+ * <p>
  * For internal use only. May be renamed or removed in a future release.
  *
  * @author Vaadin Ltd
  * @since 1.0
  */
 public class HeartbeatHandler extends SynchronizedRequestHandler
-        implements SessionExpiredHandler {
+        implements SessionExpiredHandler, TypedRequestHandler {
 
     @Override
     protected boolean canHandleRequest(VaadinRequest request) {
         return HandlerHelper.isRequestType(request, RequestType.HEARTBEAT);
     }
 
+    @Override
+    public boolean canHandleRequestType(RequestType requestType,
+            boolean servletRoot) {
+        return requestType == RequestType.HEARTBEAT;
+    }
+
+    @Override
+    public boolean handleRequest(VaadinSession session, VaadinRequest request,
+            VaadinResponse response) throws IOException {
+        if (canHandleRequest(request)) {
+            Integer uiId = getUIId(request);
+            if (uiId != null && session.recordHeartbeat(uiId,
+                    System.currentTimeMillis())) {
+                writeHeartbeatResponse(response);
+                return true;
+            }
+        }
+        return super.handleRequest(session, request, response);
+    }
+
     /**
      * Handles a heartbeat request for the given session. Reads the GET
      * parameter named {@link ApplicationConstants#UI_ID_PARAMETER} to identify
      * the UI. If the UI is found in the session, sets it
      * {@link UIInternals#getLastHeartbeatTimestamp() heartbeat timestamp} to
-     * the current time. Otherwise, writes a HTTP Not Found error to the
+     * the current time. A passivated UI is not activated, only its heartbeat
+     * timestamp is updated. Otherwise, writes a HTTP Not Found error to the
      * response.
      */
     @Override
     public boolean synchronizedHandleRequest(VaadinSession session,
             VaadinRequest request, VaadinResponse response) throws IOException {
-        UI ui = session.getService().findUI(request);
-        if (ui != null) {
-            ui.getInternals()
-                    .setLastHeartbeatTimestamp(System.currentTimeMillis());
-            // Ensure that the browser does not cache heartbeat responses.
-            // iOS 6 Safari requires this
-            // (https://github.com/vaadin/framework/issues/3226)
-            response.setHeader("Cache-Control", "no-cache");
-            // If Content-Type is not set, browsers assume text/html and may
-            // complain about the empty response body
-            // (https://github.com/vaadin/framework/issues/4167)
-            response.setHeader("Content-Type", "text/plain");
+        long now = System.currentTimeMillis();
+        boolean found;
+        Integer uiId = getUIId(request);
+        PassivatedUI passivatedUI = uiId == null ? null
+                : session.getPassivatedUI(uiId);
+        if (uiId == null && request
+                .getParameter(ApplicationConstants.UI_ID_PARAMETER) != null) {
+            // Not a number, so there can be no such UI
+            found = false;
+        } else if (passivatedUI != null) {
+            // Keep the UI passivated until the next UIDL request
+            passivatedUI.setLastHeartbeatTimestamp(now);
+            found = true;
+        } else {
+            UI ui = session.getService().findUI(request);
+            if (ui != null) {
+                ui.getInternals().setLastHeartbeatTimestamp(now);
+            }
+            found = ui != null;
+        }
+        if (found) {
+            writeHeartbeatResponse(response);
         } else {
             response.sendError(HttpStatusCode.NOT_FOUND.getCode(),
                     "UI not found");
@@ -82,6 +118,34 @@ public class HeartbeatHandler extends SynchronizedRequestHandler
         return true;
     }
 
+    private static void writeHeartbeatResponse(VaadinResponse response) {
+        // Ensure that the browser does not cache heartbeat responses.
+        // iOS 6 Safari requires this
+        // (https://github.com/vaadin/framework/issues/3226)
+        response.setHeader("Cache-Control", "no-cache");
+        // If Content-Type is not set, browsers assume text/html and may
+        // complain about the empty response body
+        // (https://github.com/vaadin/framework/issues/4167)
+        response.setHeader("Content-Type", "text/plain");
+    }
+
+    /**
+     * Gets the id of the UI the heartbeat is sent for, or {@code null} if the
+     * request has no UI id or the id is not a number.
+     */
+    private static Integer getUIId(VaadinRequest request) {
+        String uiIdString = request
+                .getParameter(ApplicationConstants.UI_ID_PARAMETER);
+        if (uiIdString == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(uiIdString);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     /*
      * (non-Javadoc)
      *
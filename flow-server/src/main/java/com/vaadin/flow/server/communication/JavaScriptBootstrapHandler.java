@@ -36,6 +36,7 @@ import com.vaadin.flow.server.AppShellRegistry;
 import com.vaadin.flow.server.BootstrapHandler;
 import com.vaadin.flow.server.HandlerHelper;
 import com.vaadin.flow.server.HandlerHelper.RequestType;
+import com.vaadin.flow.server.TypedRequestHandler;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinService;
@@ -63,7 +64,8 @@ import static com.vaadin.flow.component.internal.JavaScriptBootstrapUI.SERVER_RO
  * For internal use only. May be renamed or removed in a future release.
  *
  */
-public class JavaScriptBootstrapHandler extends BootstrapHandler {
+public class JavaScriptBootstrapHandler extends BootstrapHandler
+        implements TypedRequestHandler {
 
     /**
      * Custom BootstrapContext for {@link JavaScriptBootstrapHandler}.
@@ -128,6 +130,12 @@ public class JavaScriptBootstrapHandler extends BootstrapHandler {
         super(context -> null);
     }
 
+    @Override
+    public boolean canHandleRequestType(RequestType requestType,
+            boolean servletRoot) {
+        return requestType == RequestType.INIT && servletRoot;
+    }
+
     @Override
     protected boolean canHandleRequest(VaadinRequest request) {
         return HandlerHelper.isRequestType(request, RequestType.INIT)
@@ -39,6 +39,7 @@ import com.vaadin.flow.internal.BrowserLiveReloadAccessor;
 import com.vaadin.flow.internal.CurrentInstance;
 import com.vaadin.flow.server.ErrorEvent;
 import com.vaadin.flow.server.HandlerHelper;
+import com.vaadin.flow.server.InitParameters;
 import com.vaadin.flow.server.SessionExpiredException;
 import com.vaadin.flow.server.SystemMessages;
 import com.vaadin.flow.server.VaadinContext;
@@ -439,6 +440,14 @@ public class PushHandler {
                 }
 
                 pushConnection.connectionLost();
+                if (service.getDeploymentConfiguration().getBooleanProperty(
+                        InitParameters.SERVLET_PARAMETER_PUSH_KEEPS_UI_ALIVE,
+                        false)) {
+                    // The connection kept the UI alive, so the heartbeat
+                    // timeout starts from now
+                    ui.getInternals().setLastHeartbeatTimestamp(
+                            System.currentTimeMillis());
+                }
             }
 
         } catch (final Exception e) {
@@ -24,9 +24,11 @@ import java.util.List;
 import java.util.Map;
 
 import com.vaadin.flow.function.SerializableSupplier;
+import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.server.PwaIcon;
 import com.vaadin.flow.server.PwaRegistry;
 import com.vaadin.flow.server.RequestHandler;
+import com.vaadin.flow.server.TypedRequestHandler;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinSession;
@@ -45,7 +47,7 @@ import com.vaadin.flow.server.VaadinSession;
  *
  * @since 1.2
  */
-public class PwaHandler implements RequestHandler {
+public class PwaHandler implements TypedRequestHandler {
     public static final String SW_RUNTIME_PRECACHE_PATH = "/sw-runtime-resources-precache.js";
     public static final String DEFAULT_OFFLINE_STUB_PATH = "offline-stub.html";
 
@@ -125,6 +127,12 @@ public class PwaHandler implements RequestHandler {
                 });
     }
 
+    @Override
+    public boolean canHandleRequestType(RequestType requestType,
+            boolean servletRoot) {
+        return !servletRoot;
+    }
+
     @Override
     public boolean handleRequest(VaadinSession session, VaadinRequest request,
             VaadinResponse response) throws IOException {
@@ -132,8 +140,9 @@ public class PwaHandler implements RequestHandler {
         boolean hasPwa = pwaRegistry != null
                 && pwaRegistry.getPwaConfiguration().isEnabled();
         RequestHandler handler = null;
-        session.lock();
-        try {
+        // The handlers are shared by all sessions, so the session lock
+        // doesn't guard them
+        synchronized (requestHandlerMap) {
             if (isInitialized && !hasPwa) {
                 requestHandlerMap.clear();
             } else if (!isInitialized && hasPwa) {
@@ -143,8 +152,6 @@ public class PwaHandler implements RequestHandler {
             if (hasPwa) {
                 handler = requestHandlerMap.get(request.getPathInfo());
             }
-        } finally {
-            session.unlock();
         }
 
         if (handler == null) {
@@ -24,9 +24,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -34,12 +37,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
-import com.vaadin.flow.internal.MessageDigestUtil;
+import com.vaadin.flow.internal.jfr.FlightRecorderSupport;
+import com.vaadin.flow.internal.jfr.UidlPhaseEvent;
 import com.vaadin.flow.server.ErrorEvent;
+import com.vaadin.flow.server.VaadinMetrics;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.communication.rpc.AttachExistingElementRpcHandler;
 import com.vaadin.flow.server.communication.rpc.AttachTemplateChildRpcHandler;
+import com.vaadin.flow.server.communication.rpc.EventRateLimiter;
 import com.vaadin.flow.server.communication.rpc.EventRpcHandler;
 import com.vaadin.flow.server.communication.rpc.MapSyncRpcHandler;
 import com.vaadin.flow.server.communication.rpc.NavigationRpcHandler;
@@ -191,7 +197,10 @@ public class ServerRpcHandler implements Serializable {
 
     }
 
-    private static final int MAX_BUFFER_SIZE = 64 * 1024;
+    private static final int READ_BUFFER_SIZE = 4 * 1024;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
 
     /**
      * Exception thrown then the security key sent by the client does not match
@@ -243,9 +252,29 @@ public class ServerRpcHandler implements Serializable {
      */
     public void handleRpc(UI ui, Reader reader, VaadinRequest request)
             throws IOException, InvalidUIDLSecurityKeyException {
-        ui.getSession().setLastRequestTimestamp(System.currentTimeMillis());
+        handleRpc(ui, getMessage(reader), request);
+    }
 
-        String changeMessage = getMessage(reader);
+    /**
+     * Executes the zero or more serialized RPC calls (including legacy
+     * variable changes) in the given JSON message, which has already been read
+     * from the request.
+     *
+     * @param ui
+     *            The {@link UI} receiving the calls. Cannot be null.
+     * @param changeMessage
+     *            The JSON containing the calls, may be {@code null} or empty
+     * @param request
+     *            The request through which the RPC was received
+     * @throws InvalidUIDLSecurityKeyException
+     *             If the received security key does not match the one stored in
+     *             the session.
+     */
+    public void handleRpc(UI ui, String changeMessage, VaadinRequest request)
+            throws InvalidUIDLSecurityKeyException {
+        long now = System.currentTimeMillis();
+        ui.getSession().setLastRequestTimestamp(now);
+        ui.getInternals().setLastRequestTimestamp(now);
 
         if (changeMessage == null || changeMessage.equals("")) {
             // The client sometimes sends empty messages, this is probably a bug
@@ -260,11 +289,7 @@ public class ServerRpcHandler implements Serializable {
             throw new InvalidUIDLSecurityKeyException();
         }
 
-        String hashMessage = changeMessage;
-        if (hashMessage.length() > 64 * 1024) {
-            hashMessage = changeMessage.substring(0, 64 * 1024);
-        }
-        byte[] messageHash = MessageDigestUtil.sha256(hashMessage);
+        byte[] messageHash = computeMessageHash(changeMessage);
 
         int expectedId = ui.getInternals().getLastProcessedClientToServerId()
                 + 1;
@@ -317,7 +342,16 @@ public class ServerRpcHandler implements Serializable {
             // Message id ok, process RPCs
             ui.getInternals().setLastProcessedClientToServerId(expectedId,
                     messageHash);
+            UidlPhaseEvent event = null;
+            if (FlightRecorderSupport.isAvailable()) {
+                event = new UidlPhaseEvent(UidlPhaseEvent.RPC_HANDLING,
+                        ui.getUIId());
+                event.begin();
+            }
             handleInvocations(ui, rpcRequest.getRpcInvocationsData());
+            if (event != null) {
+                event.commit();
+            }
         }
 
         if (rpcRequest.isResynchronize()) {
@@ -397,26 +431,123 @@ public class ServerRpcHandler implements Serializable {
      */
     private void handleInvocations(UI ui, JsonArray invocationsData) {
         List<JsonObject> data = new ArrayList<>(invocationsData.length());
-        List<Runnable> pendingChangeEvents = new ArrayList<>();
-
-        RpcInvocationHandler mapSyncHandler = getInvocationHandlers()
-                .get(JsonConstants.RPC_TYPE_MAP_SYNC);
+        Map<String, JsonObject> propertySyncs = new LinkedHashMap<>();
+        VaadinMetrics metrics = VaadinMetrics.get(VaadinService.getCurrent());
 
         for (int i = 0; i < invocationsData.length(); i++) {
             JsonObject invocationJson = invocationsData.getObject(i);
             String type = invocationJson.getString(JsonConstants.RPC_TYPE);
             assert type != null;
+            metrics.rpcInvoked(type);
             if (JsonConstants.RPC_TYPE_MAP_SYNC.equals(type)) {
-                // Handle these before any RPC invocations.
-                mapSyncHandler.handle(ui, invocationJson)
-                        .ifPresent(pendingChangeEvents::add);
+                /*
+                 * Only the last value the client sent for a property matters,
+                 * e.g. when typing fast into a field with eager value change
+                 * mode. The earlier syncs are dropped so that the property is
+                 * updated and its listeners are notified only once.
+                 */
+                propertySyncs.put(getPropertySyncKey(invocationJson, i),
+                        invocationJson);
             } else {
                 data.add(invocationJson);
             }
         }
 
-        pendingChangeEvents.forEach(runnable -> runMapSyncTask(ui, runnable));
-        data.forEach(json -> handleInvocationData(ui, json));
+        if (!propertySyncs.isEmpty()) {
+            RpcInvocationHandler mapSyncHandler = getInvocationHandlers()
+                    .get(JsonConstants.RPC_TYPE_MAP_SYNC);
+            List<Runnable> pendingChangeEvents = new ArrayList<>(
+                    propertySyncs.size());
+            // Handle these before any RPC invocations.
+            propertySyncs.values()
+                    .forEach(invocationJson -> mapSyncHandler
+                            .handle(ui, invocationJson)
+                            .ifPresent(pendingChangeEvents::add));
+            pendingChangeEvents
+                    .forEach(runnable -> runMapSyncTask(ui, runnable));
+        }
+        coalesceEvents(ui, data)
+                .forEach(json -> handleInvocationData(ui, json));
+    }
+
+    /**
+     * Drops the high frequency events which are followed by an event of the
+     * same type and phase for the same node, if coalescing is enabled. The
+     * remaining invocations keep their order.
+     */
+    private static List<JsonObject> coalesceEvents(UI ui,
+            List<JsonObject> invocations) {
+        Set<String> seen = null;
+        boolean[] dropped = null;
+        int droppedCount = 0;
+        for (int i = invocations.size() - 1; i >= 0; i--) {
+            String key = getCoalescedEventKey(invocations.get(i));
+            if (key == null) {
+                continue;
+            }
+            if (seen == null) {
+                if (!EventRateLimiter.get(ui).isCoalescing()) {
+                    return invocations;
+                }
+                seen = new HashSet<>();
+                dropped = new boolean[invocations.size()];
+            }
+            if (!seen.add(key)) {
+                dropped[i] = true;
+                droppedCount++;
+            }
+        }
+        if (droppedCount == 0) {
+            return invocations;
+        }
+        EventRateLimiter.get(ui).eventsCoalesced(droppedCount);
+        List<JsonObject> result = new ArrayList<>(
+                invocations.size() - droppedCount);
+        for (int i = 0; i < invocations.size(); i++) {
+            if (!dropped[i]) {
+                result.add(invocations.get(i));
+            }
+        }
+        return result;
+    }
+
+    private static String getCoalescedEventKey(JsonObject invocationJson) {
+        if (!JsonConstants.RPC_TYPE_EVENT.equals(
+                invocationJson.getString(JsonConstants.RPC_TYPE))
+                || !invocationJson.hasKey(JsonConstants.RPC_NODE)
+                || !invocationJson.hasKey(JsonConstants.RPC_EVENT_TYPE)) {
+            return null;
+        }
+        String eventType = invocationJson
+                .getString(JsonConstants.RPC_EVENT_TYPE);
+        if (!EventRateLimiter.isHighFrequencyEvent(eventType)) {
+            return null;
+        }
+        String phase = "";
+        if (invocationJson.hasKey(JsonConstants.RPC_EVENT_DATA)) {
+            JsonValue eventData = invocationJson
+                    .get(JsonConstants.RPC_EVENT_DATA);
+            if (eventData instanceof JsonObject && ((JsonObject) eventData)
+                    .hasKey(JsonConstants.EVENT_DATA_PHASE)) {
+                phase = ((JsonObject) eventData)
+                        .get(JsonConstants.EVENT_DATA_PHASE).asString();
+            }
+        }
+        return (int) invocationJson.getNumber(JsonConstants.RPC_NODE) + ":"
+                + eventType + ":" + phase;
+    }
+
+    private static String getPropertySyncKey(JsonObject invocationJson,
+            int index) {
+        if (!invocationJson.hasKey(JsonConstants.RPC_NODE)
+                || !invocationJson.hasKey(JsonConstants.RPC_FEATURE)
+                || !invocationJson.hasKey(JsonConstants.RPC_PROPERTY)) {
+            // Leave it to the handler to deal with an incomplete invocation
+            return String.valueOf(index);
+        }
+        return (int) invocationJson.getNumber(JsonConstants.RPC_NODE) + ":"
+                + (int) invocationJson.getNumber(JsonConstants.RPC_FEATURE)
+                + ":" + invocationJson.getString(JsonConstants.RPC_PROPERTY);
     }
 
     private void runMapSyncTask(UI ui, Runnable runnable) {
@@ -446,8 +577,8 @@ public class ServerRpcHandler implements Serializable {
 
     protected String getMessage(Reader reader) throws IOException {
 
-        StringBuilder sb = new StringBuilder(MAX_BUFFER_SIZE);
-        char[] buffer = new char[MAX_BUFFER_SIZE];
+        StringBuilder sb = new StringBuilder(READ_BUFFER_SIZE);
+        char[] buffer = new char[READ_BUFFER_SIZE];
 
         while (true) {
             int read = reader.read(buffer);
@@ -460,6 +591,33 @@ public class ServerRpcHandler implements Serializable {
         return sb.toString();
     }
 
+    /**
+     * Computes the hash used to recognize a message that the client sent
+     * again.
+     * <p>
+     * The hash only has to tell a resent message apart from the previous
+     * one of the same UI, so a 64-bit FNV-1a hash of the whole message is
+     * used instead of a cryptographic digest.
+     *
+     * @param message
+     *            the message received from the client, not {@code null}
+     * @return the hash of the message
+     */
+    static byte[] computeMessageHash(String message) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            hash = (hash ^ (c & 0xff)) * FNV_PRIME;
+            hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+        }
+        byte[] result = new byte[Long.BYTES];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = (byte) hash;
+            hash >>>= 8;
+        }
+        return result;
+    }
+
     private static Logger getLogger() {
         return LoggerFactory.getLogger(ServerRpcHandler.class.getName());
     }
@@ -23,10 +23,11 @@ import java.util.Optional;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.internal.UrlUtil;
 import com.vaadin.flow.server.AbstractStreamResource;
+import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.server.HttpStatusCode;
-import com.vaadin.flow.server.RequestHandler;
 import com.vaadin.flow.server.StreamReceiver;
 import com.vaadin.flow.server.StreamResource;
+import com.vaadin.flow.server.TypedRequestHandler;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinSession;
@@ -43,7 +44,7 @@ import org.slf4j.LoggerFactory;
  * @author Vaadin Ltd
  * @since 1.0
  */
-public class StreamRequestHandler implements RequestHandler {
+public class StreamRequestHandler implements TypedRequestHandler {
 
     private static final char PATH_SEPARATOR = '/';
 
@@ -67,6 +68,12 @@ public class StreamRequestHandler implements RequestHandler {
         this.receiverHandler = receiverHandler;
     }
 
+    @Override
+    public boolean canHandleRequestType(RequestType requestType,
+            boolean servletRoot) {
+        return !servletRoot;
+    }
+
     @Override
     public boolean handleRequest(VaadinSession session, VaadinRequest request,
             VaadinResponse response) throws IOException {
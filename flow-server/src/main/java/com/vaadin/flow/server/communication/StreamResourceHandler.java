@@ -21,6 +21,8 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Serializable;
 
+import com.vaadin.flow.internal.jfr.FlightRecorderSupport;
+import com.vaadin.flow.internal.jfr.StreamResourceWriteEvent;
 import com.vaadin.flow.server.HttpStatusCode;
 import com.vaadin.flow.server.StreamResource;
 import com.vaadin.flow.server.StreamResourceWriter;
@@ -86,9 +88,17 @@ public class StreamResourceHandler implements Serializable {
         // block which sets the status code and this code will not have any
         // effect being called after closing the stream (see #8740).
         OutputStream outputStream = null;
+        StreamResourceWriteEvent event = null;
+        if (FlightRecorderSupport.isAvailable()) {
+            event = new StreamResourceWriteEvent(streamResource.getName());
+            event.begin();
+        }
         try {
             outputStream = response.getOutputStream();
             writer.accept(outputStream, session);
+            if (event != null) {
+                event.commit();
+            }
         } catch (Exception exception) {
             response.setStatus(HttpStatusCode.INTERNAL_SERVER_ERROR.getCode());
             throw exception;
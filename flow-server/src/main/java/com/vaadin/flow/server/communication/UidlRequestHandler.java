@@ -18,8 +18,10 @@ package com.vaadin.flow.server.communication;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.Reader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -29,10 +31,15 @@ import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.internal.JavaScriptBootstrapUI;
+import com.vaadin.flow.internal.ReflectionCache;
+import com.vaadin.flow.internal.jfr.FlightRecorderSupport;
+import com.vaadin.flow.internal.jfr.UidlPhaseEvent;
 import com.vaadin.flow.server.HandlerHelper;
 import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.server.SessionExpiredHandler;
 import com.vaadin.flow.server.SynchronizedRequestHandler;
+import com.vaadin.flow.server.TypedRequestHandler;
+import com.vaadin.flow.server.VaadinMetrics;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinService;
@@ -67,7 +74,15 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  * @since 1.0
  */
 public class UidlRequestHandler extends SynchronizedRequestHandler
-        implements SessionExpiredHandler {
+        implements SessionExpiredHandler, TypedRequestHandler {
+
+    /*
+     * Whether an RPC handler class overrides reading the message from a
+     * Reader, so it must still be given the Reader of the request, read while
+     * the session is locked.
+     */
+    private static final ReflectionCache<ServerRpcHandler, Boolean> RPC_READER_OVERRIDDEN = new ReflectionCache<>(
+            UidlRequestHandler::isRpcReaderOverridden);
 
     private AtomicReference<ServerRpcHandler> rpcHandler = new AtomicReference<>();
 
@@ -83,6 +98,12 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
     private static final String CHANGES = "changes";
     private static final String EXECUTE = UIDL_KEY_EXECUTE;
 
+    @Override
+    public boolean canHandleRequestType(RequestType requestType,
+            boolean servletRoot) {
+        return requestType == RequestType.UIDL;
+    }
+
     @Override
     protected boolean canHandleRequest(VaadinRequest request) {
         return HandlerHelper.isRequestType(request, RequestType.UIDL);
@@ -97,34 +118,68 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         return new ServerRpcHandler();
     }
 
+    @Override
+    public boolean isReadAndWriteOutsideSessionLock() {
+        return !RPC_READER_OVERRIDDEN.get(getRpcHandler(null).getClass());
+    }
+
+    @Override
+    public boolean isUILockSufficient() {
+        return true;
+    }
+
     @Override
     public boolean synchronizedHandleRequest(VaadinSession session,
             VaadinRequest request, VaadinResponse response) throws IOException {
+        Optional<ResponseWriter> responseWriter;
+        if (isReadAndWriteOutsideSessionLock()) {
+            String requestBody = getRequestBody(request.getReader());
+            responseWriter = synchronizedHandleRequest(session, request,
+                    response, requestBody);
+        } else {
+            responseWriter = handleRpc(session, request, response,
+                    (handler, ui) -> handler.handleRpc(ui, request.getReader(),
+                            request));
+        }
+        if (responseWriter.isPresent()) {
+            responseWriter.get().writeResponse();
+        }
+        return responseWriter.isPresent();
+    }
+
+    @Override
+    public Optional<ResponseWriter> synchronizedHandleRequest(
+            VaadinSession session, VaadinRequest request,
+            VaadinResponse response, String requestBody) throws IOException {
+        return handleRpc(session, request, response,
+                (handler, ui) -> handler.handleRpc(ui, requestBody, request));
+    }
+
+    private Optional<ResponseWriter> handleRpc(VaadinSession session,
+            VaadinRequest request, VaadinResponse response, RpcCall rpcCall)
+            throws IOException {
         UI uI = session.getService().findUI(request);
         if (uI == null) {
             // This should not happen but it will if the UI has been closed. We
             // really don't want to see it in the server logs though
-            commitJsonResponse(response,
-                    VaadinService.createUINotFoundJSON(false));
-            return true;
+            return Optional.of(() -> commitJsonResponse(response,
+                    VaadinService.createUINotFoundJSON(false)));
         }
 
         StringWriter stringWriter = new StringWriter();
 
         try {
-            getRpcHandler(session).handleRpc(uI, request.getReader(), request);
+            rpcCall.invoke(getRpcHandler(session), uI);
             writeUidl(uI, stringWriter, false);
         } catch (JsonException e) {
             getLogger().error("Error writing JSON to response", e);
             // Refresh on client side
-            writeRefresh(response);
-            return true;
+            return Optional.of(() -> writeRefresh(response));
         } catch (InvalidUIDLSecurityKeyException e) {
             getLogger().warn("Invalid security key received from {}",
                     request.getRemoteHost());
             // Refresh on client side
-            writeRefresh(response);
-            return true;
+            return Optional.of(() -> writeRefresh(response));
         } catch (ResynchronizationRequiredException e) { // NOSONAR
             // Resync on the client side
             writeUidl(uI, stringWriter, true);
@@ -132,8 +187,13 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
             stringWriter.close();
         }
 
-        commitJsonResponse(response, stringWriter.toString());
-        return true;
+        /*
+         * The UIDL is turned into a string while the session is locked, as the
+         * JSON may share values with the state tree. Only the encoding and
+         * the possibly slow write to the client are done without the lock.
+         */
+        String json = stringWriter.toString();
+        return Optional.of(() -> commitJsonResponse(response, json));
     }
 
     private void writeRefresh(VaadinResponse response) throws IOException {
@@ -149,8 +209,19 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
             removeOffendingMprHashFragment(uidl);
         }
 
+        UidlPhaseEvent event = null;
+        if (FlightRecorderSupport.isAvailable()) {
+            event = new UidlPhaseEvent(UidlPhaseEvent.SERIALIZATION,
+                    ui == null ? -1 : ui.getUIId());
+            event.begin();
+        }
         // some dirt to prevent cross site scripting
         String responseString = "for(;;);[" + uidl.toJson() + "]";
+        if (event != null) {
+            event.commit();
+        }
+        VaadinMetrics.get(VaadinService.getCurrent())
+                .uidlSent(responseString.length(), false);
         writer.write(responseString);
     }
 
@@ -183,6 +254,35 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         return true;
     }
 
+    @FunctionalInterface
+    private interface RpcCall {
+        void invoke(ServerRpcHandler handler, UI ui)
+                throws IOException, InvalidUIDLSecurityKeyException;
+    }
+
+    private static boolean isRpcReaderOverridden(
+            Class<? extends ServerRpcHandler> type) {
+        for (Class<?> current = type; current != ServerRpcHandler.class; current = current
+                .getSuperclass()) {
+            if (declaresMethod(current, "handleRpc", UI.class, Reader.class,
+                    VaadinRequest.class)
+                    || declaresMethod(current, "getMessage", Reader.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean declaresMethod(Class<?> type, String name,
+            Class<?>... parameterTypes) {
+        try {
+            type.getDeclaredMethod(name, parameterTypes);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
     private ServerRpcHandler getRpcHandler(VaadinSession session) {
         ServerRpcHandler handler = rpcHandler.get();
         if (handler == null) {
@@ -49,11 +49,14 @@ import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.internal.change.NodeAttachChange;
 import com.vaadin.flow.internal.change.NodeChange;
+import com.vaadin.flow.internal.jfr.FlightRecorderSupport;
+import com.vaadin.flow.internal.jfr.UidlPhaseEvent;
 import com.vaadin.flow.internal.nodefeature.ComponentMapping;
 import com.vaadin.flow.internal.nodefeature.ReturnChannelMap;
 import com.vaadin.flow.internal.nodefeature.ReturnChannelRegistration;
 import com.vaadin.flow.server.DependencyFilter;
 import com.vaadin.flow.server.SystemMessages;
+import com.vaadin.flow.server.VaadinMetrics;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.WebBrowser;
@@ -133,6 +136,7 @@ public class UidlWriter implements Serializable {
      * @return JSON object containing the UIDL response
      */
     public JsonObject createUidl(UI ui, boolean async, boolean resync) {
+        long start = System.nanoTime();
         JsonObject response = Json.createObject();
 
         UIInternals uiInternals = ui.getInternals();
@@ -194,6 +198,8 @@ public class UidlWriter implements Serializable {
             response.put("timings", createPerformanceData(ui));
         }
         uiInternals.incrementServerId();
+        VaadinMetrics.get(service).uidlCreated(stateChanges.length(),
+                System.nanoTime() - start);
         return response;
     }
 
@@ -387,8 +393,13 @@ public class UidlWriter implements Serializable {
         UIInternals uiInternals = ui.getInternals();
         StateTree stateTree = uiInternals.getStateTree();
 
+        UidlPhaseEvent beforeResponseEvent = beginPhase(
+                UidlPhaseEvent.BEFORE_CLIENT_RESPONSE, ui);
         stateTree.runExecutionsBeforeClientResponse();
+        commitPhase(beforeResponseEvent);
 
+        UidlPhaseEvent collectEvent = beginPhase(
+                UidlPhaseEvent.COLLECT_CHANGES, ui);
         Set<Class<? extends Component>> componentsWithDependencies = new LinkedHashSet<>();
         stateTree.collectChanges(change -> {
             if (attachesComponent(change)) {
@@ -404,6 +415,22 @@ public class UidlWriter implements Serializable {
 
         componentsWithDependencies
                 .forEach(uiInternals::addComponentDependencies);
+        commitPhase(collectEvent);
+    }
+
+    private static UidlPhaseEvent beginPhase(String phase, UI ui) {
+        if (!FlightRecorderSupport.isAvailable()) {
+            return null;
+        }
+        UidlPhaseEvent event = new UidlPhaseEvent(phase, ui.getUIId());
+        event.begin();
+        return event;
+    }
+
+    private static void commitPhase(UidlPhaseEvent event) {
+        if (event != null) {
+            event.commit();
+        }
     }
 
     private static boolean attachesComponent(NodeChange change) {
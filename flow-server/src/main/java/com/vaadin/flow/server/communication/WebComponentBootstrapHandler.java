@@ -45,8 +45,10 @@ import com.vaadin.flow.internal.JsonUtils;
 import com.vaadin.flow.server.BootstrapException;
 import com.vaadin.flow.server.BootstrapHandler;
 import com.vaadin.flow.server.Constants;
+import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.server.HandlerHelper;
 import com.vaadin.flow.server.PwaRegistry;
+import com.vaadin.flow.server.TypedRequestHandler;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinService;
@@ -72,7 +74,8 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  * @author Vaadin Ltd.
  * @since 2.0
  */
-public class WebComponentBootstrapHandler extends BootstrapHandler {
+public class WebComponentBootstrapHandler extends BootstrapHandler
+        implements TypedRequestHandler {
     private static final String REQ_PARAM_URL = "url";
     private static final String PATH_PREFIX = "/web-component/web-component";
     private static final Pattern PATH_PATTERN = Pattern
@@ -175,6 +178,12 @@ public class WebComponentBootstrapHandler extends BootstrapHandler {
         super(pageBuilder);
     }
 
+    @Override
+    public boolean canHandleRequestType(RequestType requestType,
+            boolean servletRoot) {
+        return !servletRoot;
+    }
+
     @Override
     protected boolean canHandleRequest(VaadinRequest request) {
         if (!hasWebComponentConfigurations(request)) {
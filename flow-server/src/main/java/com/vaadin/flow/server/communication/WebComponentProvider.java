@@ -29,8 +29,10 @@ import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.webcomponent.WebComponentConfiguration;
+import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.server.HttpStatusCode;
 import com.vaadin.flow.server.SynchronizedRequestHandler;
+import com.vaadin.flow.server.TypedRequestHandler;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinSession;
@@ -47,7 +49,8 @@ import static com.vaadin.flow.shared.ApplicationConstants.CONTENT_TYPE_TEXT_JAVA
  * @author Vaadin Ltd.
  * @since 2.0
  */
-public class WebComponentProvider extends SynchronizedRequestHandler {
+public class WebComponentProvider extends SynchronizedRequestHandler
+        implements TypedRequestHandler {
     private static final String WEB_COMPONENT_PATH = "web-component/";
     private static final String PATH_PREFIX = "/" + WEB_COMPONENT_PATH;
     private static final String HTML_EXTENSION = "html";
@@ -66,6 +69,12 @@ public class WebComponentProvider extends SynchronizedRequestHandler {
     // tag name -> generated html
     private ConcurrentHashMap<String, String> cache = new ConcurrentHashMap<>();
 
+    @Override
+    public boolean canHandleRequestType(RequestType requestType,
+            boolean servletRoot) {
+        return !servletRoot;
+    }
+
     @Override
     protected boolean canHandleRequest(VaadinRequest request) {
         if (!hasWebComponentConfigurations(request)) {
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication.rpc;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.server.InitParameters;
+import com.vaadin.flow.server.VaadinSession;
+
+/**
+ * Server side rate limit for high frequency DOM events of a UI.
+ * <p>
+ * Events such as {@code mousemove} or {@code scroll} describe a state that
+ * the next event of the same kind replaces. If
+ * {@link InitParameters#SERVLET_PARAMETER_COALESCE_EVENTS} is enabled, several
+ * of them queued for the same element in one message are coalesced by
+ * {@link com.vaadin.flow.server.communication.ServerRpcHandler} so that only
+ * the latest one is fired. If
+ * {@link InitParameters#SERVLET_PARAMETER_MAX_EVENTS_PER_SECOND} is set, the
+ * events exceeding the rate are dropped, so that a misbehaving client cannot
+ * keep the session lock busy with them. Both are disabled by default. Other
+ * events are never coalesced or dropped.
+ * <p>
+ * The number of coalesced and dropped events is counted per UI and for all
+ * UIs.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ */
+public class EventRateLimiter implements Serializable {
+
+    private static final Set<String> HIGH_FREQUENCY_EVENTS = Collections
+            .unmodifiableSet(new HashSet<>(Arrays.asList("mousemove",
+                    "pointermove", "touchmove", "drag", "dragover", "scroll",
+                    "wheel", "resize", "input")));
+
+    private static final LongAdder TOTAL_COALESCED = new LongAdder();
+    private static final LongAdder TOTAL_DROPPED = new LongAdder();
+
+    private final int eventsPerSecond;
+
+    private final boolean coalescing;
+
+    private double tokens;
+    private long lastRefill;
+
+    private long coalescedCount;
+    private long droppedCount;
+
+    /**
+     * Creates a new rate limiter.
+     *
+     * @param eventsPerSecond
+     *            the maximum number of high frequency events per second, or
+     *            {@code 0} for no limit
+     * @param coalescing
+     *            whether high frequency events are coalesced
+     */
+    EventRateLimiter(int eventsPerSecond, boolean coalescing) {
+        this.eventsPerSecond = eventsPerSecond;
+        this.coalescing = coalescing;
+        tokens = eventsPerSecond;
+        lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Gets the rate limiter of the given UI, creating it if needed.
+     *
+     * @param ui
+     *            the UI, not {@code null}
+     * @return the rate limiter of the UI, not {@code null}
+     */
+    public static EventRateLimiter get(UI ui) {
+        EventRateLimiter limiter = ComponentUtil.getData(ui,
+                EventRateLimiter.class);
+        if (limiter == null) {
+            limiter = create(ui);
+            ComponentUtil.setData(ui, EventRateLimiter.class, limiter);
+        }
+        return limiter;
+    }
+
+    /**
+     * Checks whether events of the given type are high frequency events which
+     * may be coalesced and dropped.
+     *
+     * @param eventType
+     *            the DOM event type, not {@code null}
+     * @return {@code true} if the event type is a high frequency event
+     */
+    public static boolean isHighFrequencyEvent(String eventType) {
+        return HIGH_FREQUENCY_EVENTS.contains(eventType);
+    }
+
+    /**
+     * Checks whether high frequency events of the UI are coalesced, so that
+     * only the latest one of several events of the same type for the same
+     * element in one message is fired.
+     *
+     * @return {@code true} if high frequency events are coalesced
+     * @see InitParameters#SERVLET_PARAMETER_COALESCE_EVENTS
+     */
+    public boolean isCoalescing() {
+        return coalescing;
+    }
+
+    /**
+     * Takes a permit for handling one high frequency event.
+     *
+     * @return {@code true} if the event should be handled, {@code false} if it
+     *         exceeds the rate and should be dropped
+     */
+    boolean tryAcquire() {
+        return tryAcquire(System.nanoTime());
+    }
+
+    boolean tryAcquire(long now) {
+        if (eventsPerSecond <= 0) {
+            return true;
+        }
+        long elapsed = now - lastRefill;
+        lastRefill = now;
+        if (elapsed < 0) {
+            // Deserialized in another JVM, nanoTime is not comparable
+            tokens = eventsPerSecond;
+        } else {
+            tokens = Math.min(eventsPerSecond, tokens + (double) elapsed
+                    * eventsPerSecond / TimeUnit.SECONDS.toNanos(1));
+        }
+        if (tokens >= 1) {
+            tokens--;
+            return true;
+        }
+        droppedCount++;
+        TOTAL_DROPPED.increment();
+        return false;
+    }
+
+    /**
+     * Records that events were coalesced with later events of the same kind.
+     *
+     * @param count
+     *            the number of events that were not fired
+     */
+    public void eventsCoalesced(int count) {
+        coalescedCount += count;
+        TOTAL_COALESCED.add(count);
+    }
+
+    /**
+     * Gets the number of events of this UI that were coalesced with a later
+     * event of the same kind.
+     *
+     * @return the number of coalesced events
+     */
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Gets the number of events of this UI that were dropped because they
+     * exceeded the rate limit.
+     *
+     * @return the number of dropped events
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Gets the number of events of all UIs that were coalesced with a later
+     * event of the same kind.
+     *
+     * @return the number of coalesced events
+     */
+    public static long getTotalCoalescedCount() {
+        return TOTAL_COALESCED.sum();
+    }
+
+    /**
+     * Gets the number of events of all UIs that were dropped because they
+     * exceeded the rate limit.
+     *
+     * @return the number of dropped events
+     */
+    public static long getTotalDroppedCount() {
+        return TOTAL_DROPPED.sum();
+    }
+
+    private static EventRateLimiter create(UI ui) {
+        VaadinSession session = ui.getSession();
+        DeploymentConfiguration configuration = session == null ? null
+                : session.getConfiguration();
+        if (configuration == null) {
+            return new EventRateLimiter(0, false);
+        }
+        int eventsPerSecond = configuration.getApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_MAX_EVENTS_PER_SECOND, 0,
+                Integer::parseInt);
+        boolean coalescing = configuration.getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_COALESCE_EVENTS, false);
+        return new EventRateLimiter(eventsPerSecond, coalescing);
+    }
+}
@@ -17,6 +17,9 @@ package com.vaadin.flow.server.communication.rpc;
 
 import java.util.Optional;
 
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.dom.DomEvent;
 import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.internal.StateNode;
@@ -43,6 +46,22 @@ public class EventRpcHandler extends AbstractRpcInvocationHandler {
         return JsonConstants.RPC_TYPE_EVENT;
     }
 
+    @Override
+    public Optional<Runnable> handle(UI ui, JsonObject invocationJson) {
+        if (invocationJson.hasKey(JsonConstants.RPC_EVENT_TYPE)) {
+            String eventType = invocationJson
+                    .getString(JsonConstants.RPC_EVENT_TYPE);
+            if (EventRateLimiter.isHighFrequencyEvent(eventType)
+                    && !EventRateLimiter.get(ui).tryAcquire()) {
+                LoggerFactory.getLogger(EventRpcHandler.class).debug(
+                        "Dropped '{}' event for node {} exceeding the rate limit",
+                        eventType, invocationJson.get(JsonConstants.RPC_NODE));
+                return Optional.empty();
+            }
+        }
+        return super.handle(ui, invocationJson);
+    }
+
     @Override
     public Optional<Runnable> handleNode(StateNode node,
             JsonObject invocationJson) {
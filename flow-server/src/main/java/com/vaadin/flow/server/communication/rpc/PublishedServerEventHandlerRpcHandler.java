@@ -16,12 +16,18 @@
 package com.vaadin.flow.server.communication.rpc;
 
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -38,6 +44,7 @@ import com.vaadin.flow.di.Lookup;
 import com.vaadin.flow.dom.DisabledUpdateMode;
 import com.vaadin.flow.internal.JsonCodec;
 import com.vaadin.flow.internal.ReflectTools;
+import com.vaadin.flow.internal.ReflectionCache;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.nodefeature.ClientCallableHandlers;
 import com.vaadin.flow.internal.nodefeature.ComponentMapping;
@@ -66,6 +73,56 @@ public class PublishedServerEventHandlerRpcHandler
 
     private static final Collection<RpcDecoder> DECODERS = loadDecoders();
 
+    private static final ReflectionCache<Object, Map<String, HandlerMethod>> HANDLER_METHODS = new ReflectionCache<>(
+            PublishedServerEventHandlerRpcHandler::collectHandlerMethods);
+
+    /**
+     * An event handler method with the reflection data needed to decode its
+     * arguments and a method handle for invoking it, resolved once per class.
+     */
+    private static final class HandlerMethod {
+
+        private static final HandlerMethod AMBIGUOUS = new HandlerMethod();
+
+        private static final MethodType INVOKER_TYPE = MethodType
+                .methodType(Object.class, Object.class, Object[].class);
+
+        private final Method method;
+        private final MethodHandle invoker;
+        private final Class<?>[] parameterTypes;
+        private final Type[] genericParameterTypes;
+        private final boolean allowInert;
+
+        private HandlerMethod() {
+            method = null;
+            invoker = null;
+            parameterTypes = null;
+            genericParameterTypes = null;
+            allowInert = false;
+        }
+
+        private HandlerMethod(Method method) {
+            this.method = method;
+            parameterTypes = method.getParameterTypes();
+            genericParameterTypes = method.getGenericParameterTypes();
+            allowInert = method.isAnnotationPresent(AllowInert.class);
+            method.setAccessible(true);
+            try {
+                MethodHandle handle = MethodHandles.lookup().unreflect(method)
+                        .asFixedArity()
+                        .asSpreader(Object[].class, parameterTypes.length);
+                if (Modifier.isStatic(method.getModifiers())) {
+                    handle = MethodHandles.dropArguments(handle, 0,
+                            Object.class);
+                }
+                // (instance, Object[] args) -> Object for invokeExact
+                invoker = handle.asType(INVOKER_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
     @Override
     public String getRpcType() {
         return JsonConstants.RPC_PUBLISHED_SERVER_EVENT_HANDLER;
@@ -144,9 +201,14 @@ public class PublishedServerEventHandlerRpcHandler
     static void invokeMethod(Component instance, Class<?> clazz,
             String methodName, JsonArray args, int promiseId, boolean inert) {
         assert instance != null;
-        Optional<Method> method = findMethod(instance, clazz, methodName);
-        if (method.isPresent()) {
-            invokeMethod(instance, method.get(), args, promiseId, inert);
+        HandlerMethod method = HANDLER_METHODS.get(clazz).get(methodName);
+        if (method == HandlerMethod.AMBIGUOUS) {
+            String msg = String.format("Class '%s' contains "
+                    + "several event handler method with the same name '%s'",
+                    instance.getClass().getName(), methodName);
+            throw new IllegalStateException(msg);
+        } else if (method != null) {
+            invokeMethod(instance, method, args, promiseId, inert);
         } else if (instance instanceof Composite) {
             Component compositeContent = ((Composite<?>) instance).getContent();
             invokeMethod(compositeContent, compositeContent.getClass(),
@@ -159,24 +221,29 @@ public class PublishedServerEventHandlerRpcHandler
         }
     }
 
-    private static Optional<Method> findMethod(Component instance,
-            Class<?> clazz, String methodName) {
-        List<Method> methods = Stream.of(clazz.getDeclaredMethods())
-                .filter(method -> methodName.equals(method.getName()))
-                .filter(method -> hasMethodAnnotation(method))
-                .collect(Collectors.toList());
-        if (methods.size() > 1) {
-            String msg = String.format("Class '%s' contains "
-                    + "several event handler method with the same name '%s'",
-                    instance.getClass().getName(), methodName);
-            throw new IllegalStateException(msg);
-        } else if (methods.size() == 1) {
-            return Optional.of(methods.get(0));
-        } else if (!Component.class.equals(clazz)) {
-            return findMethod(instance, clazz.getSuperclass(), methodName);
-        } else {
-            return Optional.empty();
+    /**
+     * Collects the event handler methods of the given class and its super
+     * classes by name. A method declared in a sub class hides the methods
+     * with the same name in its super classes.
+     */
+    private static Map<String, HandlerMethod> collectHandlerMethods(
+            Class<?> clazz) {
+        Map<String, HandlerMethod> methods = new HashMap<>();
+        Class<?> current = clazz;
+        while (current != null) {
+            Map<String, List<Method>> declared = Stream
+                    .of(current.getDeclaredMethods())
+                    .filter(PublishedServerEventHandlerRpcHandler::hasMethodAnnotation)
+                    .collect(Collectors.groupingBy(Method::getName));
+            declared.forEach((name, candidates) -> methods.putIfAbsent(name,
+                    candidates.size() > 1 ? HandlerMethod.AMBIGUOUS
+                            : new HandlerMethod(candidates.get(0))));
+            if (Component.class.equals(current)) {
+                break;
+            }
+            current = current.getSuperclass();
         }
+        return methods;
     }
 
     private static boolean hasMethodAnnotation(Method method) {
@@ -187,9 +254,9 @@ public class PublishedServerEventHandlerRpcHandler
                 || method.isAnnotationPresent(ClientCallable.class);
     }
 
-    private static void invokeMethod(Component instance, Method method,
+    private static void invokeMethod(Component instance, HandlerMethod method,
             JsonArray args, int promiseId, boolean inert) {
-        if (inert && !method.isAnnotationPresent(AllowInert.class)) {
+        if (inert && !method.allowInert) {
             return;
         }
         if (promiseId == -1) {
@@ -215,37 +282,36 @@ public class PublishedServerEventHandlerRpcHandler
         }
     }
 
-    private static Object invokeMethod(Component instance, Method method,
+    private static Object invokeMethod(Component instance, HandlerMethod method,
             JsonArray args) {
+        Object[] decodedArgs = decodeArgs(instance, method, args);
         try {
-            method.setAccessible(true);
-            return method.invoke(instance, decodeArgs(instance, method, args));
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
-        } catch (InvocationTargetException e) {
+            return (Object) method.invoker.invokeExact((Object) instance,
+                    decodedArgs);
+        } catch (Throwable throwable) { // NOSONAR
             LoggerFactory.getLogger(
                     PublishedServerEventHandlerRpcHandler.class.getName())
-                    .debug(null, e);
-            throw new RuntimeException(e.getCause());
+                    .debug(null, throwable);
+            throw new RuntimeException(throwable);
         }
     }
 
-    private static Object[] decodeArgs(Component instance, Method method,
+    private static Object[] decodeArgs(Component instance, HandlerMethod handler,
             JsonArray argsFromClient) {
-        int methodArgs = method.getParameterCount();
+        Method method = handler.method;
+        int methodArgs = handler.parameterTypes.length;
         int clientValuesCount = argsFromClient.length();
         JsonArray argValues;
         if (method.isVarArgs()) {
             if (clientValuesCount >= methodArgs - 1) {
-                argValues = unwrapVarArgs(argsFromClient, method);
+                argValues = unwrapVarArgs(argsFromClient, methodArgs);
             } else {
                 String msg = String.format(
                         "The number of received values (%d) is not enough "
                                 + "to call the method '%s' declared in '%s' which "
                                 + "has vararg parameter and the number of arguments %d",
                         argsFromClient.length(), method.getName(),
-                        method.getDeclaringClass().getName(),
-                        method.getParameterCount());
+                        method.getDeclaringClass().getName(), methodArgs);
                 throw new IllegalArgumentException(msg);
             }
         } else {
@@ -256,23 +322,21 @@ public class PublishedServerEventHandlerRpcHandler
                         "The number of received values (%d) is not equal "
                                 + "to the number of arguments (%d) in the method '%s' "
                                 + "declared in '%s'",
-                        argsFromClient.length(), method.getParameterCount(),
-                        method.getName(), method.getDeclaringClass().getName());
+                        argsFromClient.length(), methodArgs, method.getName(),
+                        method.getDeclaringClass().getName());
                 throw new IllegalArgumentException(msg);
             }
         }
-        List<Object> decoded = new ArrayList<>(method.getParameterCount());
-        Class<?>[] methodParameterTypes = method.getParameterTypes();
+        Object[] decoded = new Object[methodArgs];
         for (int i = 0; i < argValues.length(); i++) {
-            Class<?> type = methodParameterTypes[i];
-            decoded.add(decodeArg(instance, method, type, i, argValues.get(i)));
+            decoded[i] = decodeArg(instance, handler,
+                    handler.parameterTypes[i], i, argValues.get(i));
         }
-        return decoded.toArray(new Object[method.getParameterCount()]);
+        return decoded;
     }
 
     private static JsonArray unwrapVarArgs(JsonArray argsFromClient,
-            Method method) {
-        int paramCount = method.getParameterCount();
+            int paramCount) {
         if (argsFromClient.length() == paramCount) {
             if (argsFromClient.get(paramCount - 1).getType()
                     .equals(JsonType.ARRAY)) {
@@ -295,7 +359,7 @@ public class PublishedServerEventHandlerRpcHandler
         return result;
     }
 
-    private static Object decodeArg(Component instance, Method method,
+    private static Object decodeArg(Component instance, HandlerMethod handler,
             Class<?> type, int index, JsonValue argValue) {
         // come up with method to know that it's an id and should be gotten from
         // the model
@@ -304,7 +368,7 @@ public class PublishedServerEventHandlerRpcHandler
         if (type.isPrimitive() && argValue.getType() == JsonType.NULL) {
             return JsonCodec.decodeAs(argValue, type);
         } else if (type.isArray()) {
-            return decodeArray(method, type, index, argValue);
+            return decodeArray(handler, type, index, argValue);
         } else {
             Class<?> convertedType = ReflectTools.convertPrimitiveType(type);
 
@@ -316,14 +380,15 @@ public class PublishedServerEventHandlerRpcHandler
                 }
                 VaadinContext context = ui.get().getSession().getService()
                         .getContext();
-                DeprecatedPolymerPublishedEventHandler handler = context
+                DeprecatedPolymerPublishedEventHandler polymerHandler = context
                         .getAttribute(Lookup.class)
                         .lookup(DeprecatedPolymerPublishedEventHandler.class);
-                if (handler != null && handler.isTemplateModelValue(instance,
-                        argValue, convertedType)) {
-                    return handler.getTemplateItem(instance,
+                if (polymerHandler != null && polymerHandler
+                        .isTemplateModelValue(instance, argValue,
+                                convertedType)) {
+                    return polymerHandler.getTemplateItem(instance,
                             (JsonObject) argValue,
-                            method.getGenericParameterTypes()[index]);
+                            handler.genericParameterTypes[index]);
                 }
             }
 
@@ -335,6 +400,7 @@ public class PublishedServerEventHandlerRpcHandler
                     throw new IllegalArgumentException(exception);
                 }
             }
+            Method method = handler.method;
             String msg = String.format("Class '%s' has the method '%s' "
                     + "whose parameter %d refers to unsupported type '%s'",
                     method.getDeclaringClass().getName(), method.getName(),
@@ -351,9 +417,10 @@ public class PublishedServerEventHandlerRpcHandler
                 .findFirst();
     }
 
-    private static Object decodeArray(Method method, Class<?> type, int index,
-            JsonValue argValue) {
+    private static Object decodeArray(HandlerMethod handler, Class<?> type,
+            int index, JsonValue argValue) {
         if (argValue.getType() != JsonType.ARRAY) {
+            Method method = handler.method;
             String msg = String.format("Class '%s' has the method '%s' "
                     + "whose parameter %d refers to the array type '%s' "
                     + "but received value is not an array, its type is '%s'",
@@ -365,8 +432,8 @@ public class PublishedServerEventHandlerRpcHandler
         JsonArray array = (JsonArray) argValue;
         Object result = Array.newInstance(componentType, array.length());
         for (int i = 0; i < array.length(); i++) {
-            Array.set(result, i, decodeArg(null, method, componentType, index,
-                    array.get(i)));
+            Array.set(result, i, decodeArg(null, handler, componentType,
+                    index, array.get(i)));
         }
         return result;
     }
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+
+import com.vaadin.flow.internal.MessageDigestUtil;
+import com.vaadin.flow.server.Constants;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.impl.JsonUtil;
+
+/**
+ * Content hashes and caching hints for the files produced by the production
+ * frontend build.
+ * <p>
+ * The manifest is generated once by the build plugins after the frontend
+ * bundle has been built and read at runtime by
+ * {@link com.vaadin.flow.server.StaticFileServer} so that it can serve ETags
+ * without hashing the files and mark the content hashed bundle files as
+ * immutable.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ */
+public class CacheManifest implements Serializable {
+
+    /**
+     * File name of the manifest, stored in the {@code config} folder next to
+     * {@code stats.json}.
+     */
+    public static final String CACHE_MANIFEST_FILE = "cache-manifest.json";
+
+    /**
+     * Class path location of the manifest in a production build.
+     */
+    public static final String CACHE_MANIFEST_RESOURCE = Constants.VAADIN_SERVLET_RESOURCES
+            + Constants.VAADIN_CONFIGURATION + CACHE_MANIFEST_FILE;
+
+    private static final String ETAGS = "etags";
+    private static final String IMMUTABLE = "immutable";
+
+    /*
+     * Both webpack and Vite add a content hash to the names of all files they
+     * emit to VAADIN/build, so these never change for a given name.
+     */
+    private static final String IMMUTABLE_PREFIX = Constants.VAADIN_BUILD_FILES_PATH;
+
+    private static final int ETAG_HASH_BYTES = 16;
+
+    private final Map<String, String> etags;
+    private final Set<String> immutable;
+
+    private CacheManifest(Map<String, String> etags, Set<String> immutable) {
+        this.etags = etags;
+        this.immutable = immutable;
+    }
+
+    /**
+     * Creates an empty manifest.
+     *
+     * @return an empty manifest, not {@code null}
+     */
+    public static CacheManifest empty() {
+        return new CacheManifest(Collections.emptyMap(),
+                Collections.emptySet());
+    }
+
+    /**
+     * Creates a manifest for all files in the given web application output
+     * folder, hashing the content of each file.
+     *
+     * @param webappFolder
+     *            the folder the frontend build wrote its output to, not
+     *            {@code null}
+     * @return the manifest for the folder contents, not {@code null}
+     * @throws IOException
+     *             if the folder contents could not be read
+     */
+    public static CacheManifest generate(File webappFolder) throws IOException {
+        Map<String, String> etags = new HashMap<>();
+        Set<String> immutable = new HashSet<>();
+        Path root = webappFolder.toPath();
+        if (!webappFolder.isDirectory()) {
+            return new CacheManifest(etags, immutable);
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files
+                    .filter(Files::isRegularFile)::iterator) {
+                String path = root.relativize(file).toString()
+                        .replace(File.separatorChar, '/');
+                etags.put(path, computeETag(Files.readAllBytes(file)));
+                if (path.startsWith(IMMUTABLE_PREFIX)) {
+                    immutable.add(path);
+                }
+            }
+        }
+        return new CacheManifest(etags, immutable);
+    }
+
+    /**
+     * Reads a manifest previously written with {@link #write(File)}.
+     *
+     * @param stream
+     *            the stream to read the manifest from, not {@code null}
+     * @return the manifest, not {@code null}
+     * @throws IOException
+     *             if the stream could not be read
+     */
+    public static CacheManifest read(InputStream stream) throws IOException {
+        JsonObject json = Json
+                .parse(IOUtils.toString(stream, StandardCharsets.UTF_8));
+        Map<String, String> etags = new HashMap<>();
+        Set<String> immutable = new HashSet<>();
+        if (json.hasKey(ETAGS)) {
+            JsonObject etagsJson = json.getObject(ETAGS);
+            for (String path : etagsJson.keys()) {
+                etags.put(path, etagsJson.getString(path));
+            }
+        }
+        if (json.hasKey(IMMUTABLE)) {
+            JsonArray immutableJson = json.getArray(IMMUTABLE);
+            for (int i = 0; i < immutableJson.length(); i++) {
+                immutable.add(immutableJson.getString(i));
+            }
+        }
+        return new CacheManifest(etags, immutable);
+    }
+
+    /**
+     * Writes the manifest as JSON to the given file.
+     *
+     * @param file
+     *            the target file, not {@code null}
+     * @throws IOException
+     *             if the file could not be written
+     */
+    public void write(File file) throws IOException {
+        JsonObject json = Json.createObject();
+        JsonObject etagsJson = Json.createObject();
+        etags.keySet().stream().sorted()
+                .forEach(path -> etagsJson.put(path, etags.get(path)));
+        json.put(ETAGS, etagsJson);
+        JsonArray immutableJson = Json.createArray();
+        immutable.stream().sorted().forEach(
+                path -> immutableJson.set(immutableJson.length(), path));
+        json.put(IMMUTABLE, immutableJson);
+        FileUtils.write(file, JsonUtil.stringify(json, 2) + "\n",
+                StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets the precomputed ETag for the given resource.
+     *
+     * @param path
+     *            the resource path relative to the web application root,
+     *            with or without a leading {@literal /}
+     * @return the ETag value, or {@code null} if the resource is not in the
+     *         manifest
+     */
+    public String getETag(String path) {
+        return etags.get(normalize(path));
+    }
+
+    /**
+     * Checks whether the given resource has a content hash in its name and
+     * can thus be cached forever.
+     *
+     * @param path
+     *            the resource path relative to the web application root,
+     *            with or without a leading {@literal /}
+     * @return {@code true} if the resource never changes for its name
+     */
+    public boolean isImmutable(String path) {
+        return immutable.contains(normalize(path));
+    }
+
+    /**
+     * Computes a strong ETag value for the given content.
+     *
+     * @param content
+     *            the resource content, not {@code null}
+     * @return the quoted ETag value
+     */
+    public static String computeETag(byte[] content) {
+        return toETag(MessageDigestUtil.sha256(content));
+    }
+
+    /**
+     * Computes a strong ETag value for the content of the given stream
+     * without reading it all into memory. The stream is not closed.
+     *
+     * @param content
+     *            the stream of the resource content, not {@code null}
+     * @return the quoted ETag value
+     * @throws IOException
+     *             if reading the stream fails
+     */
+    public static String computeETag(InputStream content) throws IOException {
+        return toETag(MessageDigestUtil.sha256(content));
+    }
+
+    private static String toETag(byte[] hash) {
+        StringBuilder result = new StringBuilder(ETAG_HASH_BYTES * 2 + 2);
+        result.append('"');
+        for (int i = 0; i < ETAG_HASH_BYTES; i++) {
+            result.append(Character.forDigit((hash[i] >> 4) & 0xf, 16));
+            result.append(Character.forDigit(hash[i] & 0xf, 16));
+        }
+        return result.append('"').toString();
+    }
+
+    private static String normalize(String path) {
+        return path.startsWith("/") ? path.substring(1) : path;
+    }
+}
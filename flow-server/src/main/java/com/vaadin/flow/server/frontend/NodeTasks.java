@@ -24,8 +24,17 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import com.vaadin.experimental.FeatureFlags;
@@ -162,6 +171,8 @@ public class NodeTasks implements FallibleCommand {
          */
         private List<String> postinstallPackages;
 
+        private boolean parallelExecution = true;
+
         /**
          * Create a builder instance given an specific npm folder.
          *
@@ -682,44 +693,79 @@ public class NodeTasks implements FallibleCommand {
         public File getFlowResourcesFolder() {
             return flowResourcesFolder;
         }
+
+        /**
+         * Sets whether tasks that do not depend on each other are run
+         * concurrently. Enabled by default.
+         *
+         * @param parallelExecution
+         *            <code>true</code> to run independent tasks concurrently,
+         *            <code>false</code> to run all tasks one after another
+         * @return the builder, for chaining
+         */
+        public Builder withParallelExecution(boolean parallelExecution) {
+            this.parallelExecution = parallelExecution;
+            return this;
+        }
     }
 
     // @formatter:off
-    // This list keeps the tasks in order so that they are executed
-    // without depending on when they are added.
-    private static final List<Class<? extends FallibleCommand>> commandOrder =
+    // The tasks are executed in stages, in the order listed here and without
+    // depending on when they are added. Tasks within a stage neither read the
+    // output of nor write the same files as each other, so they can be run
+    // concurrently.
+    private static final List<List<Class<? extends FallibleCommand>>> commandStages =
         Collections.unmodifiableList(Arrays.asList(
-            TaskGeneratePackageJson.class,
-            TaskGenerateIndexHtml.class,
-            TaskGenerateIndexTs.class,
-            TaskGenerateViteDevMode.class,
-            TaskGenerateTsConfig.class,
-            TaskGenerateTsDefinitions.class,
-            TaskGenerateServiceWorker.class,
-            TaskGenerateHilla.class,
-            TaskGenerateOpenAPI.class,
-            TaskGenerateEndpoint.class,
-            TaskGenerateBootstrap.class,
-            TaskGenerateWebComponentHtml.class,
-            TaskGenerateWebComponentBootstrap.class,
-            TaskGenerateFeatureFlags.class,
-            TaskInstallWebpackPlugins.class,
-            TaskUpdatePackages.class,
-            TaskRunNpmInstall.class,
-            TaskCopyFrontendFiles.class,
-            TaskCopyLocalFrontendFiles.class,
-            TaskUpdateSettingsFile.class,
-            TaskUpdateWebpack.class,
-            TaskUpdateVite.class,
-            TaskUpdateImports.class,
-            TaskUpdateThemeImport.class,
-            TaskCopyTemplateFiles.class
+            stage(
+                TaskGeneratePackageJson.class,
+                TaskGenerateIndexHtml.class,
+                TaskGenerateIndexTs.class,
+                TaskGenerateViteDevMode.class,
+                TaskGenerateTsConfig.class),
+            stage(
+                TaskGenerateTsDefinitions.class,
+                TaskGenerateServiceWorker.class),
+            stage(
+                TaskGenerateHilla.class),
+            stage(
+                TaskGenerateOpenAPI.class),
+            stage(
+                TaskGenerateEndpoint.class),
+            stage(
+                TaskGenerateBootstrap.class,
+                TaskGenerateWebComponentHtml.class,
+                TaskGenerateWebComponentBootstrap.class,
+                TaskGenerateFeatureFlags.class,
+                TaskInstallWebpackPlugins.class),
+            stage(
+                TaskUpdatePackages.class),
+            stage(
+                TaskRunNpmInstall.class),
+            stage(
+                TaskCopyFrontendFiles.class),
+            stage(
+                TaskCopyLocalFrontendFiles.class),
+            stage(
+                TaskUpdateSettingsFile.class,
+                TaskUpdateWebpack.class,
+                TaskUpdateVite.class,
+                TaskUpdateImports.class,
+                TaskUpdateThemeImport.class),
+            stage(
+                TaskCopyTemplateFiles.class)
         ));
     // @formatter:on
 
+    private static final List<Class<? extends FallibleCommand>> commandOrder = Collections
+            .unmodifiableList(commandStages.stream().flatMap(List::stream)
+                    .collect(Collectors.toList()));
+
     private final List<FallibleCommand> commands = new ArrayList<>();
 
+    private final boolean parallelExecution;
+
     private NodeTasks(Builder builder) {
+        parallelExecution = builder.parallelExecution;
 
         ClassFinder classFinder = new ClassFinder.CachedClassFinder(
                 builder.classFinder);
@@ -952,8 +998,91 @@ public class NodeTasks implements FallibleCommand {
     public void execute() throws ExecutionFailedException {
         sortCommands(commands);
 
+        if (!parallelExecution) {
+            for (FallibleCommand command : commands) {
+                command.execute();
+            }
+            return;
+        }
+
+        Map<Integer, List<FallibleCommand>> stages = new TreeMap<>();
         for (FallibleCommand command : commands) {
-            command.execute();
+            stages.computeIfAbsent(getStage(command),
+                    stage -> new ArrayList<>()).add(command);
+        }
+        ExecutorService executor = null;
+        try {
+            for (List<FallibleCommand> stage : stages.values()) {
+                if (stage.size() == 1) {
+                    stage.get(0).execute();
+                    continue;
+                }
+                if (executor == null) {
+                    executor = createExecutor();
+                }
+                executeConcurrently(stage, executor);
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private static ExecutorService createExecutor() {
+        ClassLoader contextClassLoader = Thread.currentThread()
+                .getContextClassLoader();
+        AtomicInteger threadNumber = new AtomicInteger();
+        int threads = Math.max(1,
+                Math.min(Runtime.getRuntime().availableProcessors(),
+                        commandStages.stream().mapToInt(List::size).max()
+                                .orElse(1)));
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable,
+                    "NodeTasks-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            // Tasks may load project classes and resources
+            thread.setContextClassLoader(contextClassLoader);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs the commands of one stage concurrently and waits for all of them
+     * to finish, rethrowing the first failure.
+     */
+    private static void executeConcurrently(List<FallibleCommand> stage,
+            ExecutorService executor) throws ExecutionFailedException {
+        List<Future<Void>> futures = new ArrayList<>(stage.size());
+        for (FallibleCommand command : stage) {
+            Callable<Void> task = () -> {
+                command.execute();
+                return null;
+            };
+            futures.add(executor.submit(task));
+        }
+        Throwable failure = null;
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ExecutionFailedException(
+                        "Interrupted while running frontend tasks", e);
+            }
+        }
+        if (failure instanceof ExecutionFailedException) {
+            throw (ExecutionFailedException) failure;
+        } else if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure != null) {
+            throw new ExecutionFailedException(failure);
         }
     }
 
@@ -974,6 +1103,21 @@ public class NodeTasks implements FallibleCommand {
         });
     }
 
+    /**
+     * Find the stage a command is executed in.
+     *
+     * @param command
+     *            command to find the execution stage for
+     * @return index of the stage of the command
+     */
+    private int getStage(FallibleCommand command) {
+        Class<? extends FallibleCommand> commandClass = commandOrder
+                .get(getIndex(command));
+        return IntStream.range(0, commandStages.size())
+                .filter(i -> commandStages.get(i).contains(commandClass))
+                .findFirst().getAsInt();
+    }
+
     /**
      * Find index of command for which it is assignable to.
      *
@@ -988,4 +1132,10 @@ public class NodeTasks implements FallibleCommand {
                 .findFirst()
                 .orElseThrow(() -> new UnknownTaskException(command));
     }
+
+    @SafeVarargs
+    private static List<Class<? extends FallibleCommand>> stage(
+            Class<? extends FallibleCommand>... commands) {
+        return Collections.unmodifiableList(Arrays.asList(commands));
+    }
 }
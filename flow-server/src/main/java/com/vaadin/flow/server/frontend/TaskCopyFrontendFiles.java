@@ -16,13 +16,26 @@
 package com.vaadin.flow.server.frontend;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.vaadin.flow.internal.MessageDigestUtil;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+import elemental.json.impl.JsonUtil;
+
 import static com.vaadin.flow.server.Constants.COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT;
 import static com.vaadin.flow.server.Constants.RESOURCES_FRONTEND_DEFAULT;
 import static com.vaadin.flow.server.Constants.RESOURCES_JAR_DEFAULT;
@@ -39,6 +52,9 @@ public class TaskCopyFrontendFiles implements FallibleCommand {
             "**/*.js", "**/*.js.map", "**/*.css", "**/*.css.map", "**/*.ts",
             "**/*.ts.map", "**/*.tsx", "**/*.tsx.map" };
     private static final String WILDCARD_INCLUSION_APP_THEME_JAR = "**/themes/**/*";
+    private static final String COPY_STATE_SUFFIX = "-copied.json";
+    private static final String INPUTS = "inputs";
+    private static final String FILES = "files";
     private File targetDirectory;
     private Set<File> resourceLocations = null;
 
@@ -63,6 +79,11 @@ public class TaskCopyFrontendFiles implements FallibleCommand {
     @Override
     public void execute() {
         long start = System.nanoTime();
+        if (isUpToDate()) {
+            log().info(
+                    "Frontend resources from jar files are up to date, skipping copy");
+            return;
+        }
         log().info("Copying frontend resources from jar files ...");
         TaskCopyLocalFrontendFiles.createTargetFolder(targetDirectory);
         JarContentsManager jarContentsManager = new JarContentsManager();
@@ -87,11 +108,102 @@ public class TaskCopyFrontendFiles implements FallibleCommand {
                         WILDCARD_INCLUSION_APP_THEME_JAR);
             }
         }
+        writeCopyState();
         long ms = (System.nanoTime() - start) / 1000000;
         log().info("Visited {} resources. Took {} ms.",
                 resourceLocations.size(), ms);
     }
 
+    /**
+     * Checks whether the files copied by a previous execution are still in
+     * place and the jar files have not changed since then.
+     * <p>
+     * Folders in the class path may change without the folder itself being
+     * modified, so the files are always copied when there are any.
+     *
+     * @return {@code true} if copying the files can be skipped
+     */
+    boolean isUpToDate() {
+        File stateFile = getCopyStateFile();
+        String inputs = getInputFingerprint();
+        if (!stateFile.isFile() || inputs == null) {
+            return false;
+        }
+        try {
+            JsonObject state = Json.parse(FileUtils.readFileToString(stateFile,
+                    StandardCharsets.UTF_8));
+            if (!inputs.equals(state.getString(INPUTS))) {
+                return false;
+            }
+            JsonObject files = state.getObject(FILES);
+            for (String path : files.keys()) {
+                if (!files.getString(path).equals(
+                        getFileFingerprint(new File(targetDirectory, path)))) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log().debug("Unable to read {}", stateFile, e);
+            return false;
+        }
+    }
+
+    private void writeCopyState() {
+        File stateFile = getCopyStateFile();
+        String inputs = getInputFingerprint();
+        try {
+            if (inputs == null) {
+                FileUtils.deleteQuietly(stateFile);
+                return;
+            }
+            JsonObject files = Json.createObject();
+            Path root = targetDirectory.toPath();
+            try (Stream<Path> walk = Files.walk(root)) {
+                walk.filter(Files::isRegularFile).forEach(file -> files.put(
+                        root.relativize(file).toString().replace(
+                                File.separatorChar, '/'),
+                        getFileFingerprint(file.toFile())));
+            }
+            JsonObject state = Json.createObject();
+            state.put(INPUTS, inputs);
+            state.put(FILES, files);
+            FileUtils.write(stateFile, JsonUtil.stringify(state, 2) + "\n",
+                    StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log().debug("Unable to write {}", stateFile, e);
+            FileUtils.deleteQuietly(stateFile);
+        }
+    }
+
+    /*
+     * Jar files are identified by their path, size and modification time,
+     * which avoids reading the content of every jar on each run.
+     */
+    private String getInputFingerprint() {
+        if (resourceLocations.stream().anyMatch(File::isDirectory)) {
+            return null;
+        }
+        String inputs = resourceLocations.stream()
+                .map(location -> location.getAbsolutePath() + '|'
+                        + getFileFingerprint(location))
+                .sorted().collect(Collectors.joining("\n"));
+        return Base64.getEncoder().encodeToString(MessageDigestUtil
+                .sha256(inputs.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String getFileFingerprint(File file) {
+        if (!file.isFile()) {
+            return "";
+        }
+        return file.length() + ":" + file.lastModified();
+    }
+
+    private File getCopyStateFile() {
+        return new File(targetDirectory.getParentFile(),
+                "." + targetDirectory.getName() + COPY_STATE_SUFFIX);
+    }
+
     private Logger log() {
         return LoggerFactory.getLogger(this.getClass());
     }
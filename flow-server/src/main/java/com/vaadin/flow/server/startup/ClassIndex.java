@@ -0,0 +1,238 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.startup;
+
+import javax.servlet.annotation.HandlesTypes;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.server.Constants;
+import com.vaadin.flow.server.frontend.scanner.ClassFinder;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.impl.JsonUtil;
+
+/**
+ * Precomputed result of the class path scan done on startup.
+ * <p>
+ * The index lists, for every annotation and super type in the
+ * {@link HandlesTypes} of the Flow startup initializers, the names of the
+ * classes of the application having that annotation or super type. It is
+ * written by the build plugins as part of the production build so that
+ * integrations which have to scan the class path themselves (e.g. Spring
+ * Boot) can read the classes from the index instead.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ */
+public class ClassIndex implements Serializable {
+
+    /**
+     * File name of the index, stored in the {@code config} folder next to the
+     * build info file.
+     */
+    public static final String CLASS_INDEX_FILE = "class-index.json";
+
+    /**
+     * Class path location of the index in a production build.
+     */
+    public static final String CLASS_INDEX_RESOURCE = Constants.VAADIN_SERVLET_RESOURCES
+            + Constants.VAADIN_CONFIGURATION + CLASS_INDEX_FILE;
+
+    private static final Collection<Class<?>> INITIALIZERS = Arrays.asList(
+            LookupServletContainerInitializer.class,
+            VaadinAppShellInitializer.class, RouteRegistryInitializer.class,
+            ErrorNavigationTargetInitializer.class, AnnotationValidator.class,
+            WebComponentExporterAwareValidator.class,
+            WebComponentConfigurationRegistryInitializer.class);
+
+    private final Map<String, Set<String>> classes;
+
+    private ClassIndex(Map<String, Set<String>> classes) {
+        this.classes = classes;
+    }
+
+    /**
+     * Gets the annotations and super types covered by the index.
+     *
+     * @return the types handled by the Flow startup initializers, not
+     *         {@code null}
+     */
+    public static Set<Class<?>> getIndexedTypes() {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        for (Class<?> initializer : INITIALIZERS) {
+            HandlesTypes handlesTypes = initializer
+                    .getAnnotation(HandlesTypes.class);
+            types.addAll(Arrays.asList(handlesTypes.value()));
+        }
+        return types;
+    }
+
+    /**
+     * Creates an index of the classes available through the given class
+     * finder.
+     *
+     * @param finder
+     *            the class finder for the application class path, not
+     *            {@code null}
+     * @return the index, not {@code null}
+     */
+    public static ClassIndex generate(ClassFinder finder) {
+        Map<String, Set<String>> classes = new HashMap<>();
+        for (Class<?> type : getIndexedTypes()) {
+            /*
+             * The finder uses its own class loader, so the types are looked up
+             * by name rather than passing the classes of this class loader.
+             */
+            Set<? extends Class<?>> found;
+            try {
+                if (type.isAnnotation()) {
+                    found = finder.getAnnotatedClasses(type.getName());
+                } else {
+                    found = finder.getSubTypesOf(type.getName());
+                }
+            } catch (ClassNotFoundException e) {
+                // Leave the type out so that it is scanned for at runtime
+                getLogger().debug("Type {} is not in the class path",
+                        type.getName(), e);
+                continue;
+            }
+            Set<String> names = new TreeSet<>();
+            found.forEach(clazz -> names.add(clazz.getName()));
+            classes.put(type.getName(), names);
+        }
+        return new ClassIndex(classes);
+    }
+
+    /**
+     * Reads an index previously written with {@link #write(File)}.
+     *
+     * @param stream
+     *            the stream to read the index from, not {@code null}
+     * @return the index, not {@code null}
+     * @throws IOException
+     *             if the stream could not be read
+     */
+    public static ClassIndex read(InputStream stream) throws IOException {
+        JsonObject json = Json
+                .parse(IOUtils.toString(stream, StandardCharsets.UTF_8));
+        Map<String, Set<String>> classes = new HashMap<>();
+        for (String type : json.keys()) {
+            JsonArray names = json.getArray(type);
+            Set<String> set = new TreeSet<>();
+            for (int i = 0; i < names.length(); i++) {
+                set.add(names.getString(i));
+            }
+            classes.put(type, set);
+        }
+        return new ClassIndex(classes);
+    }
+
+    /**
+     * Loads the index of a production build from the given class loader.
+     *
+     * @param classLoader
+     *            the class loader of the application, not {@code null}
+     * @return the index, or an empty optional if the application has no index
+     *         or it could not be read
+     */
+    public static Optional<ClassIndex> load(ClassLoader classLoader) {
+        try (InputStream stream = classLoader
+                .getResourceAsStream(CLASS_INDEX_RESOURCE)) {
+            if (stream == null) {
+                return Optional.empty();
+            }
+            return Optional.of(read(stream));
+        } catch (IOException e) {
+            getLogger().warn(
+                    "Unable to read {}, falling back to class path scanning",
+                    CLASS_INDEX_RESOURCE, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the index as JSON to the given file.
+     *
+     * @param file
+     *            the target file, not {@code null}
+     * @throws IOException
+     *             if the file could not be written
+     */
+    public void write(File file) throws IOException {
+        JsonObject json = Json.createObject();
+        new TreeSet<>(classes.keySet()).forEach(type -> {
+            JsonArray names = Json.createArray();
+            classes.get(type)
+                    .forEach(name -> names.set(names.length(), name));
+            json.put(type, names);
+        });
+        FileUtils.write(file, JsonUtil.stringify(json, 2) + "\n",
+                StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks whether the given annotation or super type is covered by the
+     * index.
+     *
+     * @param type
+     *            the annotation or super type, not {@code null}
+     * @return {@code true} if the classes for the type can be read from the
+     *         index
+     */
+    public boolean contains(Class<?> type) {
+        return classes.containsKey(type.getName());
+    }
+
+    /**
+     * Gets the names of the classes having the given annotation or super
+     * type.
+     *
+     * @param type
+     *            the annotation or super type, not {@code null}
+     * @return the class names, or an empty set if the type is not in the
+     *         index
+     */
+    public Set<String> getClassNames(Class<?> type) {
+        return Collections.unmodifiableSet(
+                classes.getOrDefault(type.getName(), Collections.emptySet()));
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(ClassIndex.class);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.vaadin.flow.dom.DomEvent;
+import com.vaadin.flow.internal.nodefeature.ElementListenerMap;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
+/**
+ * Measures firing one million click events to a component with three click
+ * listeners, both as server side events and as events created from DOM
+ * events.
+ * <p>
+ * Run with the {@link #main(String[])} method from the test class path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ComponentEventBusBenchmark {
+
+    private static final int EVENTS = 1_000_000;
+
+    private ClickableComponent component;
+    private ClickEvent<ClickableComponent> serverEvent;
+    private DomEvent domEvent;
+    private ElementListenerMap domListeners;
+    private int clicks;
+
+    @Tag("button")
+    public static class ClickableComponent extends Component
+            implements ClickNotifier<ClickableComponent> {
+    }
+
+    @Setup
+    public void setup() {
+        component = new ClickableComponent();
+        for (int i = 0; i < 3; i++) {
+            component.addClickListener(event -> clicks++);
+        }
+        serverEvent = new ClickEvent<>(component);
+
+        JsonObject eventData = Json.createObject();
+        eventData.put("event.screenX", 100);
+        eventData.put("event.screenY", 200);
+        eventData.put("event.clientX", 10);
+        eventData.put("event.clientY", 20);
+        eventData.put("event.detail", 1);
+        eventData.put("event.button", 0);
+        eventData.put("event.ctrlKey", false);
+        eventData.put("event.shiftKey", false);
+        eventData.put("event.altKey", false);
+        eventData.put("event.metaKey", false);
+        domEvent = new DomEvent(component.getElement(), "click", eventData);
+        domListeners = component.getElement().getNode()
+                .getFeature(ElementListenerMap.class);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void fireServerEvent(Blackhole blackhole) {
+        for (int i = 0; i < EVENTS; i++) {
+            component.getEventBus().fireEvent(serverEvent);
+        }
+        blackhole.consume(clicks);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void fireDomEvent(Blackhole blackhole) {
+        for (int i = 0; i < EVENTS; i++) {
+            domListeners.fireEvent(domEvent);
+        }
+        blackhole.consume(clicks);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ComponentEventBusBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
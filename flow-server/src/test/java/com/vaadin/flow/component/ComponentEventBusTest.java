@@ -16,6 +16,8 @@
 package com.vaadin.flow.component;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -708,6 +710,28 @@ public class ComponentEventBusTest {
         Assert.assertFalse(c.hasListener(ServerEvent.class));
     }
 
+    @Test
+    public void fireEvent_listenersChangedInsideListener_changesAppliedToNextEvent() {
+        TestComponent c = new TestComponent();
+        List<String> calls = new ArrayList<>();
+        AtomicReference<Registration> second = new AtomicReference<>();
+        c.addListener(ServerEvent.class, e -> {
+            calls.add("first");
+            if (second.get() != null) {
+                second.getAndSet(null).remove();
+                c.addListener(ServerEvent.class, e2 -> calls.add("third"));
+            }
+        });
+        second.set(c.addListener(ServerEvent.class, e -> calls.add("second")));
+
+        c.fireEvent(new ServerEvent(c, new BigDecimal(0)));
+        Assert.assertEquals(Arrays.asList("first", "second"), calls);
+
+        calls.clear();
+        c.fireEvent(new ServerEvent(c, new BigDecimal(0)));
+        Assert.assertEquals(Arrays.asList("first", "third"), calls);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void eventUnregisterListener_insideListenerTwiceThrows() {
         TestComponent c = new TestComponent();
@@ -166,6 +166,46 @@ public class CurrentInstanceTest {
         Assert.assertNull(VaadinSession.getCurrent());
     }
 
+    @Test
+    public void getInstances_restoreAfterChanges_allTypesRestored() {
+        CurrentInstance.clearAll();
+        VaadinService service = new MockVaadinServletService();
+        UI ui = new UIStoredInCurrentInstance();
+        VaadinService.setCurrent(service);
+        CurrentInstance.set(UI.class, ui);
+        CurrentInstance.set(CurrentInstanceTest.class, this);
+
+        Map<Class<?>, CurrentInstance> old = CurrentInstance.getInstances();
+        Assert.assertEquals(3, old.size());
+        Assert.assertTrue(old.containsKey(UI.class));
+        Assert.assertTrue(old.containsKey(CurrentInstanceTest.class));
+
+        CurrentInstance.clearAll();
+        CurrentInstance.set(UI.class, new UIStoredInCurrentInstance());
+        CurrentInstance.restoreInstances(old);
+
+        Assert.assertSame(service, VaadinService.getCurrent());
+        Assert.assertSame(ui, UI.getCurrent());
+        Assert.assertSame(this,
+                CurrentInstance.get(CurrentInstanceTest.class));
+    }
+
+    @Test
+    public void set_sameInstanceTwice_previousStillRestorable() {
+        CurrentInstance.clearAll();
+        VaadinSession session = new SessionStoredInCurrentInstance(
+                new MockVaadinServletService());
+
+        VaadinSession.setCurrent(session);
+        Map<Class<?>, CurrentInstance> old = CurrentInstance
+                .setCurrent(session);
+        Assert.assertSame(session, VaadinSession.getCurrent());
+
+        CurrentInstance.restoreInstances(old);
+        Assert.assertSame(session, VaadinSession.getCurrent());
+        Assert.assertNull(VaadinService.getCurrent());
+    }
+
     @Test
     public void nonInheritableThreadLocals()
             throws InterruptedException, ExecutionException {
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+
+/**
+ * Measures serializing and deserializing the state tree of a UI with a few
+ * thousand elements, as done when a session is persisted or replicated.
+ * <p>
+ * Run with the {@link #main(String[])} method from the test class path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StateTreeSerializationBenchmark {
+
+    private static final int ROWS = 500;
+    private static final int CELLS = 5;
+
+    private StateTree tree;
+    private byte[] serialized;
+
+    @Setup
+    public void setup() throws IOException {
+        UI ui = new UI();
+        for (int row = 0; row < ROWS; row++) {
+            Element rowElement = new Element("div");
+            rowElement.setAttribute("class", "row");
+            rowElement.getStyle().set("display", "flex");
+            for (int cell = 0; cell < CELLS; cell++) {
+                Element cellElement = new Element("span");
+                cellElement.setAttribute("class", "cell");
+                cellElement.setProperty("title", "Cell " + cell);
+                cellElement.setText(row + ":" + cell);
+                rowElement.appendChild(cellElement);
+            }
+            ui.getElement().appendChild(rowElement);
+        }
+        tree = ui.getInternals().getStateTree();
+        serialized = serialize();
+        System.out.println("Serialized state tree size: " + serialized.length
+                + " bytes");
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(tree);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public Object deserialize() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(serialized))) {
+            return in.readObject();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StateTreeSerializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -353,6 +353,39 @@ public class StateTreeTest {
         Assert.assertNotNull(d1);
     }
 
+    @Test
+    public void serializedTree_nodesFoundByIdAfterDeserialization() {
+        StateNode child = new StateNode(ElementChildrenList.class);
+        StateNode grandChild = new StateNode(ElementChildrenList.class);
+        StateNode detached = new StateNode(ElementChildrenList.class);
+        child.getFeature(ElementChildrenList.class).add(0, grandChild);
+        ElementChildrenList children = tree.getRootNode()
+                .getFeature(ElementChildrenList.class);
+        children.add(0, child);
+        children.add(1, detached);
+        int detachedId = detached.getId();
+        children.remove(1);
+
+        StateTree copy = SerializationUtils
+                .deserialize(SerializationUtils.serialize(tree));
+
+        StateNode rootCopy = copy.getRootNode();
+        StateNode childCopy = rootCopy.getFeature(ElementChildrenList.class)
+                .get(0);
+        StateNode grandChildCopy = childCopy
+                .getFeature(ElementChildrenList.class).get(0);
+        Assert.assertSame(rootCopy, copy.getNodeById(rootCopy.getId()));
+        Assert.assertSame(childCopy, copy.getNodeById(child.getId()));
+        Assert.assertSame(grandChildCopy,
+                copy.getNodeById(grandChild.getId()));
+        Assert.assertNull(copy.getNodeById(detachedId));
+
+        StateNode added = new StateNode(ElementChildrenList.class);
+        rootCopy.getFeature(ElementChildrenList.class).add(1, added);
+        Assert.assertSame(added, copy.getNodeById(added.getId()));
+        Assert.assertTrue(added.getId() > detachedId);
+    }
+
     @Test
     public void reattachedNodeRetainsId() throws InterruptedException {
         StateNode child = new StateNode(ElementChildrenList.class);
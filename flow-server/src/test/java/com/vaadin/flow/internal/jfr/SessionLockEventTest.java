@@ -0,0 +1,76 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal.jfr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.flow.server.MockVaadinSession;
+
+public class SessionLockEventTest {
+
+    @Test
+    public void lockAndUnlock_eventsRecordedOncePerOuterLock()
+            throws IOException {
+        MockVaadinSession session = new MockVaadinSession();
+        Path file = Files.createTempFile("vaadin-session-lock", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(SessionLockEvent.class).withoutThreshold();
+            recording.enable(SessionLockHoldEvent.class).withoutThreshold();
+            recording.start();
+
+            session.lock();
+            session.lock();
+            session.unlock();
+            session.unlock();
+
+            recording.stop();
+            recording.dump(file);
+
+            List<String> names = RecordingFile.readAllEvents(file).stream()
+                    .map(RecordedEvent::getEventType)
+                    .map(type -> type.getName()).collect(Collectors.toList());
+            Assert.assertEquals(1, names.stream()
+                    .filter("com.vaadin.flow.SessionLock"::equals).count());
+            Assert.assertEquals(1, names.stream()
+                    .filter("com.vaadin.flow.SessionLockHold"::equals)
+                    .count());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void isRecorded_onlyWhileRecordingEnablesEvent() {
+        Assert.assertFalse(SessionLockEvent.isRecorded());
+        try (Recording recording = new Recording()) {
+            recording.enable(SessionLockEvent.class);
+            recording.start();
+            Assert.assertTrue(SessionLockEvent.isRecorded());
+            Assert.assertFalse(SessionLockHoldEvent.isRecorded());
+        }
+        Assert.assertFalse(SessionLockEvent.isRecorded());
+    }
+}
@@ -301,6 +301,24 @@ public class NodeMapTest
         });
     }
 
+    @Test
+    public void testSerializableSingleValueAndEmpty() {
+        NodeMap copy = SerializationUtils
+                .deserialize(SerializationUtils.serialize(nodeMap));
+        Assert.assertTrue(copy.keySet().isEmpty());
+
+        nodeMap.put(KEY, null);
+        copy = SerializationUtils
+                .deserialize(SerializationUtils.serialize(nodeMap));
+        Assert.assertTrue(copy.usesSingleMap());
+        Assert.assertTrue(copy.contains(KEY));
+        Assert.assertNull(copy.get(KEY));
+
+        copy.put("other", "value");
+        Assert.assertFalse(copy.usesSingleMap());
+        Assert.assertEquals("value", copy.get("other"));
+    }
+
     @Test
     public void testGetIntDefaultValue() {
         Assert.assertEquals(12, nodeMap.getOrDefault(KEY, 12));
@@ -167,6 +167,49 @@ public class ConfiguredRoutesTest {
                         EnumSet.of(RouteParameterFormatOption.REGEX)));
     }
 
+    @Test
+    public void getNavigationRouteTarget_parameterlessRoute_resultCached() {
+        ConfigureRoutes edit = new ConfigureRoutes();
+        edit.setRoute("foo/bar", FooTarget.class);
+        edit.setRoute("foo/:bar", BarTarget.class);
+        ConfiguredRoutes config = new ConfiguredRoutes(edit);
+
+        NavigationRouteTarget first = config
+                .getNavigationRouteTarget("foo/bar");
+        Assert.assertEquals(FooTarget.class,
+                first.getRouteTarget().getTarget());
+        Assert.assertSame(first, config.getNavigationRouteTarget("foo/bar"));
+
+        NavigationRouteTarget parameter = config
+                .getNavigationRouteTarget("foo/baz");
+        Assert.assertEquals(BarTarget.class,
+                parameter.getRouteTarget().getTarget());
+        Assert.assertEquals("baz",
+                parameter.getRouteParameters().get("bar").get());
+        Assert.assertEquals("qux", config.getNavigationRouteTarget("foo/qux")
+                .getRouteParameters().get("bar").get());
+
+        Assert.assertFalse(
+                config.getNavigationRouteTarget("missing").hasTarget());
+        Assert.assertFalse(
+                new ConfiguredRoutes().getNavigationRouteTarget("foo/bar")
+                        .hasTarget());
+    }
+
+    @Test
+    public void getNavigationRouteTarget_editedConfiguration_notCached() {
+        ConfigureRoutes edit = new ConfigureRoutes();
+        edit.setRoute("foo", FooTarget.class);
+        Assert.assertTrue(edit.getNavigationRouteTarget("foo").hasTarget());
+
+        edit.removeRoute("foo");
+        Assert.assertFalse(edit.getNavigationRouteTarget("foo").hasTarget());
+
+        edit.setRoute("foo", BarTarget.class);
+        Assert.assertEquals(BarTarget.class, edit
+                .getNavigationRouteTarget("foo").getRouteTarget().getTarget());
+    }
+
     @Tag("div")
     public static class FooTarget extends Component {
     }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.router.internal;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.Tag;
+
+/**
+ * Measures navigation target resolution in a registry with 2000 routes, of
+ * which one fifth have route parameters.
+ * <p>
+ * Run with the {@link #main(String[])} method from the test class path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteResolutionBenchmark {
+
+    private static final int SECTIONS = 100;
+    private static final int VIEWS_PER_SECTION = 16;
+
+    private ConfiguredRoutes routes;
+    private String[] staticUrls;
+    private String[] parameterUrls;
+    private int index;
+
+    @Tag("div")
+    public static class View extends Component {
+    }
+
+    @Tag("div")
+    public static class Editor extends Component {
+    }
+
+    @Tag("div")
+    public static class Details extends Component {
+    }
+
+    @Setup
+    public void setup() {
+        ConfigureRoutes edit = new ConfigureRoutes();
+        staticUrls = new String[SECTIONS * VIEWS_PER_SECTION];
+        parameterUrls = new String[SECTIONS * 2];
+        for (int section = 0; section < SECTIONS; section++) {
+            for (int view = 0; view < VIEWS_PER_SECTION; view++) {
+                String url = "section" + section + "/view" + view;
+                edit.setRoute(url, View.class);
+                staticUrls[section * VIEWS_PER_SECTION + view] = url;
+            }
+            edit.setRoute("section" + section + "/item/:id(\\d+)/edit",
+                    Editor.class);
+            edit.setRoute("section" + section + "/item/:id(\\d+)/:tab?",
+                    Details.class);
+            parameterUrls[section * 2] = "section" + section + "/item/"
+                    + section + "/edit";
+            parameterUrls[section * 2 + 1] = "section" + section + "/item/"
+                    + section + "/history";
+        }
+        routes = new ConfiguredRoutes(edit);
+    }
+
+    @Benchmark
+    public void resolveStaticRoute(Blackhole blackhole) {
+        index = (index + 1) % staticUrls.length;
+        blackhole.consume(routes.getNavigationRouteTarget(staticUrls[index]));
+    }
+
+    @Benchmark
+    public void resolveParameterRoute(Blackhole blackhole) {
+        index = (index + 1) % parameterUrls.length;
+        blackhole
+                .consume(routes.getNavigationRouteTarget(parameterUrls[index]));
+    }
+
+    @Benchmark
+    public void resolveMissingRoute(Blackhole blackhole) {
+        index = (index + 1) % staticUrls.length;
+        blackhole.consume(
+                routes.getNavigationRouteTarget(staticUrls[index] + "/x"));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RouteResolutionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
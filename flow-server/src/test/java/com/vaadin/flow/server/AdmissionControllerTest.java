@@ -0,0 +1,148 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.function.DeploymentConfiguration;
+
+public class AdmissionControllerTest {
+
+    @Test
+    public void create_noLimitsConfigured_noController() {
+        DeploymentConfiguration configuration = Mockito
+                .mock(DeploymentConfiguration.class);
+        Mockito.when(configuration.getApplicationOrSystemProperty(
+                Mockito.anyString(), Mockito.any(), Mockito.any()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+
+        Assert.assertNull(AdmissionController.create(configuration));
+    }
+
+    @Test
+    public void admit_concurrentRequestsAtLimit_rejectedUntilEnded() {
+        AdmissionController controller = new AdmissionController(2, 0, 0, 0,
+                30);
+
+        controller.requestStarted();
+        Assert.assertTrue(controller.admit());
+        Assert.assertFalse(controller.admit());
+        Assert.assertEquals(2, controller.getConcurrentRequests());
+
+        controller.requestEnded();
+        Assert.assertTrue(controller.admit());
+        Assert.assertEquals(2, controller.getConcurrentRequests());
+    }
+
+    @Test
+    public void admit_lockWaitsExceedLimit_rejected() {
+        AdmissionController controller = new AdmissionController(0, 100, 0, 0,
+                30);
+
+        controller.lockWaited(TimeUnit.MILLISECONDS.toNanos(10));
+        Assert.assertTrue(controller.admit());
+        controller.requestEnded();
+
+        for (int i = 0; i < 20; i++) {
+            controller.lockWaited(TimeUnit.SECONDS.toNanos(1));
+        }
+        Assert.assertFalse(controller.admit());
+
+        for (int i = 0; i < 20; i++) {
+            controller.lockWaited(0);
+        }
+        Assert.assertTrue(controller.admit());
+    }
+
+    @Test
+    public void admit_loadDropsWithinDelay_admitted() throws Exception {
+        AdmissionController controller = new AdmissionController(1, 0, 0,
+                5000, 30);
+        controller.requestStarted();
+
+        Thread thread = new Thread(controller::requestEnded);
+        thread.start();
+
+        Assert.assertTrue(controller.admit());
+        thread.join();
+    }
+
+    @Test
+    public void admit_concurrentWaiters_admittedOneByOneAsRequestsEnd()
+            throws Exception {
+        AdmissionController controller = new AdmissionController(2, 0, 0,
+                10000, 30);
+        controller.requestStarted();
+        controller.requestStarted();
+
+        int waiters = 3;
+        ExecutorService executor = Executors.newFixedThreadPool(waiters);
+        try {
+            CountDownLatch admitted = new CountDownLatch(waiters);
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < waiters; i++) {
+                results.add(executor.submit(() -> {
+                    boolean result = controller.admit();
+                    admitted.countDown();
+                    return result;
+                }));
+            }
+
+            // Waiting requests are not counted as in flight
+            Thread.sleep(200);
+            Assert.assertEquals(2, controller.getConcurrentRequests());
+            Assert.assertEquals(waiters, admitted.getCount());
+
+            controller.requestEnded();
+            Assert.assertTrue(awaitCount(admitted, waiters - 1));
+            Thread.sleep(200);
+            Assert.assertEquals(waiters - 1, admitted.getCount());
+            Assert.assertEquals(2, controller.getConcurrentRequests());
+
+            controller.requestEnded();
+            controller.requestEnded();
+            Assert.assertTrue(admitted.await(5, TimeUnit.SECONDS));
+            for (Future<Boolean> result : results) {
+                Assert.assertTrue(result.get());
+            }
+            Assert.assertEquals(2, controller.getConcurrentRequests());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static boolean awaitCount(CountDownLatch latch, long count)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (latch.getCount() > count) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.server.HandlerHelper.RequestType;
+import com.vaadin.flow.shared.ApplicationConstants;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RequestHandlerDispatcherTest {
+
+    private final VaadinSession session = mock(VaadinSession.class);
+    private final VaadinRequest request = mock(VaadinRequest.class);
+    private final VaadinResponse response = mock(VaadinResponse.class);
+
+    @Test
+    public void handleRequest_typedHandlersOfOtherTypesAreSkipped()
+            throws IOException {
+        RequestHandler custom = mock(RequestHandler.class);
+        TypedRequestHandler pathHandler = typedHandler(null, false);
+        TypedRequestHandler heartbeatHandler = typedHandler(
+                RequestType.HEARTBEAT, true);
+        TypedRequestHandler uidlHandler = typedHandler(RequestType.UIDL, true);
+        when(uidlHandler.handleRequest(session, request, response))
+                .thenReturn(true);
+
+        List<RequestHandler> handlers = Arrays.asList(custom, pathHandler,
+                heartbeatHandler, uidlHandler);
+        RequestHandlerDispatcher dispatcher = new RequestHandlerDispatcher(
+                handlers, VaadinMetrics.NO_OP);
+
+        when(request.getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER))
+                .thenReturn(ApplicationConstants.REQUEST_TYPE_UIDL);
+        Assert.assertTrue(
+                dispatcher.handleRequest(session, request, response));
+
+        verify(custom).handleRequest(session, request, response);
+        verify(pathHandler, never()).handleRequest(any(), any(), any());
+        verify(heartbeatHandler, never()).handleRequest(any(), any(), any());
+        verify(uidlHandler).handleRequest(session, request, response);
+    }
+
+    @Test
+    public void handleRequest_handledRequestsAreCounted() throws IOException {
+        RequestHandler rejecting = mock(RequestHandler.class);
+        RequestHandler handling = mock(RequestHandler.class);
+        when(handling.handleRequest(session, request, response))
+                .thenReturn(true);
+
+        RequestHandlerDispatcher dispatcher = new RequestHandlerDispatcher(
+                Arrays.asList(rejecting, handling), VaadinMetrics.NO_OP);
+        dispatcher.handleRequest(session, request, response);
+        dispatcher.handleRequest(session, request, response);
+
+        Assert.assertEquals(0, dispatcher.getStatistics().get(rejecting)
+                .getRequestCount());
+        RequestHandlerStatistics statistics = dispatcher.getStatistics()
+                .get(handling);
+        Assert.assertEquals(2, statistics.getRequestCount());
+        Assert.assertTrue(statistics.getTotalTimeNanos() >= statistics
+                .getMaxTimeNanos());
+    }
+
+    private static TypedRequestHandler typedHandler(RequestType type,
+            boolean servletRoot) {
+        TypedRequestHandler handler = mock(TypedRequestHandler.class);
+        when(handler.canHandleRequestType(Mockito.any(),
+                Mockito.anyBoolean())).thenAnswer(
+                        invocation -> invocation.getArgument(0) == type
+                                && (boolean) invocation
+                                        .getArgument(1) == servletRoot);
+        return handler;
+    }
+}
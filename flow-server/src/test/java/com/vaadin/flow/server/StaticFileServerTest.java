@@ -71,6 +71,7 @@ import com.vaadin.flow.WarURLStreamHandlerFactory;
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.CurrentInstance;
 import com.vaadin.flow.internal.ResponseWriter;
+import com.vaadin.flow.server.frontend.CacheManifest;
 
 import static com.vaadin.flow.server.Constants.POLYFILLS_DEFAULT_VALUE;
 import static com.vaadin.flow.server.Constants.STATISTICS_JSON_DEFAULT;
@@ -809,6 +810,132 @@ public class StaticFileServerTest implements Serializable {
                 fileServer.getCacheTime("folder/randomfile.js"));
     }
 
+    @Test
+    public void writeCacheHeaders_immutableManifestResource_cachedForever() {
+        mockCacheManifest(
+                "{\"etags\": {\"VAADIN/build/indexhtml.1234.js\": \"\\\"abc\\\"\"},"
+                        + " \"immutable\": [\"VAADIN/build/indexhtml.1234.js\"]}");
+
+        fileServer.writeCacheHeaders("/VAADIN/build/indexhtml.1234.js",
+                response);
+        Assert.assertEquals("public, max-age=31536000, immutable",
+                headers.get("Cache-Control"));
+
+        fileServer.writeCacheHeaders("/VAADIN/static/img/bg.jpg", response);
+        Assert.assertEquals("max-age=3600", headers.get("Cache-Control"));
+    }
+
+    @Test
+    public void nonProductionMode_writeCacheHeaders_immutableManifestResource_noCache() {
+        Mockito.when(configuration.isProductionMode()).thenReturn(false);
+        mockCacheManifest(
+                "{\"immutable\": [\"VAADIN/build/indexhtml.1234.js\"]}");
+
+        fileServer.writeCacheHeaders("/VAADIN/build/indexhtml.1234.js",
+                response);
+        Assert.assertEquals("no-cache", headers.get("Cache-Control"));
+    }
+
+    @Test
+    public void serveStaticResource_manifestETagMatches_notModified()
+            throws IOException {
+        mockCacheManifest(
+                "{\"etags\": {\"some/file.js\": \"\\\"abc\\\"\"}}");
+        setupRequestURI("", "/some", "/some/file.js");
+        Mockito.when(servletService.getStaticResource("/some/file.js"))
+                .thenReturn(createFileURLWithDataAndLength("/some/file.js",
+                        "function() {eval('foo');};"));
+        Mockito.when(request.getHeader("If-None-Match"))
+                .thenReturn("\"xyz\", \"abc\"");
+
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertEquals("\"abc\"", headers.get("ETag"));
+        Assert.assertEquals(HttpStatusCode.NOT_MODIFIED.getCode(),
+                responseCode.get());
+        Assert.assertEquals("", out.getOutputString());
+    }
+
+    @Test
+    public void serveStaticResource_computedETagDoesNotMatch_contentServed()
+            throws IOException {
+        setupRequestURI("", "/some", "/some/file.js");
+        String fileData = "function() {eval('foo');};";
+        Mockito.when(servletService.getStaticResource("/some/file.js"))
+                .thenReturn(createFileURLWithDataAndLength("/some/file.js",
+                        fileData));
+        Mockito.when(request.getHeader("If-None-Match"))
+                .thenReturn("\"outdated\"");
+
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertEquals(
+                CacheManifest.computeETag(
+                        fileData.getBytes(StandardCharsets.UTF_8)),
+                headers.get("ETag"));
+        Assert.assertEquals(fileData, out.getOutputString());
+    }
+
+    @Test
+    public void serveStaticResource_resourceModified_eTagRecomputed()
+            throws IOException {
+        setupRequestURI("", "/some", "/some/file.js");
+        Mockito.when(servletService.getStaticResource("/some/file.js"))
+                .thenReturn(createFileURLWithDataAndLength("/some/file.js",
+                        "function() {eval('foo');};", 1000L));
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        String firstETag = headers.get("ETag");
+
+        Mockito.when(servletService.getStaticResource("/some/file.js"))
+                .thenReturn(createFileURLWithDataAndLength("/some/file.js",
+                        "function() {eval('bar');};", 1000L));
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertEquals("Unmodified resource should keep its ETag",
+                firstETag, headers.get("ETag"));
+
+        String modifiedData = "function() {eval('bar');};";
+        Mockito.when(servletService.getStaticResource("/some/file.js"))
+                .thenReturn(createFileURLWithDataAndLength("/some/file.js",
+                        modifiedData, 2000L));
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertEquals(
+                CacheManifest.computeETag(
+                        modifiedData.getBytes(StandardCharsets.UTF_8)),
+                headers.get("ETag"));
+    }
+
+    @Test
+    public void nonProductionMode_serveStaticResource_noETag()
+            throws IOException {
+        Mockito.when(configuration.isProductionMode()).thenReturn(false);
+        setupRequestURI("", "/some", "/some/file.js");
+        Mockito.when(servletService.getStaticResource("/some/file.js"))
+                .thenReturn(createFileURLWithDataAndLength("/some/file.js",
+                        "function() {eval('foo');};"));
+
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertFalse(headers.containsKey("ETag"));
+    }
+
+    @Test
+    public void browserHasNewestVersion_ifNoneMatch() {
+        Assert.assertFalse(fileServer.browserHasNewestVersion(request, "\"a\""));
+
+        Mockito.when(request.getHeader("If-None-Match")).thenReturn("W/\"a\"");
+        Assert.assertTrue(fileServer.browserHasNewestVersion(request, "\"a\""));
+        Assert.assertFalse(fileServer.browserHasNewestVersion(request, "\"b\""));
+
+        Mockito.when(request.getHeader("If-None-Match")).thenReturn("*");
+        Assert.assertTrue(fileServer.browserHasNewestVersion(request, "\"b\""));
+    }
+
+    private void mockCacheManifest(String json) {
+        ClassLoader mockLoader = Mockito.mock(ClassLoader.class);
+        Mockito.when(servletService.getClassLoader()).thenReturn(mockLoader);
+        Mockito.when(mockLoader
+                .getResourceAsStream(CacheManifest.CACHE_MANIFEST_RESOURCE))
+                .thenReturn(new ByteArrayInputStream(
+                        json.getBytes(StandardCharsets.UTF_8)));
+    }
+
     @Test
     public void serveNonExistingStaticResource() throws IOException {
         setupRequestURI("", "", "/nonexisting/file.js");
@@ -21,6 +21,8 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.net.URI;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -30,6 +32,7 @@ import org.mockito.Mockito;
 
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
 
 public class StreamResourceRegistryTest {
 
@@ -141,6 +144,50 @@ public class StreamResourceRegistryTest {
         assertResourceUriIsEncoded("my file.png", "my%20file.png");
     }
 
+    @Test
+    public void registerResource_uiLocking_registeredWhileHoldingUILocks()
+            throws Exception {
+        MockVaadinSession uiLockingSession = new MockVaadinSession(service);
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_UI_LOCKING, "true");
+        uiLockingSession.lock();
+        try {
+            uiLockingSession.setConfiguration(configuration);
+        } finally {
+            uiLockingSession.unlock();
+        }
+        UI ui1 = Mockito.mock(UI.class);
+        Mockito.when(ui1.getUIId()).thenReturn(1);
+        UI ui2 = Mockito.mock(UI.class);
+        Mockito.when(ui2.getUIId()).thenReturn(2);
+        StreamResourceRegistry registry = uiLockingSession
+                .getResourceRegistry();
+
+        uiLockingSession.lockUI(ui1);
+        try {
+            URI uri1 = registry
+                    .registerResource(
+                            new StreamResource("name", this::makeEmptyStream))
+                    .getResourceUri();
+            CompletableFuture<URI> uri2 = CompletableFuture.supplyAsync(() -> {
+                uiLockingSession.lockUI(ui2);
+                try {
+                    return registry.registerResource(new StreamResource(
+                            "name", this::makeEmptyStream)).getResourceUri();
+                } finally {
+                    uiLockingSession.unlockUI(ui2);
+                }
+            });
+
+            Assert.assertTrue(registry.getResource(uri1).isPresent());
+            Assert.assertTrue(registry
+                    .getResource(uri2.get(5, TimeUnit.SECONDS)).isPresent());
+        } finally {
+            uiLockingSession.unlockUI(ui1);
+        }
+    }
+
     private void assertResourceUriIsEncoded(String resourceName,
             String suffix) {
         StreamResourceRegistry registry = new StreamResourceRegistry(session);
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class SynchronizedRequestHandlerTest {
+
+    private final List<String> calls = new ArrayList<>();
+
+    private VaadinSession session;
+    private VaadinRequest request;
+    private VaadinResponse response;
+
+    private class BodyHandler extends SynchronizedRequestHandler {
+
+        @Override
+        public boolean isReadAndWriteOutsideSessionLock() {
+            return true;
+        }
+
+        @Override
+        public boolean synchronizedHandleRequest(VaadinSession session,
+                VaadinRequest request, VaadinResponse response)
+                throws IOException {
+            calls.add("without body");
+            return true;
+        }
+
+        @Override
+        public Optional<ResponseWriter> synchronizedHandleRequest(
+                VaadinSession session, VaadinRequest request,
+                VaadinResponse response, String requestBody)
+                throws IOException {
+            calls.add("with body " + requestBody);
+            return Optional.of(() -> calls.add("write"));
+        }
+    }
+
+    private class OverridingHandler extends BodyHandler {
+
+        @Override
+        public boolean synchronizedHandleRequest(VaadinSession session,
+                VaadinRequest request, VaadinResponse response)
+                throws IOException {
+            calls.add("override");
+            return true;
+        }
+    }
+
+    private class HandlerWithoutBodyMethod
+            extends SynchronizedRequestHandler {
+
+        @Override
+        public boolean isReadAndWriteOutsideSessionLock() {
+            return true;
+        }
+
+        @Override
+        public boolean synchronizedHandleRequest(VaadinSession session,
+                VaadinRequest request, VaadinResponse response)
+                throws IOException {
+            calls.add("without body " + session.hasLock());
+            return true;
+        }
+    }
+
+    @Before
+    public void setup() throws IOException {
+        session = new MockVaadinSession();
+        request = Mockito.mock(VaadinRequest.class);
+        response = Mockito.mock(VaadinResponse.class);
+        Mockito.when(request.getReader())
+                .thenReturn(new BufferedReader(new StringReader("body")));
+    }
+
+    @Test
+    public void handleRequest_readAndWriteOutsideSessionLock_bodyMethodCalled()
+            throws IOException {
+        Assert.assertTrue(
+                new BodyHandler().handleRequest(session, request, response));
+
+        Assert.assertEquals(List.of("with body body", "write"), calls);
+    }
+
+    @Test
+    public void handleRequest_subclassOverridesMethodWithoutBody_overrideCalled()
+            throws IOException {
+        Assert.assertTrue(new OverridingHandler().handleRequest(session,
+                request, response));
+
+        Assert.assertEquals(List.of("override"), calls);
+    }
+
+    @Test
+    public void handleRequest_bodyMethodNotImplemented_methodWithoutBodyCalledWithLock()
+            throws IOException {
+        Assert.assertTrue(new HandlerWithoutBodyMethod().handleRequest(session,
+                request, response));
+
+        Assert.assertEquals(List.of("without body true"), calls);
+    }
+}
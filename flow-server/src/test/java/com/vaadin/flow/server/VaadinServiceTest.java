@@ -27,7 +27,9 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -37,6 +39,7 @@ import org.mockito.Mockito;
 
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.di.Instantiator;
 import com.vaadin.flow.di.InstantiatorFactory;
 import com.vaadin.flow.di.Lookup;
@@ -46,10 +49,12 @@ import com.vaadin.flow.internal.UsageStatistics;
 import com.vaadin.flow.router.RouteConfiguration;
 import com.vaadin.flow.router.RouteData;
 import com.vaadin.flow.router.Router;
+import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.server.communication.PwaHandler;
 import com.vaadin.flow.server.communication.StreamRequestHandler;
 import com.vaadin.flow.server.communication.WebComponentBootstrapHandler;
 import com.vaadin.flow.server.communication.WebComponentProvider;
+import com.vaadin.flow.shared.ApplicationConstants;
 import com.vaadin.tests.util.MockDeploymentConfiguration;
 
 import static org.hamcrest.CoreMatchers.containsString;
@@ -435,6 +440,140 @@ public class VaadinServiceTest {
         Assert.assertEquals(VaadinSessionState.CLOSED, stateRef.get());
     }
 
+    @Test
+    public void requestEnd_sessionHousekeeping_sessionNotLockedAgain() {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_SESSION_HOUSEKEEPING_INTERVAL,
+                "3600");
+        MockVaadinServletService service = new MockVaadinServletService(
+                configuration);
+        WrappedSession wrappedSession = Mockito.mock(WrappedSession.class);
+        AtomicInteger lockCount = new AtomicInteger();
+        MockVaadinSession session = new MockVaadinSession(service) {
+            @Override
+            public void lock() {
+                lockCount.incrementAndGet();
+                super.lock();
+            }
+
+            @Override
+            public WrappedSession getSession() {
+                return wrappedSession;
+            }
+        };
+        VaadinRequest request = Mockito.mock(VaadinRequest.class);
+        Mockito.when(request.getAttribute("requestStartTime"))
+                .thenReturn(System.nanoTime());
+
+        try {
+            VaadinSession.setCurrent(session);
+            service.requestEnd(request, null, session);
+
+            Assert.assertEquals(0, lockCount.get());
+            Assert.assertNull(VaadinSession.getCurrent());
+            session.lock();
+            Assert.assertTrue(session.getLastRequestDuration() >= 0);
+            session.unlock();
+        } finally {
+            CurrentInstance.clearAll();
+            service.destroy();
+        }
+    }
+
+    @Test
+    public void requestEnd_heartbeat_sessionOnlyTriedToLock() {
+        MockVaadinServletService service = new MockVaadinServletService();
+        AtomicInteger lockCount = new AtomicInteger();
+        AtomicInteger tryLockCount = new AtomicInteger();
+        MockVaadinSession session = new MockVaadinSession(service) {
+            @Override
+            public void lock() {
+                lockCount.incrementAndGet();
+                super.lock();
+            }
+
+            @Override
+            boolean tryLock() {
+                tryLockCount.incrementAndGet();
+                return super.tryLock();
+            }
+        };
+        VaadinRequest request = Mockito.mock(VaadinRequest.class);
+        Mockito.when(request.getAttribute("requestStartTime"))
+                .thenReturn(System.nanoTime());
+        Mockito.when(request.getParameter(
+                ApplicationConstants.REQUEST_TYPE_PARAMETER))
+                .thenReturn(RequestType.HEARTBEAT.getIdentifier());
+
+        try {
+            VaadinSession.setCurrent(session);
+            service.requestEnd(request, null, session);
+
+            Assert.assertEquals(0, lockCount.get());
+            Assert.assertEquals(1, tryLockCount.get());
+        } finally {
+            CurrentInstance.clearAll();
+            service.destroy();
+        }
+    }
+
+    @Test
+    public void sessionHousekeeping_sessionRemovedFromHttpSession_sessionNotVisitedAgain() {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_SESSION_HOUSEKEEPING_INTERVAL,
+                "3600");
+        MockVaadinServletService service = new MockVaadinServletService(
+                configuration);
+        ReentrantLock lock = new ReentrantLock();
+        AtomicReference<VaadinSession> stored = new AtomicReference<>();
+        WrappedSession wrappedSession = Mockito.mock(WrappedSession.class);
+        Mockito.when(wrappedSession.getAttribute(Mockito.anyString()))
+                .thenAnswer(invocation -> service.getSessionAttributeName()
+                        .equals(invocation.getArgument(0)) ? stored.get()
+                                : lock);
+        AtomicInteger visits = new AtomicInteger();
+        MockVaadinSession session = new MockVaadinSession(service) {
+            @Override
+            boolean tryLock() {
+                visits.incrementAndGet();
+                return super.tryLock();
+            }
+
+            @Override
+            public WrappedSession getSession() {
+                return wrappedSession;
+            }
+        };
+
+        try {
+            lock.lock();
+            try {
+                service.storeSession(session, wrappedSession);
+            } finally {
+                lock.unlock();
+            }
+            session.lock();
+            UI ui = new UI();
+            ui.getInternals().setSession(session);
+            session.addUI(ui);
+            session.unlock();
+
+            stored.set(session);
+            service.runSessionHousekeeping();
+            Assert.assertEquals(1, visits.get());
+
+            stored.set(null);
+            service.runSessionHousekeeping();
+            service.runSessionHousekeeping();
+            Assert.assertEquals(1, visits.get());
+        } finally {
+            CurrentInstance.clearAll();
+            service.destroy();
+        }
+    }
+
     @Test
     public void removeFromHttpSession_setExplicitSessionCloseAttribute()
             throws ServiceException {
@@ -20,6 +20,11 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.EnumSet;
 import java.util.EventObject;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -27,6 +32,8 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
@@ -39,9 +46,12 @@ import javax.servlet.http.HttpSession;
 import javax.servlet.http.HttpSessionBindingEvent;
 
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mockito;
 
 import com.vaadin.flow.component.UI;
@@ -63,6 +73,9 @@ public class VaadinSessionTest {
         }
     }
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private VaadinSession session;
     private VaadinServlet mockServlet;
     private VaadinServletService mockService;
@@ -334,6 +347,237 @@ public class VaadinSessionTest {
         deserializedSession.unlock();
     }
 
+    @Test
+    public void passivateUI_uiActivatedWhenRequestedById() throws IOException {
+        session.lock();
+        try {
+            ui.getElement().setAttribute("foo", "bar");
+            int uiId = ui.getUIId();
+
+            session.passivateUI(ui, temporaryFolder.getRoot());
+
+            Assert.assertTrue(session.getUIs().isEmpty());
+            Assert.assertNotNull(session.getPassivatedUI(uiId));
+            Assert.assertEquals(1, temporaryFolder.getRoot().list().length);
+
+            UI activated = session.getUIById(uiId);
+
+            Assert.assertNotSame(ui, activated);
+            Assert.assertSame(session, activated.getSession());
+            Assert.assertEquals("bar",
+                    activated.getElement().getAttribute("foo"));
+            Assert.assertSame(activated, session.getUIById(uiId));
+            Assert.assertNull(session.getPassivatedUI(uiId));
+            Assert.assertEquals(0, temporaryFolder.getRoot().list().length);
+        } finally {
+            session.unlock();
+        }
+    }
+
+    @Test
+    public void passivateUI_fileReadableByOwnerOnly() throws IOException {
+        Path directory = temporaryFolder.getRoot().toPath();
+        Assume.assumeNotNull(Files.getFileAttributeView(directory,
+                PosixFileAttributeView.class));
+        session.lock();
+        try {
+            session.passivateUI(ui, directory.toFile());
+
+            try (Stream<Path> files = Files.list(directory)) {
+                Path file = files.findFirst().get();
+                Assert.assertEquals(
+                        EnumSet.of(PosixFilePermission.OWNER_READ,
+                                PosixFilePermission.OWNER_WRITE),
+                        Files.getPosixFilePermissions(file));
+            }
+        } finally {
+            session.unlock();
+        }
+    }
+
+    @Test
+    public void discardPassivatedUIs_filesDeleted() throws IOException {
+        session.lock();
+        try {
+            int uiId = ui.getUIId();
+            session.passivateUI(ui, temporaryFolder.getRoot());
+
+            session.discardPassivatedUIs();
+
+            Assert.assertNull(session.getPassivatedUI(uiId));
+            Assert.assertNull(session.getUIById(uiId));
+            Assert.assertEquals(0, temporaryFolder.getRoot().list().length);
+        } finally {
+            session.unlock();
+        }
+    }
+
+    @Test
+    public void passivateUI_sessionSerialized_passivatedUIDeserialized()
+            throws Exception {
+        ApplicationConfiguration configuration = Mockito
+                .mock(ApplicationConfiguration.class);
+        Mockito.when(configuration.isDevModeSessionSerializationEnabled())
+                .thenReturn(true);
+        mockServlet.getServletContext().setAttribute(
+                ApplicationConfiguration.class.getName(), configuration);
+
+        session.lock();
+        ui.getElement().setAttribute("foo", "bar");
+        int uiId = ui.getUIId();
+        session.passivateUI(ui, temporaryFolder.getRoot());
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bos);
+        out.writeObject(session);
+        out.close();
+        session.unlock();
+
+        ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bos.toByteArray()));
+        VaadinSession deserializedSession = (VaadinSession) in.readObject();
+        deserializedSession.refreshTransients(mockWrappedSession, mockService);
+        deserializedSession.lock();
+        try {
+            UI activated = deserializedSession.getUIById(uiId);
+            Assert.assertSame(deserializedSession, activated.getSession());
+            Assert.assertEquals("bar",
+                    activated.getElement().getAttribute("foo"));
+        } finally {
+            deserializedSession.unlock();
+        }
+    }
+
+    @Test
+    public void lockUI_uiLocking_otherUILockedConcurrently() throws Exception {
+        VaadinSession uiLockingSession = createUILockingSession();
+        UI ui1 = createUI(uiLockingSession);
+        UI ui2 = createUI(uiLockingSession);
+
+        uiLockingSession.lockUI(ui1);
+        try {
+            CompletableFuture<Boolean> otherThread = CompletableFuture
+                    .supplyAsync(() -> {
+                        uiLockingSession.lockUI(ui2);
+                        try {
+                            return uiLockingSession.hasLock();
+                        } finally {
+                            uiLockingSession.unlockUI(ui2);
+                        }
+                    });
+            Assert.assertTrue(otherThread.get(5, TimeUnit.SECONDS));
+        } finally {
+            uiLockingSession.unlockUI(ui1);
+        }
+    }
+
+    @Test
+    public void lockUI_uiLocking_lockingSessionOrOtherUIThrows() {
+        VaadinSession uiLockingSession = createUILockingSession();
+        UI ui1 = createUI(uiLockingSession);
+        UI ui2 = createUI(uiLockingSession);
+
+        uiLockingSession.lockUI(ui1);
+        try {
+            Assert.assertThrows(IllegalStateException.class,
+                    uiLockingSession::lock);
+            Assert.assertThrows(IllegalStateException.class,
+                    () -> uiLockingSession.lockUI(ui2));
+        } finally {
+            uiLockingSession.unlockUI(ui1);
+        }
+    }
+
+    @Test
+    public void accessUI_uiLocking_taskRunWhenUIUnlocked() {
+        VaadinSession uiLockingSession = createUILockingSession();
+        UI ui1 = createUI(uiLockingSession);
+        AtomicBoolean run = new AtomicBoolean();
+
+        uiLockingSession.lockUI(ui1);
+        Future<Void> future;
+        try {
+            future = uiLockingSession.accessUI(ui1, () -> run.set(true));
+            Assert.assertFalse(run.get());
+        } finally {
+            uiLockingSession.unlockUI(ui1);
+        }
+
+        Assert.assertTrue(run.get());
+        Assert.assertTrue(future.isDone());
+    }
+
+    private VaadinSession createUILockingSession() {
+        MockVaadinSession uiLockingSession = new MockVaadinSession(
+                mockService);
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_UI_LOCKING, "true");
+        uiLockingSession.lock();
+        try {
+            uiLockingSession.setConfiguration(configuration);
+        } finally {
+            uiLockingSession.unlock();
+        }
+        Assert.assertTrue(uiLockingSession.isUILocking());
+        return uiLockingSession;
+    }
+
+    private UI createUI(VaadinSession uiLockingSession) {
+        UI newUI = new UI();
+        uiLockingSession.lock();
+        try {
+            newUI.getInternals().setSession(uiLockingSession);
+            newUI.doInit(vaadinRequest, uiLockingSession.getNextUIid());
+            uiLockingSession.addUI(newUI);
+        } finally {
+            uiLockingSession.unlock();
+        }
+        return newUI;
+    }
+
+    @Test
+    public void lock_nestedLocks_lockTimesReportedOnce() {
+        VaadinMetrics metrics = Mockito.mock(VaadinMetrics.class);
+        MockVaadinServletService service = new MockVaadinServletService() {
+            @Override
+            public VaadinMetrics getMetrics() {
+                return metrics;
+            }
+        };
+        MockVaadinSession metricsSession = new MockVaadinSession(service);
+
+        metricsSession.lock();
+        metricsSession.lock();
+        metricsSession.unlock();
+        Mockito.verify(metrics).sessionLocked(Mockito.anyLong());
+        Mockito.verify(metrics, Mockito.never())
+                .sessionUnlocked(Mockito.anyLong());
+
+        metricsSession.unlock();
+        Mockito.verify(metrics).sessionUnlocked(Mockito.anyLong());
+    }
+
+    @Test
+    public void unlock_lockedThroughLockInstance_holdTimeNotReported() {
+        VaadinMetrics metrics = Mockito.mock(VaadinMetrics.class);
+        MockVaadinServletService service = new MockVaadinServletService() {
+            @Override
+            public VaadinMetrics getMetrics() {
+                return metrics;
+            }
+        };
+        MockVaadinSession metricsSession = new MockVaadinSession(service);
+
+        metricsSession.lock();
+        metricsSession.unlock();
+        Mockito.verify(metrics).sessionUnlocked(Mockito.anyLong());
+
+        metricsSession.getLockInstance().lock();
+        metricsSession.unlock();
+        Mockito.verify(metrics).sessionUnlocked(Mockito.anyLong());
+    }
+
     @Test
     public void setLocale_setLocaleForAllUIs() {
         UI anotherUI = new UI();
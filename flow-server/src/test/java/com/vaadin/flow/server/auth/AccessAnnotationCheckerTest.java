@@ -27,6 +27,7 @@ import com.vaadin.flow.server.auth.AccessControlTestClasses.PermitAllClass;
 import com.vaadin.flow.server.auth.AccessControlTestClasses.RolesAllowedAdminClass;
 import com.vaadin.flow.server.auth.AccessControlTestClasses.RolesAllowedUserClass;
 
+import org.apache.commons.lang3.SerializationUtils;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
@@ -353,6 +354,40 @@ public class AccessAnnotationCheckerTest {
         }
     }
 
+    @Test
+    public void hasAccess_repeatedChecksWithDifferentRoles_rolesCheckedEveryTime()
+            throws Exception {
+        Method method = PermitAllClass.class.getMethod("rolesAllowedUser");
+        for (int i = 0; i < 2; i++) {
+            Assert.assertTrue(accessAnnotationChecker.hasAccess(method,
+                    createRequest(USER_PRINCIPAL, "user")));
+            Assert.assertFalse(accessAnnotationChecker.hasAccess(method,
+                    createRequest(USER_PRINCIPAL, "admin")));
+            Assert.assertTrue(accessAnnotationChecker.hasAccess(
+                    RolesAllowedUserClass.class,
+                    createRequest(USER_PRINCIPAL, "user")));
+            Assert.assertFalse(accessAnnotationChecker.hasAccess(
+                    RolesAllowedUserClass.class, createRequest(null)));
+        }
+    }
+
+    @Test
+    public void hasAccess_serializedChecker_rulesAvailable() throws Exception {
+        accessAnnotationChecker.hasAccess(RolesAllowedUserClass.class,
+                createRequest(USER_PRINCIPAL, "user"));
+
+        AccessAnnotationChecker deserialized = SerializationUtils.deserialize(
+                SerializationUtils.serialize(accessAnnotationChecker));
+
+        Assert.assertTrue(deserialized.hasAccess(RolesAllowedUserClass.class,
+                createRequest(USER_PRINCIPAL, "user")));
+        Assert.assertFalse(deserialized.hasAccess(DenyAllClass.class,
+                createRequest(USER_PRINCIPAL, "user")));
+        Assert.assertTrue(deserialized.hasAccess(
+                PermitAllClass.class.getMethod("permitAll"),
+                createRequest(USER_PRINCIPAL)));
+    }
+
     static HttpServletRequest createRequest(Principal userPrincipal,
             String... roles) {
         Set<String> roleSet = new HashSet<>();
@@ -17,15 +17,19 @@ package com.vaadin.flow.server.communication;
 
 import java.io.IOException;
 
+import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
 
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.internal.UIInternals;
+import com.vaadin.flow.server.HttpStatusCode;
+import com.vaadin.flow.server.PassivatedUI;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.shared.ApplicationConstants;
 
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
@@ -54,4 +58,67 @@ public class HeartbeatHandlerTest {
         Mockito.verify(ui.getInternals(), times(1))
                 .setLastHeartbeatTimestamp(anyLong());
     }
+
+    @Test
+    public void synchronizedHandleRequest_uiPassivated_heartbeatRecordedWithoutActivation()
+            throws IOException {
+        VaadinService service = mock(VaadinService.class);
+        VaadinSession session = mock(VaadinSession.class);
+        VaadinRequest request = mock(VaadinRequest.class);
+        VaadinResponse response = mock(VaadinResponse.class);
+        PassivatedUI passivatedUI = mock(PassivatedUI.class);
+
+        when(session.getService()).thenReturn(service);
+        when(request.getParameter(ApplicationConstants.UI_ID_PARAMETER))
+                .thenReturn("3");
+        when(session.getPassivatedUI(3)).thenReturn(passivatedUI);
+
+        HeartbeatHandler handler = new HeartbeatHandler();
+        handler.synchronizedHandleRequest(session, request, response);
+
+        Mockito.verify(passivatedUI).setLastHeartbeatTimestamp(anyLong());
+        Mockito.verify(service, Mockito.never()).findUI(request);
+        Mockito.verify(session, Mockito.never()).getUIById(3);
+    }
+
+    @Test
+    public void handleRequest_heartbeatRecorded_sessionNotLocked()
+            throws IOException {
+        VaadinSession session = mock(VaadinSession.class);
+        VaadinRequest request = mock(VaadinRequest.class);
+        VaadinResponse response = mock(VaadinResponse.class);
+
+        when(request.getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER))
+                .thenReturn(ApplicationConstants.REQUEST_TYPE_HEARTBEAT);
+        when(request.getParameter(ApplicationConstants.UI_ID_PARAMETER))
+                .thenReturn("3");
+        when(session.recordHeartbeat(Mockito.eq(3), anyLong()))
+                .thenReturn(true);
+
+        HeartbeatHandler handler = new HeartbeatHandler();
+        Assert.assertTrue(handler.handleRequest(session, request, response));
+
+        Mockito.verify(session, Mockito.never()).lock();
+        Mockito.verify(response).setHeader("Content-Type", "text/plain");
+    }
+
+    @Test
+    public void synchronizedHandleRequest_uiIdNotANumber_notFound()
+            throws IOException {
+        VaadinService service = mock(VaadinService.class);
+        VaadinSession session = mock(VaadinSession.class);
+        VaadinRequest request = mock(VaadinRequest.class);
+        VaadinResponse response = mock(VaadinResponse.class);
+
+        when(session.getService()).thenReturn(service);
+        when(request.getParameter(ApplicationConstants.UI_ID_PARAMETER))
+                .thenReturn("foo");
+
+        HeartbeatHandler handler = new HeartbeatHandler();
+        handler.synchronizedHandleRequest(session, request, response);
+
+        Mockito.verify(response).sendError(
+                HttpStatusCode.NOT_FOUND.getCode(), "UI not found");
+        Mockito.verify(service, Mockito.never()).findUI(request);
+    }
 }
@@ -3,6 +3,9 @@ package com.vaadin.flow.server.communication;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -15,13 +18,20 @@ import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.internal.DependencyList;
 import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.function.DeploymentConfiguration;
-import com.vaadin.flow.internal.MessageDigestUtil;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.dom.PropertyChangeEvent;
 import com.vaadin.flow.internal.StateTree;
+import com.vaadin.flow.internal.nodefeature.ElementPropertyMap;
+import com.vaadin.flow.internal.nodefeature.NodeFeatureRegistry;
+import com.vaadin.flow.server.InitParameters;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.communication.ServerRpcHandler.InvalidUIDLSecurityKeyException;
+import com.vaadin.flow.server.communication.rpc.EventRateLimiter;
 import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.flow.shared.JsonConstants;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
 
 public class ServerRpcHandlerTest {
     private VaadinRequest request;
@@ -104,7 +114,7 @@ public class ServerRpcHandlerTest {
         ui = new UI();
         ui.getInternals().setSession(session);
         ui.getInternals().setLastProcessedClientToServerId(1,
-                MessageDigestUtil.sha256(msg));
+                ServerRpcHandler.computeMessageHash(msg));
 
         // This invocation shouldn't throw. No other checks
         handler.handleRpc(ui, Mockito.mock(Reader.class), request);
@@ -126,4 +136,121 @@ public class ServerRpcHandlerTest {
 
         handler.handleRpc(ui, Mockito.mock(Reader.class), request);
     }
+
+    @Test
+    public void handleRpc_severalSyncsForSameProperty_lastValueApplied()
+            throws InvalidUIDLSecurityKeyException, IOException {
+        ui = new UI();
+        ui.getInternals().setSession(session);
+        Element input = new Element("input");
+        ui.getElement().appendChild(input);
+        List<PropertyChangeEvent> events = new ArrayList<>();
+        input.addPropertyChangeListener("value", "input", events::add);
+
+        int node = input.getNode().getId();
+        String msg = "{\"" + ApplicationConstants.CLIENT_TO_SERVER_ID
+                + "\":0, \"" + ApplicationConstants.RPC_INVOCATIONS + "\":["
+                + createPropertySync(node, "value", "a") + ","
+                + createPropertySync(node, "value", "ab") + ","
+                + createPropertySync(node, "value", "abc") + "]}";
+        ServerRpcHandler handler = new ServerRpcHandler() {
+            @Override
+            protected String getMessage(Reader reader) throws IOException {
+                return msg;
+            };
+        };
+
+        handler.handleRpc(ui, Mockito.mock(Reader.class), request);
+
+        Assert.assertEquals("abc", input.getProperty("value"));
+        Assert.assertEquals(1, events.size());
+        Assert.assertNull(events.get(0).getOldValue());
+        Assert.assertEquals("abc", events.get(0).getValue());
+    }
+
+    @Test
+    public void handleRpc_coalescingEnabled_latestHighFrequencyEventFired()
+            throws InvalidUIDLSecurityKeyException, IOException {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_COALESCE_EVENTS, "true");
+        Mockito.when(session.getConfiguration()).thenReturn(configuration);
+
+        List<String> events = handleHighFrequencyEvents();
+
+        Assert.assertEquals(Arrays.asList("click", "move4"), events);
+        Assert.assertEquals(2,
+                EventRateLimiter.get(ui).getCoalescedCount());
+    }
+
+    @Test
+    public void handleRpc_coalescingNotEnabled_allHighFrequencyEventsFired()
+            throws InvalidUIDLSecurityKeyException, IOException {
+        List<String> events = handleHighFrequencyEvents();
+
+        Assert.assertEquals(
+                Arrays.asList("move1", "click", "move3", "move4"), events);
+        Assert.assertEquals(0,
+                EventRateLimiter.get(ui).getCoalescedCount());
+    }
+
+    private List<String> handleHighFrequencyEvents()
+            throws InvalidUIDLSecurityKeyException, IOException {
+        ui = new UI();
+        ui.getInternals().setSession(session);
+        Element element = new Element("div");
+        ui.getElement().appendChild(element);
+        List<String> events = new ArrayList<>();
+        element.addEventListener("mousemove",
+                event -> events.add("move" + (int) event.getEventData()
+                        .getNumber("event.clientX")))
+                .addEventData("event.clientX");
+        element.addEventListener("click", event -> events.add("click"));
+
+        int node = element.getNode().getId();
+        String msg = "{\"" + ApplicationConstants.CLIENT_TO_SERVER_ID
+                + "\":0, \"" + ApplicationConstants.RPC_INVOCATIONS + "\":["
+                + createEvent(node, "mousemove", 1) + ","
+                + createEvent(node, "click", 2) + ","
+                + createEvent(node, "mousemove", 3) + ","
+                + createEvent(node, "mousemove", 4) + "]}";
+        ServerRpcHandler handler = new ServerRpcHandler() {
+            @Override
+            protected String getMessage(Reader reader) throws IOException {
+                return msg;
+            };
+        };
+
+        handler.handleRpc(ui, Mockito.mock(Reader.class), request);
+        return events;
+    }
+
+    @Test
+    public void computeMessageHash_differentMessages_differentHash() {
+        Assert.assertArrayEquals(ServerRpcHandler.computeMessageHash("{}"),
+                ServerRpcHandler.computeMessageHash("{}"));
+        Assert.assertFalse(Arrays.equals(
+                ServerRpcHandler.computeMessageHash("{\"clientId\":1}"),
+                ServerRpcHandler.computeMessageHash("{\"clientId\":2}")));
+    }
+
+    private static String createEvent(int node, String type, int clientX) {
+        return "{\"" + JsonConstants.RPC_TYPE + "\":\""
+                + JsonConstants.RPC_TYPE_EVENT + "\", \""
+                + JsonConstants.RPC_NODE + "\":" + node + ", \""
+                + JsonConstants.RPC_EVENT_TYPE + "\":\"" + type + "\", \""
+                + JsonConstants.RPC_EVENT_DATA + "\":{\"event.clientX\":"
+                + clientX + "}}";
+    }
+
+    private static String createPropertySync(int node, String property,
+            String value) {
+        return "{\"" + JsonConstants.RPC_TYPE + "\":\""
+                + JsonConstants.RPC_TYPE_MAP_SYNC + "\", \""
+                + JsonConstants.RPC_NODE + "\":" + node + ", \""
+                + JsonConstants.RPC_FEATURE + "\":"
+                + NodeFeatureRegistry.getId(ElementPropertyMap.class) + ", \""
+                + JsonConstants.RPC_PROPERTY + "\":\"" + property + "\", \""
+                + JsonConstants.RPC_PROPERTY_VALUE + "\":\"" + value + "\"}";
+    }
 }
@@ -17,8 +17,11 @@
 
 package com.vaadin.flow.server.communication;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.Collections;
 import java.util.Properties;
@@ -26,6 +29,7 @@ import java.util.Properties;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 
 import com.vaadin.flow.component.internal.JavaScriptBootstrapUI;
@@ -121,6 +125,61 @@ public class UidlRequestHandlerTest {
                 responseContent);
     }
 
+    @Test
+    public void handleRequest_bodyReadAndResponseWrittenWithoutSessionLock()
+            throws IOException {
+        VaadinService service = mock(VaadinService.class);
+        VaadinSession session = mock(VaadinSession.class);
+        when(session.getService()).thenReturn(service);
+        when(request.getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER))
+                .thenReturn(RequestType.UIDL.getIdentifier());
+        when(request.getReader())
+                .thenReturn(new BufferedReader(new StringReader("{}")));
+        when(service.findUI(request)).thenReturn(null);
+
+        assertTrue(handler.handleRequest(session, request, response));
+
+        InOrder inOrder = Mockito.inOrder(request, session, service,
+                outputStream);
+        inOrder.verify(request).getReader();
+        inOrder.verify(session).lock();
+        inOrder.verify(service).findUI(request);
+        inOrder.verify(session).unlock();
+        inOrder.verify(outputStream).write(Mockito.any(byte[].class));
+    }
+
+    @Test
+    public void handleRequest_rpcHandlerOverridesGetMessage_handledWithSessionLock()
+            throws IOException {
+        handler = new UidlRequestHandler() {
+            @Override
+            protected ServerRpcHandler createRpcHandler() {
+                return new ServerRpcHandler() {
+                    @Override
+                    protected String getMessage(Reader reader)
+                            throws IOException {
+                        return super.getMessage(reader);
+                    }
+                };
+            }
+        };
+        VaadinService service = mock(VaadinService.class);
+        VaadinSession session = mock(VaadinSession.class);
+        when(session.getService()).thenReturn(service);
+        when(request.getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER))
+                .thenReturn(RequestType.UIDL.getIdentifier());
+        when(service.findUI(request)).thenReturn(null);
+
+        assertFalse(handler.isReadAndWriteOutsideSessionLock());
+        assertTrue(handler.handleRequest(session, request, response));
+
+        InOrder inOrder = Mockito.inOrder(session, service, outputStream);
+        inOrder.verify(session).lock();
+        inOrder.verify(service).findUI(request);
+        inOrder.verify(outputStream).write(Mockito.any(byte[].class));
+        inOrder.verify(session).unlock();
+    }
+
     @Test
     public void should_not_modifyUidl_when_MPR_nonJavaScriptBootstrapUI()
             throws Exception {
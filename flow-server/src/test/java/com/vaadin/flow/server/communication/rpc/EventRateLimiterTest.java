@@ -0,0 +1,80 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication.rpc;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.flow.component.UI;
+
+public class EventRateLimiterTest {
+
+    @Test
+    public void noLimit_allEventsHandled() {
+        EventRateLimiter limiter = new EventRateLimiter(0, false);
+        long now = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertTrue(limiter.tryAcquire(now));
+        }
+        Assert.assertEquals(0, limiter.getDroppedCount());
+    }
+
+    @Test
+    public void limit_excessEventsDropped_permitsRefilledOverTime() {
+        EventRateLimiter limiter = new EventRateLimiter(2, false);
+        long now = System.nanoTime();
+
+        Assert.assertTrue(limiter.tryAcquire(now));
+        Assert.assertTrue(limiter.tryAcquire(now));
+        Assert.assertFalse(limiter.tryAcquire(now));
+        Assert.assertEquals(1, limiter.getDroppedCount());
+
+        now += TimeUnit.MILLISECONDS.toNanos(500);
+        Assert.assertTrue(limiter.tryAcquire(now));
+        Assert.assertFalse(limiter.tryAcquire(now));
+        Assert.assertEquals(2, limiter.getDroppedCount());
+    }
+
+    @Test
+    public void eventsCoalesced_countedForUIAndTotal() {
+        EventRateLimiter limiter = new EventRateLimiter(0, false);
+        long total = EventRateLimiter.getTotalCoalescedCount();
+
+        limiter.eventsCoalesced(3);
+
+        Assert.assertEquals(3, limiter.getCoalescedCount());
+        Assert.assertEquals(total + 3,
+                EventRateLimiter.getTotalCoalescedCount());
+    }
+
+    @Test
+    public void get_sameInstanceForUI() {
+        UI ui = new UI();
+        EventRateLimiter limiter = EventRateLimiter.get(ui);
+        Assert.assertSame(limiter, EventRateLimiter.get(ui));
+        Assert.assertNotSame(limiter, EventRateLimiter.get(new UI()));
+    }
+
+    @Test
+    public void isHighFrequencyEvent() {
+        Assert.assertTrue(EventRateLimiter.isHighFrequencyEvent("mousemove"));
+        Assert.assertTrue(EventRateLimiter.isHighFrequencyEvent("scroll"));
+        Assert.assertFalse(EventRateLimiter.isHighFrequencyEvent("click"));
+        Assert.assertFalse(EventRateLimiter.isHighFrequencyEvent("keydown"));
+    }
+}
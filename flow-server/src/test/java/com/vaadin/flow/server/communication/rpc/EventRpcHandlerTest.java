@@ -21,6 +21,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import com.vaadin.flow.component.ComponentTest.TestComponent;
+import com.vaadin.flow.component.ComponentUtil;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.internal.StateNode;
@@ -61,6 +62,30 @@ public class EventRpcHandlerTest {
         Assert.assertEquals(123, invocationData.get());
     }
 
+    @Test
+    public void highFrequencyEvent_rateExceeded_eventDropped()
+            throws Exception {
+        TestComponent c = new TestComponent();
+        Element element = c.getElement();
+        UI ui = new UI();
+        ui.add(c);
+        ComponentUtil.setData(ui, EventRateLimiter.class,
+                new EventRateLimiter(1, false));
+        AtomicInteger moves = new AtomicInteger(0);
+        AtomicInteger clicks = new AtomicInteger(0);
+
+        element.addEventListener("mousemove", e -> moves.incrementAndGet());
+        element.addEventListener("click", e -> clicks.incrementAndGet());
+        sendElementEvent(element, ui, "mousemove", null);
+        sendElementEvent(element, ui, "mousemove", null);
+        sendElementEvent(element, ui, "click", null);
+        sendElementEvent(element, ui, "click", null);
+
+        Assert.assertEquals(1, moves.get());
+        Assert.assertEquals(2, clicks.get());
+        Assert.assertEquals(1, EventRateLimiter.get(ui).getDroppedCount());
+    }
+
     private static JsonObject createElementEventInvocation(Element element,
             String eventType, JsonObject eventData) {
         StateNode node = element.getNode();
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication.rpc;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.vaadin.flow.component.ClientCallable;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.MockServletServiceSessionSetup;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinSession;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+
+/**
+ * Measures dispatching {@link ClientCallable} invocations to an attached
+ * component with a number of handler methods.
+ * <p>
+ * Run with the {@link #main(String[])} method from the test class path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PublishedServerEventHandlerRpcBenchmark {
+
+    private MockServletServiceSessionSetup setup;
+    private CallableComponent component;
+    private JsonArray noArgs;
+    private JsonArray stringAndIntArgs;
+
+    @Tag("div")
+    public static class CallableComponent extends Component {
+
+        private int count;
+
+        @ClientCallable
+        private void noArgs() {
+            count++;
+        }
+
+        @ClientCallable
+        private int stringAndInt(String value, int number) {
+            count += number;
+            return value.length() + count;
+        }
+
+        @ClientCallable
+        private void unused1() {
+        }
+
+        @ClientCallable
+        private void unused2(String value) {
+        }
+
+        @ClientCallable
+        private void unused3(int value) {
+        }
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        setup = new MockServletServiceSessionSetup();
+        VaadinService.setCurrent(setup.getService());
+        VaadinSession session = setup.getSession();
+        Mockito.when(session.hasLock()).thenReturn(true);
+
+        UI ui = new UI();
+        ui.getInternals().setSession(session);
+        component = new CallableComponent();
+        ui.add(component);
+        noArgs = Json.createArray();
+        stringAndIntArgs = Json.createArray();
+        stringAndIntArgs.set(0, "foo");
+        stringAndIntArgs.set(1, 3);
+    }
+
+    @TearDown
+    public void tearDown() {
+        VaadinService.setCurrent(null);
+        setup.cleanup();
+    }
+
+    @Benchmark
+    public void invokeWithoutArguments(Blackhole blackhole) {
+        PublishedServerEventHandlerRpcHandler.invokeMethod(component,
+                component.getClass(), "noArgs", noArgs, -1);
+        blackhole.consume(component.count);
+    }
+
+    @Benchmark
+    public void invokeWithArguments(Blackhole blackhole) {
+        PublishedServerEventHandlerRpcHandler.invokeMethod(component,
+                component.getClass(), "stringAndInt", stringAndIntArgs, -1);
+        blackhole.consume(component.count);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PublishedServerEventHandlerRpcBenchmark.class
+                        .getSimpleName())
+                .build()).run();
+    }
+}
@@ -120,6 +120,29 @@ public class PublishedServerEventHandlerRpcHandlerTest {
         }
     }
 
+    public static class ComponentWithOverloadedHandler
+            extends ComponentWithCompute {
+
+        @ClientCallable
+        private void overloaded(String value) {
+        }
+
+        @ClientCallable
+        private void overloaded(int value) {
+        }
+    }
+
+    public static class ComponentWithOverriddenHandler
+            extends ComponentWithCompute {
+
+        private boolean isOverrideInvoked;
+
+        @ClientCallable
+        private void method() {
+            isOverrideInvoked = true;
+        }
+    }
+
     public static class CompositeOfComponentWithCompute
             extends Composite<ComponentWithCompute> {
     }
@@ -476,6 +499,25 @@ public class PublishedServerEventHandlerRpcHandlerTest {
                 component.getClass(), "operation", Json.createArray(), -1);
     }
 
+    @Test(expected = IllegalStateException.class)
+    public void severalMethodsWithSameName_throws() {
+        ComponentWithOverloadedHandler component = new ComponentWithOverloadedHandler();
+        PublishedServerEventHandlerRpcHandler.invokeMethod(component,
+                component.getClass(), "overloaded", Json.createArray(), -1);
+    }
+
+    @Test
+    public void methodInSubclass_hidesSuperclassMethod() {
+        ComponentWithOverriddenHandler component = new ComponentWithOverriddenHandler();
+        PublishedServerEventHandlerRpcHandler.invokeMethod(component,
+                component.getClass(), "method", Json.createArray(), -1);
+        PublishedServerEventHandlerRpcHandler.invokeMethod(component,
+                component.getClass(), "method", Json.createArray(), -1);
+
+        Assert.assertTrue(component.isOverrideInvoked);
+        Assert.assertFalse(((ComponentWithCompute) component).isInvoked);
+    }
+
     @Test(expected = IllegalStateException.class)
     public void noMethodException() {
         ComponentWithNoClientCallableMethod component = new ComponentWithNoClientCallableMethod();
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CacheManifestTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void generate_buildFilesImmutable_allFilesHaveETags()
+            throws IOException {
+        File webapp = temporaryFolder.newFolder("webapp");
+        FileUtils.write(new File(webapp, "VAADIN/build/indexhtml.1234.js"),
+                "bundle", StandardCharsets.UTF_8);
+        FileUtils.write(new File(webapp, "sw.js"), "worker",
+                StandardCharsets.UTF_8);
+
+        CacheManifest manifest = CacheManifest.generate(webapp);
+
+        Assert.assertTrue(
+                manifest.isImmutable("/VAADIN/build/indexhtml.1234.js"));
+        Assert.assertTrue(
+                manifest.isImmutable("VAADIN/build/indexhtml.1234.js"));
+        Assert.assertFalse(manifest.isImmutable("/sw.js"));
+        Assert.assertEquals(
+                CacheManifest.computeETag(
+                        "bundle".getBytes(StandardCharsets.UTF_8)),
+                manifest.getETag("/VAADIN/build/indexhtml.1234.js"));
+        Assert.assertEquals(
+                CacheManifest.computeETag(
+                        "worker".getBytes(StandardCharsets.UTF_8)),
+                manifest.getETag("/sw.js"));
+        Assert.assertNull(manifest.getETag("/missing.js"));
+    }
+
+    @Test
+    public void writeAndRead_sameContent() throws IOException {
+        File webapp = temporaryFolder.newFolder("webapp");
+        FileUtils.write(new File(webapp, "VAADIN/build/indexhtml.1234.js"),
+                "bundle", StandardCharsets.UTF_8);
+        FileUtils.write(new File(webapp, "sw.js"), "worker",
+                StandardCharsets.UTF_8);
+        CacheManifest manifest = CacheManifest.generate(webapp);
+
+        File file = new File(temporaryFolder.getRoot(),
+                CacheManifest.CACHE_MANIFEST_FILE);
+        manifest.write(file);
+
+        try (InputStream stream = new FileInputStream(file)) {
+            CacheManifest read = CacheManifest.read(stream);
+            Assert.assertTrue(
+                    read.isImmutable("/VAADIN/build/indexhtml.1234.js"));
+            Assert.assertFalse(read.isImmutable("/sw.js"));
+            Assert.assertEquals(manifest.getETag("/sw.js"),
+                    read.getETag("/sw.js"));
+            Assert.assertEquals(
+                    manifest.getETag("/VAADIN/build/indexhtml.1234.js"),
+                    read.getETag("/VAADIN/build/indexhtml.1234.js"));
+        }
+    }
+
+    @Test
+    public void generate_missingFolder_emptyManifest() throws IOException {
+        CacheManifest manifest = CacheManifest
+                .generate(new File(temporaryFolder.getRoot(), "missing"));
+        Assert.assertNull(manifest.getETag("/sw.js"));
+    }
+
+    @Test
+    public void computeETag_quotedAndContentDependent() {
+        String etag = CacheManifest
+                .computeETag("foo".getBytes(StandardCharsets.UTF_8));
+        Assert.assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+        Assert.assertEquals(34, etag.length());
+        Assert.assertEquals(etag, CacheManifest
+                .computeETag("foo".getBytes(StandardCharsets.UTF_8)));
+        Assert.assertNotEquals(etag, CacheManifest
+                .computeETag("bar".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void computeETag_streamAndBytes_sameETag() throws IOException {
+        byte[] content = new byte[100_000];
+        new Random(42).nextBytes(content);
+        Assert.assertEquals(CacheManifest.computeETag(content),
+                CacheManifest.computeETag(new ByteArrayInputStream(content)));
+    }
+}
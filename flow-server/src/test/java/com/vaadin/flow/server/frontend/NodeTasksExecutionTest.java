@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -43,6 +44,7 @@ public class NodeTasksExecutionTest {
     @Parameterized.Parameter
     public String devServerImpl;
 
+    private NodeTasks.Builder builder;
     private NodeTasks nodeTasks;
     private List<FallibleCommand> commandsMock;
     private List<Class<? extends FallibleCommand>> commandsOrder;
@@ -53,10 +55,11 @@ public class NodeTasksExecutionTest {
     public void init() throws Exception {
 
         // Make a builder that doesn't add any commands.
-        NodeTasks.Builder builder = new NodeTasks.Builder(
-                Mockito.mock(Lookup.class), null, TARGET);
+        builder = new NodeTasks.Builder(Mockito.mock(Lookup.class), null,
+                TARGET);
         builder.useV14Bootstrap(true);
         builder.withProductionMode(false);
+        builder.withParallelExecution(false);
 
         if (DEV_SERVER_WEBPACK.equals(devServerImpl)) {
             builder.setJavaResourceFolder(temporaryFolder.getRoot());
@@ -73,7 +76,8 @@ public class NodeTasksExecutionTest {
         commandsOrder = (List<Class<? extends FallibleCommand>>) commandOrderField
                 .get(nodeTasks);
 
-        executionOrder = new ArrayList<>(commandsOrder.size());
+        executionOrder = Collections
+                .synchronizedList(new ArrayList<>(commandsOrder.size()));
         commandsMock = mockCommandsRandomOrder(commandsOrder, executionOrder);
 
         // get the private commands list
@@ -113,6 +117,70 @@ public class NodeTasksExecutionTest {
                 commandsOrder, executionOrder);
     }
 
+    @Test
+    public void nodeTasks_parallelExecution_stagesExecutedInDefinedOrder()
+            throws Exception {
+        NodeTasks parallelTasks = builder.withParallelExecution(true).build();
+        final Field commandsField = NodeTasks.class
+                .getDeclaredField("commands");
+        commandsField.setAccessible(true);
+        List<FallibleCommand> parallelCommands = (List<FallibleCommand>) commandsField
+                .get(parallelTasks);
+        parallelCommands.clear();
+        parallelCommands.addAll(commandsMock);
+
+        final Field commandStagesField = NodeTasks.class
+                .getDeclaredField("commandStages");
+        commandStagesField.setAccessible(true);
+        List<List<Class<? extends FallibleCommand>>> stages = (List<List<Class<? extends FallibleCommand>>>) commandStagesField
+                .get(parallelTasks);
+
+        parallelTasks.execute();
+
+        Assert.assertEquals("Amount of tasks executed was more than expected",
+                commandsOrder.size(), executionOrder.size());
+        int previousStage = 0;
+        for (Class<? extends FallibleCommand> command : executionOrder) {
+            int stage = IntStream.range(0, stages.size())
+                    .filter(i -> stages.get(i).contains(command)).findFirst()
+                    .getAsInt();
+            Assert.assertTrue(command.getSimpleName()
+                    + " was executed before the tasks of an earlier stage",
+                    stage >= previousStage);
+            previousStage = stage;
+        }
+    }
+
+    @Test
+    public void nodeTasks_parallelExecution_failureRethrown()
+            throws Exception {
+        NodeTasks parallelTasks = builder.withParallelExecution(true).build();
+        final Field commandsField = NodeTasks.class
+                .getDeclaredField("commands");
+        commandsField.setAccessible(true);
+        List<FallibleCommand> parallelCommands = (List<FallibleCommand>) commandsField
+                .get(parallelTasks);
+        parallelCommands.clear();
+
+        TaskGenerateTsConfig failing = Mockito
+                .mock(TaskGenerateTsConfig.class);
+        ExecutionFailedException failure = new ExecutionFailedException(
+                "failed");
+        Mockito.doThrow(failure).when(failing).execute();
+        TaskGenerateIndexHtml other = Mockito
+                .mock(TaskGenerateIndexHtml.class);
+        TaskUpdatePackages later = Mockito.mock(TaskUpdatePackages.class);
+        parallelCommands.add(failing);
+        parallelCommands.add(other);
+        parallelCommands.add(later);
+
+        ExecutionFailedException thrown = Assert.assertThrows(
+                ExecutionFailedException.class, parallelTasks::execute);
+        Assert.assertSame(failure, thrown);
+        Mockito.verify(other).execute();
+        Mockito.verify(later, Mockito.never()).execute();
+    }
+
     @Test
     public void nodeTasksContainsUnlistedCommand_throwsUnknownTaskException() {
         // Assemble the command list with random order
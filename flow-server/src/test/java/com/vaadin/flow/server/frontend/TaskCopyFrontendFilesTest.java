@@ -83,6 +83,46 @@ public class TaskCopyFrontendFilesTest extends NodeUpdateTestUtil {
         Assert.assertFalse(deps.hasKey("@vaadin/flow-deps"));
     }
 
+    @Test
+    public void execute_jarsUnchanged_upToDate() {
+        File jar = TestUtils.getTestJar("jar-with-frontend-resources.jar");
+        new TaskCopyFrontendFiles(frontendDepsFolder, jars(jar)).execute();
+
+        TaskCopyFrontendFiles task = new TaskCopyFrontendFiles(
+                frontendDepsFolder, jars(jar));
+        Assert.assertTrue(task.isUpToDate());
+
+        File copied = new File(frontendDepsFolder, "ExampleConnector.js");
+        Assert.assertTrue(copied.delete());
+        Assert.assertFalse(task.isUpToDate());
+
+        task.execute();
+        Assert.assertTrue(copied.exists());
+        Assert.assertTrue(task.isUpToDate());
+    }
+
+    @Test
+    public void execute_differentJars_notUpToDate() {
+        File jar = TestUtils.getTestJar("jar-with-frontend-resources.jar");
+        new TaskCopyFrontendFiles(frontendDepsFolder, jars(jar)).execute();
+
+        TaskCopyFrontendFiles task = new TaskCopyFrontendFiles(
+                frontendDepsFolder, jars(jar,
+                        TestUtils.getTestJar("jar-with-modern-frontend.jar")));
+        Assert.assertFalse(task.isUpToDate());
+    }
+
+    @Test
+    public void execute_folderInResources_neverUpToDate() {
+        File jar = TestUtils.getTestJar("jar-with-frontend-resources.jar");
+        File dir = TestUtils.getTestFolder("dir-with-frontend-resources/");
+        TaskCopyFrontendFiles task = new TaskCopyFrontendFiles(
+                frontendDepsFolder, jars(jar, dir));
+        task.execute();
+
+        Assert.assertFalse(task.isUpToDate());
+    }
+
     private void should_collectJsAndCssFilesFromJars(String jarFile,
             String fsDir) throws IOException {
 
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.startup;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.component.WebComponentExporter;
+import com.vaadin.flow.di.AbstractLookupInitializer;
+import com.vaadin.flow.router.BeforeEnterEvent;
+import com.vaadin.flow.router.ErrorParameter;
+import com.vaadin.flow.router.HasErrorParameter;
+import com.vaadin.flow.router.Route;
+import com.vaadin.flow.router.RouteAlias;
+import com.vaadin.flow.server.frontend.scanner.ClassFinder;
+import com.vaadin.flow.server.frontend.scanner.ClassFinder.DefaultClassFinder;
+
+public class ClassIndexTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Tag("div")
+    @Route("indexed")
+    @RouteAlias("alias")
+    public static class IndexedRoute extends Component {
+    }
+
+    @Tag("div")
+    public static class IndexedErrorView extends Component
+            implements HasErrorParameter<IllegalStateException> {
+
+        @Override
+        public int setErrorParameter(BeforeEnterEvent event,
+                ErrorParameter<IllegalStateException> parameter) {
+            return 500;
+        }
+    }
+
+    @Test
+    public void getIndexedTypes_containsStartupInitializerTypes() {
+        Set<Class<?>> types = ClassIndex.getIndexedTypes();
+        Assert.assertTrue(types.contains(Route.class));
+        Assert.assertTrue(types.contains(RouteAlias.class));
+        Assert.assertTrue(types.contains(HasErrorParameter.class));
+        Assert.assertTrue(types.contains(WebComponentExporter.class));
+        Assert.assertTrue(types.contains(AbstractLookupInitializer.class));
+    }
+
+    @Test
+    public void generate_classesListedByType() {
+        ClassIndex index = ClassIndex.generate(new DefaultClassFinder(
+                getClass().getClassLoader(), IndexedRoute.class,
+                IndexedErrorView.class));
+
+        Assert.assertTrue(index.contains(Route.class));
+        Assert.assertEquals(Collections.singleton(IndexedRoute.class.getName()),
+                index.getClassNames(Route.class));
+        Assert.assertEquals(Collections.singleton(IndexedRoute.class.getName()),
+                index.getClassNames(RouteAlias.class));
+        Assert.assertEquals(
+                Collections.singleton(IndexedErrorView.class.getName()),
+                index.getClassNames(HasErrorParameter.class));
+        Assert.assertTrue(index.getClassNames(WebComponentExporter.class)
+                .isEmpty());
+    }
+
+    @Test
+    public void generate_typeNotInClassPath_typeNotIndexed()
+            throws ClassNotFoundException {
+        ClassFinder finder = Mockito.mock(ClassFinder.class);
+        Mockito.when(finder.getAnnotatedClasses(Mockito.anyString()))
+                .thenReturn(Collections.emptySet());
+        Mockito.when(finder.getSubTypesOf(Mockito.anyString()))
+                .thenReturn(Collections.emptySet());
+        Mockito.when(finder.getSubTypesOf(HasErrorParameter.class.getName()))
+                .thenThrow(ClassNotFoundException.class);
+
+        ClassIndex index = ClassIndex.generate(finder);
+
+        Assert.assertTrue(index.contains(Route.class));
+        Assert.assertFalse(index.contains(HasErrorParameter.class));
+    }
+
+    @Test
+    public void writeAndRead_sameContent() throws IOException {
+        ClassIndex index = ClassIndex.generate(new DefaultClassFinder(
+                getClass().getClassLoader(), IndexedRoute.class,
+                IndexedErrorView.class));
+        File file = new File(temporaryFolder.getRoot(),
+                ClassIndex.CLASS_INDEX_FILE);
+        index.write(file);
+
+        try (InputStream stream = new FileInputStream(file)) {
+            ClassIndex read = ClassIndex.read(stream);
+            for (Class<?> type : ClassIndex.getIndexedTypes()) {
+                Assert.assertTrue(read.contains(type));
+                Assert.assertEquals(index.getClassNames(type),
+                        read.getClassNames(type));
+            }
+        }
+    }
+
+    @Test
+    public void load_noIndexResource_empty() {
+        ClassLoader loader = Mockito.mock(ClassLoader.class);
+        Assert.assertFalse(ClassIndex.load(loader).isPresent());
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.test.scalability;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.router.Route;
+
+/**
+ * A view with a number of tiles that a background thread updates and pushes
+ * to the client twice a second.
+ * <p>
+ * Every update also includes the server time as {@code ts=<millis>} so that a
+ * client running on the same host can measure the push latency.
+ */
+@Route("dashboard")
+public class DashboardView extends Div {
+
+    static final int TILES = 12;
+    static final long UPDATE_INTERVAL = 500;
+
+    private static final Set<DashboardView> ATTACHED = ConcurrentHashMap
+            .newKeySet();
+
+    private static final ScheduledExecutorService EXECUTOR = Executors
+            .newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "dashboard-updater");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    static {
+        EXECUTOR.scheduleWithFixedDelay(DashboardView::updateAll,
+                UPDATE_INTERVAL, UPDATE_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    private final Span[] tiles = new Span[TILES];
+    private final Span timestamp = new Span();
+
+    public DashboardView() {
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = new Span();
+            Div tile = new Div(new Span("Metric " + i), tiles[i]);
+            tile.addClassName("tile");
+            add(tile);
+        }
+        timestamp.setId("timestamp");
+        add(timestamp);
+    }
+
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        ATTACHED.add(this);
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        ATTACHED.remove(this);
+    }
+
+    private static void updateAll() {
+        for (DashboardView view : ATTACHED) {
+            view.getUI().ifPresent(ui -> ui.access(view::update));
+        }
+    }
+
+    private void update() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (Span tile : tiles) {
+            tile.setText(String.valueOf(random.nextInt(10_000)));
+        }
+        timestamp.setText("ts=" + System.currentTimeMillis());
+    }
+
+    /**
+     * Gets the number of dashboards that receive updates.
+     *
+     * @return the number of attached dashboards
+     */
+    static int getAttachedCount() {
+        return ATTACHED.size();
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.test.scalability;
+
+import java.io.Serializable;
+
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.html.Input;
+import com.vaadin.flow.component.html.NativeButton;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.data.binder.Binder;
+import com.vaadin.flow.data.converter.StringToIntegerConverter;
+import com.vaadin.flow.data.validator.EmailValidator;
+import com.vaadin.flow.data.validator.IntegerRangeValidator;
+import com.vaadin.flow.data.validator.StringLengthValidator;
+import com.vaadin.flow.router.Route;
+
+/**
+ * A view for editing a bean with a {@link Binder}, including conversion and
+ * validation of the field values.
+ */
+@Route("form")
+public class FormView extends Div {
+
+    private final Person person = new Person();
+    private final Binder<Person> binder = new Binder<>();
+    private final Span status = new Span();
+    private int saveCount;
+
+    public FormView() {
+        Input firstName = createInput("first-name");
+        Input lastName = createInput("last-name");
+        Input email = createInput("email");
+        Input age = createInput("age");
+
+        binder.forField(firstName)
+                .withValidator(new StringLengthValidator(
+                        "First name must be 1-50 characters", 1, 50))
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.forField(lastName)
+                .withValidator(new StringLengthValidator(
+                        "Last name must be 1-50 characters", 1, 50))
+                .bind(Person::getLastName, Person::setLastName);
+        binder.forField(email)
+                .withValidator(new EmailValidator("Invalid email address"))
+                .bind(Person::getEmail, Person::setEmail);
+        binder.forField(age)
+                .withConverter(
+                        new StringToIntegerConverter("Age must be a number"))
+                .withValidator(new IntegerRangeValidator(
+                        "Age must be 0-150", 0, 150))
+                .bind(Person::getAge, Person::setAge);
+        binder.addStatusChangeListener(event -> status
+                .setText(event.hasValidationErrors() ? "Invalid" : ""));
+        binder.readBean(person);
+
+        NativeButton save = new NativeButton("Save", event -> {
+            if (binder.writeBeanIfValid(person)) {
+                saveCount++;
+                status.setText("Saved " + saveCount);
+            } else {
+                status.setText("Invalid");
+            }
+        });
+        save.setId("save");
+        status.setId("status");
+
+        add(firstName, lastName, email, age, save, status);
+    }
+
+    private Input createInput(String id) {
+        Input input = new Input();
+        input.setId(id);
+        return input;
+    }
+
+    /**
+     * The bean edited in the form.
+     */
+    public static class Person implements Serializable {
+        private String firstName = "";
+        private String lastName = "";
+        private String email = "";
+        private Integer age = 0;
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public void setFirstName(String firstName) {
+            this.firstName = firstName;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        public void setLastName(String lastName) {
+            this.lastName = lastName;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.test.scalability;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.html.NativeButton;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.router.Route;
+
+/**
+ * A view that scrolls through a large lazily loaded data set the way a grid
+ * does: a fixed number of row elements is reused and only the cell texts of
+ * the rows change when the user scrolls.
+ */
+@Route("grid")
+public class GridScrollView extends Div {
+
+    static final int ITEM_COUNT = 100_000;
+    static final int PAGE_SIZE = 50;
+
+    private final DataProvider<Item, Void> dataProvider = DataProvider
+            .fromCallbacks(
+                    query -> IntStream
+                            .range(query.getOffset(),
+                                    Math.min(ITEM_COUNT,
+                                            query.getOffset()
+                                                    + query.getLimit()))
+                            .mapToObj(Item::new),
+                    query -> ITEM_COUNT);
+
+    private final List<Span[]> rows = new ArrayList<>();
+    private final Span position = new Span();
+    private int offset;
+
+    public GridScrollView() {
+        Div body = new Div();
+        body.setId("grid-body");
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Span[] cells = new Span[Item.COLUMNS];
+            Div row = new Div();
+            row.addClassName("row");
+            for (int column = 0; column < cells.length; column++) {
+                cells[column] = new Span();
+                row.add(cells[column]);
+            }
+            rows.add(cells);
+            body.add(row);
+        }
+
+        NativeButton next = new NativeButton("Next page",
+                event -> scrollTo(offset + PAGE_SIZE));
+        next.setId("next-page");
+        NativeButton previous = new NativeButton("Previous page",
+                event -> scrollTo(offset - PAGE_SIZE));
+        previous.setId("previous-page");
+        NativeButton jump = new NativeButton("Jump",
+                event -> scrollTo(offset + ITEM_COUNT / 7));
+        jump.setId("jump");
+        position.setId("position");
+
+        add(previous, next, jump, position, body);
+        scrollTo(0);
+    }
+
+    private void scrollTo(int newOffset) {
+        offset = Math.floorMod(newOffset, ITEM_COUNT - PAGE_SIZE);
+        Iterator<Item> items = dataProvider
+                .fetch(new Query<>(offset, PAGE_SIZE, Collections.emptyList(),
+                        null, null))
+                .iterator();
+        for (Span[] cells : rows) {
+            Item item = items.next();
+            for (int column = 0; column < cells.length; column++) {
+                cells[column].setText(item.getValue(column));
+            }
+        }
+        position.setText("Rows " + offset + "-" + (offset + PAGE_SIZE));
+    }
+
+    private static class Item {
+
+        private static final int COLUMNS = 5;
+
+        private final int id;
+
+        private Item(int id) {
+            this.id = id;
+        }
+
+        private String getValue(int column) {
+            switch (column) {
+            case 0:
+                return String.valueOf(id);
+            case 1:
+                return "Product " + id;
+            case 2:
+                return "Category " + id % 17;
+            case 3:
+                return String.format("%d.%02d", id % 1000, id % 100);
+            default:
+                return String.valueOf(id * 31 % 500);
+            }
+        }
+    }
+}
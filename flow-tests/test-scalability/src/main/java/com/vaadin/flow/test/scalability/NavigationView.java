@@ -0,0 +1,49 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.test.scalability;
+
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.html.H2;
+import com.vaadin.flow.component.html.Paragraph;
+import com.vaadin.flow.router.BeforeEvent;
+import com.vaadin.flow.router.HasUrlParameter;
+import com.vaadin.flow.router.Route;
+import com.vaadin.flow.router.RouterLink;
+
+/**
+ * A view with a parameter that is navigated between, building a new
+ * component tree for every navigation.
+ */
+@Route("nav")
+public class NavigationView extends Div implements HasUrlParameter<Integer> {
+
+    static final int PAGES = 10;
+    private static final int PARAGRAPHS = 30;
+
+    @Override
+    public void setParameter(BeforeEvent event, Integer page) {
+        removeAll();
+        add(new H2("Page " + page));
+        Div links = new Div();
+        for (int i = 0; i < PAGES; i++) {
+            links.add(new RouterLink("Page " + i, NavigationView.class, i));
+        }
+        add(links);
+        for (int i = 0; i < PARAGRAPHS; i++) {
+            add(new Paragraph("Paragraph " + i + " of page " + page));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.test.scalability;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.annotation.WebListener;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSessionEvent;
+import javax.servlet.http.HttpSessionListener;
+
+/**
+ * Reports the heap usage and the number of sessions of the server as JSON, so
+ * that the load test client can compute the heap used per session.
+ * <p>
+ * The heap usage is measured after a full garbage collection and the request
+ * is thus slow. It is only meant to be called before and after a test run.
+ */
+@WebServlet(urlPatterns = ServerStatsServlet.PATH)
+public class ServerStatsServlet extends HttpServlet {
+
+    public static final String PATH = "/server-stats";
+
+    private static final AtomicInteger SESSIONS = new AtomicInteger();
+
+    /**
+     * Counts the HTTP sessions of the server.
+     */
+    @WebListener
+    public static class SessionCounter implements HttpSessionListener {
+
+        @Override
+        public void sessionCreated(HttpSessionEvent event) {
+            SESSIONS.incrementAndGet();
+        }
+
+        @Override
+        public void sessionDestroyed(HttpSessionEvent event) {
+            SESSIONS.decrementAndGet();
+        }
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        memory.gc();
+        long heapUsed = memory.getHeapMemoryUsage().getUsed();
+
+        response.setContentType("application/json");
+        response.setHeader("Cache-Control", "no-cache");
+        response.getWriter()
+                .write("{\"heapUsed\":" + heapUsed + ",\"sessions\":"
+                        + SESSIONS.get() + ",\"dashboards\":"
+                        + DashboardView.getAttachedCount() + "}");
+    }
+}
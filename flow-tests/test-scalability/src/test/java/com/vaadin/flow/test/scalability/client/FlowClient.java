@@ -0,0 +1,428 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.test.scalability.client;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.vaadin.flow.internal.nodefeature.NodeFeatures;
+import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.flow.shared.JsonConstants;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+
+/**
+ * A client that talks to a Flow application on the protocol level, without a
+ * browser, the way the Flow client does.
+ * <p>
+ * The client bootstraps a UI with an {@code init} request, navigates with the
+ * same {@code connectClient} call as the client side router, and sends DOM
+ * events and property changes to elements identified by their {@code id}
+ * attribute. It can also open a websocket push connection and measure how
+ * long pushed messages take to arrive. Every request is timed and recorded in
+ * the given {@link LatencyStats}.
+ * <p>
+ * One instance simulates one user and is not thread safe.
+ */
+public class FlowClient {
+
+    private static final String UIDL_PREFIX = "for(;;);";
+    private static final Pattern TIMESTAMP = Pattern.compile("ts=(\\d+)");
+    private static final Pattern SYNC_ID = Pattern
+            .compile("\"syncId\":(\\d+)");
+    private static final int UI_NODE_ID = 1;
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final LatencyStats stats;
+    private final long thinkTime;
+
+    private String sessionCookie;
+    private int uiId;
+    private String csrfToken;
+    private String pushId;
+    private volatile int syncId;
+    private int clientId;
+    private final Map<String, Integer> nodeIds = new HashMap<>();
+
+    private WebSocket push;
+
+    /**
+     * Creates a new client.
+     *
+     * @param http
+     *            the HTTP client to use, may be shared between clients
+     * @param baseUrl
+     *            the URL of the application, ending with {@code /}
+     * @param stats
+     *            the statistics to record request latencies to
+     * @param thinkTime
+     *            the number of milliseconds {@link #think()} pauses for
+     */
+    public FlowClient(HttpClient http, String baseUrl, LatencyStats stats,
+            long thinkTime) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.stats = stats;
+        this.thinkTime = thinkTime;
+    }
+
+    /**
+     * Opens a new UI showing the given route, like a browser loading the
+     * page.
+     *
+     * @param route
+     *            the route to show
+     * @param label
+     *            the label to record the latencies with
+     * @throws IOException
+     *             if a request fails
+     * @throws InterruptedException
+     *             if the thread is interrupted
+     */
+    public void open(String route, String label)
+            throws IOException, InterruptedException {
+        closePush();
+        nodeIds.clear();
+        JsonObject json = Json.parse(get(
+                baseUrl + "?v-r=init&location=" + encode(route),
+                label + " init"));
+        JsonObject appConfig = json.getObject("appConfig");
+        uiId = (int) appConfig.getNumber(ApplicationConstants.UI_ID_PARAMETER);
+        JsonObject uidl = appConfig.getObject("uidl");
+        csrfToken = uidl.getString(ApplicationConstants.UIDL_SECURITY_TOKEN_ID);
+        pushId = uidl.hasKey(ApplicationConstants.UIDL_PUSH_ID)
+                ? uidl.getString(ApplicationConstants.UIDL_PUSH_ID)
+                : null;
+        syncId = -1;
+        handleResponse(uidl);
+        // The initial response is not a reply to a client message
+        clientId = 0;
+
+        navigate(route, label);
+    }
+
+    /**
+     * Navigates the current UI to the given route, like the client side router
+     * does.
+     *
+     * @param route
+     *            the route to navigate to
+     * @param label
+     *            the label to record the latency with
+     * @throws IOException
+     *             if the request fails
+     * @throws InterruptedException
+     *             if the thread is interrupted
+     */
+    public void navigate(String route, String label)
+            throws IOException, InterruptedException {
+        JsonArray args = Json.createArray();
+        args.set(0, "flow-container");
+        args.set(1, "outlet");
+        args.set(2, route);
+        args.set(3, "");
+        args.set(4, Json.createNull());
+
+        JsonObject invocation = Json.createObject();
+        invocation.put(JsonConstants.RPC_TYPE,
+                JsonConstants.RPC_PUBLISHED_SERVER_EVENT_HANDLER);
+        invocation.put(JsonConstants.RPC_NODE, UI_NODE_ID);
+        invocation.put(JsonConstants.RPC_TEMPLATE_EVENT_METHOD_NAME,
+                "connectClient");
+        invocation.put(JsonConstants.RPC_TEMPLATE_EVENT_ARGS, args);
+        nodeIds.clear();
+        send(label, invocation);
+    }
+
+    /**
+     * Clicks the element with the given id.
+     *
+     * @param id
+     *            the id of the element
+     * @param label
+     *            the label to record the latency with
+     * @throws IOException
+     *             if the request fails
+     * @throws InterruptedException
+     *             if the thread is interrupted
+     */
+    public void click(String id, String label)
+            throws IOException, InterruptedException {
+        JsonObject data = Json.createObject();
+        data.put("event.shiftKey", false);
+        data.put("event.metaKey", false);
+        data.put("event.ctrlKey", false);
+        data.put("event.altKey", false);
+        data.put("event.detail", 1);
+        data.put("event.button", 0);
+        data.put("event.clientX", 25);
+        data.put("event.clientY", 13);
+        data.put("event.screenX", 25);
+        data.put("event.screenY", 138);
+        send(label, event(id, "click", data));
+    }
+
+    /**
+     * Sets the value of the input with the given id and fires a
+     * {@code change} event, like a user typing in a text field.
+     *
+     * @param id
+     *            the id of the input element
+     * @param value
+     *            the new value
+     * @param label
+     *            the label to record the latency with
+     * @throws IOException
+     *             if the request fails
+     * @throws InterruptedException
+     *             if the thread is interrupted
+     */
+    public void setValue(String id, String value, String label)
+            throws IOException, InterruptedException {
+        JsonObject sync = Json.createObject();
+        sync.put(JsonConstants.RPC_TYPE, JsonConstants.RPC_TYPE_MAP_SYNC);
+        sync.put(JsonConstants.RPC_NODE, getNodeId(id));
+        sync.put(JsonConstants.RPC_FEATURE, NodeFeatures.ELEMENT_PROPERTIES);
+        sync.put(JsonConstants.RPC_PROPERTY, "value");
+        sync.put(JsonConstants.RPC_PROPERTY_VALUE, value);
+        send(label, sync, event(id, "change", Json.createObject()));
+    }
+
+    /**
+     * Opens a websocket push connection for the current UI. The delay of
+     * every received message containing a {@code ts=<millis>} timestamp is
+     * recorded with the given label.
+     *
+     * @param label
+     *            the label to record the push latencies with
+     */
+    public void connectPush(String label) {
+        if (pushId == null) {
+            throw new IllegalStateException("Push is not enabled for the UI");
+        }
+        URI uri = URI.create(baseUrl.replaceFirst("^http", "ws")
+                + "?v-r=push&v-uiId=" + uiId + "&v-pushId=" + encode(pushId)
+                + "&X-Atmosphere-tracking-id=0"
+                + "&X-Atmosphere-Framework=2.3.2-javascript"
+                + "&X-Atmosphere-Transport=websocket"
+                + "&X-Atmosphere-TrackMessageSize=true"
+                + "&Content-Type=" + encode("application/json; charset=UTF-8")
+                + "&X-atmo-protocol=true");
+        WebSocket.Builder builder = http.newWebSocketBuilder();
+        if (sessionCookie != null) {
+            builder.header("Cookie", sessionCookie);
+        }
+        push = builder.buildAsync(uri, new PushListener(label)).join();
+    }
+
+    /**
+     * Closes the push connection, if open.
+     */
+    public void closePush() {
+        if (push != null) {
+            push.sendClose(WebSocket.NORMAL_CLOSURE, "").join();
+            push = null;
+        }
+    }
+
+    /**
+     * Pauses for the think time of the user.
+     *
+     * @throws InterruptedException
+     *             if the thread is interrupted
+     */
+    public void think() throws InterruptedException {
+        if (thinkTime > 0) {
+            Thread.sleep(thinkTime);
+        }
+    }
+
+    private JsonObject event(String id, String type, JsonObject data) {
+        JsonObject event = Json.createObject();
+        event.put(JsonConstants.RPC_TYPE, JsonConstants.RPC_TYPE_EVENT);
+        event.put(JsonConstants.RPC_NODE, getNodeId(id));
+        event.put(JsonConstants.RPC_EVENT_TYPE, type);
+        event.put(JsonConstants.RPC_EVENT_DATA, data);
+        return event;
+    }
+
+    private int getNodeId(String id) {
+        Integer nodeId = nodeIds.get(id);
+        if (nodeId == null) {
+            throw new IllegalStateException(
+                    "No element with id '" + id + "' in the UI");
+        }
+        return nodeId;
+    }
+
+    private void send(String label, JsonValue... invocations)
+            throws IOException, InterruptedException {
+        JsonArray rpc = Json.createArray();
+        for (JsonValue invocation : invocations) {
+            rpc.set(rpc.length(), invocation);
+        }
+        JsonObject message = Json.createObject();
+        message.put(ApplicationConstants.CSRF_TOKEN, csrfToken);
+        message.put(ApplicationConstants.RPC_INVOCATIONS, rpc);
+        message.put(ApplicationConstants.SERVER_SYNC_ID, syncId);
+        message.put(ApplicationConstants.CLIENT_TO_SERVER_ID, clientId);
+
+        String response = post(
+                baseUrl + "?v-r=uidl&v-uiId=" + uiId, message.toJson(), label);
+        if (!response.startsWith(UIDL_PREFIX)) {
+            throw new IOException("Unexpected UIDL response: " + response);
+        }
+        JsonArray messages = Json
+                .parse(response.substring(UIDL_PREFIX.length()));
+        handleResponse(messages.getObject(0));
+    }
+
+    private void handleResponse(JsonObject uidl) throws IOException {
+        if (uidl.hasKey("meta") && uidl.getObject("meta")
+                .hasKey(JsonConstants.META_SESSION_EXPIRED)) {
+            throw new IOException("Session expired");
+        }
+        if (uidl.hasKey(ApplicationConstants.SERVER_SYNC_ID)) {
+            syncId = Math.max(syncId, (int) uidl
+                    .getNumber(ApplicationConstants.SERVER_SYNC_ID));
+        }
+        if (uidl.hasKey(ApplicationConstants.CLIENT_TO_SERVER_ID)) {
+            clientId = (int) uidl
+                    .getNumber(ApplicationConstants.CLIENT_TO_SERVER_ID);
+        } else {
+            clientId++;
+        }
+        if (!uidl.hasKey("changes")) {
+            return;
+        }
+        JsonArray changes = uidl.getArray("changes");
+        for (int i = 0; i < changes.length(); i++) {
+            JsonObject change = changes.getObject(i);
+            if (isIdAttribute(change)) {
+                nodeIds.put(change.getString(JsonConstants.CHANGE_PUT_VALUE),
+                        (int) change.getNumber(JsonConstants.CHANGE_NODE));
+            }
+        }
+    }
+
+    private static boolean isIdAttribute(JsonObject change) {
+        return JsonConstants.CHANGE_TYPE_PUT
+                .equals(change.getString(JsonConstants.CHANGE_TYPE))
+                && change.hasKey(JsonConstants.CHANGE_FEATURE)
+                && (int) change.getNumber(
+                        JsonConstants.CHANGE_FEATURE) == NodeFeatures.ELEMENT_ATTRIBUTES
+                && "id".equals(change.getString(JsonConstants.CHANGE_MAP_KEY))
+                && change.hasKey(JsonConstants.CHANGE_PUT_VALUE);
+    }
+
+    private String get(String url, String label)
+            throws IOException, InterruptedException {
+        return execute(HttpRequest.newBuilder(URI.create(url)).GET(), label);
+    }
+
+    private String post(String url, String body, String label)
+            throws IOException, InterruptedException {
+        return execute(HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json; charset=UTF-8")
+                .POST(HttpRequest.BodyPublishers.ofString(body,
+                        StandardCharsets.UTF_8)),
+                label);
+    }
+
+    private String execute(HttpRequest.Builder builder, String label)
+            throws IOException, InterruptedException {
+        if (sessionCookie != null) {
+            builder.header("Cookie", sessionCookie);
+        }
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = http.send(builder.build(),
+                    HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            stats.error(label);
+            throw e;
+        }
+        long time = System.nanoTime() - start;
+        if (response.statusCode() != 200) {
+            stats.error(label);
+            throw new IOException("Request for " + label + " failed with "
+                    + response.statusCode());
+        }
+        stats.record(label, time);
+        List<String> cookies = response.headers().allValues("Set-Cookie");
+        for (String cookie : cookies) {
+            if (cookie.startsWith("JSESSIONID=")) {
+                sessionCookie = cookie.substring(0, cookie.indexOf(';') > 0
+                        ? cookie.indexOf(';')
+                        : cookie.length());
+            }
+        }
+        return response.body();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private class PushListener implements WebSocket.Listener {
+
+        private final String label;
+        private final StringBuilder message = new StringBuilder();
+
+        private PushListener(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket,
+                CharSequence data, boolean last) {
+            message.append(data);
+            if (last) {
+                long now = System.currentTimeMillis();
+                Matcher timestamp = TIMESTAMP.matcher(message);
+                while (timestamp.find()) {
+                    long delay = now - Long.parseLong(timestamp.group(1));
+                    stats.record(label, TimeUnit.MILLISECONDS.toNanos(delay));
+                }
+                Matcher sync = SYNC_ID.matcher(message);
+                while (sync.find()) {
+                    syncId = Math.max(syncId, Integer.parseInt(sync.group(1)));
+                }
+                message.setLength(0);
+            }
+            webSocket.request(1);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.test.scalability.client;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the latencies of the requests made by {@link FlowClient}s, grouped
+ * by a label, and computes throughput and percentiles from them.
+ */
+public class LatencyStats {
+
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+
+    /**
+     * Records a successful request.
+     *
+     * @param label
+     *            the label of the request
+     * @param nanos
+     *            the time the request took in nanoseconds
+     */
+    public void record(String label, long nanos) {
+        getRecorder(label).record(nanos);
+    }
+
+    /**
+     * Records a failed request.
+     *
+     * @param label
+     *            the label of the request
+     */
+    public void error(String label) {
+        getRecorder(label).errors.increment();
+    }
+
+    /**
+     * Computes the results of the recorded requests.
+     *
+     * @param durationNanos
+     *            the duration of the test run, used for computing the
+     *            throughput
+     * @return the results by label, in label order
+     */
+    public Map<String, Result> getResults(long durationNanos) {
+        Map<String, Result> results = new TreeMap<>();
+        recorders.forEach((label, recorder) -> results.put(label,
+                recorder.getResult(durationNanos)));
+        return results;
+    }
+
+    private Recorder getRecorder(String label) {
+        return recorders.computeIfAbsent(label, key -> new Recorder());
+    }
+
+    /**
+     * Latency and throughput of the requests with one label. The times are in
+     * milliseconds.
+     */
+    public static class Result {
+        private final long count;
+        private final long errors;
+        private final double throughput;
+        private final double mean;
+        private final double median;
+        private final double p99;
+        private final double max;
+
+        private Result(long[] samples, long errors, long durationNanos) {
+            count = samples.length;
+            this.errors = errors;
+            throughput = count * (double) TimeUnit.SECONDS.toNanos(1)
+                    / durationNanos;
+            mean = toMillis(Arrays.stream(samples).average().orElse(0));
+            median = toMillis(percentile(samples, 50));
+            p99 = toMillis(percentile(samples, 99));
+            max = toMillis(count == 0 ? 0 : samples[samples.length - 1]);
+        }
+
+        private static long percentile(long[] sorted, int percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length)
+                    - 1;
+            return sorted[Math.max(0, index)];
+        }
+
+        private static double toMillis(double nanos) {
+            return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        /**
+         * Gets the number of successful requests per second.
+         *
+         * @return the throughput
+         */
+        public double getThroughput() {
+            return throughput;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+
+        public double getMedian() {
+            return median;
+        }
+
+        public double getP99() {
+            return p99;
+        }
+
+        public double getMax() {
+            return max;
+        }
+    }
+
+    private static class Recorder {
+        private final LongAdder errors = new LongAdder();
+        private long[] samples = new long[1024];
+        private int size;
+
+        private synchronized void record(long nanos) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = nanos;
+        }
+
+        private synchronized Result getResult(long durationNanos) {
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            return new Result(sorted, errors.sum(), durationNanos);
+        }
+    }
+}
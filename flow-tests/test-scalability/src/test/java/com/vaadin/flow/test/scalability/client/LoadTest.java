@@ -0,0 +1,217 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.test.scalability.client;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.vaadin.flow.test.scalability.client.LatencyStats.Result;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
+/**
+ * Runs a load test against a running scalability test application with
+ * simulated users that use {@link FlowClient} and reports the throughput,
+ * latencies and heap usage per session.
+ * <p>
+ * The test is configured with system properties:
+ * <ul>
+ * <li>{@code scalability.url}: the URL of the application, by default
+ * {@code http://localhost:8888/}
+ * <li>{@code scalability.users}: the number of simulated users, by default
+ * {@code 200}
+ * <li>{@code scalability.rampUp}: the number of seconds over which the users
+ * are started, by default {@code 10}
+ * <li>{@code scalability.duration}: the number of seconds to run the test
+ * after the ramp up, by default {@code 60}
+ * <li>{@code scalability.thinkTime}: the number of milliseconds a user pauses
+ * between actions, by default {@code 500}
+ * <li>{@code scalability.scenarios}: a comma separated list of the
+ * {@link Scenario scenarios} the users are divided between, by default all
+ * <li>{@code scalability.report}: the file to write the results to as JSON,
+ * by default {@code target/scalability-report.json}
+ * </ul>
+ * The application should run in production mode in a JVM of its own, for
+ * example with {@code mvn jetty:run-war}, so that the heap usage only
+ * includes the sessions of the test.
+ */
+public class LoadTest {
+
+    private final String baseUrl = System.getProperty("scalability.url",
+            "http://localhost:8888/");
+    private final int users = Integer.getInteger("scalability.users", 200);
+    private final int rampUp = Integer.getInteger("scalability.rampUp", 10);
+    private final int duration = Integer.getInteger("scalability.duration",
+            60);
+    private final long thinkTime = Long.getLong("scalability.thinkTime", 500);
+    private final Path report = Paths.get(System.getProperty(
+            "scalability.report", "target/scalability-report.json"));
+    private final List<Scenario> scenarios = parseScenarios(System
+            .getProperty("scalability.scenarios", "grid,form,dashboard,"
+                    + "navigation"));
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10)).build();
+    private final LatencyStats stats = new LatencyStats();
+    private final AtomicInteger failedUsers = new AtomicInteger();
+
+    private volatile boolean running = true;
+
+    public static void main(String[] args) throws Exception {
+        new LoadTest().run();
+    }
+
+    private void run() throws Exception {
+        JsonObject before = getServerStats();
+        System.out.printf("Starting %d users with scenarios %s against %s%n",
+                users, scenarios, baseUrl);
+
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        long start = System.nanoTime();
+        long rampUpDelay = TimeUnit.SECONDS.toMillis(rampUp) / users;
+        for (int i = 0; i < users; i++) {
+            Scenario scenario = scenarios.get(i % scenarios.size());
+            executor.execute(() -> runUser(scenario));
+            Thread.sleep(rampUpDelay);
+        }
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(duration));
+        long measured = System.nanoTime() - start;
+        running = false;
+
+        // Measure while the sessions are still alive
+        JsonObject after = getServerStats();
+
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        report(stats.getResults(measured), before, after);
+    }
+
+    private void runUser(Scenario scenario) {
+        FlowClient client = new FlowClient(http, baseUrl, stats, thinkTime);
+        try {
+            scenario.open(client);
+            while (running) {
+                scenario.iterate(client);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            if (failedUsers.getAndIncrement() == 0) {
+                e.printStackTrace();
+            }
+        } finally {
+            client.closePush();
+        }
+    }
+
+    private JsonObject getServerStats()
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "server-stats"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        return Json.parse(response.body());
+    }
+
+    private void report(Map<String, Result> results, JsonObject before,
+            JsonObject after) throws IOException {
+        JsonObject json = Json.createObject();
+        json.put("users", users);
+        json.put("failedUsers", failedUsers.get());
+        json.put("durationSeconds", duration);
+        json.put("thinkTimeMillis", thinkTime);
+
+        System.out.println();
+        System.out.printf("%-22s %9s %7s %9s %9s %9s %9s %9s%n", "Request",
+                "Count", "Errors", "Req/s", "Mean ms", "Median ms", "p99 ms",
+                "Max ms");
+        JsonObject requests = Json.createObject();
+        double totalThroughput = 0;
+        for (Map.Entry<String, Result> entry : results.entrySet()) {
+            Result result = entry.getValue();
+            System.out.printf(Locale.ENGLISH,
+                    "%-22s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), result.getCount(), result.getErrors(),
+                    result.getThroughput(), result.getMean(),
+                    result.getMedian(), result.getP99(), result.getMax());
+            totalThroughput += result.getThroughput();
+
+            JsonObject resultJson = Json.createObject();
+            resultJson.put("count", result.getCount());
+            resultJson.put("errors", result.getErrors());
+            resultJson.put("throughput", result.getThroughput());
+            resultJson.put("mean", result.getMean());
+            resultJson.put("median", result.getMedian());
+            resultJson.put("p99", result.getP99());
+            resultJson.put("max", result.getMax());
+            requests.put(entry.getKey(), resultJson);
+        }
+        json.put("requests", requests);
+        json.put("throughput", totalThroughput);
+
+        double sessions = after.getNumber("sessions")
+                - before.getNumber("sessions");
+        double heap = after.getNumber("heapUsed")
+                - before.getNumber("heapUsed");
+        json.put("sessions", sessions);
+        json.put("heapBytesPerSession", sessions > 0 ? heap / sessions : 0);
+
+        System.out.printf(Locale.ENGLISH, "%nTotal throughput: %.1f req/s%n",
+                totalThroughput);
+        System.out.printf(Locale.ENGLISH,
+                "Sessions: %.0f, heap per session: %.1f kB%n", sessions,
+                sessions > 0 ? heap / sessions / 1024 : 0);
+        if (failedUsers.get() > 0) {
+            System.out.printf("Failed users: %d%n", failedUsers.get());
+        }
+
+        if (report.getParent() != null) {
+            Files.createDirectories(report.getParent());
+        }
+        Files.write(report, json.toJson().getBytes(StandardCharsets.UTF_8));
+        System.out.println("Report written to " + report.toAbsolutePath());
+    }
+
+    private static List<Scenario> parseScenarios(String names) {
+        List<Scenario> list = new ArrayList<>();
+        for (String name : names.split(",")) {
+            if (!name.trim().isEmpty()) {
+                list.add(Scenario
+                        .valueOf(name.trim().toUpperCase(Locale.ENGLISH)));
+            }
+        }
+        return list;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.test.scalability.client;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * The user scenarios of the load test. A simulated user opens the view of its
+ * scenario once and then runs one iteration of the scenario after the other
+ * until the test ends, so that every user keeps one session with one UI.
+ */
+public enum Scenario {
+
+    /**
+     * Scrolls page by page through a large lazily loaded data set.
+     */
+    GRID("grid") {
+        @Override
+        public void iterate(FlowClient client)
+                throws IOException, InterruptedException {
+            for (int i = 1; i <= 5; i++) {
+                client.think();
+                client.click("next-page", "grid scroll");
+            }
+            client.think();
+            client.click("jump", "grid jump");
+        }
+    },
+
+    /**
+     * Fills in and saves a form with validated and converted fields.
+     */
+    FORM("form") {
+        @Override
+        public void iterate(FlowClient client)
+                throws IOException, InterruptedException {
+            int i = (int) (Math.random() * 100);
+            client.think();
+            client.setValue("first-name", "First" + i, "form edit");
+            client.setValue("last-name", "Last" + i, "form edit");
+            client.setValue("email", "user" + i + "@example.com", "form edit");
+            client.setValue("age", String.valueOf(i), "form edit");
+            client.think();
+            client.click("save", "form save");
+        }
+    },
+
+    /**
+     * Watches a dashboard that the server updates through push.
+     */
+    DASHBOARD("dashboard") {
+        @Override
+        public void open(FlowClient client)
+                throws IOException, InterruptedException {
+            super.open(client);
+            client.connectPush("dashboard push");
+        }
+
+        @Override
+        public void iterate(FlowClient client) throws InterruptedException {
+            // Push latencies are recorded as the updates arrive
+            Thread.sleep(1000);
+        }
+    },
+
+    /**
+     * Navigates between routes that each build a new component tree.
+     */
+    NAVIGATION("nav/0") {
+        @Override
+        public void iterate(FlowClient client)
+                throws IOException, InterruptedException {
+            for (int page = 0; page < 10; page++) {
+                client.think();
+                client.navigate("nav/" + page, "navigation navigate");
+            }
+        }
+    };
+
+    private final String route;
+
+    Scenario(String route) {
+        this.route = route;
+    }
+
+    /**
+     * Opens the view of the scenario.
+     *
+     * @param client
+     *            the client of the simulated user
+     * @throws IOException
+     *             if a request fails
+     * @throws InterruptedException
+     *             if the thread is interrupted
+     */
+    public void open(FlowClient client)
+            throws IOException, InterruptedException {
+        client.open(route, name().toLowerCase(Locale.ENGLISH) + " open");
+    }
+
+    /**
+     * Runs one iteration of the scenario in the opened view.
+     *
+     * @param client
+     *            the client of the simulated user
+     * @throws IOException
+     *             if a request fails
+     * @throws InterruptedException
+     *             if the thread is interrupted
+     */
+    public abstract void iterate(FlowClient client)
+            throws IOException, InterruptedException;
+}
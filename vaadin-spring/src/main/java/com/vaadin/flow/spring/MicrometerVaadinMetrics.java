@@ -0,0 +1,166 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.spring;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.vaadin.flow.server.RequestHandler;
+import com.vaadin.flow.server.VaadinMetrics;
+import com.vaadin.flow.server.VaadinService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Reports the measurements of Vaadin to a Micrometer {@link MeterRegistry}.
+ * <p>
+ * All meters are named with the {@code vaadin.} prefix. Request timers are
+ * tagged with the simple class name of the request handler and RPC counters
+ * with the invocation type.
+ * <p>
+ * The meters are not serializable. A deserialized instance is replaced with
+ * the metrics of the current service, or with a no-op implementation if there
+ * is no current service.
+ *
+ * @author Vaadin Ltd
+ */
+public class MicrometerVaadinMetrics implements VaadinMetrics {
+
+    private final transient MeterRegistry registry;
+
+    private final transient Map<Class<?>, Timer> requestTimers = new ConcurrentHashMap<>();
+    private final transient Map<String, Counter> rpcCounters = new ConcurrentHashMap<>();
+
+    private final transient Timer lockWait;
+    private final transient Timer lockHold;
+    private final transient DistributionSummary accessQueueSize;
+    private final transient Timer uidlCreate;
+    private final transient DistributionSummary uidlChanges;
+    private final transient DistributionSummary responseSize;
+    private final transient DistributionSummary pushSize;
+    private final transient Timer push;
+    private final transient Timer dataFetch;
+    private final transient DistributionSummary dataFetchItems;
+
+    /**
+     * Creates metrics reporting to the given registry.
+     *
+     * @param registry
+     *            the registry to register the meters to, not {@code null}
+     */
+    public MicrometerVaadinMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        lockWait = Timer.builder("vaadin.session.lock.wait")
+                .description("Time spent waiting for the session lock")
+                .register(registry);
+        lockHold = Timer.builder("vaadin.session.lock.hold")
+                .description("Time the session lock was held")
+                .register(registry);
+        accessQueueSize = DistributionSummary
+                .builder("vaadin.session.access.queue")
+                .description("Pending access tasks run at once")
+                .register(registry);
+        uidlCreate = Timer.builder("vaadin.uidl.create")
+                .description("Time spent collecting changes for the client")
+                .register(registry);
+        uidlChanges = DistributionSummary.builder("vaadin.uidl.changes")
+                .description("State tree changes per message")
+                .register(registry);
+        responseSize = DistributionSummary.builder("vaadin.uidl.size")
+                .baseUnit("characters").tag("transport", "response")
+                .register(registry);
+        pushSize = DistributionSummary.builder("vaadin.uidl.size")
+                .baseUnit("characters").tag("transport", "push")
+                .register(registry);
+        push = Timer.builder("vaadin.push")
+                .description("Time spent creating and sending push messages")
+                .register(registry);
+        dataFetch = Timer.builder("vaadin.data.fetch")
+                .description("Time spent fetching items from data providers")
+                .register(registry);
+        dataFetchItems = DistributionSummary.builder("vaadin.data.fetch.items")
+                .description("Items fetched from data providers at once")
+                .register(registry);
+    }
+
+    @Override
+    public void requestHandled(RequestHandler handler, long nanos) {
+        requestTimers.computeIfAbsent(handler.getClass(),
+                type -> Timer.builder("vaadin.request")
+                        .tag("handler", getHandlerName(type))
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String getHandlerName(Class<?> type) {
+        // Anonymous classes and lambdas have no simple name
+        String name = type.getSimpleName();
+        return name.isEmpty() ? type.getName() : name;
+    }
+
+    @Override
+    public void sessionLocked(long waitNanos) {
+        lockWait.record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void sessionUnlocked(long holdNanos) {
+        lockHold.record(holdNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void accessTasksRun(int queueSize) {
+        accessQueueSize.record(queueSize);
+    }
+
+    @Override
+    public void uidlCreated(int changeCount, long nanos) {
+        uidlChanges.record(changeCount);
+        uidlCreate.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void uidlSent(int length, boolean push) {
+        (push ? pushSize : responseSize).record(length);
+    }
+
+    @Override
+    public void pushed(long nanos) {
+        push.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void rpcInvoked(String type) {
+        rpcCounters.computeIfAbsent(type,
+                key -> Counter.builder("vaadin.rpc").tag("type", key)
+                        .register(registry))
+                .increment();
+    }
+
+    @Override
+    public void dataFetched(int itemCount, long nanos) {
+        dataFetchItems.record(itemCount);
+        dataFetch.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Object readResolve() {
+        return VaadinMetrics.get(VaadinService.getCurrent());
+    }
+}
@@ -16,12 +16,14 @@
 package com.vaadin.flow.spring;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Quick prefix lookup for package inclusion and exclusion lists.
+ * <p>
+ * The children of a node are kept in sorted arrays to avoid boxing the
+ * characters and hashing them on every lookup.
  */
 class PrefixTree implements Serializable {
 
@@ -48,7 +50,7 @@ class PrefixTree implements Serializable {
             if (node.terminal) {
                 return true;
             } else if (sidx < slen) {
-                node = node.children.get(s.charAt(sidx++));
+                node = node.getChild(s.charAt(sidx++));
             } else {
                 return false;
             }
@@ -57,16 +59,42 @@ class PrefixTree implements Serializable {
     }
 
     static class Node implements Serializable {
-        private final Map<Character, Node> children = new HashMap<>();
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
         private boolean terminal = true;
 
         void addPrefix(String prefix) {
             terminal = false;
             char ch = prefix.charAt(0);
-            children.putIfAbsent(ch, new Node());
+            Node child = getChild(ch);
+            if (child == null) {
+                child = new Node();
+                int index = -Arrays.binarySearch(keys, ch) - 1;
+                keys = insert(keys, index, ch);
+                Node[] newChildren = new Node[children.length + 1];
+                System.arraycopy(children, 0, newChildren, 0, index);
+                newChildren[index] = child;
+                System.arraycopy(children, index, newChildren, index + 1,
+                        children.length - index);
+                children = newChildren;
+            }
             if (prefix.length() > 1) {
-                children.get(ch).addPrefix(prefix.substring(1));
+                child.addPrefix(prefix.substring(1));
             }
         }
+
+        Node getChild(char ch) {
+            int index = Arrays.binarySearch(keys, ch);
+            return index < 0 ? null : children[index];
+        }
+
+        private static char[] insert(char[] array, int index, char ch) {
+            char[] result = new char[array.length + 1];
+            System.arraycopy(array, 0, result, 0, index);
+            result[index] = ch;
+            System.arraycopy(array, index, result, index + 1,
+                    array.length - index);
+            return result;
+        }
     }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.spring;
+
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.vaadin.flow.server.VaadinMetrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Spring boot auto-configuration which reports the measurements of Vaadin to
+ * the Micrometer registry of the application, if there is one.
+ *
+ * @author Vaadin Ltd
+ */
+@Configuration
+@ConditionalOnClass(MeterRegistry.class)
+@AutoConfigureAfter(name = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+public class VaadinMetricsAutoConfiguration {
+
+    /**
+     * Creates metrics reporting to the meter registry of the application.
+     *
+     * @param registry
+     *            the meter registry
+     * @return the Vaadin metrics, which are found by the Vaadin lookup
+     */
+    @Bean
+    @ConditionalOnBean(MeterRegistry.class)
+    @ConditionalOnMissingBean(VaadinMetrics.class)
+    public VaadinMetrics vaadinMetrics(MeterRegistry registry) {
+        return new MicrometerVaadinMetrics(registry);
+    }
+}
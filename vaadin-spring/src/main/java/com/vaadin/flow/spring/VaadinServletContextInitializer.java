@@ -24,6 +24,7 @@ import javax.servlet.annotation.HandlesTypes;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -35,6 +36,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
@@ -45,7 +47,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinition;
-import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
 import org.springframework.boot.web.servlet.ServletContextInitializer;
 import org.springframework.context.ApplicationContext;
@@ -54,8 +55,13 @@ import org.springframework.core.env.Environment;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
 import org.springframework.core.type.filter.AnnotationTypeFilter;
 import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.core.type.filter.TypeFilter;
+import org.springframework.util.ClassUtils;
 
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.WebComponentExporter;
@@ -75,6 +81,7 @@ import com.vaadin.flow.server.startup.AbstractRouteRegistryInitializer;
 import com.vaadin.flow.server.startup.AnnotationValidator;
 import com.vaadin.flow.server.startup.ApplicationConfiguration;
 import com.vaadin.flow.server.startup.ApplicationRouteRegistry;
+import com.vaadin.flow.server.startup.ClassIndex;
 import com.vaadin.flow.server.startup.ClassLoaderAwareServletContainerInitializer;
 import com.vaadin.flow.server.startup.LookupServletContainerInitializer;
 import com.vaadin.flow.server.startup.ServletDeployer;
@@ -104,6 +111,7 @@ public class VaadinServletContextInitializer
 
     private ApplicationContext appContext;
     private ResourceLoader customLoader;
+    private final ScanCache scanCache = new ScanCache();
 
     /**
      * Packages that should be excluded when scanning all packages.
@@ -146,20 +154,27 @@ public class VaadinServletContextInitializer
     /**
      * Class path scanner that reuses infrastructure from Spring while also
      * considering abstract types.
+     * <p>
+     * The scanner accepts all classes and keeps their metadata so that a
+     * single traversal of a package can be shared by all listeners, see
+     * {@link ScanCache}.
      */
     private static class ClassPathScanner
             extends ClassPathScanningCandidateComponentProvider {
+
+        private final Map<String, MetadataReader> readers = new HashMap<>();
+
         private ClassPathScanner(Environment environment,
                 ResourceLoader resourceLoader,
-                Collection<Class<? extends Annotation>> annotations,
-                Collection<Class<?>> types) {
+                MetadataReaderFactory metadataReaderFactory) {
             super(false, environment);
             setResourceLoader(resourceLoader);
+            setMetadataReaderFactory(metadataReaderFactory);
 
-            annotations.stream().map(AnnotationTypeFilter::new)
-                    .forEach(this::addIncludeFilter);
-            types.stream().map(AssignableTypeFilter::new)
-                    .forEach(this::addIncludeFilter);
+            addIncludeFilter((reader, factory) -> {
+                readers.put(reader.getClassMetadata().getClassName(), reader);
+                return true;
+            });
         }
 
         @Override
@@ -168,6 +183,103 @@ public class VaadinServletContextInitializer
             return super.isCandidateComponent(beanDefinition)
                     || beanDefinition.getMetadata().isAbstract();
         }
+
+        private List<MetadataReader> scan(String basePackage) {
+            readers.clear();
+            List<MetadataReader> candidates = findCandidateComponents(
+                    basePackage).stream().map(BeanDefinition::getBeanClassName)
+                    .map(readers::get).collect(Collectors.toList());
+            readers.clear();
+            return candidates;
+        }
+    }
+
+    /**
+     * Class metadata collected during startup, shared by all the listeners.
+     * <p>
+     * Every package is traversed and its class files are parsed only once per
+     * resource loader; the listeners then only match the cached metadata
+     * against the annotations and super types they are interested in. The
+     * cache is cleared once all listeners have been run.
+     * <p>
+     * A production build contains a {@link ClassIndex} written by the build
+     * plugin. When present, it is used instead of traversing the packages, but
+     * only in production mode: an index left over from an earlier production
+     * build would not list the classes added since.
+     */
+    private static class ScanCache implements Serializable {
+
+        // Only used during startup, so never serialized with content
+        private transient Map<ResourceLoader, CachingMetadataReaderFactory> factories = new HashMap<>();
+        private transient Map<ResourceLoader, Map<String, List<MetadataReader>>> candidates = new HashMap<>();
+        private transient Optional<ClassIndex> classIndex;
+        // Not known until the lookup has been initialized
+        private transient boolean productionMode;
+
+        private synchronized void setProductionMode(boolean productionMode) {
+            this.productionMode = productionMode;
+        }
+
+        private synchronized Optional<ClassIndex> getClassIndex(
+                ClassLoader classLoader) {
+            if (!productionMode) {
+                return Optional.empty();
+            }
+            if (classIndex == null) {
+                classIndex = ClassIndex.load(classLoader);
+                if (classIndex.isPresent()) {
+                    getLogger().debug(
+                            "Using {} instead of scanning the class path",
+                            ClassIndex.CLASS_INDEX_RESOURCE);
+                }
+            }
+            return classIndex;
+        }
+
+        private synchronized MetadataReaderFactory getMetadataReaderFactory(
+                ResourceLoader loader) {
+            if (factories == null) {
+                factories = new HashMap<>();
+            }
+            return factories.computeIfAbsent(loader,
+                    CachingMetadataReaderFactory::new);
+        }
+
+        private synchronized List<MetadataReader> getCandidates(
+                Environment environment, ResourceLoader loader,
+                String basePackage) {
+            if (candidates == null) {
+                candidates = new HashMap<>();
+            }
+            Map<String, List<MetadataReader>> packages = candidates
+                    .computeIfAbsent(loader, key -> new HashMap<>());
+            List<MetadataReader> result = packages.get(basePackage);
+            if (result == null) {
+                long start = System.nanoTime();
+                result = new ClassPathScanner(environment, loader,
+                        getMetadataReaderFactory(loader)).scan(basePackage);
+                packages.put(basePackage, result);
+                getLogger().debug("Scanning package '{}' took {} ms",
+                        basePackage, (System.nanoTime() - start) / 1000000);
+            }
+            return result;
+        }
+
+        private synchronized void clear() {
+            if (factories != null) {
+                /*
+                 * A factory created for a DefaultResourceLoader, such as the
+                 * application context, keeps its metadata readers in the
+                 * resource cache of the loader, which outlives this cache
+                 */
+                factories.values()
+                        .forEach(CachingMetadataReaderFactory::clearCache);
+            }
+            factories = null;
+            candidates = null;
+            classIndex = null;
+            productionMode = false;
+        }
     }
 
     /*
@@ -208,10 +320,31 @@ public class VaadinServletContextInitializer
     private static class CompositeServletContextListener
             implements ServletContextListener, Serializable {
         private final List<FailFastServletContextListener> listeners = new ArrayList<>();
+        private final ScanCache scanCache;
+
+        private CompositeServletContextListener(ScanCache scanCache) {
+            this.scanCache = scanCache;
+        }
 
         @Override
         public void contextInitialized(ServletContextEvent event) {
-            listeners.forEach(listener -> listener.contextInitialized(event));
+            long start = System.nanoTime();
+            List<String> timings = new ArrayList<>();
+            try {
+                for (FailFastServletContextListener listener : listeners) {
+                    scanCache.setProductionMode(isProductionMode(event));
+                    long listenerStart = System.nanoTime();
+                    listener.contextInitialized(event);
+                    timings.add(listener.getClass().getSimpleName() + ": "
+                            + (System.nanoTime() - listenerStart) / 1000000
+                            + " ms");
+                }
+            } finally {
+                scanCache.clear();
+            }
+            getLogger().info("Vaadin startup initialization took {} ms ({})",
+                    (System.nanoTime() - start) / 1000000,
+                    String.join(", ", timings));
         }
 
         @Override
@@ -223,6 +356,17 @@ public class VaadinServletContextInitializer
             listeners.add(listener);
         }
 
+        private static boolean isProductionMode(ServletContextEvent event) {
+            VaadinServletContext context = new VaadinServletContext(
+                    event.getServletContext());
+            if (context.getAttribute(Lookup.class) == null) {
+                return false;
+            }
+            ApplicationConfiguration config = ApplicationConfiguration
+                    .get(context);
+            return config != null && config.isProductionMode();
+        }
+
     }
 
     private class LookupInitializerListener
@@ -613,7 +757,8 @@ public class VaadinServletContextInitializer
 
     private CompositeServletContextListener createCompositeListener(
             VaadinServletContext context) {
-        CompositeServletContextListener compositeListener = new CompositeServletContextListener();
+        CompositeServletContextListener compositeListener = new CompositeServletContextListener(
+                scanCache);
 
         compositeListener.addListener(new LookupInitializerListener());
 
@@ -678,30 +823,71 @@ public class VaadinServletContextInitializer
                 Collections.emptySet(), Collections.singleton(type));
     }
 
+    // Package private for testing
+    void setProductionMode(boolean productionMode) {
+        scanCache.setProductionMode(productionMode);
+    }
+
     Stream<Class<?>> findByAnnotationOrSuperType(Collection<String> packages,
             ResourceLoader loader,
             Collection<Class<? extends Annotation>> annotations,
             Collection<Class<?>> types) {
-        ClassPathScanner scanner = new ClassPathScanner(
-                appContext.getEnvironment(), loader, annotations, types);
-        return packages.stream().map(scanner::findCandidateComponents)
-                .flatMap(Collection::stream).map(this::getBeanClass);
+        Optional<ClassIndex> index = scanCache
+                .getClassIndex(appContext.getClassLoader());
+        if (index.isPresent() && Stream
+                .concat(annotations.stream(), types.stream())
+                .allMatch(index.get()::contains)) {
+            return findInIndex(index.get(), packages,
+                    Stream.concat(annotations.stream(), types.stream()));
+        }
+        List<TypeFilter> filters = Stream.concat(
+                annotations.stream().map(AnnotationTypeFilter::new),
+                types.stream().map(AssignableTypeFilter::new))
+                .collect(Collectors.toList());
+        MetadataReaderFactory factory = scanCache
+                .getMetadataReaderFactory(loader);
+        return packages.stream()
+                .map(basePackage -> scanCache.getCandidates(
+                        appContext.getEnvironment(), loader, basePackage))
+                .flatMap(Collection::stream)
+                .filter(reader -> matches(reader, factory, filters))
+                .map(this::getBeanClass);
     }
 
-    private Class<?> getBeanClass(BeanDefinition beanDefinition) {
-        AbstractBeanDefinition definition = (AbstractBeanDefinition) beanDefinition;
-        Class<?> beanClass;
-        if (definition.hasBeanClass()) {
-            beanClass = definition.getBeanClass();
-        } else {
-            try {
-                beanClass = definition
-                        .resolveBeanClass(appContext.getClassLoader());
-            } catch (ClassNotFoundException e) {
-                throw new IllegalStateException(e);
+    private Stream<Class<?>> findInIndex(ClassIndex index,
+            Collection<String> packages, Stream<Class<?>> types) {
+        return types.map(index::getClassNames).flatMap(Collection::stream)
+                .distinct()
+                .filter(className -> packages.stream()
+                        .anyMatch(basePackage -> basePackage.isEmpty()
+                                || className.startsWith(basePackage + ".")))
+                .map(this::getBeanClass);
+    }
+
+    private static boolean matches(MetadataReader reader,
+            MetadataReaderFactory factory, List<TypeFilter> filters) {
+        try {
+            for (TypeFilter filter : filters) {
+                if (filter.match(reader, factory)) {
+                    return true;
+                }
             }
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Class<?> getBeanClass(MetadataReader reader) {
+        return getBeanClass(reader.getClassMetadata().getClassName());
+    }
+
+    private Class<?> getBeanClass(String className) {
+        try {
+            return ClassUtils.forName(className, appContext.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
         }
-        return beanClass;
     }
 
     private Collection<String> getRoutePackages() {
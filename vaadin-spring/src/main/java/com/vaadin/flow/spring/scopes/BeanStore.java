@@ -16,8 +16,8 @@
 package com.vaadin.flow.spring.scopes;
 
 import java.io.Serializable;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 import org.slf4j.Logger;
@@ -29,6 +29,14 @@ import com.vaadin.flow.server.VaadinSession;
 
 /**
  * Spring bean store class to keep scope objects.
+ * <p>
+ * Beans already in the store are returned without locking the session, so
+ * that resolving them from a thread which does not hold the session lock does
+ * not contend with request handling. Creating, removing and destroying beans
+ * is done while holding the session lock, since the bean factories and
+ * destruction callbacks may access the session. With per-UI locking, holding
+ * the lock of a UI of the session is enough, in which case the store itself is
+ * used to serialize the threads of different UIs.
  *
  * @author Vaadin Ltd
  *
@@ -40,9 +48,9 @@ class BeanStore implements Serializable {
 
     private final VaadinSession session;
 
-    private final Map<String, Object> objects = new HashMap<>();
+    private final Map<String, Object> objects = new ConcurrentHashMap<>();
 
-    private final Map<String, Runnable> destructionCallbacks = new HashMap<>();
+    private final Map<String, Runnable> destructionCallbacks = new ConcurrentHashMap<>();
 
     /**
      * Creates a new instance for the given {@code session}.
@@ -68,6 +76,10 @@ class BeanStore implements Serializable {
      * @see Scope#get(String, ObjectFactory)
      */
     Object get(String name, ObjectFactory<?> objectFactory) {
+        Object bean = objects.get(name);
+        if (bean != null) {
+            return bean;
+        }
         return execute(() -> doGet(name, objectFactory));
     }
 
@@ -102,8 +114,18 @@ class BeanStore implements Serializable {
         return session;
     }
 
+    /**
+     * Gets the number of beans in the store.
+     *
+     * @return the number of beans
+     */
+    int size() {
+        return objects.size();
+    }
+
     Void doDestroy() {
         assert session.hasLock();
+        LOGGER.debug("Destroying bean store with {} beans", objects.size());
         try {
             for (Runnable destructionCallback : destructionCallbacks.values()) {
                 try {
@@ -145,9 +167,13 @@ class BeanStore implements Serializable {
         objects.put(name, bean);
     }
 
-    private <T> T execute(Supplier<T> supplier) {
+    <T> T execute(Supplier<T> supplier) {
         if (session.hasLock()) {
-            return supplier.get();
+            // With per-UI locking, threads holding the locks of different UIs
+            // may use a session scoped store at the same time
+            synchronized (this) {
+                return supplier.get();
+            }
         } else {
             session.lock();
             try {
@@ -24,6 +24,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.ObjectFactory;
@@ -79,7 +80,7 @@ public class VaadinRouteScope extends AbstractScope implements UIInitListener {
         private RouteStoreWrapper(VaadinSession session) {
             assert session.hasLock();
             this.session = session;
-            routeStores = new HashMap<>();
+            routeStores = new ConcurrentHashMap<>();
             if (session instanceof SpringVaadinSession) {
                 sessionDestroyListenerRegistration = null;
                 ((SpringVaadinSession) session)
@@ -326,6 +327,13 @@ public class VaadinRouteScope extends AbstractScope implements UIInitListener {
             }
         }
 
+        @Override
+        Object get(String name, ObjectFactory<?> objectFactory) {
+            // The owner of the bean has to be checked against the active
+            // navigation chain, which requires the session lock
+            return execute(() -> doGet(name, objectFactory));
+        }
+
         @Override
         protected Object doGet(String name, ObjectFactory<?> objectFactory) {
             RouteScopeOwner owner = getContext().findAnnotationOnBean(name,
@@ -400,23 +408,44 @@ public class VaadinRouteScope extends AbstractScope implements UIInitListener {
                 listener);
     }
 
+    /**
+     * Gets the number of beans in the route scope of the given UI.
+     *
+     * @param ui
+     *            the UI to get the bean count for, not {@code null}
+     * @return the number of beans, {@code 0} if no bean has been created in the
+     *         route scope of the UI
+     */
+    public int getBeanCount(UI ui) {
+        RouteStoreWrapper wrapper = ui.getSession()
+                .getAttributeWithoutLock(RouteStoreWrapper.class);
+        BeanStore beanStore = wrapper == null ? null
+                : wrapper.routeStores.get(wrapper.getUIStoreKey(ui));
+        return beanStore == null ? 0 : beanStore.size();
+    }
+
     @Override
     protected BeanStore getBeanStore() {
         final VaadinSession session = getVaadinSession();
+        if (session.hasLock()) {
+            return createBeanStore(session);
+        }
         session.lock();
         try {
-            BeanStore store = getBeanStoreIfExists(session);
-            if (store == null) {
-                RouteStoreWrapper wrapper = new RouteStoreWrapper(session);
-                session.setAttribute(RouteStoreWrapper.class, wrapper);
-                store = wrapper.getBeanStore(getUI());
-            }
-            return store;
+            return createBeanStore(session);
         } finally {
             session.unlock();
         }
     }
 
+    private RouteBeanStore createBeanStore(VaadinSession session) {
+        // With per-UI locking, threads holding the locks of different UIs may
+        // get here at the same time
+        RouteStoreWrapper wrapper = session.computeAttributeIfAbsent(
+                RouteStoreWrapper.class, () -> new RouteStoreWrapper(session));
+        return wrapper.getBeanStore(getUI());
+    }
+
     private RouteBeanStore getBeanStoreIfExists(VaadinSession session) {
         assert session.hasLock();
         RouteStoreWrapper wrapper = session
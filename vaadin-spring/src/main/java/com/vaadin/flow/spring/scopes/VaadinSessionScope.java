@@ -81,20 +81,44 @@ public class VaadinSessionScope extends AbstractScope {
         return getVaadinSession().getSession().getId();
     }
 
+    /**
+     * Gets the number of beans in the session scope of the given session.
+     *
+     * @param session
+     *            the session to get the bean count for, not {@code null}
+     * @return the number of beans, {@code 0} if no bean has been created in the
+     *         scope of the session
+     */
+    public int getBeanCount(VaadinSession session) {
+        BeanStore beanStore = session.getAttributeWithoutLock(BeanStore.class);
+        return beanStore == null ? 0 : beanStore.size();
+    }
+
     @Override
     protected BeanStore getBeanStore() {
         final VaadinSession session = getVaadinSession();
+        // The store is created once per session, so an existing one can be
+        // used without locking the session
+        BeanStore beanStore = session.getAttributeWithoutLock(BeanStore.class);
+        if (beanStore != null) {
+            return beanStore;
+        }
+        if (session.hasLock()) {
+            return createBeanStore(session);
+        }
         session.lock();
         try {
-            BeanStore beanStore = session.getAttribute(BeanStore.class);
-            if (beanStore == null) {
-                beanStore = new SessionBeanStore(session);
-                session.setAttribute(BeanStore.class, beanStore);
-            }
-            return beanStore;
+            return createBeanStore(session);
         } finally {
             session.unlock();
         }
     }
 
+    private static BeanStore createBeanStore(VaadinSession session) {
+        // With per-UI locking, threads holding the locks of different UIs may
+        // get here at the same time
+        return session.computeAttributeIfAbsent(BeanStore.class,
+                () -> new SessionBeanStore(session));
+    }
+
 }
@@ -15,8 +15,8 @@
  */
 package com.vaadin.flow.spring.scopes;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
@@ -54,7 +54,7 @@ public class VaadinUIScope extends AbstractScope {
 
         private UIStoreWrapper(VaadinSession session) {
             assert session.hasLock();
-            uiStores = new HashMap<>();
+            uiStores = new ConcurrentHashMap<>();
             this.session = session;
             if (session instanceof SpringVaadinSession) {
                 sessionDestroyListenerRegistration = null;
@@ -76,6 +76,10 @@ public class VaadinUIScope extends AbstractScope {
             }
         }
 
+        BeanStore getBeanStoreIfExists(UI ui) {
+            return uiStores.get(ui.getUIId());
+        }
+
         BeanStore getBeanStore(UI ui) {
             BeanStore beanStore = uiStores.get(ui.getUIId());
             if (beanStore == null) {
@@ -116,22 +120,55 @@ public class VaadinUIScope extends AbstractScope {
                 + getUI().getUIId();
     }
 
+    /**
+     * Gets the number of beans in the UI scope of the given UI.
+     *
+     * @param ui
+     *            the UI to get the bean count for, not {@code null}
+     * @return the number of beans, {@code 0} if no bean has been created in the
+     *         scope of the UI
+     */
+    public int getBeanCount(UI ui) {
+        UIStoreWrapper wrapper = ui.getSession()
+                .getAttributeWithoutLock(UIStoreWrapper.class);
+        BeanStore beanStore = wrapper == null ? null
+                : wrapper.getBeanStoreIfExists(ui);
+        return beanStore == null ? 0 : beanStore.size();
+    }
+
     @Override
     protected BeanStore getBeanStore() {
         final VaadinSession session = getVaadinSession();
+        // The stores are created once per UI, so an existing one can be used
+        // without locking the session
+        UIStoreWrapper existingWrapper = session
+                .getAttributeWithoutLock(UIStoreWrapper.class);
+        if (existingWrapper != null) {
+            BeanStore beanStore = existingWrapper
+                    .getBeanStoreIfExists(getUI());
+            if (beanStore != null) {
+                return beanStore;
+            }
+        }
+        if (session.hasLock()) {
+            return createBeanStore(session);
+        }
         session.lock();
         try {
-            UIStoreWrapper wrapper = session.getAttribute(UIStoreWrapper.class);
-            if (wrapper == null) {
-                wrapper = new UIStoreWrapper(session);
-                session.setAttribute(UIStoreWrapper.class, wrapper);
-            }
-            return wrapper.getBeanStore(getUI());
+            return createBeanStore(session);
         } finally {
             session.unlock();
         }
     }
 
+    private BeanStore createBeanStore(VaadinSession session) {
+        // With per-UI locking, threads holding the locks of different UIs may
+        // get here at the same time
+        UIStoreWrapper wrapper = session.computeAttributeIfAbsent(
+                UIStoreWrapper.class, () -> new UIStoreWrapper(session));
+        return wrapper.getBeanStore(getUI());
+    }
+
     private UI getUI() {
         UI ui = UI.getCurrent();
         if (ui == null) {
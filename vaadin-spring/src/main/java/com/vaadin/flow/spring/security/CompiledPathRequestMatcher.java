@@ -0,0 +1,167 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.spring.security;
+
+import javax.servlet.http.HttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+/**
+ * Request matcher for a fixed set of Ant style path patterns, compiled into a
+ * character trie when the matcher is created.
+ * <p>
+ * Patterns without wildcards match the exact path and patterns ending with
+ * {@literal /**} without other wildcards match the path and everything below
+ * it, in the same way as {@link AntPathRequestMatcher} does. The request path
+ * is computed once and matched against all these patterns with a single walk
+ * of the trie, instead of going through an {@link AntPathRequestMatcher} for
+ * every pattern. Any other patterns are matched using
+ * {@link AntPathRequestMatcher}.
+ */
+final class CompiledPathRequestMatcher implements RequestMatcher {
+
+    private static final String MATCH_SUBPATHS = "/**";
+
+    private final Node root = new Node();
+
+    private final List<RequestMatcher> otherMatchers = new ArrayList<>();
+
+    private final String description;
+
+    /**
+     * Creates a matcher for the given patterns.
+     *
+     * @param patterns
+     *            the Ant style path patterns to match, not {@code null}
+     */
+    CompiledPathRequestMatcher(Collection<String> patterns) {
+        for (String pattern : patterns) {
+            if (isSubpathPattern(pattern)) {
+                int end = pattern.length() - MATCH_SUBPATHS.length();
+                root.add(pattern, end).subpath = true;
+            } else if (isExactPattern(pattern)) {
+                root.add(pattern, pattern.length()).exact = true;
+            } else {
+                otherMatchers.add(new AntPathRequestMatcher(pattern));
+            }
+        }
+        description = "CompiledPathRequestMatcher " + patterns;
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        String path = getRequestPath(request);
+        if (root.matches(path)) {
+            return true;
+        }
+        for (RequestMatcher matcher : otherMatchers) {
+            if (matcher.matches(request)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+
+    private static boolean isExactPattern(String pattern) {
+        return !pattern.isEmpty() && pattern.indexOf('*') == -1
+                && pattern.indexOf('?') == -1 && pattern.indexOf('{') == -1
+                && pattern.indexOf('}') == -1;
+    }
+
+    private static boolean isSubpathPattern(String pattern) {
+        return pattern.endsWith(MATCH_SUBPATHS) && isExactPattern(pattern
+                .substring(0, pattern.length() - MATCH_SUBPATHS.length()));
+    }
+
+    /**
+     * Gets the path within the application the same way as
+     * {@link AntPathRequestMatcher}.
+     */
+    private static String getRequestPath(HttpServletRequest request) {
+        String url = request.getServletPath();
+        String pathInfo = request.getPathInfo();
+        if (pathInfo != null) {
+            url = url != null && !url.isEmpty() ? url + pathInfo : pathInfo;
+        }
+        return url == null ? "" : url;
+    }
+
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private boolean exact;
+        private boolean subpath;
+
+        private Node add(String pattern, int end) {
+            Node node = this;
+            for (int i = 0; i < end; i++) {
+                node = node.getOrCreateChild(pattern.charAt(i));
+            }
+            return node;
+        }
+
+        private Node getOrCreateChild(char ch) {
+            int index = Arrays.binarySearch(keys, ch);
+            if (index >= 0) {
+                return children[index];
+            }
+            index = -index - 1;
+            Node child = new Node();
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newKeys[index] = ch;
+            newChildren[index] = child;
+            System.arraycopy(keys, index, newKeys, index + 1,
+                    keys.length - index);
+            System.arraycopy(children, index, newChildren, index + 1,
+                    children.length - index);
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        private boolean matches(String path) {
+            Node node = this;
+            int length = path.length();
+            for (int i = 0;; i++) {
+                if (node.subpath && (i == length || path.charAt(i) == '/')) {
+                    return true;
+                }
+                if (i == length) {
+                    return node.exact;
+                }
+                int index = Arrays.binarySearch(node.keys, path.charAt(i));
+                if (index < 0) {
+                    return false;
+                }
+                node = node.children[index];
+            }
+        }
+    }
+}
@@ -45,9 +45,7 @@ import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.LoginUrlAuthenticationEntryPoint;
 import org.springframework.security.web.csrf.CsrfException;
 import org.springframework.security.web.savedrequest.RequestCache;
-import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.security.web.util.matcher.AnyRequestMatcher;
-import org.springframework.security.web.util.matcher.OrRequestMatcher;
 import org.springframework.security.web.util.matcher.RequestMatcher;
 
 import com.vaadin.flow.component.Component;
@@ -188,8 +186,8 @@ public abstract class VaadinWebSecurityConfigurerAdapter
             // /VAADIN/ in the context root
             paths.add("/VAADIN/**");
         }
-        return new OrRequestMatcher(paths.build()
-                .map(AntPathRequestMatcher::new).collect(Collectors.toList()));
+        return new CompiledPathRequestMatcher(
+                paths.build().collect(Collectors.toList()));
     }
 
     /**
@@ -217,10 +215,10 @@ public abstract class VaadinWebSecurityConfigurerAdapter
             String urlMapping) {
         Objects.requireNonNull(urlMapping,
                 "Vaadin servlet url mapping is required");
-        return new OrRequestMatcher(Stream
+        return new CompiledPathRequestMatcher(Stream
                 .of(HandlerHelper.getPublicResources())
                 .map(path -> RequestUtil.applyUrlMapping(urlMapping, path))
-                .map(AntPathRequestMatcher::new).collect(Collectors.toList()));
+                .collect(Collectors.toList()));
     }
 
     /**
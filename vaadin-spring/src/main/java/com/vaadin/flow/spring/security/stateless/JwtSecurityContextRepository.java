@@ -17,8 +17,14 @@ package com.vaadin.flow.spring.security.stateless;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -53,14 +59,27 @@ import org.springframework.security.oauth2.server.resource.authentication.JwtGra
 import org.springframework.security.web.context.HttpRequestResponseHolder;
 import org.springframework.security.web.context.SaveContextOnUpdateOrErrorResponseWrapper;
 import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.web.util.WebUtils;
+
+import com.vaadin.flow.internal.MessageDigestUtil;
 
 /**
  * A {@link SecurityContextRepository} implementation that stores the
  * authentication using a JWT persisted in cookies.
+ * <p>
+ * Verified tokens are kept in a bounded cache for a short time, so that the
+ * signature of a token is not verified again for every request using it. A
+ * token loaded for a request is not re-issued when the request is done, unless
+ * the authentication has changed or the token is old enough to need its expiry
+ * extended.
  */
 class JwtSecurityContextRepository implements SecurityContextRepository {
     private static final String ROLES_CLAIM = "roles";
     private static final String ROLE_AUTHORITY_PREFIX = "ROLE_";
+    private static final int MAX_CACHED_JWTS = 1000;
+    private static final Duration CACHED_JWT_TTL = Duration.ofMinutes(1);
+    private static final Duration MAX_REISSUE_INTERVAL = Duration
+            .ofMinutes(1);
     private final Log logger = LogFactory.getLog(this.getClass());
     private final SerializedJwtSplitCookieRepository serializedJwtSplitCookieRepository;
     private final JwtAuthenticationConverter jwtAuthenticationConverter;
@@ -70,6 +89,15 @@ class JwtSecurityContextRepository implements SecurityContextRepository {
     private JWSAlgorithm jwsAlgorithm;
     private JwtDecoder jwtDecoder;
     private AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+    private final Map<String, CachedJwt> verifiedJwts = Collections
+            .synchronizedMap(new LinkedHashMap<String, CachedJwt>(16, 0.75f,
+                    true) {
+                @Override
+                protected boolean removeEldestEntry(
+                        Map.Entry<String, CachedJwt> eldest) {
+                    return size() > MAX_CACHED_JWTS;
+                }
+            });
 
     JwtSecurityContextRepository(
             SerializedJwtSplitCookieRepository serializedJwtSplitCookieRepository) {
@@ -168,8 +196,26 @@ class JwtSecurityContextRepository implements SecurityContextRepository {
             return null;
         }
 
+        Instant now = Instant.now();
+        String digest = Base64.getEncoder()
+                .encodeToString(MessageDigestUtil.sha256(serializedJwt));
+        CachedJwt cached = verifiedJwts.get(digest);
+        if (cached != null) {
+            if (now.isBefore(cached.validUntil)) {
+                return cached.jwt;
+            }
+            verifiedJwts.remove(digest);
+        }
+
         try {
-            return getJwtDecoder().decode(serializedJwt);
+            Jwt jwt = getJwtDecoder().decode(serializedJwt);
+            Instant validUntil = now.plus(CACHED_JWT_TTL);
+            if (jwt.getExpiresAt() != null
+                    && jwt.getExpiresAt().isBefore(validUntil)) {
+                validUntil = jwt.getExpiresAt();
+            }
+            verifiedJwts.put(digest, new CachedJwt(jwt, validUntil));
+            return jwt;
         } catch (JwtException e) {
             if (this.logger.isTraceEnabled()) {
                 this.logger.trace(
@@ -187,20 +233,26 @@ class JwtSecurityContextRepository implements SecurityContextRepository {
         HttpServletRequest request = requestResponseHolder.getRequest();
 
         Jwt jwt = decodeJwt(request);
+        Authentication authentication = null;
         if (jwt != null) {
-            Authentication authentication = jwtAuthenticationConverter
-                    .convert(jwt);
+            authentication = jwtAuthenticationConverter.convert(jwt);
             context.setAuthentication(authentication);
         }
 
         requestResponseHolder.setResponse(new UpdateJwtResponseWrapper(request,
-                requestResponseHolder.getResponse()));
+                requestResponseHolder.getResponse(), jwt, authentication));
         return context;
     }
 
     @Override
     public void saveContext(SecurityContext context, HttpServletRequest request,
             HttpServletResponse response) {
+        UpdateJwtResponseWrapper wrapper = WebUtils.getNativeResponse(response,
+                UpdateJwtResponseWrapper.class);
+        if (wrapper != null && wrapper.isUnchanged(context)) {
+            return;
+        }
+
         String serializedJwt = null;
         try {
             serializedJwt = encodeJwt(context.getAuthentication());
@@ -218,14 +270,43 @@ class JwtSecurityContextRepository implements SecurityContextRepository {
                 .containsSerializedJwt(request);
     }
 
+    private static final class CachedJwt {
+        private final Jwt jwt;
+        private final Instant validUntil;
+
+        private CachedJwt(Jwt jwt, Instant validUntil) {
+            this.jwt = jwt;
+            this.validUntil = validUntil;
+        }
+    }
+
     private final class UpdateJwtResponseWrapper
             extends SaveContextOnUpdateOrErrorResponseWrapper {
         private final HttpServletRequest request;
+        private final Jwt loadedJwt;
+        private final Authentication loadedAuthentication;
 
         private UpdateJwtResponseWrapper(HttpServletRequest request,
-                HttpServletResponse response) {
+                HttpServletResponse response, Jwt loadedJwt,
+                Authentication loadedAuthentication) {
             super(response, true);
             this.request = request;
+            this.loadedJwt = loadedJwt;
+            this.loadedAuthentication = loadedAuthentication;
+        }
+
+        /**
+         * Checks whether the token loaded for the request can be kept as is,
+         * i.e. the authentication has not changed and the token is recent
+         * enough for its expiry not to need extending.
+         */
+        private boolean isUnchanged(SecurityContext context) {
+            if (loadedJwt == null || loadedJwt.getIssuedAt() == null
+                    || context.getAuthentication() != loadedAuthentication) {
+                return false;
+            }
+            return Instant.now().isBefore(
+                    loadedJwt.getIssuedAt().plus(MAX_REISSUE_INTERVAL));
         }
 
         @Override
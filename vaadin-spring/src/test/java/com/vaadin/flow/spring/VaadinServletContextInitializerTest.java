@@ -4,24 +4,38 @@ import javax.servlet.ServletContext;
 import javax.servlet.ServletContextEvent;
 import javax.servlet.ServletContextListener;
 
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.di.Lookup;
@@ -32,15 +46,23 @@ import com.vaadin.flow.router.BeforeEnterEvent;
 import com.vaadin.flow.router.ErrorParameter;
 import com.vaadin.flow.router.HasErrorParameter;
 import com.vaadin.flow.router.NotFoundException;
+import com.vaadin.flow.router.Route;
 import com.vaadin.flow.router.RouteNotFoundError;
 import com.vaadin.flow.server.VaadinContext;
 import com.vaadin.flow.server.VaadinServletContext;
 import com.vaadin.flow.server.startup.ApplicationConfiguration;
+import com.vaadin.flow.server.frontend.scanner.ClassFinder;
 import com.vaadin.flow.server.startup.ApplicationRouteRegistry;
+import com.vaadin.flow.server.startup.ClassIndex;
 import com.vaadin.flow.server.startup.ServletDeployer;
+import com.vaadin.flow.spring.scan.ScannedErrorView;
+import com.vaadin.flow.spring.scan.ScannedRoute;
 
 public class VaadinServletContextInitializerTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Mock
     private ApplicationContext applicationContext;
 
@@ -201,6 +223,106 @@ public class VaadinServletContextInitializerTest {
         Assert.assertEquals(TestErrorView.class, navigationTarget);
     }
 
+    @Test
+    public void findByAnnotationOrSuperType_packageTraversedOnceForAllQueries()
+            throws Exception {
+        AtomicInteger traversals = new AtomicInteger();
+        try (GenericApplicationContext context = new GenericApplicationContext()) {
+            ResourceLoader loader = new PathMatchingResourcePatternResolver(
+                    context) {
+                @Override
+                public Resource[] getResources(String locationPattern)
+                        throws IOException {
+                    traversals.incrementAndGet();
+                    return super.getResources(locationPattern);
+                }
+            };
+            VaadinServletContextInitializer initializer = new VaadinServletContextInitializer(
+                    context);
+            List<String> packages = Collections
+                    .singletonList(ScannedRoute.class.getPackage().getName());
+
+            Set<Class<?>> routes = initializer
+                    .findByAnnotationOrSuperType(packages, loader,
+                            Collections.singleton(Route.class),
+                            Collections.emptySet())
+                    .collect(Collectors.toSet());
+            Set<Class<?>> errorViews = initializer
+                    .findByAnnotationOrSuperType(packages, loader,
+                            Collections.emptySet(),
+                            Collections.singleton(HasErrorParameter.class))
+                    .collect(Collectors.toSet());
+
+            Assert.assertEquals(Collections.singleton(ScannedRoute.class),
+                    routes);
+            Assert.assertEquals(
+                    Collections.singleton(ScannedErrorView.class),
+                    errorViews);
+            Assert.assertEquals(1, traversals.get());
+        }
+    }
+
+    @Test
+    public void findByAnnotationOrSuperType_classIndexPresent_packageNotTraversed()
+            throws Exception {
+        Assert.assertEquals(0, findWithClassIndex(true));
+    }
+
+    @Test
+    public void findByAnnotationOrSuperType_classIndexPresentNotProductionMode_packageTraversed()
+            throws Exception {
+        Assert.assertEquals(1, findWithClassIndex(false));
+    }
+
+    private int findWithClassIndex(boolean productionMode) throws Exception {
+        File resources = temporaryFolder.newFolder();
+        File indexFile = new File(resources, ClassIndex.CLASS_INDEX_RESOURCE);
+        ClassIndex.generate(new ClassFinder.DefaultClassFinder(
+                getClass().getClassLoader(), ScannedRoute.class,
+                ScannedErrorView.class, RouteNotFoundError.class))
+                .write(indexFile);
+
+        AtomicInteger traversals = new AtomicInteger();
+        try (URLClassLoader classLoader = new URLClassLoader(
+                new URL[] { resources.toURI().toURL() },
+                getClass().getClassLoader());
+                GenericApplicationContext context = new GenericApplicationContext()) {
+            context.setClassLoader(classLoader);
+            ResourceLoader loader = new PathMatchingResourcePatternResolver(
+                    context) {
+                @Override
+                public Resource[] getResources(String locationPattern)
+                        throws IOException {
+                    traversals.incrementAndGet();
+                    return super.getResources(locationPattern);
+                }
+            };
+            VaadinServletContextInitializer initializer = new VaadinServletContextInitializer(
+                    context);
+            initializer.setProductionMode(productionMode);
+            List<String> packages = Collections
+                    .singletonList(ScannedRoute.class.getPackage().getName());
+
+            Set<Class<?>> routes = initializer
+                    .findByAnnotationOrSuperType(packages, loader,
+                            Collections.singleton(Route.class),
+                            Collections.emptySet())
+                    .collect(Collectors.toSet());
+            Set<Class<?>> errorViews = initializer
+                    .findByAnnotationOrSuperType(packages, loader,
+                            Collections.emptySet(),
+                            Collections.singleton(HasErrorParameter.class))
+                    .collect(Collectors.toSet());
+
+            Assert.assertEquals(Collections.singleton(ScannedRoute.class),
+                    routes);
+            Assert.assertEquals(
+                    Collections.singleton(ScannedErrorView.class),
+                    errorViews);
+            return traversals.get();
+        }
+    }
+
     private Runnable initRouteNotFoundMocksAndGetContextInitializedMockCall(
             VaadinServletContextInitializer vaadinServletContextInitializer)
             throws Exception {
@@ -136,6 +136,10 @@ public abstract class AbstractScopeTest {
         doCallRealMethod().when(session).getAttribute(Mockito.any(Class.class));
         doCallRealMethod().when(session)
                 .getAttribute(Mockito.any(String.class));
+        doCallRealMethod().when(session)
+                .getAttributeWithoutLock(Mockito.any(Class.class));
+        doCallRealMethod().when(session).computeAttributeIfAbsent(
+                Mockito.any(Class.class), Mockito.any());
 
         doCallRealMethod().when(session).addUI(Mockito.any());
         doCallRealMethod().when(session).removeUI(Mockito.any());
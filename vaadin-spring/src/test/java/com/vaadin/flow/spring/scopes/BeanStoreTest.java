@@ -0,0 +1,81 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.spring.scopes;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.server.VaadinSession;
+
+public class BeanStoreTest {
+
+    private VaadinSession session;
+    private BeanStore store;
+
+    @Before
+    public void setUp() {
+        session = Mockito.mock(VaadinSession.class);
+        Mockito.when(session.hasLock()).thenReturn(true);
+        store = new BeanStore(session);
+    }
+
+    @Test
+    public void get_beanInStore_sessionNotLocked() {
+        store.get("foo", () -> "bar");
+        Mockito.when(session.hasLock()).thenReturn(false);
+
+        Assert.assertEquals("bar", store.get("foo", () -> "baz"));
+        Mockito.verify(session, Mockito.never()).lock();
+    }
+
+    @Test
+    public void get_beanNotInStore_createdWhileSessionLocked() {
+        Mockito.when(session.hasLock()).thenReturn(false);
+        AtomicInteger created = new AtomicInteger();
+
+        Assert.assertEquals("bar", store.get("foo", () -> {
+            created.incrementAndGet();
+            return "bar";
+        }));
+        Assert.assertEquals("bar", store.get("foo", () -> {
+            created.incrementAndGet();
+            return "baz";
+        }));
+
+        Assert.assertEquals(1, created.get());
+        Mockito.verify(session).lock();
+        Mockito.verify(session).unlock();
+    }
+
+    @Test
+    public void size_beansAddedAndRemoved_sizeUpdated() {
+        Assert.assertEquals(0, store.size());
+
+        store.get("foo", () -> "bar");
+        store.get("bar", () -> "baz");
+        Assert.assertEquals(2, store.size());
+
+        store.remove("foo");
+        Assert.assertEquals(1, store.size());
+
+        store.destroy();
+        Assert.assertEquals(0, store.size());
+    }
+}
@@ -15,12 +15,16 @@
  */
 package com.vaadin.flow.spring.scopes;
 
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -104,6 +108,56 @@ public class VaadinSessionScopeTest extends AbstractScopeTest {
         verify(factory, times(2)).getObject();
     }
 
+    @Test
+    public void get_beanExists_resolvedInBackgroundThreadWhileSessionIsLocked()
+            throws Exception {
+        VaadinSession session = mockSession();
+        ReentrantLock lock = new ReentrantLock();
+        doAnswer(invocation -> {
+            lock.lock();
+            return null;
+        }).when(session).lock();
+        doAnswer(invocation -> {
+            lock.unlock();
+            return null;
+        }).when(session).unlock();
+        when(session.hasLock())
+                .thenAnswer(invocation -> lock.isHeldByCurrentThread());
+
+        VaadinSessionScope scope = new VaadinSessionScope();
+        Object bean = scope.get("foo", Object::new);
+
+        lock.lock();
+        try {
+            CompletableFuture<Object> resolved = CompletableFuture
+                    .supplyAsync(() -> {
+                        VaadinSession.setCurrent(session);
+                        try {
+                            return scope.get("foo", Object::new);
+                        } finally {
+                            VaadinSession.setCurrent(null);
+                        }
+                    });
+            Assert.assertSame(bean, resolved.get(5, TimeUnit.SECONDS));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Test
+    public void getBeanCount_beansAddedAndRemoved_countUpdated() {
+        VaadinSession session = mockSession();
+        VaadinSessionScope scope = new VaadinSessionScope();
+        Assert.assertEquals(0, scope.getBeanCount(session));
+
+        scope.get("foo", Object::new);
+        scope.get("bar", Object::new);
+        Assert.assertEquals(2, scope.getBeanCount(session));
+
+        scope.remove("foo");
+        Assert.assertEquals(1, scope.getBeanCount(session));
+    }
+
     @Override
     protected Scope getScope() {
         return new VaadinSessionScope();
@@ -15,7 +15,11 @@
  */
 package com.vaadin.flow.spring.scopes;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -25,6 +29,10 @@ import org.springframework.beans.factory.config.Scope;
 
 import com.vaadin.flow.component.ComponentUtil;
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.server.InitParameters;
+import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.spring.SpringVaadinSession;
 
@@ -35,6 +43,20 @@ import static org.mockito.Mockito.when;
 
 public class VaadinUIScopeTest extends AbstractUIScopedTest {
 
+    private static class UILockingSession extends SpringVaadinSession {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private UILockingSession(VaadinService service) {
+            super(service);
+        }
+
+        @Override
+        public Lock getLockInstance() {
+            return lock;
+        }
+    }
+
     @Test
     public void get_currentUiIsSet_objectIsStored() {
         VaadinUIScope scope = new VaadinUIScope();
@@ -84,6 +106,20 @@ public class VaadinUIScopeTest extends AbstractUIScopedTest {
         scope.remove("foo");
     }
 
+    @Test
+    public void getBeanCount_beansAddedAndRemoved_countUpdated() {
+        UI ui = mockUI();
+        VaadinUIScope scope = new VaadinUIScope();
+        Assert.assertEquals(0, scope.getBeanCount(ui));
+
+        scope.get("foo", Object::new);
+        scope.get("bar", Object::new);
+        Assert.assertEquals(2, scope.getBeanCount(ui));
+
+        scope.remove("foo");
+        Assert.assertEquals(1, scope.getBeanCount(ui));
+    }
+
     @SuppressWarnings("rawtypes")
     @Test
     public void destroySession_sessionAttributeIsCleanedAndDestructionCallbackIsCalled() {
@@ -158,6 +194,76 @@ public class VaadinUIScopeTest extends AbstractUIScopedTest {
         verify(factory, times(2)).getObject();
     }
 
+    @Test
+    public void get_uiLocking_beansResolvedWhileHoldingUILocks()
+            throws Exception {
+        VaadinService service = mockUI().getSession().getService();
+        VaadinSession session = createUILockingSession(service);
+        UI ui1 = createUI(session);
+        UI ui2 = createUI(session);
+        VaadinUIScope uiScope = new VaadinUIScope();
+        VaadinSessionScope sessionScope = new VaadinSessionScope();
+
+        session.lockUI(ui1);
+        try {
+            CurrentInstance.setCurrent(ui1);
+            Object uiBean = uiScope.get("foo", Object::new);
+            Object sessionBean = sessionScope.get("bar", Object::new);
+
+            CompletableFuture<Object[]> otherUIBeans = CompletableFuture
+                    .supplyAsync(() -> {
+                        session.lockUI(ui2);
+                        try {
+                            CurrentInstance.setCurrent(ui2);
+                            return new Object[] {
+                                    uiScope.get("foo", Object::new),
+                                    sessionScope.get("bar", Object::new) };
+                        } finally {
+                            CurrentInstance.clearAll();
+                            session.unlockUI(ui2);
+                        }
+                    });
+            Object[] beans = otherUIBeans.get(5, TimeUnit.SECONDS);
+
+            Assert.assertNotSame(uiBean, beans[0]);
+            Assert.assertSame(sessionBean, beans[1]);
+            Assert.assertSame(uiBean, uiScope.get("foo", Object::new));
+        } finally {
+            session.unlockUI(ui1);
+            CurrentInstance.clearAll();
+        }
+    }
+
+    private VaadinSession createUILockingSession(VaadinService service) {
+        VaadinSession session = new UILockingSession(service);
+        DeploymentConfiguration configuration = Mockito
+                .mock(DeploymentConfiguration.class);
+        when(configuration.getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_UI_LOCKING, false))
+                .thenReturn(true);
+        session.lock();
+        try {
+            session.setConfiguration(configuration);
+        } finally {
+            session.unlock();
+        }
+        Assert.assertTrue(session.isUILocking());
+        return session;
+    }
+
+    private UI createUI(VaadinSession session) {
+        UI ui = new UI();
+        session.lock();
+        try {
+            ui.getInternals().setSession(session);
+            ui.doInit(null, session.getNextUIid());
+            session.addUI(ui);
+        } finally {
+            session.unlock();
+        }
+        return ui;
+    }
+
     @Override
     protected Scope getScope() {
         return new VaadinUIScope();
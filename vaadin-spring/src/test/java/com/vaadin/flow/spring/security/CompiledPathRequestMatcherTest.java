@@ -0,0 +1,81 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.spring.security;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+public class CompiledPathRequestMatcherTest {
+
+    private static final List<String> PATTERNS = Arrays.asList("/favicon.ico",
+            "/sw.js", "/themes/**", "/VAADIN/**", "/icons/icon-*.png", "/a",
+            "/ab/**");
+
+    private static final List<String> PATHS = Arrays.asList("", "/",
+            "/favicon.ico", "/favicon.ico/", "/favicon.icon", "/favicon",
+            "/sw.js", "/sw.jsx", "/themes", "/themes/", "/themes/foo/bar.css",
+            "/themesx", "/VAADIN", "/VAADIN/build/foo.js", "/vaadin/build",
+            "/icons/icon-192x192.png", "/icons/icon.png", "/a", "/a/",
+            "/ab", "/ab/c", "/abc", "/route/with/parameters");
+
+    @Test
+    public void matches_sameResultAsAntPathRequestMatcher() {
+        RequestMatcher expected = new OrRequestMatcher(
+                PATTERNS.stream().map(AntPathRequestMatcher::new)
+                        .toArray(RequestMatcher[]::new));
+        RequestMatcher matcher = new CompiledPathRequestMatcher(PATTERNS);
+
+        for (String path : PATHS) {
+            MockHttpServletRequest request = createRequest(path, null);
+            Assert.assertEquals(path, expected.matches(request),
+                    matcher.matches(request));
+        }
+    }
+
+    @Test
+    public void matches_servletPathAndPathInfo_combinedPathMatched() {
+        RequestMatcher matcher = new CompiledPathRequestMatcher(PATTERNS);
+
+        Assert.assertTrue(
+                matcher.matches(createRequest("/VAADIN", "/build/foo.js")));
+        Assert.assertTrue(matcher.matches(createRequest("", "/sw.js")));
+        Assert.assertFalse(matcher.matches(createRequest("/ui", "/sw.js")));
+    }
+
+    @Test
+    public void matches_matchAllPattern_everythingMatched() {
+        RequestMatcher matcher = new CompiledPathRequestMatcher(
+                Arrays.asList("/**"));
+
+        Assert.assertTrue(matcher.matches(createRequest("/foo", null)));
+        Assert.assertTrue(matcher.matches(createRequest("", null)));
+    }
+
+    private static MockHttpServletRequest createRequest(String servletPath,
+            String pathInfo) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setServletPath(servletPath);
+        request.setPathInfo(pathInfo);
+        return request;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.spring.security;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import com.vaadin.flow.server.HandlerHelper;
+import com.vaadin.flow.server.HandlerHelper.RequestType;
+import com.vaadin.flow.shared.ApplicationConstants;
+
+/**
+ * Measures the request matching done by the security filter chain set up by
+ * {@link VaadinWebSecurityConfigurerAdapter} for every request: the ignore
+ * matcher for public resources, the framework internal request check and the
+ * permit matcher for {@literal /VAADIN/**}. The requests are a mix of route,
+ * UIDL, static resource and theme requests.
+ * <p>
+ * The compiled matchers are compared with the previously used
+ * {@link OrRequestMatcher} of {@link AntPathRequestMatcher}s.
+ * <p>
+ * Run with the {@link #main(String[])} method from the test class path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VaadinRequestMatcherBenchmark {
+
+    private static final String URL_MAPPING = "/*";
+
+    private MockHttpServletRequest[] requests;
+
+    private RequestMatcher compiledIgnoreMatcher;
+    private RequestMatcher compiledPermitMatcher;
+    private RequestMatcher antIgnoreMatcher;
+    private RequestMatcher antPermitMatcher;
+
+    @Setup
+    public void setup() {
+        compiledIgnoreMatcher = VaadinWebSecurityConfigurerAdapter
+                .getDefaultWebSecurityIgnoreMatcher(URL_MAPPING);
+        compiledPermitMatcher = VaadinWebSecurityConfigurerAdapter
+                .getDefaultHttpSecurityPermitMatcher(URL_MAPPING);
+        antIgnoreMatcher = createAntMatcher(
+                Stream.of(HandlerHelper.getPublicResources()));
+        antPermitMatcher = createAntMatcher(Stream.of(
+                HandlerHelper.getPublicResourcesRequiringSecurityContext()));
+
+        requests = new MockHttpServletRequest[] { //
+                createRequest("/", null), //
+                createRequest("/", RequestType.UIDL), //
+                createRequest("/", RequestType.UIDL), //
+                createRequest("/", RequestType.HEARTBEAT), //
+                createRequest("/customers", null), //
+                createRequest("/customers/42/orders", null), //
+                createRequest("/reports/2022/summary", null), //
+                createRequest("/VAADIN/build/vaadin-bundle-1234.cache.js",
+                        null), //
+                createRequest("/VAADIN/build/vaadin-2-5678.cache.js", null), //
+                createRequest(
+                        "/VAADIN/dynamic/resource/1/0a1b2c3d-4e5f/upload",
+                        null), //
+                createRequest("/themes/my-theme/styles.css", null), //
+                createRequest("/icons/icon-192x192.png", null), //
+                createRequest("/favicon.ico", null), //
+                createRequest("/sw.js", null), //
+                createRequest("/manifest.webmanifest", null), //
+                createRequest("/images/logo.png", null) };
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(16)
+    public void compiledMatchers(Blackhole blackhole) {
+        for (MockHttpServletRequest request : requests) {
+            blackhole.consume(match(request, compiledIgnoreMatcher,
+                    compiledPermitMatcher));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(16)
+    public void antPathMatchers(Blackhole blackhole) {
+        for (MockHttpServletRequest request : requests) {
+            blackhole.consume(
+                    match(request, antIgnoreMatcher, antPermitMatcher));
+        }
+    }
+
+    private static boolean match(MockHttpServletRequest request,
+            RequestMatcher ignoreMatcher, RequestMatcher permitMatcher) {
+        return ignoreMatcher.matches(request)
+                || HandlerHelper.isFrameworkInternalRequest(URL_MAPPING,
+                        request)
+                || permitMatcher.matches(request);
+    }
+
+    private static RequestMatcher createAntMatcher(Stream<String> patterns) {
+        List<RequestMatcher> matchers = patterns
+                .map(path -> RequestUtil.applyUrlMapping(URL_MAPPING, path))
+                .map(AntPathRequestMatcher::new).collect(Collectors.toList());
+        return new OrRequestMatcher(matchers);
+    }
+
+    private static MockHttpServletRequest createRequest(String path,
+            RequestType requestType) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET",
+                path);
+        request.setServletPath("");
+        request.setPathInfo(path);
+        if (requestType != null) {
+            request.setParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER,
+                    requestType.getIdentifier());
+        }
+        return request;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(VaadinRequestMatcherBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -316,6 +316,29 @@ public class JwtSecurityContextRepositoryTest {
         assertSecurityContext(TEST_USERNAME, TEST_AUTHORITIES, securityContext);
     }
 
+    @Test
+    public void loadContext_verifiesSignatureOnce_when_sameJwtLoadedAgain()
+            throws Exception {
+        ImmutableSecret<com.nimbusds.jose.proc.SecurityContext> secret = Mockito
+                .spy(new ImmutableSecret<>(TEST_KEY));
+        jwtSecurityContextRepository.setJwkSource(secret);
+        Mockito.doReturn(getJwt(getHeaderBuilder().build(),
+                getClaimsSetBuilder().build()))
+                .when(serializedJwtSplitCookieRepository)
+                .loadSerializedJwt(request);
+
+        jwtSecurityContextRepository.loadContext(holder);
+        holder = new HttpRequestResponseHolder(request, response);
+        SecurityContext securityContext = jwtSecurityContextRepository
+                .loadContext(holder);
+
+        Mockito.verify(secret, Mockito.times(1)).get(ArgumentMatchers.any(),
+                ArgumentMatchers.any());
+        Mockito.verify(securityContext)
+                .setAuthentication(ArgumentMatchers.any());
+        assertRequestResponseHolder();
+    }
+
     @Test
     public void loadContext_throws_when_algorithmNull() throws JOSEException {
         jwtSecurityContextRepository.setIssuer(TEST_ISSUER);
@@ -672,6 +695,73 @@ public class JwtSecurityContextRepositoryTest {
         assertClaims(decodedClaimsSet, TEST_USERNAME, TEST_ROLES, 1800);
     }
 
+    @Test
+    public void saveContext_doesNotSaveJwt_when_loadedJwtRecentAndUnchanged()
+            throws JOSEException {
+        Mockito.doReturn(getJwt(getHeaderBuilder().build(),
+                getClaimsSetBuilder().issueTime(new Date()).build()))
+                .when(serializedJwtSplitCookieRepository)
+                .loadSerializedJwt(request);
+        SecurityContext securityContext = loadContextWithAuthentication();
+
+        jwtSecurityContextRepository.saveContext(securityContext, request,
+                holder.getResponse());
+
+        Mockito.verify(serializedJwtSplitCookieRepository, Mockito.never())
+                .saveSerializedJwt(ArgumentMatchers.any(),
+                        ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    public void saveContext_doesSaveJwt_when_loadedJwtOld()
+            throws JOSEException, BadJOSEException, ParseException {
+        Mockito.doReturn(getJwt(getHeaderBuilder().build(),
+                getClaimsSetBuilder().build()))
+                .when(serializedJwtSplitCookieRepository)
+                .loadSerializedJwt(request);
+        SecurityContext securityContext = loadContextWithAuthentication();
+
+        jwtSecurityContextRepository.saveContext(securityContext, request,
+                holder.getResponse());
+
+        ArgumentCaptor<String> jwtCaptor = ArgumentCaptor
+                .forClass(String.class);
+        Mockito.verify(serializedJwtSplitCookieRepository).saveSerializedJwt(
+                jwtCaptor.capture(), ArgumentMatchers.eq(request),
+                ArgumentMatchers.eq(holder.getResponse()));
+        assertClaims(decodeSerializedJwt(jwtCaptor.getValue(), jwtProcessor),
+                TEST_USERNAME, TEST_ROLES, 1800);
+    }
+
+    @Test
+    public void saveContext_doesSaveJwt_when_loadedJwtAuthenticationChanged()
+            throws JOSEException {
+        Mockito.doReturn(getJwt(getHeaderBuilder().build(),
+                getClaimsSetBuilder().issueTime(new Date()).build()))
+                .when(serializedJwtSplitCookieRepository)
+                .loadSerializedJwt(request);
+        SecurityContext securityContext = loadContextWithAuthentication();
+        Mockito.doReturn(null).when(securityContext).getAuthentication();
+
+        jwtSecurityContextRepository.saveContext(securityContext, request,
+                holder.getResponse());
+
+        Mockito.verify(serializedJwtSplitCookieRepository).saveSerializedJwt(
+                ArgumentMatchers.isNull(), ArgumentMatchers.eq(request),
+                ArgumentMatchers.eq(holder.getResponse()));
+    }
+
+    private SecurityContext loadContextWithAuthentication() {
+        SecurityContext securityContext = jwtSecurityContextRepository
+                .loadContext(holder);
+        ArgumentCaptor<Authentication> captor = ArgumentCaptor
+                .forClass(Authentication.class);
+        Mockito.verify(securityContext).setAuthentication(captor.capture());
+        Mockito.doReturn(captor.getValue()).when(securityContext)
+                .getAuthentication();
+        return securityContext;
+    }
+
     private void assertRequestResponseHolder() {
         Assert.assertEquals(request, holder.getRequest());
         Assert.assertTrue(holder